@@ -2,6 +2,7 @@ plugins {
     java
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
+    alias(libs.plugins.jmh)
     id("jacoco")
 }
 
@@ -23,6 +24,8 @@ dependencyManagement {
 
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    implementation(libs.spring.boot.starter.actuator)
+    runtimeOnly(libs.micrometer.registry.prometheus)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
@@ -31,7 +34,31 @@ dependencies {
 
 // about source and compilation
 java {
-    sourceCompatibility = JavaVersion.VERSION_17
+    // 가상 스레드(point.executor.mode=VIRTUAL) 사용을 위해 21 이상
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(21)
+    }
+}
+
+// benchmark : ./gradlew jmh  (src/jmh/java)
+// - 일부만 실행 : ./gradlew jmh -Pjmh.includes=UserPointBenchmark
+// - 결과 : build/reports/jmh/results-<app.version>.json
+// - 릴리스 간 비교용 보관 : ./gradlew jmhArchive (benchmarks/ 에 복사)
+val jmhResults = layout.buildDirectory.file("reports/jmh/results-${property("app.version")}.json")
+
+jmh {
+    jmhVersion = libs.versions.jmh.core.get()
+    resultFormat = "JSON"
+    resultsFile = jmhResults
+    providers.gradleProperty("jmh.includes").orNull?.let { includes.add(it) }
+}
+
+tasks.register<Copy>("jmhArchive") {
+    group = "benchmark"
+    description = "JMH 를 실행하고 JSON 결과를 benchmarks/ 에 보관합니다."
+    dependsOn("jmh")
+    from(jmhResults)
+    into(layout.projectDirectory.dir("benchmarks"))
 }
 
 with(extensions.getByType(JacocoPluginExtension::class.java)) {
@@ -0,0 +1,67 @@
+package io.hhplus.tdd.concurrency;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서로 다른 사용자 ID 를 users 개 거친 뒤 락 보관소가 붙잡고 있는 힙 크기 비교
+ * retainedHeapMb / retainedLocks 보조 카운터로 결과에 함께 기록된다.
+ * ./gradlew jmh -Pjmh.includes=LockRegistryMemoryBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class LockRegistryMemoryBenchmark {
+
+    @Param({"PER_USER", "REF_COUNTING", "STRIPED"})
+    public String registry;
+
+    @Param({"10000000"})
+    public int users;
+
+    private UserLockRegistry lockRegistry;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapCounters {
+        public long retainedHeapMb;
+        public long retainedLocks;
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        lockRegistry = switch (registry) {
+            case "PER_USER" -> new PerUserLockRegistry(true);
+            case "REF_COUNTING" -> new RefCountingLockRegistry(true);
+            case "STRIPED" -> new StripedLockRegistry(1024, true);
+            default -> throw new IllegalArgumentException(registry);
+        };
+    }
+
+    @Benchmark
+    public void touchDistinctUsers(HeapCounters counters) throws InterruptedException {
+        long before = usedHeapAfterGc();
+        for (long userId = 1; userId <= users; userId++) {
+            try (UserLockRegistry.Lease ignored = lockRegistry.tryAcquire(userId, 1, TimeUnit.SECONDS)) {
+                // 락만 잡았다 놓음
+            }
+        }
+        long after = usedHeapAfterGc();
+        counters.retainedHeapMb = Math.max(0, after - before) / (1024 * 1024);
+        counters.retainedLocks = lockRegistry.size();
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,52 @@
+package io.hhplus.tdd.concurrency;
+
+import io.hhplus.tdd.point.UserDistribution;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * shard 수에 따른 처리량 (SHARDED)
+ * 작업마다 고정된 CPU 작업을 하고, 요청 스레드는 shard 수의 몇 배로 두어 shard 가 쉬지 않게 한다.
+ * shard 수가 CPU 코어 수에 이를 때까지 처리량이 거의 선형으로 늘어나야 한다.
+ * ./gradlew jmh -Pjmh.includes=ShardScalingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@Fork(1)
+public class ShardScalingBenchmark {
+
+    private static final long TASK_TOKENS = 2_000;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int shards;
+
+    private ShardedUserTaskExecutor userTaskExecutor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userTaskExecutor = new ShardedUserTaskExecutor(shards, Duration.ofHours(1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        userTaskExecutor.close();
+    }
+
+    @Benchmark
+    public Long submit() {
+        long userId = UserDistribution.UNIFORM.nextUserId();
+        CompletableFuture<Long> future = userTaskExecutor.submit(userId, () -> {
+            Blackhole.consumeCPU(TASK_TOKENS);
+            return userId;
+        });
+        return future.join();
+    }
+}
@@ -0,0 +1,56 @@
+package io.hhplus.tdd.concurrency;
+
+import io.hhplus.tdd.point.UserDistribution;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자 작업 제출 ~ 완료까지의 비용 (락 획득 / 메일박스 전달 포함, 작업 자체는 비어 있음)
+ * ./gradlew jmh -Pjmh.includes=SubmitTaskBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class SubmitTaskBenchmark {
+
+    @Param({"PER_USER", "REF_COUNTING", "STRIPED", "MAILBOX"})
+    public String executor;
+
+    @Param({"SINGLE", "UNIFORM"})
+    public UserDistribution distribution;
+
+    private ExecutorService executorService;
+    private UserTaskExecutor userTaskExecutor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        Duration timeout = Duration.ofHours(1);
+        userTaskExecutor = switch (executor) {
+            case "PER_USER" -> new LockingUserTaskExecutor(executorService, new PerUserLockRegistry(true), timeout);
+            case "REF_COUNTING" -> new LockingUserTaskExecutor(executorService, new RefCountingLockRegistry(true), timeout);
+            case "STRIPED" -> new LockingUserTaskExecutor(executorService, new StripedLockRegistry(1024, true), timeout);
+            case "MAILBOX" -> new MailboxUserTaskExecutor(executorService, timeout, 32);
+            default -> throw new IllegalArgumentException(executor);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Benchmark
+    public Long submit() {
+        long userId = distribution.nextUserId();
+        return userTaskExecutor.submit(userId, () -> userId).join();
+    }
+}
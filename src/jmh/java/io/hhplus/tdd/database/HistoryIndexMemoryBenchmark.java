@@ -0,0 +1,87 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * rows 건의 이력을 users 명에게 나눠 기록한 뒤 붙잡고 있는 힙 비교
+ * - OBJECTS : 사용자별 ArrayList<PointHistory> (압축 전 색인과 같은 구조)
+ * - COLUMNAR : PointHistoryIndex (열 단위 압축 묶음 + 행 단위 꼬리)
+ * 금액은 10,000 원 단위, 시각은 0~4ms 간격으로 증가한다. retainedHeapMb / bytesPerRow 보조 카운터로 결과에 함께 기록된다.
+ * ./gradlew jmh -Pjmh.includes=HistoryIndexMemoryBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class HistoryIndexMemoryBenchmark {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    @Param({"OBJECTS", "COLUMNAR"})
+    public String layout;
+
+    @Param({"10000000"})
+    public int rows;
+
+    @Param({"10000", "100000"})
+    public int users;
+
+    private Object retained;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class MemoryCounters {
+        public long retainedHeapMb;
+        public long bytesPerRow;
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        retained = null;
+        usedHeapAfterGc(); // 이전 반복의 색인 정리
+    }
+
+    @Benchmark
+    public void appendHistories(MemoryCounters counters) {
+        long heapBefore = usedHeapAfterGc();
+        SplittableRandom random = new SplittableRandom(7);
+        Map<Long, List<PointHistory>> objects = new HashMap<>();
+        PointHistoryIndex pointHistoryIndex = new PointHistoryIndex();
+        long updateMillis = 1_700_000_000_000L;
+        for (long id = 1; id <= rows; id++) {
+            updateMillis += random.nextInt(5);
+            PointHistory history = new PointHistory(id, random.nextInt(users), (1 + random.nextInt(10)) * 10_000L,
+                    TYPES[random.nextInt(TYPES.length)], updateMillis);
+            if (layout.equals("OBJECTS")) {
+                objects.computeIfAbsent(history.userId(), userId -> new ArrayList<>()).add(history);
+            } else {
+                pointHistoryIndex.append(history);
+            }
+        }
+        retained = layout.equals("OBJECTS") ? objects : pointHistoryIndex;
+        long retainedHeap = Math.max(0, usedHeapAfterGc() - heapBefore);
+        counters.retainedHeapMb = retainedHeap / (1024 * 1024);
+        counters.bytesPerRow = retainedHeap / rows;
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,70 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한 사용자의 이력 조회 비용 비교 : 전체 선형 탐색 vs 사용자별 색인 (객체 목록 / 압축된 열 값 그대로 훑기)
+ * PointHistoryTable.insert 는 throttle 이 있어 대량 적재가 불가능하므로,
+ * 선형 탐색은 테이블과 같은 방식(전체 리스트 stream + filter)으로 같은 데이터를 직접 훑는다.
+ * ./gradlew jmh -Pjmh.includes=HistoryLookupBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class HistoryLookupBenchmark {
+
+    @Param({"100000", "1000000", "10000000"})
+    public int rows;
+
+    @Param({"10000"})
+    public int users;
+
+    private List<PointHistory> table;
+    private PointHistoryIndex pointHistoryIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        table = new ArrayList<>(rows);
+        pointHistoryIndex = new PointHistoryIndex();
+        for (long id = 1; id <= rows; id++) {
+            PointHistory history = new PointHistory(id, id % users, 10_000L, TransactionType.CHARGE, id);
+            table.add(history);
+            pointHistoryIndex.append(history);
+        }
+    }
+
+    @Benchmark
+    public void linearScan(Blackhole blackhole) {
+        long userId = ThreadLocalRandom.current().nextLong(users);
+        blackhole.consume(table.stream().filter(pointHistory -> pointHistory.userId() == userId).toList());
+    }
+
+    @Benchmark
+    public void index(Blackhole blackhole) {
+        long userId = ThreadLocalRandom.current().nextLong(users);
+        List<PointHistory> histories = pointHistoryIndex.findAllByUserId(userId);
+        for (PointHistory history : histories) { // 선형 탐색과 같이 결과를 모두 읽음
+            blackhole.consume(history);
+        }
+    }
+
+    @Benchmark
+    public void indexScan(Blackhole blackhole) {
+        long userId = ThreadLocalRandom.current().nextLong(users);
+        pointHistoryIndex.scanByUserId(userId, Long.MIN_VALUE, (id, amount, type, updateMillis) -> {
+            blackhole.consume(amount);
+            return true;
+        });
+    }
+}
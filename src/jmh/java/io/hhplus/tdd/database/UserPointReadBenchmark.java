@@ -0,0 +1,56 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.config.PointCacheProperties;
+import io.hhplus.tdd.config.PointReadProperties;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한 사용자의 잔고를 16 스레드가 동시에 조회할 때 처리량
+ * 캐시를 끄고 UserPointTable(조회 0~200ms 지연)을 그대로 사용해 매 조회가 테이블까지 간다.
+ * - coalescing=false : 조회마다 테이블 호출
+ * - coalescing=true : 진행 중인 조회 하나를 함께 기다림
+ * 조회 하나의 지연은 그대로라 처리량은 비슷하고, 줄어드는 것은 테이블 호출 수다. (측정이 끝나면 출력)
+ * ./gradlew jmh -Pjmh.includes=UserPointReadBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Threads(16)
+@Fork(1)
+public class UserPointReadBenchmark {
+
+    private static final long USER_ID = 1L;
+
+    @Param({"false", "true"})
+    public boolean coalescing;
+
+    private UserPointCache userPointCache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userPointCache = new UserPointCache(new TableUserPointStore(new UserPointTable()), new RestoredUserPoints(),
+                new PointCacheProperties(new PointCacheProperties.UserPoint(false, 1, Duration.ofMinutes(1))),
+                new PointReadProperties(coalescing, PointReadProperties.Source.LOOKUP),
+                new PointMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Benchmark
+    public UserPoint read() {
+        return userPointCache.read(USER_ID);
+    }
+
+    @TearDown(Level.Trial)
+    public void report() {
+        UserPointCache.ReadStats stats = userPointCache.readStats();
+        System.out.printf("%n조회 %d 건 중 테이블 호출 %d 건 (합쳐진 비율 %.2f)%n",
+                stats.lookupCount() + stats.coalescedCount(), stats.lookupCount(), stats.coalescingRatio());
+    }
+}
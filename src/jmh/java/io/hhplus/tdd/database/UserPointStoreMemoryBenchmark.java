@@ -0,0 +1,81 @@
+package io.hhplus.tdd.database;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * users 명의 잔고를 기록한 뒤 저장소가 붙잡고 있는 메모리 비교
+ * - TABLE : UserPointTable 과 같은 boxed 맵 (throttle 없는 InMemoryUserPointTable)
+ * - HEAP / OFF_HEAP : 원시 open addressing (예상 사용자 수 = users 로 미리 할당)
+ * retainedHeapMb / directMemoryMb / bytesPerUser 보조 카운터로 결과에 함께 기록된다.
+ * ./gradlew jmh -Pjmh.includes=UserPointStoreMemoryBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms24g", "-Xmx24g", "-XX:MaxDirectMemorySize=8g"})
+public class UserPointStoreMemoryBenchmark {
+
+    @Param({"TABLE", "HEAP", "OFF_HEAP"})
+    public String store;
+
+    @Param({"10000000", "100000000"})
+    public int users;
+
+    private UserPointStore userPointStore;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class MemoryCounters {
+        public long retainedHeapMb;
+        public long directMemoryMb;
+        public long bytesPerUser;
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        userPointStore = null;
+        usedHeapAfterGc(); // 이전 반복의 저장소 정리
+    }
+
+    @Benchmark
+    public void insertDistinctUsers(MemoryCounters counters) {
+        long heapBefore = usedHeapAfterGc();
+        long directBefore = usedDirectMemory();
+        userPointStore = switch (store) {
+            case "TABLE" -> new TableUserPointStore(new InMemoryUserPointTable());
+            case "HEAP" -> OpenAddressingUserPointStore.onHeap(users);
+            case "OFF_HEAP" -> OpenAddressingUserPointStore.offHeap(users);
+            default -> throw new IllegalArgumentException(store);
+        };
+        for (long userId = 1; userId <= users; userId++) {
+            userPointStore.insertOrUpdate(userId, userId);
+        }
+        long retainedHeap = Math.max(0, usedHeapAfterGc() - heapBefore);
+        long directMemory = Math.max(0, usedDirectMemory() - directBefore);
+        counters.retainedHeapMb = retainedHeap / (1024 * 1024);
+        counters.directMemoryMb = directMemory / (1024 * 1024);
+        counters.bytesPerUser = (retainedHeap + directMemory) / users;
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static long usedDirectMemory() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+}
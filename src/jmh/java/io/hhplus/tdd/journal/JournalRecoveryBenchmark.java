@@ -0,0 +1,111 @@
+package io.hhplus.tdd.journal;
+
+import io.hhplus.tdd.config.PointHistoryProperties;
+import io.hhplus.tdd.config.PointJournalProperties;
+import io.hhplus.tdd.database.PointHistoryIndex;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.PointJournalRecovery;
+import io.hhplus.tdd.database.RestoredUserPoints;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 재시작 시 복원 시간 : 저널 전체를 읽는 경우 vs 스냅샷 + 이후 레코드만 읽는 경우
+ * 사용자마다 한 건씩 기록하고 스냅샷을 남긴 뒤, 사용자 수의 1% 만큼 더 기록한 저널을 연다.
+ * - recover : 시작 시와 같은 경로 (열기 + PointJournalRecovery 로 잔고/순번 복원, 이력 색인에 PointHistoryIndex 덧붙이기)
+ * - recoverAndReadHistory : 복원 후 스냅샷에 접힌 사용자 한 명의 이력을 처음 조회 (사용자별로 늦게 불러오는 비용 포함)
+ * ./gradlew jmh -Pjmh.includes=JournalRecoveryBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms16g", "-Xmx16g"})
+public class JournalRecoveryBenchmark {
+
+    @Param({"1000000", "10000000", "50000000"})
+    public int users;
+
+    @Param({"true", "false"})
+    public boolean snapshot;
+
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal-recovery");
+        try (MappedPointJournal journal = MappedPointJournal.open(properties(true))) {
+            long sequence = 0;
+            for (long userId = 1; userId <= users; userId++) {
+                journal.append(record(++sequence, userId, 1));
+            }
+            journal.takeSnapshot();
+            for (long userId = 1; userId <= users / 100; userId++) {
+                journal.append(record(++sequence, userId * 97 % users + 1, 2));
+            }
+        }
+    }
+
+    @Benchmark
+    public PointHistoryIndex recover() {
+        try (MappedPointJournal journal = MappedPointJournal.open(properties(snapshot))) {
+            return recover(journal);
+        }
+    }
+
+    @Benchmark
+    public List<PointHistory> recoverAndReadHistory() {
+        try (MappedPointJournal journal = MappedPointJournal.open(properties(snapshot))) {
+            return recover(journal).findAllByUserId(users / 2);
+        }
+    }
+
+    private static PointHistoryIndex recover(MappedPointJournal journal) {
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        PointHistoryIndex index = new PointHistoryIndex();
+        PointHistoryWriter writer = new PointHistoryWriter(new PointHistoryTable(), index, new PointHistoryProperties(
+                new PointHistoryProperties.WriteBehind(false, 100, 10, 3, Duration.ofMillis(100))), journal, pointMetrics);
+        new PointJournalRecovery(journal, new RestoredUserPoints(), index, writer).start();
+        return index;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    // 스냅샷은 setUp 에서 직접 생성 (주기 생성은 사실상 끔)
+    private PointJournalProperties properties(boolean snapshot) {
+        return new PointJournalProperties(true, directory, PointJournalProperties.Fsync.INTERVAL, 256,
+                Duration.ofSeconds(1), DataSize.ofMegabytes(16), new PointJournalProperties.Snapshot(snapshot, Duration.ofHours(1), 2, 16));
+    }
+
+    private static JournalRecord record(long sequence, long userId, long userSequence) {
+        return new JournalRecord(sequence, userId, userSequence, TransactionType.CHARGE, 10_000L,
+                userSequence * 10_000L, sequence);
+    }
+}
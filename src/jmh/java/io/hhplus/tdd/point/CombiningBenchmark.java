@@ -0,0 +1,72 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.config.PointCombiningProperties;
+import io.hhplus.tdd.config.PointConcurrencyProperties;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한 사용자에게 요청이 몰릴 때 대기 요청 수(depth)에 따른 처리량 : 결합 처리 OFF / ALL
+ * 한 번의 호출에서 depth 건(충전/사용 반씩)을 한꺼번에 제출하고 모두 끝날 때까지 기다린다.
+ * - requests : 초당 처리한 요청 수 (OFF 는 depth 와 관계없이 거의 일정, ALL 은 depth 가 클수록 결합 작업 하나가 많이 처리)
+ * 테이블은 throttle 이 없으므로 줄어든 사용자 작업 / 잔고 조회·저장 횟수만큼의 차이이고, 실제 테이블 지연이 있으면 차이는 더 커진다.
+ * ./gradlew jmh -Pjmh.includes=CombiningBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CombiningBenchmark {
+
+    private static final long USER_ID = 1L;
+    private static final long AMOUNT = 10_000L;
+
+    @Param({"OFF", "ALL"})
+    public PointCombiningProperties.Mode combining;
+
+    @Param({"LOCK", "MAILBOX"})
+    public PointConcurrencyProperties.Strategy strategy;
+
+    @Param({"2", "8", "64", "256"})
+    public int depth;
+
+    private PointServiceFixture fixture;
+    private PointService pointService;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Requests {
+        public long requests;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new PointServiceFixture(strategy, true, 0, combining);
+        pointService = fixture.pointService();
+        // 사용이 충전보다 먼저 실행되어도 잔고가 부족하지 않도록 미리 충전
+        for (int i = 0; i < 50; i++) {
+            pointService.charge(USER_ID, 100_000L);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public void submitQueued(Requests counter) {
+        CompletableFuture<?>[] futures = new CompletableFuture[depth];
+        for (int i = 0; i < depth; i++) {
+            futures[i] = i % 2 == 0
+                    ? pointService.chargeAsync(USER_ID, AMOUNT)
+                    : pointService.useAsync(USER_ID, AMOUNT);
+        }
+        CompletableFuture.allOf(futures).join();
+        counter.requests += depth;
+    }
+}
@@ -0,0 +1,101 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrency.UserTaskExecutor;
+import io.hhplus.tdd.config.ExecutorServiceConfig;
+import io.hhplus.tdd.config.PointAdmissionProperties;
+import io.hhplus.tdd.config.PointAsyncProperties;
+import io.hhplus.tdd.config.PointCacheProperties;
+import io.hhplus.tdd.config.PointCombiningProperties;
+import io.hhplus.tdd.config.PointConcurrencyProperties;
+import io.hhplus.tdd.config.PointExecutorProperties;
+import io.hhplus.tdd.config.PointHistoryProperties;
+import io.hhplus.tdd.config.PointReadProperties;
+import io.hhplus.tdd.database.PointHistoryIndex;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.RestoredUserPoints;
+import io.hhplus.tdd.database.TableUserPointStore;
+import io.hhplus.tdd.database.UserPointCache;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.journal.PointJournal;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * FIXED / VIRTUAL 실행 모드 처리량 비교
+ * 동시 사용자 users 명이 한 번씩 충전을 요청하고 모두 끝날 때까지의 시간을 잰다. (테이블 throttle 포함)
+ * ./gradlew jmh -Pjmh.includes=ExecutionModeBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ExecutionModeBenchmark {
+
+    private static final long CHARGE_AMOUNT = 10_000L;
+
+    @Param({"FIXED", "VIRTUAL"})
+    public PointExecutorProperties.Mode mode;
+
+    @Param({"1000", "10000"})
+    public int users;
+
+    private ExecutorService executorService;
+    private PointHistoryWriter pointHistoryWriter;
+    private PointService pointService;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        ExecutorServiceConfig config = new ExecutorServiceConfig();
+        executorService = config.executorService(new PointExecutorProperties(mode, Integer.MAX_VALUE));
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        // 측정 중 대기 시간 초과나 입장 제어로 작업이 버려지지 않도록 timeout 과 상한을 충분히 크게
+        UserTaskExecutor userTaskExecutor = config.userTaskExecutor(
+                executorService,
+                new PointConcurrencyProperties(
+                        PointConcurrencyProperties.Strategy.MAILBOX,
+                        32,
+                        new PointConcurrencyProperties.Lock(PointConcurrencyProperties.Registry.REF_COUNTING, 1024, true),
+                        0
+                ),
+                new PointAsyncProperties(Duration.ofHours(1)),
+                new PointAdmissionProperties(Integer.MAX_VALUE, Integer.MAX_VALUE, Duration.ofSeconds(1)),
+                pointMetrics
+        );
+        UserPointCache userPointCache = new UserPointCache(new TableUserPointStore(new UserPointTable()),
+                new RestoredUserPoints(), new PointCacheProperties(
+                new PointCacheProperties.UserPoint(true, 100_000, Duration.ofMinutes(10))),
+                new PointReadProperties(true, PointReadProperties.Source.LOOKUP), pointMetrics);
+        PointHistoryTable pointHistoryTable = new PointHistoryTable();
+        PointHistoryIndex pointHistoryIndex = new PointHistoryIndex();
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryTable, pointHistoryIndex, new PointHistoryProperties(
+                new PointHistoryProperties.WriteBehind(true, 100_000, 100, 3, Duration.ofMillis(100))), PointJournal.DISABLED, pointMetrics);
+        pointHistoryWriter.start();
+        pointService = new PointService(userPointCache, pointHistoryIndex, pointHistoryWriter, userTaskExecutor, pointMetrics,
+                new PointCombiningProperties(PointCombiningProperties.Mode.OFF, 64, 256,
+                        new PointCombiningProperties.Hot(32, 16, 1024, 0.05)));
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        executorService.shutdownNow();
+        pointHistoryWriter.stop();
+    }
+
+    @Benchmark
+    public void chargeConcurrentUsers() {
+        CompletableFuture<?>[] futures = LongStream.rangeClosed(1, users)
+                .mapToObj(userId -> pointService.chargeAsync(userId, CHARGE_AMOUNT))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).join();
+    }
+}
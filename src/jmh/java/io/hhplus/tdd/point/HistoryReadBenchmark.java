@@ -0,0 +1,82 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.config.PointConcurrencyProperties;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.journal.JournalRecord;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자 이력 수에 따른 이력 조회 비용 (전체 조회 / 첫 페이지 조회 / 요약 조회)
+ * 요약은 전체 이력을 받아 직접 더하는 경우(sumPointHistories)와 비교한다.
+ * 다른 사용자 이력도 같은 수만큼 섞어 둔다.
+ * ./gradlew jmh -Pjmh.includes=HistoryReadBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistoryReadBenchmark {
+
+    private static final long USER_ID = 1L;
+    private static final long OTHER_USER_ID = 2L;
+
+    @Param({"10", "1000", "100000"})
+    public int historySize;
+
+    private PointServiceFixture fixture;
+    private PointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new PointServiceFixture(PointConcurrencyProperties.Strategy.MAILBOX, false);
+        pointService = fixture.pointService();
+        List<PointHistoryWriter.Entry> entries = new ArrayList<>(historySize);
+        for (long i = 0; i < historySize; i++) {
+            entries.add(new PointHistoryWriter.Entry(10_000L, i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE, i,
+                    JournalRecord.UNKNOWN_BALANCE));
+        }
+        fixture.pointHistoryWriter().writeAll(USER_ID, entries);
+        fixture.pointHistoryWriter().writeAll(OTHER_USER_ID, entries);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public void getPointHistories(Blackhole blackhole) {
+        for (PointHistory history : pointService.getPointHistories(USER_ID)) {
+            blackhole.consume(history);
+        }
+    }
+
+    @Benchmark
+    public void getPointHistoriesFirstPage(Blackhole blackhole) {
+        pointService.getPointHistories(USER_ID, PointHistoryQuery.firstPage(PointHistoryQuery.DEFAULT_SIZE))
+                .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public PointSummary getSummary() {
+        return pointService.getSummary(USER_ID, PointSummary.Window.ALL);
+    }
+
+    @Benchmark
+    public long sumPointHistories() {
+        long charged = 0;
+        for (PointHistory history : pointService.getPointHistories(USER_ID)) {
+            if (history.type() == TransactionType.CHARGE) {
+                charged += history.amount();
+            }
+        }
+        return charged;
+    }
+}
@@ -0,0 +1,52 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.config.PointConcurrencyProperties;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 동시 충전/사용 처리량과 지연 시간 분포 (throttle 없는 테이블, 8 스레드)
+ * 한 번의 호출에서 같은 사용자에게 충전 후 같은 금액을 사용하므로 잔고가 한도를 넘거나 부족해지지 않는다.
+ * - Throughput : 초당 호출 수
+ * - SampleTime : 호출별 지연 시간 (p0.99 로 LOCK 과 OPTIMISTIC 의 꼬리 지연 비교)
+ * ./gradlew jmh -Pjmh.includes=PointServiceContentionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class PointServiceContentionBenchmark {
+
+    private static final long AMOUNT = 10_000L;
+
+    @Param({"LOCK", "MAILBOX", "OPTIMISTIC", "SHARDED"})
+    public PointConcurrencyProperties.Strategy strategy;
+
+    @Param({"SINGLE", "UNIFORM", "HOT_KEY"})
+    public UserDistribution distribution;
+
+    private PointServiceFixture fixture;
+    private PointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new PointServiceFixture(strategy, true);
+        pointService = fixture.pointService();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public UserPoint chargeThenUse() {
+        long userId = distribution.nextUserId();
+        pointService.charge(userId, AMOUNT);
+        return pointService.use(userId, AMOUNT);
+    }
+}
@@ -0,0 +1,93 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.config.ExecutorServiceConfig;
+import io.hhplus.tdd.concurrency.AdmissionControlledUserTaskExecutor;
+import io.hhplus.tdd.concurrency.UserTaskExecutor;
+import io.hhplus.tdd.config.PointAdmissionProperties;
+import io.hhplus.tdd.config.PointAsyncProperties;
+import io.hhplus.tdd.config.PointCacheProperties;
+import io.hhplus.tdd.config.PointCombiningProperties;
+import io.hhplus.tdd.config.PointConcurrencyProperties;
+import io.hhplus.tdd.config.PointExecutorProperties;
+import io.hhplus.tdd.config.PointHistoryProperties;
+import io.hhplus.tdd.config.PointReadProperties;
+import io.hhplus.tdd.database.InMemoryPointHistoryTable;
+import io.hhplus.tdd.database.InMemoryUserPointTable;
+import io.hhplus.tdd.database.PointHistoryIndex;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.RestoredUserPoints;
+import io.hhplus.tdd.database.TableUserPointStore;
+import io.hhplus.tdd.database.UserPointCache;
+import io.hhplus.tdd.journal.PointJournal;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 벤치마크용 PointService 구성 (throttle 없는 테이블 + 운영과 같은 기본 설정)
+ */
+final class PointServiceFixture implements AutoCloseable {
+
+    private final ExecutorService executorService;
+    private final UserTaskExecutor userTaskExecutor;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final PointService pointService;
+
+    PointServiceFixture(PointConcurrencyProperties.Strategy strategy, boolean writeBehind) {
+        this(strategy, writeBehind, 0);
+    }
+
+    // 결합 처리 없이 측정 (이전 릴리스 결과와 비교 가능하도록)
+    PointServiceFixture(PointConcurrencyProperties.Strategy strategy, boolean writeBehind, int shards) {
+        this(strategy, writeBehind, shards, PointCombiningProperties.Mode.OFF);
+    }
+
+    // shards : SHARDED 전략의 shard 수 (0 이면 CPU 코어 수)
+    PointServiceFixture(PointConcurrencyProperties.Strategy strategy, boolean writeBehind, int shards,
+                        PointCombiningProperties.Mode combining) {
+        ExecutorServiceConfig config = new ExecutorServiceConfig();
+        executorService = config.executorService(new PointExecutorProperties(PointExecutorProperties.Mode.FIXED, Integer.MAX_VALUE));
+        // 측정 중 대기 시간 초과나 입장 제어로 작업이 버려지지 않도록 timeout 과 상한을 충분히 크게
+        PointConcurrencyProperties concurrencyProperties = new PointConcurrencyProperties(
+                strategy,
+                32,
+                new PointConcurrencyProperties.Lock(PointConcurrencyProperties.Registry.REF_COUNTING, 1024, true),
+                shards
+        );
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        UserPointCache userPointCache = new UserPointCache(new TableUserPointStore(new InMemoryUserPointTable()),
+                new RestoredUserPoints(), new PointCacheProperties(
+                new PointCacheProperties.UserPoint(true, 100_000, Duration.ofMinutes(10))),
+                new PointReadProperties(true, PointReadProperties.Source.LOOKUP), pointMetrics);
+        PointHistoryIndex pointHistoryIndex = new PointHistoryIndex();
+        pointHistoryWriter = new PointHistoryWriter(new InMemoryPointHistoryTable(), pointHistoryIndex,
+                new PointHistoryProperties(new PointHistoryProperties.WriteBehind(writeBehind, 100_000, 100, 3, Duration.ofMillis(100))),
+                PointJournal.DISABLED, pointMetrics);
+        pointHistoryWriter.start();
+        userTaskExecutor = config.userTaskExecutor(
+                executorService, concurrencyProperties, new PointAsyncProperties(Duration.ofHours(1)),
+                new PointAdmissionProperties(Integer.MAX_VALUE, Integer.MAX_VALUE, Duration.ofSeconds(1)), pointMetrics);
+        pointService = new PointService(userPointCache, pointHistoryIndex, pointHistoryWriter, userTaskExecutor, pointMetrics,
+                new PointCombiningProperties(combining, 64, Integer.MAX_VALUE,
+                        new PointCombiningProperties.Hot(32, 16, 1024, 0.05)));
+    }
+
+    PointService pointService() {
+        return pointService;
+    }
+
+    PointHistoryWriter pointHistoryWriter() {
+        return pointHistoryWriter;
+    }
+
+    @Override
+    public void close() {
+        executorService.shutdownNow();
+        if (userTaskExecutor instanceof AdmissionControlledUserTaskExecutor admission) {
+            admission.close(); // SHARDED 의 shard 스레드 종료
+        }
+        pointHistoryWriter.stop();
+    }
+}
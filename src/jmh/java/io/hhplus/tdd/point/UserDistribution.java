@@ -0,0 +1,26 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 벤치마크 요청의 사용자 분포
+ * - SINGLE : 모든 요청이 한 사용자에게 몰림 (최대 경합)
+ * - UNIFORM : USERS 명에게 고르게 분산
+ * - HOT_KEY : 90% 는 한 사용자, 나머지는 고르게 분산
+ */
+public enum UserDistribution {
+    SINGLE, UNIFORM, HOT_KEY;
+
+    public static final int USERS = 10_000;
+
+    private static final long HOT_USER_ID = 1L;
+
+    public long nextUserId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (this) {
+            case SINGLE -> HOT_USER_ID;
+            case UNIFORM -> 1 + random.nextInt(USERS);
+            case HOT_KEY -> random.nextInt(10) < 9 ? HOT_USER_ID : 1 + random.nextInt(USERS);
+        };
+    }
+}
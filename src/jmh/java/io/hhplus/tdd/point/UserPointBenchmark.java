@@ -0,0 +1,49 @@
+package io.hhplus.tdd.point;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserPoint 잔고 계산(검증 포함) 비용
+ * ./gradlew jmh -Pjmh.includes=UserPointBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserPointBenchmark {
+
+    private UserPoint userPoint;
+    private long chargeAmount;
+    private long useAmount;
+
+    @Setup
+    public void setUp() {
+        userPoint = new UserPoint(1L, 5_000_000L, System.currentTimeMillis());
+        chargeAmount = 10_000L;
+        useAmount = 5_000L;
+    }
+
+    @Benchmark
+    public long calculateChargeAmount() {
+        return userPoint.calculateChargeAmount(chargeAmount);
+    }
+
+    @Benchmark
+    public long calculateUseAmount() {
+        return userPoint.calculateUseAmount(useAmount);
+    }
+
+    // 검증 실패 경로 (예외 생성 비용 포함)
+    @Benchmark
+    public Object calculateUseAmountInsufficient() {
+        try {
+            return userPoint.calculateUseAmount(userPoint.point() + useAmount);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package io.hhplus.tdd;
 
+import io.hhplus.tdd.concurrency.UserTaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import java.util.concurrent.TimeoutException;
+
 @RestControllerAdvice
 class ApiControllerAdvice extends ResponseEntityExceptionHandler {
     @ExceptionHandler(value = Exception.class)
@@ -18,9 +25,41 @@ class ApiControllerAdvice extends ResponseEntityExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse("400", e.getMessage()));
     }
 
+    // 잘못된 요청 값 (조회 조건 등)
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse("400", e.getMessage()));
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponse> handleRuntimeException(RuntimeException e) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ErrorResponse("500", "서버 내부 오류가 발생했습니다."));
     }
 
+    // 입장 제어로 거절하거나 대기 시간 초과로 버린 요청 (작업은 실행되지 않았으므로 Retry-After 뒤 재시도 가능)
+    // 한 사용자의 처리 중 요청이 너무 많으면 429, 서버 전체가 혼잡하면 503
+    @ExceptionHandler(UserTaskRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleUserTaskRejectedException(UserTaskRejectedException e) {
+        HttpStatus status = e.reason() == UserTaskRejectedException.Reason.USER_LIMIT
+                ? HttpStatus.TOO_MANY_REQUESTS
+                : HttpStatus.SERVICE_UNAVAILABLE;
+        long retryAfterSeconds = Math.max(1L, (e.retryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(new ErrorResponse(String.valueOf(status.value()), e.getMessage()));
+    }
+
+    // 사용자 락/큐 대기 시간 초과 (작업은 실행되지 않았으므로 재시도 가능)
+    @ExceptionHandler(TimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleTimeoutException(TimeoutException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new ErrorResponse("503", e.getMessage()));
+    }
+
+    // 비동기 응답(CompletableFuture) 대기 시간 초과
+    @Override
+    protected ResponseEntity<Object> handleAsyncRequestTimeoutException(
+            AsyncRequestTimeoutException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new ErrorResponse("503", "요청 처리 시간이 초과되었습니다."));
+    }
+
 }
@@ -0,0 +1,250 @@
+package io.hhplus.tdd.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 크기 제한 + TTL 캐시
+ * - 키 해시로 나눈 세그먼트마다 접근 순서 LinkedHashMap 과 락을 두어, 세그먼트 단위로 가장 오래 안 쓴 항목부터 내보낸다. (LRU)
+ * - 항목은 저장 후 ttl 이 지나면 만료되고, 조회 시점에 걷어낸다.
+ * - get(key, loader) 로 채우는 중에 put / invalidate 가 들어오면 그 적재 결과는 버린다. (느린 적재가 최신 값을 덮어쓰지 않음)
+ */
+public class BoundedCache<K, V> {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final Segment<K, V>[] segments;
+    private final long ttlNanos;
+    private final LongSupplier nanoTime;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder expirationCount = new LongAdder();
+
+    public BoundedCache(int maximumSize, Duration ttl) {
+        this(maximumSize, ttl, System::nanoTime);
+    }
+
+    public BoundedCache(int maximumSize, Duration ttl, LongSupplier nanoTime) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("캐시 크기는 1 이상이어야 합니다");
+        }
+        int segmentCount = Math.min(SEGMENT_COUNT, maximumSize);
+        int segmentCapacity = (maximumSize + segmentCount - 1) / segmentCount;
+        @SuppressWarnings("unchecked")
+        Segment<K, V>[] segments = (Segment<K, V>[]) new Segment<?, ?>[segmentCount];
+        this.segments = segments;
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(segmentCapacity, evictionCount, expirationCount);
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * 캐시된 값 (없거나 만료되면 null)
+     */
+    public V getIfPresent(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            V value = segment.get(key, nanoTime.getAsLong());
+            (value == null ? missCount : hitCount).increment();
+            return value;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * 캐시된 값, 없으면 loader 로 읽어 저장 후 반환
+     * loader 는 락 밖에서 실행되며, 실행 중 같은 키에 put / invalidate 가 있었다면 결과를 저장하지 않는다.
+     * loader 가 예외를 던지면 적재 표시만 지우고 그 예외를 그대로 던진다.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Segment<K, V> segment = segmentFor(key);
+        Object token = new Object();
+        segment.lock.lock();
+        try {
+            V value = segment.get(key, nanoTime.getAsLong());
+            if (value != null) {
+                hitCount.increment();
+                return value;
+            }
+            missCount.increment();
+            segment.loading.put(key, token);
+        } finally {
+            segment.lock.unlock();
+        }
+
+        V loaded = null;
+        try {
+            loaded = loader.apply(key);
+        } finally {
+            segment.lock.lock();
+            try {
+                if (segment.loading.remove(key, token) && loaded != null && !segment.entries.containsKey(key)) {
+                    segment.put(key, loaded, nanoTime.getAsLong() + ttlNanos);
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * 값 저장 (write-through), 진행 중인 적재 결과는 무효화
+     */
+    public void put(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            segment.loading.remove(key);
+            segment.put(key, value, nanoTime.getAsLong() + ttlNanos);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * 키가 없거나 만료됐을 때만 저장
+     *
+     * @return 이미 있던 값 (저장했으면 null)
+     */
+    public V putIfAbsent(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            V existing = segment.get(key, nanoTime.getAsLong());
+            if (existing != null) {
+                hitCount.increment();
+                return existing;
+            }
+            missCount.increment();
+            segment.loading.remove(key);
+            segment.put(key, value, nanoTime.getAsLong() + ttlNanos);
+            return null;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * 저장된 값이 value 일 때만 제거 (그 사이 다른 값으로 바뀌었으면 그대로 둠)
+     */
+    public void invalidate(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            Entry<V> entry = segment.entries.get(key);
+            if (entry != null && entry.value() == value) {
+                segment.entries.remove(key);
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            segment.loading.remove(key);
+            segment.entries.remove(key);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.entries.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    public Stats stats() {
+        return new Stats(hitCount.sum(), missCount.sum(), evictionCount.sum(), expirationCount.sum(), size());
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return segments[Math.floorMod(hash, segments.length)];
+    }
+
+    /**
+     * - hitRate : 조회 중 캐시에서 바로 찾은 비율 (조회가 없으면 0)
+     */
+    public record Stats(
+            long hitCount,
+            long missCount,
+            long evictionCount,
+            long expirationCount,
+            long size
+    ) {
+
+        public double hitRate() {
+            long requests = hitCount + missCount;
+            return requests == 0 ? 0 : (double) hitCount / requests;
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAtNanos) {
+    }
+
+    // 모든 접근은 lock 안에서
+    private static final class Segment<S, T> {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<S, Entry<T>> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private final Map<S, Object> loading = new HashMap<>();
+        private final int capacity;
+        private final LongAdder evictionCount;
+        private final LongAdder expirationCount;
+
+        private Segment(int capacity, LongAdder evictionCount, LongAdder expirationCount) {
+            this.capacity = capacity;
+            this.evictionCount = evictionCount;
+            this.expirationCount = expirationCount;
+        }
+
+        private T get(S key, long now) {
+            Entry<T> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (now - entry.expiresAtNanos() >= 0) {
+                entries.remove(key);
+                expirationCount.increment();
+                return null;
+            }
+            return entry.value();
+        }
+
+        private void put(S key, T value, long expiresAtNanos) {
+            entries.put(key, new Entry<>(value, expiresAtNanos));
+            Iterator<Entry<T>> eldest = entries.values().iterator();
+            while (entries.size() > capacity) {
+                eldest.next();
+                eldest.remove();
+                evictionCount.increment();
+            }
+        }
+    }
+}
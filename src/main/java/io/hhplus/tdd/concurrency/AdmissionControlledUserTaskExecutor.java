@@ -0,0 +1,167 @@
+package io.hhplus.tdd.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 입장 제어(admission control) : 다른 UserTaskExecutor 를 감싸 처리 중인 작업 수를 제한
+ * - 처리 중 : 제출부터 완료(실행, 실패, 시간 초과)까지. 시간 초과된 작업은 풀에서 꺼내질 때를 기다리지 않고 그 시점에 자리를 반납한다.
+ * - 전체 처리 중 작업이 maxInFlight 면 OVERLOADED, 한 사용자의 처리 중 작업이 maxInFlightPerUser 면 USER_LIMIT 로 대기열에 넣기 전에 거절한다.
+ *   (급증한 요청이 큐에 끝없이 쌓이지 않고, 한 사용자가 큐를 채워 다른 사용자를 밀어내지 못함)
+ * - 감싼 실행기의 대기 시간 초과(TimeoutException)는 DEADLINE, 풀 대기열 거절(RejectedExecutionException)은 OVERLOADED 로 바꿔 완료한다.
+ * - 두 사용자 작업은 전체 1건, 두 사용자에게 각각 1건으로 센다.
+ */
+public class AdmissionControlledUserTaskExecutor implements UserTaskExecutor, AutoCloseable {
+
+    private final UserTaskExecutor delegate;
+    private final int maxInFlight;
+    private final int maxInFlightPerUser;
+    private final Duration retryAfter;
+    private final Consumer<UserTaskRejectedException.Reason> rejectionListener;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ConcurrentHashMap<Long, Integer> inFlightByUser = new ConcurrentHashMap<>(); // 처리 중인 사용자만 보관
+
+    public AdmissionControlledUserTaskExecutor(
+            UserTaskExecutor delegate,
+            int maxInFlight,
+            int maxInFlightPerUser,
+            Duration retryAfter,
+            Consumer<UserTaskRejectedException.Reason> rejectionListener
+    ) {
+        if (maxInFlight < 1 || maxInFlightPerUser < 1) {
+            throw new IllegalArgumentException("처리 중 작업 수 상한은 1 이상이어야 합니다");
+        }
+        this.delegate = delegate;
+        this.maxInFlight = maxInFlight;
+        this.maxInFlightPerUser = maxInFlightPerUser;
+        this.retryAfter = retryAfter;
+        this.rejectionListener = rejectionListener;
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(long userId, Supplier<T> task) {
+        if (!acquireUser(userId)) {
+            return rejected(UserTaskRejectedException.Reason.USER_LIMIT);
+        }
+        if (!acquire()) {
+            releaseUser(userId);
+            return rejected(UserTaskRejectedException.Reason.OVERLOADED);
+        }
+        return track(() -> delegate.submit(userId, task), () -> releaseUser(userId));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(long userId, long otherUserId, Supplier<T> task) {
+        if (!acquireUser(userId)) {
+            return rejected(UserTaskRejectedException.Reason.USER_LIMIT);
+        }
+        if (!acquireUser(otherUserId)) {
+            releaseUser(userId);
+            return rejected(UserTaskRejectedException.Reason.USER_LIMIT);
+        }
+        if (!acquire()) {
+            releaseUser(userId);
+            releaseUser(otherUserId);
+            return rejected(UserTaskRejectedException.Reason.OVERLOADED);
+        }
+        return track(() -> delegate.submit(userId, otherUserId, task), () -> {
+            releaseUser(userId);
+            releaseUser(otherUserId);
+        });
+    }
+
+    @Override
+    public boolean serializesUsers() {
+        return delegate.serializesUsers();
+    }
+
+    // 감싼 실행기가 스레드를 가지면 함께 종료 (SHARDED, 빈 종료 시 호출)
+    @Override
+    public void close() {
+        if (delegate instanceof ShardedUserTaskExecutor sharded) {
+            sharded.close();
+        }
+    }
+
+    // 현재 처리 중인 작업 수 (모니터링/테스트용)
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public int inFlight(long userId) {
+        return inFlightByUser.getOrDefault(userId, 0);
+    }
+
+    // 완료되면 자리를 반납하고, 실행하지 않은 작업의 예외를 UserTaskRejectedException 으로 바꿔 전달
+    private <T> CompletableFuture<T> track(Supplier<CompletableFuture<T>> submission, Runnable releaseUsers) {
+        CompletableFuture<T> submitted;
+        try {
+            submitted = submission.get();
+        } catch (RuntimeException e) {
+            inFlight.decrementAndGet();
+            releaseUsers.run();
+            throw e;
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        submitted.whenComplete((value, e) -> {
+            inFlight.decrementAndGet();
+            releaseUsers.run();
+            if (e == null) {
+                result.complete(value);
+                return;
+            }
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof TimeoutException) {
+                cause = rejection(UserTaskRejectedException.Reason.DEADLINE, cause);
+            } else if (cause instanceof RejectedExecutionException) {
+                cause = rejection(UserTaskRejectedException.Reason.OVERLOADED, cause);
+            }
+            result.completeExceptionally(cause);
+        });
+        return result;
+    }
+
+    private boolean acquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= maxInFlight) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private boolean acquireUser(long userId) {
+        boolean[] acquired = {false};
+        inFlightByUser.compute(userId, (id, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= maxInFlightPerUser) {
+                return count;
+            }
+            acquired[0] = true;
+            return current + 1;
+        });
+        return acquired[0];
+    }
+
+    private void releaseUser(long userId) {
+        inFlightByUser.computeIfPresent(userId, (id, count) -> count == 1 ? null : count - 1);
+    }
+
+    private <T> CompletableFuture<T> rejected(UserTaskRejectedException.Reason reason) {
+        return CompletableFuture.failedFuture(rejection(reason, null));
+    }
+
+    private UserTaskRejectedException rejection(UserTaskRejectedException.Reason reason, Throwable cause) {
+        rejectionListener.accept(reason);
+        return new UserTaskRejectedException(reason, retryAfter, cause);
+    }
+}
@@ -0,0 +1,224 @@
+package io.hhplus.tdd.concurrency;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 사용자별 원자적 잔고 셀 (OPTIMISTIC 전략)
+ * - 셀은 (잔고, 버전) 불변 상태를 AtomicReference 로 들고, 변경은 compareAndSet 재시도로 반영한다. (락 없음)
+ * - 계산(검증 포함)은 재시도마다 최신 잔고로 다시 실행된다.
+ * - CAS 에 성공한 작업은 버전 순서대로 publish(이력 적재, 저장소 반영)를 실행한다.
+ *   앞 버전의 publish 가 끝날 때까지 짧게 spin 한 뒤 양보하므로, 이력 순서 = 잔고 변경 순서가 유지된다.
+ * - 검증 실패도 버전을 올려 실패 이력이 같은 순서로 기록되게 한다. (잔고는 그대로)
+ * - 셀은 처음 변경될 때 loader 로 현재 잔고를 읽어 만들고, 이후 모든 변경은 셀을 거친다.
+ * - 셀은 참조 카운트로 관리해 변경 중인 작업이 없어지면 바로 제거한다. (RefCountingLockRegistry 와 같은 방식)
+ *   제거될 때는 마지막 publish 까지 끝난 뒤이므로, 다음 변경은 loader 로 publish 가 반영한 잔고를 다시 읽는다.
+ *   보관 중인 셀 수는 동시에 변경 중인 사용자 수를 넘지 않는다.
+ * - 두 사용자 변경(이체)은 두 셀을 사용자 id 순서로 잡아(held) 두 잔고를 함께 계산하고 한 번에 놓는다.
+ *   잡힌 셀의 단일 변경은 놓일 때까지 기다렸다가 다시 계산한다. 잡는 순서가 하나라 두 사용자 변경끼리 교착되지 않는다.
+ */
+public class BalanceCells {
+
+    private static final int SPINS = Runtime.getRuntime().availableProcessors() > 1 ? 128 : 0; // 단일 코어에서는 spin 이 앞 작업을 막음
+    private static final int YIELDS = 16;
+    private static final long PARK_NANOS = 10_000L;
+
+    private final ConcurrentHashMap<Long, Cell> cells = new ConcurrentHashMap<>();
+    private final Runnable retryListener;
+
+    public BalanceCells(Runnable retryListener) {
+        this.retryListener = retryListener;
+    }
+
+    /**
+     * 현재 잔고에 attempt 를 적용하고, 성공한 계산의 publish 결과를 반환
+     *
+     * @param loader  셀이 없을 때 읽을 현재 잔고
+     * @param attempt 현재 잔고 → 반영 후 잔고와 publish (다른 작업과 겹치면 다시 호출됨)
+     */
+    public <T> T update(long userId, LongSupplier loader, Attempt<T> attempt) {
+        Cell cell = acquire(userId, loader);
+        try {
+            while (true) {
+                State current = cell.state.get();
+                if (current.held()) {
+                    cell.awaitReleased();
+                    continue;
+                }
+                Outcome<T> outcome = attempt.apply(current.balance());
+                State next = new State(outcome.balance(), current.version() + 1, false);
+                if (cell.state.compareAndSet(current, next)) {
+                    return cell.publish(next.version(), outcome.publish());
+                }
+                retryListener.run();
+            }
+        } finally {
+            release(userId, cell);
+        }
+    }
+
+    /**
+     * 두 사용자의 현재 잔고에 attempt 를 함께 적용하고, publish 결과를 반환
+     * 두 셀을 잡은 동안 한 번만 계산하므로 재시도는 없고, publish 는 두 셀 모두 앞 버전의 publish 가 끝난 뒤 실행된다.
+     */
+    public <T> T update(long userId, LongSupplier loader, long otherUserId, LongSupplier otherLoader,
+                        PairAttempt<T> attempt) {
+        if (userId == otherUserId) {
+            throw new IllegalArgumentException("서로 다른 두 사용자만 함께 변경할 수 있습니다");
+        }
+        Cell cell = acquire(userId, loader);
+        try {
+            Cell otherCell = acquire(otherUserId, otherLoader);
+            try {
+                return update(cell, otherCell, userId < otherUserId, attempt);
+            } finally {
+                release(otherUserId, otherCell);
+            }
+        } finally {
+            release(userId, cell);
+        }
+    }
+
+    private static <T> T update(Cell cell, Cell otherCell, boolean ordered, PairAttempt<T> attempt) {
+        State firstHeld = (ordered ? cell : otherCell).hold();
+        State secondHeld = (ordered ? otherCell : cell).hold();
+        State current = ordered ? firstHeld : secondHeld;
+        State otherCurrent = ordered ? secondHeld : firstHeld;
+
+        PairOutcome<T> outcome;
+        try {
+            outcome = attempt.apply(current.balance(), otherCurrent.balance());
+        } catch (RuntimeException e) {
+            cell.state.set(current); // 잡기 전 상태로 놓음
+            otherCell.state.set(otherCurrent);
+            throw e;
+        }
+        State next = new State(outcome.balance(), current.version() + 1, false);
+        State otherNext = new State(outcome.otherBalance(), otherCurrent.version() + 1, false);
+        cell.state.set(next);
+        otherCell.state.set(otherNext);
+
+        cell.awaitPublished(current.version());
+        otherCell.awaitPublished(otherCurrent.version());
+        try {
+            return outcome.publish().get();
+        } finally {
+            cell.published = next.version();
+            otherCell.published = otherNext.version();
+        }
+    }
+
+    // 보관 중인 셀 수 = 변경 중인 사용자 수 (모니터링/테스트용)
+    public int size() {
+        return cells.size();
+    }
+
+    // 참조를 늘려 셀을 얻음, 잔고 조회는 bin 락 밖에서 (저장소 조회가 느릴 수 있음)
+    private Cell acquire(long userId, LongSupplier loader) {
+        Cell cell = cells.compute(userId, (id, existing) -> {
+            Cell target = existing == null ? new Cell() : existing;
+            target.references++;
+            return target;
+        });
+        cell.load(loader);
+        return cell;
+    }
+
+    // 참조를 줄이고, 마지막 참조였으면 제거 (참조 카운트 증감은 compute 안에서만)
+    private void release(long userId, Cell cell) {
+        cells.computeIfPresent(userId, (id, existing) -> {
+            if (existing != cell) {
+                return existing;
+            }
+            return --existing.references == 0 ? null : existing;
+        });
+    }
+
+    /**
+     * 현재 잔고로 계산한 결과 (재시도마다 다시 호출되므로 부수 효과는 publish 에만 둔다)
+     */
+    @FunctionalInterface
+    public interface Attempt<T> {
+        Outcome<T> apply(long balance);
+    }
+
+    /**
+     * - balance : 반영 후 잔고 (실패면 현재 잔고)
+     * - publish : CAS 성공 후 버전 순서대로 한 번 실행, 반환값(또는 예외)이 update 의 결과
+     */
+    public record Outcome<T>(long balance, Supplier<T> publish) {
+    }
+
+    /**
+     * 두 사용자의 현재 잔고로 계산한 결과 (두 셀을 잡은 채 한 번만 호출됨)
+     */
+    @FunctionalInterface
+    public interface PairAttempt<T> {
+        PairOutcome<T> apply(long balance, long otherBalance);
+    }
+
+    public record PairOutcome<T>(long balance, long otherBalance, Supplier<T> publish) {
+    }
+
+    // held : 두 사용자 변경이 잡고 있는 상태 (잡은 쪽만 다음 상태로 바꿀 수 있음)
+    private record State(long balance, long version, boolean held) {
+    }
+
+    private static void pause(int waits) {
+        if (waits < SPINS) {
+            Thread.onSpinWait();
+        } else if (waits < SPINS + YIELDS) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+
+    private static final class Cell {
+        private final AtomicReference<State> state = new AtomicReference<>(); // 잔고를 읽기 전에는 null
+        private volatile long published; // publish 가 끝난 마지막 버전
+        private int references; // compute 안에서만 변경
+
+        // 처음 참조한 작업들이 각자 읽어도 먼저 설정한 잔고 하나만 사용 (셀이 있는 동안 잔고는 셀에서만 바뀌므로 읽은 값은 같음)
+        private void load(LongSupplier loader) {
+            if (state.get() == null) {
+                state.compareAndSet(null, new State(loader.getAsLong(), 0L, false));
+            }
+        }
+
+        // 셀을 잡고 잡기 직전 상태를 반환 (다른 두 사용자 변경이 잡고 있으면 놓일 때까지 대기)
+        private State hold() {
+            for (int waits = 0; ; waits++) {
+                State current = state.get();
+                if (!current.held() && state.compareAndSet(current, new State(current.balance(), current.version(), true))) {
+                    return current;
+                }
+                pause(waits);
+            }
+        }
+
+        private void awaitReleased() {
+            for (int waits = 0; state.get().held(); waits++) {
+                pause(waits);
+            }
+        }
+
+        private <T> T publish(long version, Supplier<T> publish) {
+            awaitPublished(version - 1);
+            try {
+                return publish.get();
+            } finally {
+                published = version; // 실패해도 다음 버전이 멈추지 않도록
+            }
+        }
+
+        private void awaitPublished(long version) {
+            for (int waits = 0; published < version; waits++) {
+                pause(waits);
+            }
+        }
+    }
+}
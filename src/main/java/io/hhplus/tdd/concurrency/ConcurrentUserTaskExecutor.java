@@ -0,0 +1,48 @@
+package io.hhplus.tdd.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * 사용자 단위 직렬화 없이 공유 풀에서 바로 실행 (OPTIMISTIC)
+ * 같은 사용자의 작업도 동시에 실행되므로, 작업이 BalanceCells 로 스스로 원자성과 순서를 보장해야 한다.
+ */
+public class ConcurrentUserTaskExecutor implements UserTaskExecutor {
+
+    private final ExecutorService executorService;
+    private final Duration timeout;
+
+    public ConcurrentUserTaskExecutor(ExecutorService executorService, Duration timeout) {
+        this.executorService = executorService;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(long userId, Supplier<T> task) {
+        UserTask<T> userTask = new UserTask<>(task, timeout);
+        try {
+            executorService.execute(() -> {
+                if (userTask.begin()) {
+                    userTask.complete(userTask.execute());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            userTask.abort(e);
+        }
+        return userTask.future();
+    }
+
+    // 두 사용자 작업도 바로 실행 (작업이 BalanceCells 로 두 잔고 셀을 함께 잡음)
+    @Override
+    public <T> CompletableFuture<T> submit(long userId, long otherUserId, Supplier<T> task) {
+        return submit(userId, task);
+    }
+
+    @Override
+    public boolean serializesUsers() {
+        return false;
+    }
+}
@@ -0,0 +1,141 @@
+package io.hhplus.tdd.concurrency;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 요청이 몰리는 사용자(heavy hitter) 추적 : 표본 추출 + space-saving top-K
+ * - 요청 sampleRate 건 중 1건만 기록하고, 기록도 락을 바로 잡을 수 있을 때만 한다. (요청 경로에서 기다리지 않음, 빠진 표본은 버림)
+ * - 사용자 카운터는 capacity 개만 둔다. 가득 차면 가장 작은 카운터를 새 사용자에게 넘기고 그 값을 오차(error)로 남긴다.
+ *   (count - error 는 실제 표본 수의 하한)
+ * - 표본 수(절반으로 줄인 이전 값 포함)가 window 에 이를 때마다 count - error 가 표본의 hotShare 이상인 사용자를 hot 으로 다시 정하고
+ *   모든 값을 절반으로 줄인다.
+ *   최근 요청일수록 크게 반영되고, 요청이 줄어든 사용자는 몇 window 뒤에 hot 에서 빠진다.
+ * - isHot 은 마지막으로 정한 hot 집합만 읽는다. (락 없음)
+ */
+public class HotUserTracker {
+
+    private final int capacity;
+    private final int sampleRate;
+    private final int window;
+    private final double hotShare;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, Counter> counters;
+    private long sampled; // 현재 window 의 표본 수 (절반으로 줄인 이전 window 포함)
+    private volatile Set<Long> hotUsers = Set.of();
+
+    public HotUserTracker(int capacity, int sampleRate, int window, double hotShare) {
+        if (capacity < 1 || sampleRate < 1 || window < 1) {
+            throw new IllegalArgumentException("capacity, sampleRate, window 는 1 이상이어야 합니다");
+        }
+        if (hotShare <= 0 || hotShare > 1) {
+            throw new IllegalArgumentException("hotShare 는 0 보다 크고 1 이하여야 합니다");
+        }
+        this.capacity = capacity;
+        this.sampleRate = sampleRate;
+        this.window = window;
+        this.hotShare = hotShare;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    public void record(long userId) {
+        if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return;
+        }
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            Counter counter = counters.get(userId);
+            if (counter != null) {
+                counter.count++;
+            } else if (counters.size() < capacity) {
+                counters.put(userId, new Counter(userId, 1, 0));
+            } else {
+                Counter min = minimum();
+                counters.remove(min.userId);
+                counters.put(userId, new Counter(userId, min.count + 1, min.count));
+            }
+            if (++sampled >= window) {
+                rotate();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isHot(long userId) {
+        return hotUsers.contains(userId);
+    }
+
+    /**
+     * 현재 카운터를 표본 수 추정치가 큰 순서로 반환 (모니터링용)
+     */
+    public List<HotUser> topK() {
+        List<HotUser> users = new ArrayList<>(capacity);
+        lock.lock();
+        try {
+            for (Counter counter : counters.values()) {
+                users.add(new HotUser(counter.userId, counter.count, counter.error, hotUsers.contains(counter.userId)));
+            }
+        } finally {
+            lock.unlock();
+        }
+        users.sort(Comparator.comparingLong(HotUser::count).reversed());
+        return users;
+    }
+
+    // 카운터 수가 capacity 로 작으므로 선형 탐색 (표본 추출된 요청에서만 호출)
+    private Counter minimum() {
+        Counter min = null;
+        for (Counter counter : counters.values()) {
+            if (min == null || counter.count < min.count) {
+                min = counter;
+            }
+        }
+        return min;
+    }
+
+    private void rotate() {
+        Set<Long> hot = new HashSet<>();
+        double threshold = hotShare * sampled;
+        for (Counter counter : counters.values()) {
+            if (counter.count - counter.error >= threshold) {
+                hot.add(counter.userId);
+            }
+        }
+        hotUsers = Set.copyOf(hot);
+        counters.values().removeIf(counter -> {
+            counter.count >>= 1;
+            counter.error >>= 1;
+            return counter.count == 0;
+        });
+        sampled >>= 1;
+    }
+
+    /**
+     * - count : 표본 수 추정치 (실제보다 크거나 같음)
+     * - error : 추정치에 포함될 수 있는 최대 과대 추정
+     */
+    public record HotUser(long userId, long count, long error, boolean hot) {
+    }
+
+    private static final class Counter {
+        private final long userId;
+        private long count;
+        private long error;
+
+        private Counter(long userId, long count, long error) {
+            this.userId = userId;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
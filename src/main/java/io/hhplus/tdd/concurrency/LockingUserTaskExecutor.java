@@ -0,0 +1,109 @@
+package io.hhplus.tdd.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 글로벌 스레드 풀 + 사용자별 락 (UserLockRegistry)
+ * 풀 스레드가 작업을 꺼낸 뒤 사용자 락을 기다리므로, 특정 사용자에게 요청이 몰리면 풀 스레드가 락 대기로 묶인다.
+ */
+public class LockingUserTaskExecutor implements UserTaskExecutor {
+
+    private final ExecutorService executorService;
+    private final UserLockRegistry lockRegistry;
+    private final Duration timeout;
+
+    public LockingUserTaskExecutor(ExecutorService executorService, UserLockRegistry lockRegistry, Duration timeout) {
+        this.executorService = executorService;
+        this.lockRegistry = lockRegistry;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(long userId, Supplier<T> task) {
+        UserTask<T> userTask = new UserTask<>(task, timeout);
+        execute(userTask, () -> run(userTask, () -> acquire(userId, userTask)));
+        return userTask.future();
+    }
+
+    // 두 사용자의 락을 lockOrder 순서로 잡음 (모든 두 사용자 작업이 같은 순서로 잡으므로 서로 기다리며 멈추지 않음)
+    @Override
+    public <T> CompletableFuture<T> submit(long userId, long otherUserId, Supplier<T> task) {
+        UserTask<T> userTask = new UserTask<>(task, timeout);
+        long order = lockRegistry.lockOrder(userId);
+        long otherOrder = lockRegistry.lockOrder(otherUserId);
+        boolean userFirst = order < otherOrder || (order == otherOrder && userId < otherUserId);
+        long first = userFirst ? userId : otherUserId;
+        long second = userFirst ? otherUserId : userId;
+        execute(userTask, () -> run(userTask, () -> {
+            UserLockRegistry.Lease firstLease = acquire(first, userTask);
+            if (firstLease == null) {
+                return null;
+            }
+            UserLockRegistry.Lease secondLease;
+            try {
+                secondLease = acquire(second, userTask);
+            } catch (InterruptedException e) {
+                firstLease.close();
+                throw e;
+            }
+            if (secondLease == null) {
+                firstLease.close();
+                return null;
+            }
+            return () -> {
+                secondLease.close();
+                firstLease.close();
+            };
+        }));
+        return userTask.future();
+    }
+
+    // 풀 대기열이 가득 차 거절되면 작업을 실패로 완료
+    private void execute(UserTask<?> userTask, Runnable command) {
+        try {
+            executorService.execute(command);
+        } catch (RejectedExecutionException e) {
+            userTask.abort(e);
+        }
+    }
+
+    private UserLockRegistry.Lease acquire(long userId, UserTask<?> userTask) throws InterruptedException {
+        return lockRegistry.tryAcquire(userId, userTask.remainingNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private <T> void run(UserTask<T> userTask, LeaseAcquirer acquirer) {
+        UserLockRegistry.Lease lease;
+        try {
+            lease = acquirer.acquire();
+            if (lease == null) {
+                return; // 타이머가 TimeoutException 으로 완료시킴
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // 인터럽트 상태 복원
+            userTask.abort(new IllegalStateException("작업이 중단되었습니다.", e));
+            return;
+        }
+
+        UserTask.Outcome<T> outcome;
+        try {
+            if (!userTask.begin()) {
+                return; // 이미 타임아웃 처리된 요청은 실행하지 않음
+            }
+            outcome = userTask.execute();
+        } finally {
+            lease.close(); // 락 해제
+        }
+        // 후속 작업(히스토리 기록 등)이 락을 잡은 채 실행되지 않도록 락 해제 후 완료
+        userTask.complete(outcome);
+    }
+
+    @FunctionalInterface
+    private interface LeaseAcquirer {
+        UserLockRegistry.Lease acquire() throws InterruptedException;
+    }
+}
@@ -0,0 +1,147 @@
+package io.hhplus.tdd.concurrency;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 사용자별 메일박스(단일 작성자 큐)
+ * - 작업은 사용자 메일박스에 쌓이고, 메일박스는 한 번에 최대 하나의 풀 스레드만 비운다. (락 대기 없음)
+ * - 한 번에 drainBatchSize 개까지만 처리하고 풀에 다시 제출해 다른 사용자에게 스레드를 양보한다.
+ * - 비어 있는 메일박스는 제거되어 사용자 수만큼 쌓이지 않는다.
+ * - 두 사용자 작업은 두 메일박스에 함께 넣는다. 먼저 차례가 온 메일박스는 스레드를 반납하고 멈췄다가,
+ *   나중에 차례가 온 메일박스가 작업을 실행해 끝내면(또는 시간 초과되면) 이어서 비운다.
+ *   두 사용자 작업은 pairLock 안에서 넣어 어느 메일박스에서나 같은 순서로 만나므로 서로 기다리며 멈추지 않는다.
+ */
+public class MailboxUserTaskExecutor implements UserTaskExecutor {
+
+    private final ExecutorService executorService;
+    private final ConcurrentHashMap<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final Duration timeout;
+    private final int drainBatchSize;
+    private final ReentrantLock pairLock = new ReentrantLock();
+
+    public MailboxUserTaskExecutor(ExecutorService executorService, Duration timeout, int drainBatchSize) {
+        if (drainBatchSize < 1) {
+            throw new IllegalArgumentException("drainBatchSize 는 1 이상이어야 합니다");
+        }
+        this.executorService = executorService;
+        this.timeout = timeout;
+        this.drainBatchSize = drainBatchSize;
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(long userId, Supplier<T> task) {
+        UserTask<T> userTask = new UserTask<>(task, timeout);
+        enqueue(userId, userTask);
+        return userTask.future();
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(long userId, long otherUserId, Supplier<T> task) {
+        UserTask<T> userTask = new UserTask<>(task, timeout, true);
+        pairLock.lock();
+        try {
+            enqueue(userId, userTask);
+            enqueue(otherUserId, userTask);
+        } finally {
+            pairLock.unlock();
+        }
+        return userTask.future();
+    }
+
+    private void enqueue(long userId, UserTask<?> userTask) {
+        Mailbox[] toSchedule = new Mailbox[1];
+        // 제출과 빈 메일박스 제거가 같은 버킷 락 안에서 일어나도록 compute 사용
+        mailboxes.compute(userId, (id, mailbox) -> {
+            Mailbox target = mailbox == null ? new Mailbox(id) : mailbox;
+            target.queue.add(userTask);
+            if (target.scheduled.compareAndSet(false, true)) {
+                toSchedule[0] = target;
+            }
+            return target;
+        });
+        if (toSchedule[0] != null) {
+            schedule(toSchedule[0]);
+        }
+    }
+
+    // 현재 메일박스 수 (모니터링/테스트용)
+    public int mailboxCount() {
+        return mailboxes.size();
+    }
+
+    private void schedule(Mailbox mailbox) {
+        try {
+            executorService.execute(mailbox::drain);
+        } catch (RejectedExecutionException e) {
+            mailbox.rejectAll(e);
+        }
+    }
+
+    private final class Mailbox {
+        private final long userId;
+        private final Queue<UserTask<?>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        private Mailbox(long userId) {
+            this.userId = userId;
+        }
+
+        private void drain() {
+            for (int i = 0; i < drainBatchSize; i++) {
+                UserTask<?> task = queue.poll();
+                if (task == null) {
+                    break;
+                }
+                if (!run(task)) {
+                    return; // 두 사용자 작업이 끝나면 다시 제출됨
+                }
+            }
+            release();
+        }
+
+        // 두 사용자 작업에 먼저 도착했으면 false : 작업이 끝날 때까지 메일박스를 멈춤 (scheduled 는 유지)
+        private <T> boolean run(UserTask<T> task) {
+            if (!task.arrive()) {
+                task.future().whenComplete((value, e) -> schedule(this));
+                return false;
+            }
+            if (task.begin()) {
+                task.complete(task.execute());
+            }
+            return true;
+        }
+
+        private void release() {
+            if (!queue.isEmpty()) {
+                schedule(this); // 남은 작업은 다시 제출 (다른 사용자에게 양보)
+                return;
+            }
+            scheduled.set(false);
+            // 해제 직전에 들어온 작업 재확인
+            if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+                schedule(this);
+                return;
+            }
+            mailboxes.computeIfPresent(userId, (id, mailbox) ->
+                    mailbox == this && queue.isEmpty() && !scheduled.get() ? null : mailbox);
+        }
+
+        // 풀이 작업을 거절하면 대기 중인 작업을 모두 실패 처리
+        private void rejectAll(RejectedExecutionException cause) {
+            UserTask<?> task;
+            while ((task = queue.poll()) != null) {
+                task.abort(cause);
+            }
+            release();
+        }
+    }
+}
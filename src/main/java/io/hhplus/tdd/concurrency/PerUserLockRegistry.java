@@ -0,0 +1,33 @@
+package io.hhplus.tdd.concurrency;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 사용자 ID 마다 락 하나 (기존 방식)
+ * 한 번 만들어진 락은 제거되지 않으므로 사용자 수만큼 메모리를 차지한다.
+ */
+public class PerUserLockRegistry implements UserLockRegistry {
+
+    private final ConcurrentHashMap<Long, ReentrantLock> userLocks = new ConcurrentHashMap<>();
+    private final boolean fair;
+
+    public PerUserLockRegistry(boolean fair) {
+        this.fair = fair;
+    }
+
+    @Override
+    public Lease tryAcquire(long userId, long timeout, TimeUnit unit) throws InterruptedException {
+        ReentrantLock lock = userLocks.computeIfAbsent(userId, k -> new ReentrantLock(fair));
+        if (!lock.tryLock(timeout, unit)) {
+            return null;
+        }
+        return lock::unlock;
+    }
+
+    @Override
+    public int size() {
+        return userLocks.size();
+    }
+}
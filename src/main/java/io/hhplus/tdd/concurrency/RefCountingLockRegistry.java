@@ -0,0 +1,68 @@
+package io.hhplus.tdd.concurrency;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 참조 카운트 기반 사용자 락
+ * 락을 잡고 있거나 기다리는 스레드가 없어지면 바로 제거되어, 보관 중인 락 수는 동시에 처리 중인 사용자 수를 넘지 않는다.
+ * 참조 카운트 증감은 ConcurrentHashMap 의 compute 안에서만 일어난다.
+ */
+public class RefCountingLockRegistry implements UserLockRegistry {
+
+    private final ConcurrentHashMap<Long, CountedLock> userLocks = new ConcurrentHashMap<>();
+    private final boolean fair;
+
+    public RefCountingLockRegistry(boolean fair) {
+        this.fair = fair;
+    }
+
+    @Override
+    public Lease tryAcquire(long userId, long timeout, TimeUnit unit) throws InterruptedException {
+        CountedLock counted = userLocks.compute(userId, (id, existing) -> {
+            CountedLock target = existing == null ? new CountedLock(fair) : existing;
+            target.references++;
+            return target;
+        });
+
+        boolean acquired = false;
+        try {
+            acquired = counted.lock.tryLock(timeout, unit);
+        } finally {
+            if (!acquired) {
+                release(userId, counted);
+            }
+        }
+        if (!acquired) {
+            return null;
+        }
+        return () -> {
+            counted.lock.unlock();
+            release(userId, counted);
+        };
+    }
+
+    @Override
+    public int size() {
+        return userLocks.size();
+    }
+
+    private void release(long userId, CountedLock counted) {
+        userLocks.computeIfPresent(userId, (id, existing) -> {
+            if (existing != counted) {
+                return existing;
+            }
+            return --existing.references == 0 ? null : existing;
+        });
+    }
+
+    private static final class CountedLock {
+        private final ReentrantLock lock;
+        private int references; // compute 안에서만 변경
+
+        private CountedLock(boolean fair) {
+            this.lock = new ReentrantLock(fair);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package io.hhplus.tdd.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * shard 별 단일 스레드 실행기 (SHARDED)
+ * - 사용자는 UserShards 규칙으로 하나의 shard 에 고정되고, shard 스레드가 작업을 제출 순서대로 하나씩 실행한다.
+ * - 같은 사용자의 작업은 항상 같은 스레드에서 실행되므로 사용자 락도, shard 사이의 조정도 없다.
+ * - shard 수는 보통 CPU 코어 수로 둔다. 한 사용자의 작업이 느리면 같은 shard 의 다른 사용자도 기다린다.
+ * - 두 사용자가 다른 shard 면 두 shard 에 같은 작업을 넣고, 먼저 차례가 온 shard 스레드는 다른 shard 가 실행을 마칠 때까지 기다린다.
+ *   두 shard 작업은 pairLock 안에서 넣어 어느 shard 에서나 같은 순서로 만나므로 서로 기다리며 멈추지 않는다.
+ */
+public class ShardedUserTaskExecutor implements UserTaskExecutor, AutoCloseable {
+
+    private final ExecutorService[] shards;
+    private final Duration timeout;
+    private final ReentrantLock pairLock = new ReentrantLock();
+
+    public ShardedUserTaskExecutor(int shardCount, Duration timeout) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("shard 수는 1 이상이어야 합니다");
+        }
+        this.shards = new ExecutorService[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            this.shards[i] = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("point-shard-" + i).factory());
+        }
+        this.timeout = timeout;
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(long userId, Supplier<T> task) {
+        UserTask<T> userTask = new UserTask<>(task, timeout);
+        execute(UserShards.shardOf(userId, shards.length), userTask);
+        return userTask.future();
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(long userId, long otherUserId, Supplier<T> task) {
+        int shard = UserShards.shardOf(userId, shards.length);
+        int otherShard = UserShards.shardOf(otherUserId, shards.length);
+        if (shard == otherShard) {
+            return submit(userId, task);
+        }
+        UserTask<T> userTask = new UserTask<>(task, timeout, true);
+        pairLock.lock();
+        try {
+            execute(shard, userTask);
+            execute(otherShard, userTask);
+        } finally {
+            pairLock.unlock();
+        }
+        return userTask.future();
+    }
+
+    private <T> void execute(int shard, UserTask<T> userTask) {
+        try {
+            shards[shard].execute(() -> run(userTask));
+        } catch (RejectedExecutionException e) {
+            userTask.abort(e);
+        }
+    }
+
+    private <T> void run(UserTask<T> userTask) {
+        if (!userTask.arrive()) {
+            try {
+                userTask.awaitDone(); // 다른 shard 가 실행할 때까지 이 shard 의 다음 작업을 시작하지 않음
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // 종료 중
+            }
+            return;
+        }
+        if (userTask.begin()) {
+            userTask.complete(userTask.execute());
+        }
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    // 대기 중인 작업은 실행하지 않고 종료 (빈 종료 시 함께 호출)
+    @Override
+    public void close() {
+        for (ExecutorService shard : shards) {
+            shard.shutdownNow();
+        }
+    }
+}
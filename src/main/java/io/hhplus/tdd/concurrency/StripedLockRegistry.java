@@ -0,0 +1,52 @@
+package io.hhplus.tdd.concurrency;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 고정 개수 스트라이프 락
+ * 사용자 ID 를 해시해 스트라이프에 배정하므로 메모리는 사용자 수와 무관하게 일정하다.
+ * 같은 스트라이프에 배정된 서로 다른 사용자끼리는 직렬화된다.
+ */
+public class StripedLockRegistry implements UserLockRegistry {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public StripedLockRegistry(int stripeCount, boolean fair) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("스트라이프 수는 1 이상이어야 합니다");
+        }
+        int size = stripeCount == 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1; // 2의 거듭제곱으로 올림
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock(fair);
+        }
+        this.mask = size - 1;
+    }
+
+    @Override
+    public Lease tryAcquire(long userId, long timeout, TimeUnit unit) throws InterruptedException {
+        ReentrantLock lock = stripes[stripeIndex(userId)];
+        if (!lock.tryLock(timeout, unit)) {
+            return null;
+        }
+        return lock::unlock;
+    }
+
+    @Override
+    public int size() {
+        return stripes.length;
+    }
+
+    // 같은 스트라이프면 같은 락이므로 (ReentrantLock) 두 번 잡아도 됨
+    @Override
+    public long lockOrder(long userId) {
+        return stripeIndex(userId);
+    }
+
+    int stripeIndex(long userId) {
+        long h = userId * 0x9E3779B97F4A7C15L; // 연속된 ID 가 한 스트라이프에 몰리지 않도록 섞음
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,32 @@
+package io.hhplus.tdd.concurrency;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자별 락 보관소
+ * tryAcquire 로 얻은 Lease 를 close 해야 락이 해제된다.
+ */
+public interface UserLockRegistry {
+
+    /**
+     * @return 제한 시간 내에 락을 얻지 못하면 null
+     */
+    Lease tryAcquire(long userId, long timeout, TimeUnit unit) throws InterruptedException;
+
+    /**
+     * 현재 보관 중인 락 객체 수
+     */
+    int size();
+
+    /**
+     * 두 사용자의 락을 잡는 순서 (작은 값부터, 같은 락을 쓰는 사용자는 같은 값)
+     */
+    default long lockOrder(long userId) {
+        return userId;
+    }
+
+    interface Lease extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.concurrency;
+
+/**
+ * 사용자 → shard 배정 (SHARDED 전략의 작업 실행기와 잔고 저장소가 같은 규칙을 사용)
+ * 연속된 id 도 고르게 퍼지도록 섞은 뒤 상위 32비트를 [0, shards) 로 줄인다. 같은 shard 수면 항상 같은 shard.
+ */
+public final class UserShards {
+
+    private static final long MIX = 0x9E3779B97F4A7C15L;
+
+    private UserShards() {
+    }
+
+    public static int shardOf(long userId, int shards) {
+        long mixed = (userId * MIX) >>> 32;
+        return (int) ((mixed * shards) >>> 32);
+    }
+}
@@ -0,0 +1,94 @@
+package io.hhplus.tdd.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 실행 대기 중인 사용자 작업
+ * 작업 시작(begin)과 타임아웃 중 먼저 일어난 쪽만 유효하다. (시작되면 타이머는 취소됨)
+ * 두 사용자 작업은 두 사용자의 실행 차례에 각각 도착(arrive)하고, 두 번째로 도착한 쪽이 실행한다.
+ */
+final class UserTask<T> {
+
+    private final Supplier<T> task;
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+    private final CompletableFuture<Void> admission;
+    private final long deadline;
+    private final AtomicInteger pendingArrivals; // 두 사용자 작업에서만 사용
+
+    UserTask(Supplier<T> task, Duration timeout) {
+        this(task, timeout, false);
+    }
+
+    UserTask(Supplier<T> task, Duration timeout, boolean paired) {
+        this.task = task;
+        this.pendingArrivals = paired ? new AtomicInteger(2) : null;
+        this.deadline = System.nanoTime() + timeout.toNanos();
+        this.admission = new CompletableFuture<Void>().orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        this.admission.exceptionally(e -> {
+            future.completeExceptionally(e instanceof TimeoutException
+                    ? new TimeoutException("요청 대기 시간이 초과되었습니다.")
+                    : e);
+            return null;
+        });
+    }
+
+    CompletableFuture<T> future() {
+        return future;
+    }
+
+    long remainingNanos() {
+        return deadline - System.nanoTime();
+    }
+
+    // 실행 차례 도착, 두 사용자 작업은 두 번째 도착에서만 true (먼저 도착한 쪽은 작업이 끝날 때까지 다른 작업을 실행하면 안 됨)
+    boolean arrive() {
+        return pendingArrivals == null || pendingArrivals.decrementAndGet() == 0;
+    }
+
+    // 결과와 관계없이 작업이 끝나거나(실행, 타임아웃, 중단) 대기 스레드가 인터럽트될 때까지 대기
+    void awaitDone() throws InterruptedException {
+        try {
+            future.get();
+        } catch (ExecutionException | CancellationException ignored) {
+            // 결과는 제출한 쪽이 받음
+        }
+    }
+
+    // 실행 권한 획득, 이미 타임아웃/중단된 작업이면 false
+    boolean begin() {
+        return admission.complete(null);
+    }
+
+    // 시작 전 작업 중단
+    void abort(Throwable cause) {
+        admission.completeExceptionally(cause);
+    }
+
+    // begin() 이후 호출, 결과는 complete 로 전달
+    Outcome<T> execute() {
+        try {
+            return new Outcome<>(task.get(), null);
+        } catch (Exception e) {
+            // 작업 내부에서 발생한 예외 처리
+            return new Outcome<>(null, new IllegalStateException(e.getMessage()));
+        }
+    }
+
+    void complete(Outcome<T> outcome) {
+        if (outcome.error() != null) {
+            future.completeExceptionally(outcome.error());
+        } else {
+            future.complete(outcome.value());
+        }
+    }
+
+    record Outcome<T>(T value, Throwable error) {
+    }
+}
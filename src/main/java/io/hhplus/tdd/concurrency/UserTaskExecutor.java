@@ -0,0 +1,29 @@
+package io.hhplus.tdd.concurrency;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * 사용자 단위 작업 실행기
+ * - 같은 사용자의 작업은 한 번에 하나씩, 제출 순서대로 실행된다.
+ * - 대기 시간이 timeout 을 넘기면 작업을 실행하지 않고 TimeoutException 으로 완료한다.
+ * - 작업 내부 예외는 IllegalStateException 으로 감싸 완료한다.
+ * - serializesUsers() 가 false 인 구현(OPTIMISTIC)은 같은 사용자의 작업도 동시에 실행한다.
+ * - 두 사용자 작업(이체)은 두 사용자 모두의 작업 순서에 끼어 실행되며, 두 사용자를 항상 같은 순서로 확보해 교착되지 않는다.
+ */
+public interface UserTaskExecutor {
+
+    <T> CompletableFuture<T> submit(long userId, Supplier<T> task);
+
+    /**
+     * 두 사용자에 걸친 작업 (두 사용자 어느 쪽의 다른 작업과도 겹치지 않게 실행, 서로 다른 사용자여야 함)
+     */
+    <T> CompletableFuture<T> submit(long userId, long otherUserId, Supplier<T> task);
+
+    /**
+     * 같은 사용자의 작업을 한 번에 하나씩 실행하는지 여부
+     */
+    default boolean serializesUsers() {
+        return true;
+    }
+}
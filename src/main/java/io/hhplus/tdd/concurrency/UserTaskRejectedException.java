@@ -0,0 +1,43 @@
+package io.hhplus.tdd.concurrency;
+
+import java.time.Duration;
+
+/**
+ * 사용자 작업을 실행하지 않고 거절한 경우 (작업은 실행되지 않았으므로 retryAfter 뒤에 다시 시도할 수 있다)
+ * - USER_LIMIT : 한 사용자의 처리 중 작업 수가 상한에 도달 (429)
+ * - OVERLOADED : 전체 처리 중 작업 수가 상한에 도달했거나 스레드 풀 대기열이 가득 참 (503)
+ * - DEADLINE : 대기 시간이 timeout 을 넘겨 실행하지 않고 버림 (503)
+ */
+public class UserTaskRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Reason {
+        USER_LIMIT, OVERLOADED, DEADLINE
+    }
+
+    private final Reason reason;
+    private final Duration retryAfter;
+
+    public UserTaskRejectedException(Reason reason, Duration retryAfter, Throwable cause) {
+        super(message(reason), cause);
+        this.reason = reason;
+        this.retryAfter = retryAfter;
+    }
+
+    private static String message(Reason reason) {
+        return switch (reason) {
+            case USER_LIMIT -> "처리 중인 요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.";
+            case OVERLOADED -> "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.";
+            case DEADLINE -> "요청 대기 시간이 초과되었습니다.";
+        };
+    }
+
+    public Reason reason() {
+        return reason;
+    }
+
+    public Duration retryAfter() {
+        return retryAfter;
+    }
+}
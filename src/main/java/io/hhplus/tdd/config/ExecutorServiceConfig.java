@@ -1,20 +1,72 @@
 package io.hhplus.tdd.config;
 
+import io.hhplus.tdd.concurrency.AdmissionControlledUserTaskExecutor;
+import io.hhplus.tdd.concurrency.ConcurrentUserTaskExecutor;
+import io.hhplus.tdd.concurrency.LockingUserTaskExecutor;
+import io.hhplus.tdd.concurrency.MailboxUserTaskExecutor;
+import io.hhplus.tdd.concurrency.PerUserLockRegistry;
+import io.hhplus.tdd.concurrency.RefCountingLockRegistry;
+import io.hhplus.tdd.concurrency.ShardedUserTaskExecutor;
+import io.hhplus.tdd.concurrency.StripedLockRegistry;
+import io.hhplus.tdd.concurrency.UserLockRegistry;
+import io.hhplus.tdd.concurrency.UserTaskExecutor;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 @Configuration
 public class ExecutorServiceConfig {
 
     @Bean
-    public ExecutorService executorService() {
-        return Executors.newFixedThreadPool(
-                Runtime.getRuntime().availableProcessors(),
+    public ExecutorService executorService(PointExecutorProperties executorProperties) {
+        return switch (executorProperties.mode()) {
+            case FIXED -> fixedThreadPool(executorProperties.queueCapacity());
+            case VIRTUAL -> Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("point-service-virtual-", 1).factory());
+        };
+    }
+
+    // 스레드 풀 지표 (executor.queued / executor.active / executor.pool.size 등, name=point-service)
+    // 가상 스레드 모드는 작업마다 스레드를 만들어 큐와 풀이 없으므로 제외
+    @Bean
+    public MeterBinder pointExecutorMetrics(ExecutorService executorService) {
+        if (executorService instanceof ThreadPoolExecutor) {
+            return new ExecutorServiceMetrics(executorService, "point-service", Tags.empty());
+        }
+        return registry -> {
+        };
+    }
+
+    // 테이블 접근은 대부분 블로킹 대기(throttle)라 가상 스레드 모드에서는 요청 스레드도 가상 스레드로 처리
+    @Bean
+    @ConditionalOnProperty(prefix = "point.executor", name = "mode", havingValue = "VIRTUAL")
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    // 대기열 크기를 제한하고 가득 차면 RejectedExecutionException (AbortPolicy) : 작업은 실패로 완료되고 503 으로 응답
+    private ExecutorService fixedThreadPool(int queueCapacity) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        return new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
                 new ThreadFactory() {
                     private final AtomicInteger counter = new AtomicInteger(1);
                     @Override
@@ -23,7 +75,60 @@ public class ExecutorServiceConfig {
                         thread.setName("point-service-thread-" + counter.getAndIncrement());
                         return thread;
                     }
-                }
+                },
+                new ThreadPoolExecutor.AbortPolicy()
         );
     }
-}
\ No newline at end of file
+
+    // 전략 실행기를 입장 제어로 감쌈 (처리 중 작업 수 상한, 대기 시간 초과 / 풀 거절을 UserTaskRejectedException 으로)
+    @Bean
+    public UserTaskExecutor userTaskExecutor(
+            ExecutorService executorService,
+            PointConcurrencyProperties concurrencyProperties,
+            PointAsyncProperties asyncProperties,
+            PointAdmissionProperties admissionProperties,
+            PointMetrics pointMetrics
+    ) {
+        return new AdmissionControlledUserTaskExecutor(
+                strategyExecutor(executorService, concurrencyProperties, asyncProperties),
+                admissionProperties.maxInFlight(),
+                admissionProperties.maxInFlightPerUser(),
+                admissionProperties.retryAfter(),
+                pointMetrics::countRejection
+        );
+    }
+
+    // 처리 중 작업 수 (point.admission.in_flight)
+    @Bean
+    public MeterBinder pointAdmissionMetrics(UserTaskExecutor userTaskExecutor) {
+        if (userTaskExecutor instanceof AdmissionControlledUserTaskExecutor admission) {
+            return registry -> Gauge.builder("point.admission.in_flight", admission, AdmissionControlledUserTaskExecutor::inFlight)
+                    .register(registry);
+        }
+        return registry -> {
+        };
+    }
+
+    private UserTaskExecutor strategyExecutor(
+            ExecutorService executorService,
+            PointConcurrencyProperties concurrencyProperties,
+            PointAsyncProperties asyncProperties
+    ) {
+        return switch (concurrencyProperties.strategy()) {
+            case LOCK -> new LockingUserTaskExecutor(
+                    executorService, lockRegistry(concurrencyProperties.lock()), asyncProperties.timeout());
+            case MAILBOX -> new MailboxUserTaskExecutor(
+                    executorService, asyncProperties.timeout(), concurrencyProperties.mailboxBatchSize());
+            case OPTIMISTIC -> new ConcurrentUserTaskExecutor(executorService, asyncProperties.timeout());
+            case SHARDED -> new ShardedUserTaskExecutor(concurrencyProperties.shardCount(), asyncProperties.timeout());
+        };
+    }
+
+    private UserLockRegistry lockRegistry(PointConcurrencyProperties.Lock lock) {
+        return switch (lock.registry()) {
+            case PER_USER -> new PerUserLockRegistry(lock.fair());
+            case REF_COUNTING -> new RefCountingLockRegistry(lock.fair());
+            case STRIPED -> new StripedLockRegistry(lock.stripes(), lock.fair());
+        };
+    }
+}
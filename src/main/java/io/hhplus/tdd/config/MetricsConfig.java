@@ -0,0 +1,107 @@
+package io.hhplus.tdd.config;
+
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.UserPointCache;
+import io.hhplus.tdd.point.IdempotentRequests;
+import io.hhplus.tdd.point.PointService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 내부 구성 요소 상태 지표
+ * - point.history.queue.depth : write-behind 대기열에 쌓인 이력 수
+ * - point.history.flushed : 테이블에 기록된 이력 수
+ * - point.history.retries : 테이블 기록을 다시 시도한 횟수
+ * - point.history.failed : 다시 시도해도 실패해 테이블 기록을 포기한 이력 수 (0 이 아니면 health 의 pointHistoryWriter 가 DOWN)
+ * - point.cache.requests : 잔고 캐시 조회 수 (result=hit|miss)
+ * - point.cache.evictions : 크기 초과 / 만료로 제거된 수 (cause=size|expired)
+ * - point.read.requests : 외부 잔고 조회 수 (source=lookup|coalesced|committed)
+ * - point.read.coalescing.ratio : 직접 조회하지 않고 진행 중인 조회 결과를 함께 받은 비율
+ * - point.idempotency.keys : 보관 중인 Idempotency-Key 수
+ * - point.combining.requests : 결합 처리로 받은 충전/사용 요청 수
+ * - point.combining.batches : 제출한 결합 작업 수 (requests / batches = 평균 결합 크기)
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder pointHistoryWriterMetrics(PointHistoryWriter pointHistoryWriter) {
+        return registry -> {
+            Gauge.builder("point.history.queue.depth", pointHistoryWriter, writer -> writer.stats().queueDepth())
+                    .register(registry);
+            FunctionCounter.builder("point.history.flushed", pointHistoryWriter, writer -> writer.stats().flushedCount())
+                    .register(registry);
+            FunctionCounter.builder("point.history.retries", pointHistoryWriter, writer -> writer.stats().retryCount())
+                    .register(registry);
+            FunctionCounter.builder("point.history.failed", pointHistoryWriter, writer -> writer.stats().failedCount())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public HealthIndicator pointHistoryWriterHealthIndicator(PointHistoryWriter pointHistoryWriter) {
+        return () -> {
+            PointHistoryWriter.Stats stats = pointHistoryWriter.stats();
+            Health.Builder builder = stats.failedCount() == 0 ? Health.up() : Health.down();
+            return builder
+                    .withDetail("queueDepth", stats.queueDepth())
+                    .withDetail("retryCount", stats.retryCount())
+                    .withDetail("failedCount", stats.failedCount())
+                    .build();
+        };
+    }
+
+    @Bean
+    public MeterBinder userPointCacheMetrics(UserPointCache userPointCache) {
+        return registry -> {
+            FunctionCounter.builder("point.cache.requests", userPointCache, cache -> cache.stats().hitCount())
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("point.cache.requests", userPointCache, cache -> cache.stats().missCount())
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("point.cache.evictions", userPointCache, cache -> cache.stats().evictionCount())
+                    .tag("cause", "size")
+                    .register(registry);
+            FunctionCounter.builder("point.cache.evictions", userPointCache, cache -> cache.stats().expirationCount())
+                    .tag("cause", "expired")
+                    .register(registry);
+            Gauge.builder("point.cache.size", userPointCache, cache -> cache.stats().size())
+                    .register(registry);
+            FunctionCounter.builder("point.read.requests", userPointCache, cache -> cache.readStats().lookupCount())
+                    .tag("source", "lookup")
+                    .register(registry);
+            FunctionCounter.builder("point.read.requests", userPointCache, cache -> cache.readStats().coalescedCount())
+                    .tag("source", "coalesced")
+                    .register(registry);
+            FunctionCounter.builder("point.read.requests", userPointCache, cache -> cache.readStats().committedCount())
+                    .tag("source", "committed")
+                    .register(registry);
+            Gauge.builder("point.read.coalescing.ratio", userPointCache, cache -> cache.readStats().coalescingRatio())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder idempotentRequestsMetrics(IdempotentRequests idempotentRequests) {
+        return registry -> Gauge.builder("point.idempotency.keys", idempotentRequests, requests -> requests.stats().size())
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder pointCombiningMetrics(PointService pointService) {
+        return registry -> {
+            FunctionCounter.builder("point.combining.requests", pointService,
+                            service -> service.combiningStats().requests())
+                    .register(registry);
+            FunctionCounter.builder("point.combining.batches", pointService,
+                            service -> service.combiningStats().batches())
+                    .register(registry);
+        };
+    }
+}
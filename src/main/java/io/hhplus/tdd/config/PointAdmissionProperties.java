@@ -0,0 +1,20 @@
+package io.hhplus.tdd.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 포인트 작업 입장 제어 설정 (처리 중 = 대기 + 실행)
+ * - maxInFlight : 전체 처리 중 작업 수 상한, 넘으면 503
+ * - maxInFlightPerUser : 한 사용자의 처리 중 작업 수 상한, 넘으면 429
+ * - retryAfter : 거절 응답의 Retry-After
+ */
+@ConfigurationProperties(prefix = "point.admission")
+public record PointAdmissionProperties(
+        @DefaultValue("10000") int maxInFlight,
+        @DefaultValue("64") int maxInFlightPerUser,
+        @DefaultValue("1s") Duration retryAfter
+) {
+}
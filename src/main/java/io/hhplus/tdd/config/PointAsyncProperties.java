@@ -0,0 +1,16 @@
+package io.hhplus.tdd.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 포인트 충전/사용 비동기 처리 설정
+ * - timeout : 작업이 스레드 풀 큐와 사용자 락에서 대기할 수 있는 최대 시간
+ */
+@ConfigurationProperties(prefix = "point.async")
+public record PointAsyncProperties(
+        @DefaultValue("5s") Duration timeout
+) {
+}
@@ -0,0 +1,27 @@
+package io.hhplus.tdd.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 포인트 캐시 설정
+ */
+@ConfigurationProperties(prefix = "point.cache")
+public record PointCacheProperties(
+        @DefaultValue UserPoint userPoint
+) {
+
+    /**
+     * - enabled : false 면 매번 UserPointTable 에서 조회
+     * - maximumSize : 최대 보관 사용자 수, 넘치면 가장 오래 안 쓴 사용자부터 제거
+     * - ttl : 저장 후 만료까지의 시간
+     */
+    public record UserPoint(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("100000") int maximumSize,
+            @DefaultValue("10m") Duration ttl
+    ) {
+    }
+}
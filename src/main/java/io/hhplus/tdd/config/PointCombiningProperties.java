@@ -0,0 +1,40 @@
+package io.hhplus.tdd.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 충전/사용 결합(combining) 처리 설정
+ * - mode : OFF (요청마다 사용자 작업) / HOT (요청이 몰리는 사용자만 결합 처리)
+ *   / ALL (모든 사용자, 대기 중인 요청이 없으면 한 건씩 처리되므로 경합이 클수록 많이 모임)
+ * - maxBatchSize : 결합 작업 하나가 함께 처리할 최대 요청 수
+ * - maxPendingPerUser : 사용자별 결합 대기 요청 상한, 넘으면 429
+ * - hot : 요청이 몰리는 사용자 판정
+ */
+@ConfigurationProperties(prefix = "point.combining")
+public record PointCombiningProperties(
+        @DefaultValue("HOT") Mode mode,
+        @DefaultValue("64") int maxBatchSize,
+        @DefaultValue("256") int maxPendingPerUser,
+        @DefaultValue Hot hot
+) {
+
+    public enum Mode {
+        OFF, HOT, ALL
+    }
+
+    /**
+     * HOT 은 판정 결과로 결합 처리 대상을 정하고, ALL 은 모니터링(/actuator/hotusers)에만 사용
+     * - topK : 추적할 사용자 카운터 수
+     * - sampleRate : 요청 sampleRate 건 중 1건만 표본으로 기록
+     * - window : hot 사용자를 다시 정하는 표본 수
+     * - share : 표본 중 이 비율 이상을 차지하면 hot
+     */
+    public record Hot(
+            @DefaultValue("32") int topK,
+            @DefaultValue("16") int sampleRate,
+            @DefaultValue("1024") int window,
+            @DefaultValue("0.05") double share
+    ) {
+    }
+}
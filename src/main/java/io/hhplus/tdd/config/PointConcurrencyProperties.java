@@ -0,0 +1,45 @@
+package io.hhplus.tdd.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 사용자별 작업 직렬화 방식 설정
+ * - strategy : LOCK (공유 풀 + 사용자 락) / MAILBOX (사용자별 메일박스) / OPTIMISTIC (공유 풀 + 잔고 셀 CAS)
+ *              / SHARDED (사용자를 shard 에 고정, shard 마다 단일 스레드)
+ * - mailboxBatchSize : 메일박스가 풀 스레드를 양보하기 전까지 연속 처리할 작업 수
+ * - lock : LOCK 전략에서 사용할 락 보관 방식
+ * - shards : SHARDED 전략의 shard 수 (0 이면 CPU 코어 수)
+ */
+@ConfigurationProperties(prefix = "point.concurrency")
+public record PointConcurrencyProperties(
+        @DefaultValue("MAILBOX") Strategy strategy,
+        @DefaultValue("32") int mailboxBatchSize,
+        @DefaultValue Lock lock,
+        @DefaultValue("0") int shards
+) {
+
+    public int shardCount() {
+        return shards > 0 ? shards : Runtime.getRuntime().availableProcessors();
+    }
+
+    public enum Strategy {
+        LOCK, MAILBOX, OPTIMISTIC, SHARDED
+    }
+
+    /**
+     * - registry : PER_USER (사용자마다 락, 제거 없음) / REF_COUNTING (사용 중인 락만 보관) / STRIPED (고정 개수)
+     * - stripes : STRIPED 의 스트라이프 수 (2의 거듭제곱으로 올림)
+     * - fair : 공정 락 여부
+     */
+    public record Lock(
+            @DefaultValue("REF_COUNTING") Registry registry,
+            @DefaultValue("1024") int stripes,
+            @DefaultValue("true") boolean fair
+    ) {
+    }
+
+    public enum Registry {
+        PER_USER, REF_COUNTING, STRIPED
+    }
+}
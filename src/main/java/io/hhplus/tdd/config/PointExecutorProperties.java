@@ -0,0 +1,21 @@
+package io.hhplus.tdd.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 포인트 작업 실행 스레드 설정
+ * - FIXED : CPU 코어 수 만큼의 고정 플랫폼 스레드 풀
+ * - VIRTUAL : 작업마다 가상 스레드 생성, Tomcat 요청 처리 스레드도 가상 스레드로 전환
+ * - queueCapacity : FIXED 풀의 대기열 크기, 가득 차면 작업을 거절 (입장 제어 상한보다 크게 두어 평소에는 입장 단계에서 거절)
+ */
+@ConfigurationProperties(prefix = "point.executor")
+public record PointExecutorProperties(
+        @DefaultValue("FIXED") Mode mode,
+        @DefaultValue("20000") int queueCapacity
+) {
+
+    public enum Mode {
+        FIXED, VIRTUAL
+    }
+}
@@ -0,0 +1,31 @@
+package io.hhplus.tdd.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 포인트 이력 기록 설정
+ */
+@ConfigurationProperties(prefix = "point.history")
+public record PointHistoryProperties(
+        @DefaultValue WriteBehind writeBehind
+) {
+
+    /**
+     * - enabled : false 면 호출 스레드에서 바로 PointHistoryTable 에 기록
+     * - capacity : 대기열 크기, 가득 차면 호출 스레드가 자리가 날 때까지 대기 (backpressure)
+     * - batchSize : 한 번에 꺼내 기록할 최대 건수
+     * - maxRetries : 테이블 기록이 실패한 이력을 다시 시도하는 최대 횟수 (넘으면 기록을 포기하고 writer 를 unhealthy 로 표시)
+     * - retryBackoff : 다시 시도하기 전 대기 시간 (시도할 때마다 두 배)
+     */
+    public record WriteBehind(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("10000") int capacity,
+            @DefaultValue("100") int batchSize,
+            @DefaultValue("3") int maxRetries,
+            @DefaultValue("100ms") Duration retryBackoff
+    ) {
+    }
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Idempotency-Key 중복 제거 설정
+ * - maximumSize : 최대 보관 키 수, 넘치면 가장 오래 안 쓴 키부터 제거
+ * - ttl : 처음 요청 후 같은 키를 중복으로 보는 시간 (클라이언트 재시도 간격보다 길게)
+ */
+@ConfigurationProperties(prefix = "point.idempotency")
+public record PointIdempotencyProperties(
+        @DefaultValue("100000") int maximumSize,
+        @DefaultValue("1h") Duration ttl
+) {
+}
@@ -0,0 +1,19 @@
+package io.hhplus.tdd.config;
+
+import io.hhplus.tdd.journal.MappedPointJournal;
+import io.hhplus.tdd.journal.PointJournal;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PointJournalConfig {
+
+    // 종료 시 close() 로 남은 기록을 디스크에 반영
+    @Bean
+    public PointJournal pointJournal(PointJournalProperties properties) {
+        if (!properties.enabled()) {
+            return PointJournal.DISABLED;
+        }
+        return MappedPointJournal.open(properties);
+    }
+}
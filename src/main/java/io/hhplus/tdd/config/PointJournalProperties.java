@@ -0,0 +1,54 @@
+package io.hhplus.tdd.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 포인트 변경 저널 설정
+ * - enabled : false 면 저널 없이 메모리에만 기록 (재시작 시 잔고/이력 유실)
+ * - directory : 저널 세그먼트 파일을 둘 디렉터리
+ * - fsync : 디스크 반영 시점 (PER_OP / BATCH / INTERVAL)
+ * - batchSize : BATCH 에서 반영을 미룰 수 있는 최대 건수
+ * - interval : BATCH / INTERVAL 에서 반영 주기 (BATCH 는 batchSize 를 채우지 못해도 이 주기마다 반영)
+ * - segmentSize : 세그먼트 파일 하나의 크기, 가득 차면 다음 세그먼트로 넘어감
+ * - snapshot : 시작 시 저널 전체를 다시 접지 않도록 주기적으로 남기는 사용자별 상태 스냅샷
+ */
+@ConfigurationProperties(prefix = "point.journal")
+public record PointJournalProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/journal") Path directory,
+        @DefaultValue("BATCH") Fsync fsync,
+        @DefaultValue("256") int batchSize,
+        @DefaultValue("100ms") Duration interval,
+        @DefaultValue("64MB") DataSize segmentSize,
+        @DefaultValue Snapshot snapshot
+) {
+
+    /**
+     * - enabled : false 면 스냅샷을 만들지도, 시작 시 불러오지도 않음 (저널 전체를 다시 접음)
+     * - interval : 봉인된 세그먼트를 이전 스냅샷에 접는 주기 (새로 봉인된 세그먼트가 없으면 건너뜀)
+     * - retain : 남겨 둘 최근 스냅샷 파일 수
+     * - retainSegments : 스냅샷에 접힌 세그먼트를 남겨 둘 개수 (접힌 이력 조회용)
+     *   넘는 오래된 세그먼트는 남아 있는 가장 오래된 스냅샷에도 접혔을 때 지우며, 그 안의 이력은 더 이상 조회되지 않는다.
+     */
+    public record Snapshot(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("1m") Duration interval,
+            @DefaultValue("2") int retain,
+            @DefaultValue("16") int retainSegments
+    ) {
+    }
+
+    /**
+     * - PER_OP : 기록마다 디스크 반영 후 반환, 동시에 들어온 기록은 한 번에 반영 (group commit)
+     * - BATCH : batchSize 건이 쌓이거나 interval 이 지나면 반영, 호출 스레드는 기다리지 않음
+     * - INTERVAL : interval 마다 반영, 호출 스레드는 기다리지 않음
+     */
+    public enum Fsync {
+        PER_OP, BATCH, INTERVAL
+    }
+}
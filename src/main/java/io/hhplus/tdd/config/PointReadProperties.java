@@ -0,0 +1,20 @@
+package io.hhplus.tdd.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 잔고 조회 설정
+ * - coalescing : 같은 사용자의 동시 조회가 진행 중인 조회 하나의 결과를 함께 사용 (테이블 호출 1회)
+ * - source : LOOKUP (캐시 → 저장소) / COMMITTED (사용자 작업에서 마지막으로 반영한 잔고를 먼저 사용)
+ */
+@ConfigurationProperties(prefix = "point.read")
+public record PointReadProperties(
+        @DefaultValue("true") boolean coalescing,
+        @DefaultValue("LOOKUP") Source source
+) {
+
+    public enum Source {
+        LOOKUP, COMMITTED
+    }
+}
@@ -0,0 +1,40 @@
+package io.hhplus.tdd.config;
+
+import io.hhplus.tdd.database.OpenAddressingUserPointStore;
+import io.hhplus.tdd.database.ShardedUserPointStore;
+import io.hhplus.tdd.database.TableUserPointStore;
+import io.hhplus.tdd.database.UserPointStore;
+import io.hhplus.tdd.database.UserPointTable;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PointStoreConfig {
+
+    // SHARDED 전략이면 원시 저장소를 shard 수만큼 나눠 shard 마다 자기 조각만 변경 (TABLE 은 하나뿐이라 그대로)
+    @Bean
+    public UserPointStore userPointStore(
+            PointStoreProperties storeProperties,
+            PointConcurrencyProperties concurrencyProperties,
+            UserPointTable userPointTable
+    ) {
+        PointStoreProperties.UserPoint properties = storeProperties.userPoint();
+        if (properties.type() == PointStoreProperties.Type.TABLE) {
+            return new TableUserPointStore(userPointTable);
+        }
+        if (concurrencyProperties.strategy() != PointConcurrencyProperties.Strategy.SHARDED) {
+            return openAddressing(properties.type(), properties.expectedUsers());
+        }
+        int shards = concurrencyProperties.shardCount();
+        int expectedUsersPerShard = Math.max(1, properties.expectedUsers() / shards);
+        return new ShardedUserPointStore(shards, shard -> openAddressing(properties.type(), expectedUsersPerShard));
+    }
+
+    private static UserPointStore openAddressing(PointStoreProperties.Type type, int expectedUsers) {
+        return switch (type) {
+            case HEAP -> OpenAddressingUserPointStore.onHeap(expectedUsers);
+            case OFF_HEAP -> OpenAddressingUserPointStore.offHeap(expectedUsers);
+            case TABLE -> throw new IllegalArgumentException("TABLE 은 원시 저장소가 아닙니다");
+        };
+    }
+}
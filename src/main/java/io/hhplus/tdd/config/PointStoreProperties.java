@@ -0,0 +1,27 @@
+package io.hhplus.tdd.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 포인트 저장소 설정
+ */
+@ConfigurationProperties(prefix = "point.store")
+public record PointStoreProperties(
+        @DefaultValue UserPoint userPoint
+) {
+
+    /**
+     * - type : TABLE (UserPointTable) / HEAP (힙의 원시 배열) / OFF_HEAP (direct 메모리)
+     * - expectedUsers : HEAP / OFF_HEAP 의 처음 슬롯 수를 정할 예상 사용자 수 (넘으면 두 배씩 늘림)
+     */
+    public record UserPoint(
+            @DefaultValue("TABLE") Type type,
+            @DefaultValue("1024") int expectedUsers
+    ) {
+    }
+
+    public enum Type {
+        TABLE, HEAP, OFF_HEAP
+    }
+}
@@ -0,0 +1,214 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.Arrays;
+
+/**
+ * 한 사용자의 이력 ROWS 건을 열 단위로 압축한 불변 묶음
+ * - id / 변경 시각 : 직전 행과의 차이에서 묶음 안 최소 차이를 뺀 값을 열마다 같은 비트 폭으로 채워 넣음 (간격이 고르면 0비트)
+ * - 금액 : 최솟값을 뺀 뒤 공약수로 나눈 값을 varint 로 저장 (10,000 원 단위 금액이면 대부분 1바이트)
+ * - 종류 : 1바이트 (ordinal)
+ * - 첫 행의 id / 변경 시각과 열별 기준값은 필드로 보관하고, 사용자 id 는 묶음을 가진 쪽이 알고 있으므로 저장하지 않는다.
+ * - PointHistory 객체는 읽을 때만 만든다. 열 단위로 한 번에 풀어 분기 없는 반복문으로 읽는다.
+ */
+final class HistoryChunk {
+
+    static final int ROWS = 128;
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final long firstId;
+    private final long lastId;
+    private final long firstMillis;
+    private final long idDeltaBase;
+    private final long millisDeltaBase;
+    private final long amountBase;
+    private final long amountScale;
+    private final int size;
+    private final byte idBits;
+    private final byte millisBits;
+    private final long[] deltas; // id 차이 열 다음에 변경 시각 차이 열
+    private final byte[] data; // 금액 열 다음에 종류 열
+    private final int typeOffset;
+
+    private HistoryChunk(long[] ids, long[] millis, long idDeltaBase, long millisDeltaBase, long amountBase,
+                         long amountScale, int size, int idBits, int millisBits, long[] deltas, byte[] data,
+                         int typeOffset) {
+        this.firstId = ids[0];
+        this.lastId = ids[size - 1];
+        this.firstMillis = millis[0];
+        this.idDeltaBase = idDeltaBase;
+        this.millisDeltaBase = millisDeltaBase;
+        this.amountBase = amountBase;
+        this.amountScale = amountScale;
+        this.size = size;
+        this.idBits = (byte) idBits;
+        this.millisBits = (byte) millisBits;
+        this.deltas = deltas;
+        this.data = data;
+        this.typeOffset = typeOffset;
+    }
+
+    /**
+     * 열 배열의 앞 size 행으로 묶음 생성
+     */
+    static HistoryChunk of(long[] ids, long[] millis, long[] amounts, byte[] types, int size) {
+        long idDeltaBase = minDelta(ids, size);
+        long millisDeltaBase = minDelta(millis, size);
+        int idBits = deltaBits(ids, size, idDeltaBase);
+        int millisBits = deltaBits(millis, size, millisDeltaBase);
+        long[] deltas = new long[(int) (((long) (size - 1) * (idBits + millisBits) + 63) >>> 6) + 1]; // 마지막 한 칸은 읽기용 여유
+        packDeltas(ids, size, idDeltaBase, idBits, deltas, 0);
+        packDeltas(millis, size, millisDeltaBase, millisBits, deltas, (long) (size - 1) * idBits);
+
+        long amountBase = amounts[0];
+        for (int i = 1; i < size; i++) {
+            amountBase = Math.min(amountBase, amounts[i]);
+        }
+        long amountScale = scale(amounts, size, amountBase);
+        byte[] buffer = new byte[size * (Varint.MAX_BYTES + 1)];
+        int position = 0;
+        for (int i = 0; i < size; i++) {
+            position = Varint.writeUnsigned(buffer, position, (amounts[i] - amountBase) / amountScale);
+        }
+        int typeOffset = position;
+        System.arraycopy(types, 0, buffer, position, size);
+        position += size;
+        return new HistoryChunk(ids, millis, idDeltaBase, millisDeltaBase, amountBase, amountScale, size,
+                idBits, millisBits, deltas, Arrays.copyOf(buffer, position), typeOffset);
+    }
+
+    private static long minDelta(long[] values, int size) {
+        long min = Long.MAX_VALUE;
+        for (int i = 1; i < size; i++) {
+            min = Math.min(min, values[i] - values[i - 1]);
+        }
+        return size > 1 ? min : 0L;
+    }
+
+    // 기준값을 뺀 차이 중 가장 큰 값의 비트 수 (차이는 unsigned 로 취급)
+    private static int deltaBits(long[] values, int size, long deltaBase) {
+        long bits = 0;
+        for (int i = 1; i < size; i++) {
+            bits |= values[i] - values[i - 1] - deltaBase;
+        }
+        return 64 - Long.numberOfLeadingZeros(bits);
+    }
+
+    private static void packDeltas(long[] values, int size, long deltaBase, int bits, long[] out, long bitOffset) {
+        if (bits == 0) {
+            return;
+        }
+        for (int i = 1; i < size; i++, bitOffset += bits) {
+            long delta = values[i] - values[i - 1] - deltaBase;
+            int word = (int) (bitOffset >>> 6);
+            int shift = (int) (bitOffset & 63);
+            out[word] |= delta << shift;
+            if (shift + bits > 64) {
+                out[word + 1] |= delta >>> (64 - shift);
+            }
+        }
+    }
+
+    // 최솟값과의 차이들의 최대공약수 (차이가 long 범위를 넘으면 1)
+    private static long scale(long[] amounts, int size, long base) {
+        long gcd = 0;
+        for (int i = 0; i < size; i++) {
+            long difference = amounts[i] - base;
+            if (difference < 0) {
+                return 1L;
+            }
+            gcd = gcd(gcd, difference);
+        }
+        return gcd == 0 ? 1L : gcd;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long remainder = a % b;
+            a = b;
+            b = remainder;
+        }
+        return a;
+    }
+
+    /**
+     * 모든 행을 out[offset] 부터 PointHistory 로 복원
+     */
+    void decode(long userId, PointHistory[] out, int offset) {
+        Columns columns = decodeColumns();
+        for (int i = 0; i < size; i++) {
+            out[offset + i] = new PointHistory(columns.ids[i], userId, columns.amounts[i], TYPES[data[typeOffset + i]],
+                    columns.millis[i]);
+        }
+    }
+
+    /**
+     * id 가 afterId 보다 큰 행을 객체로 만들지 않고 차례로 전달
+     *
+     * @return visitor 가 중단을 요청하면 false
+     */
+    boolean scan(long afterId, PointHistoryIndex.HistoryVisitor visitor) {
+        Columns columns = decodeColumns();
+        for (int i = 0; i < size; i++) {
+            if (columns.ids[i] > afterId
+                    && !visitor.visit(columns.ids[i], columns.amounts[i], TYPES[data[typeOffset + i]], columns.millis[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Columns decodeColumns() {
+        Columns columns = new Columns(new long[size], new long[size], new long[size]);
+        unpackDeltas(firstId, idDeltaBase, idBits, 0, columns.ids);
+        unpackDeltas(firstMillis, millisDeltaBase, millisBits, (long) (size - 1) * idBits, columns.millis);
+        int position = 0;
+        for (int i = 0; i < size; i++) {
+            long value = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = data[position++];
+                value |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while (current < 0);
+            columns.amounts[i] = amountBase + value * amountScale;
+        }
+        return columns;
+    }
+
+    private void unpackDeltas(long first, long deltaBase, int bits, long bitOffset, long[] out) {
+        long value = first;
+        out[0] = value;
+        if (bits == 0) {
+            for (int i = 1; i < size; i++) {
+                value += deltaBase;
+                out[i] = value;
+            }
+            return;
+        }
+        long mask = bits == 64 ? -1L : (1L << bits) - 1;
+        for (int i = 1; i < size; i++, bitOffset += bits) {
+            int word = (int) (bitOffset >>> 6);
+            int shift = (int) (bitOffset & 63);
+            // 다음 칸에 걸친 비트까지 분기 없이 합침 (shift 가 0 이면 두 번째 항은 0)
+            long packed = (deltas[word] >>> shift) | ((deltas[word + 1] << 1) << (63 - shift));
+            value += (packed & mask) + deltaBase;
+            out[i] = value;
+        }
+    }
+
+    private record Columns(long[] ids, long[] millis, long[] amounts) {
+    }
+
+    long lastId() {
+        return lastId;
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,79 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 최근 구간 이력 집계용 시간 버킷 (고정 길이 ring)
+ * - 변경 시각을 bucketMillis 단위 구간 번호로 나누고, 구간마다 충전 합계 / 사용 합계 / 실패 수를 더한다.
+ * - 가장 최근 구간(head)보다 새 이력이 오면 그 사이 칸을 비우고 앞으로 옮긴다. slots 개보다 오래된 이력은 버린다.
+ *   (시각이 조금 역전된 이력은 아직 남아 있는 구간이면 그 칸에 더한다)
+ * - 동기화는 가진 쪽(PointHistoryIndex 의 사용자 이력)이 맡는다.
+ */
+final class HistoryTimeBuckets {
+
+    private static final int CHARGED = 0;
+    private static final int USED = 1;
+    private static final int FAILED = 2;
+    private static final int FIELDS = 3;
+
+    private final long bucketMillis;
+    private final int slots;
+    private final long[] values;
+    private long head = Long.MIN_VALUE; // 가장 최근 구간 번호
+
+    HistoryTimeBuckets(long bucketMillis, int slots) {
+        this.bucketMillis = bucketMillis;
+        this.slots = slots;
+        this.values = new long[slots * FIELDS];
+    }
+
+    void add(TransactionType type, long amount, long updateMillis) {
+        int field = switch (type) {
+            case CHARGE -> CHARGED;
+            case USE -> USED;
+            case FAIL -> FAILED;
+            case TRANSFER_IN, TRANSFER_OUT -> -1;
+        };
+        if (field < 0) {
+            return;
+        }
+        long bucket = Math.floorDiv(updateMillis, bucketMillis);
+        if (bucket > head) {
+            advance(bucket);
+        } else if (bucket <= head - slots) {
+            return; // 보관 구간 밖
+        }
+        values[slot(bucket) * FIELDS + field] += field == FAILED ? 1 : amount;
+    }
+
+    /**
+     * 현재 시각이 속한 구간을 포함한 최근 slots 개 구간의 합계 : [충전 합계, 사용 합계, 실패 수]
+     */
+    long[] sum(long nowMillis) {
+        long[] sum = new long[FIELDS];
+        long current = Math.floorDiv(nowMillis, bucketMillis);
+        // 보관 중인 구간 (head - slots, head] 과 요청 구간 (current - slots, current] 이 겹치는 부분만
+        for (long bucket = Math.max(current, head) - slots + 1; bucket <= Math.min(current, head); bucket++) {
+            int offset = slot(bucket) * FIELDS;
+            for (int field = 0; field < FIELDS; field++) {
+                sum[field] += values[offset + field];
+            }
+        }
+        return sum;
+    }
+
+    private void advance(long bucket) {
+        long cleared = head == Long.MIN_VALUE ? slots : Math.min(bucket - head, slots);
+        for (long i = 0; i < cleared; i++) {
+            int offset = slot(bucket - i) * FIELDS;
+            for (int field = 0; field < FIELDS; field++) {
+                values[offset + field] = 0L;
+            }
+        }
+        head = bucket;
+    }
+
+    private int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) slots);
+    }
+}
@@ -0,0 +1,269 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 원시 타입 open addressing 잔고 저장소 (사용자 id → 잔고, 변경 시각)
+ * - 사용자마다 슬롯 하나(24바이트 : id | 잔고 | 변경 시각)를 차지하고, 충돌은 선형 탐사로 해결한다.
+ *   HashMap<Long, UserPoint> 처럼 사용자마다 Long / Node / UserPoint 객체를 두지 않고, 갱신도 슬롯을 덮어쓰기만 한다.
+ * - 슬롯은 힙의 long[] (onHeap) 또는 direct ByteBuffer (offHeap, GC 대상 아님) 에 둔다.
+ * - 사용률이 3/4 을 넘으면 두 배로 늘려 다시 배치한다.
+ * - 조회는 StampedLock 낙관적 읽기로 락 없이 처리하고, 도중에 쓰기가 있었으면 읽기 락으로 다시 읽는다.
+ *   쓰기는 슬롯 하나를 덮어쓰는 짧은 구간만 쓰기 락으로 보호한다.
+ * - id 0 은 빈 슬롯 표시로 쓰므로 별도 필드에 보관한다.
+ */
+public final class OpenAddressingUserPointStore implements UserPointStore {
+
+    private static final long EMPTY_KEY = 0L;
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final boolean offHeap;
+    private final StampedLock lock = new StampedLock();
+    private Slots slots; // 쓰기 락 안에서만 교체
+    private int size; // 쓰기 락 안에서만 변경
+    private volatile UserPoint emptyKeyPoint;
+
+    private OpenAddressingUserPointStore(boolean offHeap, int expectedUsers) {
+        this.offHeap = offHeap;
+        this.slots = newSlots(capacityFor(expectedUsers));
+    }
+
+    /**
+     * 힙의 long[] 에 슬롯을 두는 저장소
+     */
+    public static OpenAddressingUserPointStore onHeap(int expectedUsers) {
+        return new OpenAddressingUserPointStore(false, expectedUsers);
+    }
+
+    /**
+     * direct ByteBuffer 에 슬롯을 두는 저장소 (-XX:MaxDirectMemorySize 안에서 할당)
+     */
+    public static OpenAddressingUserPointStore offHeap(int expectedUsers) {
+        return new OpenAddressingUserPointStore(true, expectedUsers);
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        UserPoint found;
+        if (id == EMPTY_KEY) {
+            found = emptyKeyPoint;
+        } else {
+            long stamp = lock.tryOptimisticRead();
+            found = find(slots, id);
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    found = find(slots, id);
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+        }
+        return found == null ? UserPoint.empty(id) : found;
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        if (id == EMPTY_KEY) {
+            emptyKeyPoint = userPoint;
+            return userPoint;
+        }
+        long stamp = lock.writeLock();
+        try {
+            int slot = indexOf(slots, id);
+            if (slots.key(slot) == EMPTY_KEY) {
+                if (size + 1 > threshold(slots.capacity())) {
+                    resize();
+                    slot = indexOf(slots, id);
+                }
+                size++;
+            }
+            slots.set(slot, id, amount, userPoint.updateMillis());
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return userPoint;
+    }
+
+    /**
+     * 저장된 사용자 수
+     */
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size + (emptyKeyPoint == null ? 0 : 1);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // 낙관적 읽기 중에는 슬롯이 바뀌고 있을 수 있으나, 빈 슬롯이 항상 남아 있어 탐사는 끝난다. (결과는 validate 로 버림)
+    private static UserPoint find(Slots slots, long id) {
+        int slot = indexOf(slots, id);
+        if (slots.key(slot) != id) {
+            return null;
+        }
+        return new UserPoint(id, slots.point(slot), slots.updateMillis(slot));
+    }
+
+    // id 가 있는 슬롯, 없으면 넣을 빈 슬롯
+    private static int indexOf(Slots slots, long id) {
+        int mask = slots.capacity() - 1;
+        int slot = hash(id) & mask;
+        while (true) {
+            long key = slots.key(slot);
+            if (key == id || key == EMPTY_KEY) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    // 연속된 id 가 이웃 슬롯에 몰리지 않도록 섞음 (fibonacci hashing)
+    private static int hash(long id) {
+        long mixed = id * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    private void resize() {
+        int capacity = slots.capacity();
+        if (capacity >= MAX_CAPACITY) {
+            throw new IllegalStateException("잔고 저장소가 가득 찼습니다 : " + size);
+        }
+        Slots resized = newSlots(capacity << 1);
+        for (int slot = 0; slot < capacity; slot++) {
+            long key = slots.key(slot);
+            if (key != EMPTY_KEY) {
+                resized.set(indexOf(resized, key), key, slots.point(slot), slots.updateMillis(slot));
+            }
+        }
+        slots = resized;
+    }
+
+    private Slots newSlots(int capacity) {
+        return offHeap ? new OffHeapSlots(capacity) : new HeapSlots(capacity);
+    }
+
+    private static int threshold(int capacity) {
+        return capacity - (capacity >>> 2);
+    }
+
+    private static int capacityFor(int expectedUsers) {
+        long needed = Math.max(MIN_CAPACITY, (long) Math.ceil(expectedUsers / 0.75));
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("사용자 수가 너무 많습니다 : " + expectedUsers);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1; // 2의 거듭제곱으로 올림
+    }
+
+    private interface Slots {
+
+        int capacity();
+
+        long key(int slot);
+
+        long point(int slot);
+
+        long updateMillis(int slot);
+
+        void set(int slot, long key, long point, long updateMillis);
+    }
+
+    // long[] 하나에 슬롯을 이어 붙임 (id, 잔고, 변경 시각 순)
+    private static final class HeapSlots implements Slots {
+
+        private final long[] values;
+        private final int capacity;
+
+        private HeapSlots(int capacity) {
+            if ((long) capacity * 3 > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("힙 저장소의 최대 슬롯 수를 넘었습니다 : " + capacity);
+            }
+            this.values = new long[capacity * 3];
+            this.capacity = capacity;
+        }
+
+        @Override
+        public int capacity() {
+            return capacity;
+        }
+
+        @Override
+        public long key(int slot) {
+            return values[slot * 3];
+        }
+
+        @Override
+        public long point(int slot) {
+            return values[slot * 3 + 1];
+        }
+
+        @Override
+        public long updateMillis(int slot) {
+            return values[slot * 3 + 2];
+        }
+
+        @Override
+        public void set(int slot, long key, long point, long updateMillis) {
+            int offset = slot * 3;
+            values[offset + 1] = point;
+            values[offset + 2] = updateMillis;
+            values[offset] = key;
+        }
+    }
+
+    // direct ByteBuffer 하나는 2GB 를 넘을 수 없으므로 2^24 슬롯(384MB) 단위로 나눠 할당
+    private static final class OffHeapSlots implements Slots {
+
+        private static final int SLOT_SIZE = 24;
+        private static final int CHUNK_SHIFT = 24;
+        private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+
+        private final ByteBuffer[] chunks;
+        private final int capacity;
+
+        private OffHeapSlots(int capacity) {
+            int chunkSlots = Math.min(capacity, 1 << CHUNK_SHIFT);
+            this.chunks = new ByteBuffer[capacity / chunkSlots];
+            for (int i = 0; i < chunks.length; i++) {
+                chunks[i] = ByteBuffer.allocateDirect(chunkSlots * SLOT_SIZE).order(ByteOrder.nativeOrder()); // 0 으로 채워짐
+            }
+            this.capacity = capacity;
+        }
+
+        @Override
+        public int capacity() {
+            return capacity;
+        }
+
+        @Override
+        public long key(int slot) {
+            return chunks[slot >>> CHUNK_SHIFT].getLong((slot & CHUNK_MASK) * SLOT_SIZE);
+        }
+
+        @Override
+        public long point(int slot) {
+            return chunks[slot >>> CHUNK_SHIFT].getLong((slot & CHUNK_MASK) * SLOT_SIZE + 8);
+        }
+
+        @Override
+        public long updateMillis(int slot) {
+            return chunks[slot >>> CHUNK_SHIFT].getLong((slot & CHUNK_MASK) * SLOT_SIZE + 16);
+        }
+
+        @Override
+        public void set(int slot, long key, long point, long updateMillis) {
+            ByteBuffer chunk = chunks[slot >>> CHUNK_SHIFT];
+            int offset = (slot & CHUNK_MASK) * SLOT_SIZE;
+            chunk.putLong(offset + 8, point);
+            chunk.putLong(offset + 16, updateMillis);
+            chunk.putLong(offset, key);
+        }
+    }
+}
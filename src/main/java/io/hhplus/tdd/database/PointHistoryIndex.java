@@ -0,0 +1,385 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.TransactionType;
+import org.springframework.stereotype.Component;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 사용자별 포인트 이력 색인
+ * - PointHistoryTable.selectAllByUserId 는 전체 이력을 훑으므로(O(전체 이력)) 조회용 색인을 따로 둔다.
+ * - PointHistoryWriter 가 id 를 부여한 이력을 (테이블 기록을 기다리지 않고) 사용자별 배열 뒤에 덧붙인다. (append-only)
+ *   id 는 테이블 cursor 가 아니라 재시작 후에도 이어지는 writer 의 id 다.
+ * - 시작 시에는 저널의 스냅샷 이후 이력만 같은 방식으로 덧붙이고, 스냅샷에 접힌 이력은 사용자를 처음 조회하거나 덧붙일 때
+ *   HistoryLoader 로 불러온다. (시작 비용은 스냅샷 이후 기록에만 비례)
+ * - 조회 비용은 해당 사용자의 이력 수에만 비례한다.
+ * - 이력은 PointHistory 객체 대신 사용자별 열 단위 압축 묶음(HistoryChunk)으로 보관하고, 조회할 때만 객체로 복원한다.
+ * - 쓰기는 PointHistoryWriter 의 ticketLock 안에서 한 스레드씩, 읽기는 락 없이 여러 스레드에서 동시에 가능하다.
+ * - 덧붙일 때 사용자별 요약(충전/사용 합계, 실패 수, 마지막 시각)을 함께 갱신해 요약 조회는 이력 수와 무관하다.
+ *   최근 24시간 / 7일 시간 버킷은 사용자마다 처음 구간 요약을 조회할 때 이력을 한 번 훑어 만들고, 이후에는 덧붙일 때 함께 갱신한다.
+ *   (구간 요약을 조회하지 않는 사용자는 버킷을 갖지 않음)
+ */
+@Component
+public class PointHistoryIndex {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final long HOUR_MILLIS = 60 * 60 * 1000L;
+    private static final long DAY_MILLIS = 24 * HOUR_MILLIS;
+
+    private final ConcurrentHashMap<Long, UserHistories> histories = new ConcurrentHashMap<>();
+    private volatile HistoryLoader loader; // 저널 복원 전이나 스냅샷이 없으면 null
+
+    /**
+     * 저널 복원 : 스냅샷에 접힌 이력을 사용자별로 불러올 loader 설정 (이력을 덧붙이기 전, 시작 시 한 번 호출)
+     */
+    public void restore(HistoryLoader loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * id 를 부여한 이력 추가 (한 번에 한 스레드만 호출)
+     */
+    public void append(PointHistory history) {
+        if (history == null) {
+            return; // 테이블이 기록 결과를 돌려주지 않은 경우
+        }
+        histories.computeIfAbsent(history.userId(), this::load).append(history);
+    }
+
+    /**
+     * 사용자 이력을 기록 순서대로 반환
+     * 반환된 목록은 호출 시점까지 기록된 이력만 담으며, 이후 추가되는 이력에 영향받지 않는다. (변경 불가)
+     */
+    public List<PointHistory> findAllByUserId(long userId) {
+        UserHistories userHistories = find(userId);
+        if (userHistories == null) {
+            return Collections.emptyList();
+        }
+        return new Snapshot(userId, userHistories.state);
+    }
+
+    /**
+     * 사용자 이력 중 id 가 cursorId 보다 큰 것만 기록 순서대로 반환
+     * 이력 id 는 기록 순서대로 증가하므로 묶음의 마지막 id 로 이진 탐색한 뒤 한 묶음 안에서 시작 위치를 찾는다.
+     */
+    public List<PointHistory> findAllByUserIdAfter(long userId, long cursorId) {
+        UserHistories userHistories = find(userId);
+        if (userHistories == null) {
+            return Collections.emptyList();
+        }
+        Snapshot snapshot = new Snapshot(userId, userHistories.state);
+        return snapshot.subList(snapshot.indexAfter(cursorId), snapshot.size());
+    }
+
+    /**
+     * 사용자 이력 중 id 가 afterId 보다 큰 것을 기록 순서대로 객체 없이 전달 (visitor 가 false 를 반환하면 중단)
+     * 조건에 맞는 일부만 필요할 때 묶음 전체를 PointHistory 로 복원하지 않고 열 값만 읽는다.
+     */
+    public void scanByUserId(long userId, long afterId, HistoryVisitor visitor) {
+        UserHistories userHistories = find(userId);
+        if (userHistories == null) {
+            return;
+        }
+        scan(userHistories.state, afterId, visitor);
+    }
+
+    private static void scan(State state, long afterId, HistoryVisitor visitor) {
+        HistoryChunk[] chunks = state.chunks;
+        for (HistoryChunk chunk : chunks) {
+            if (chunk.lastId() > afterId && !chunk.scan(afterId, visitor)) {
+                return;
+            }
+        }
+        Varint.Reader reader = new Varint.Reader(state.tail, 0);
+        long id = 0;
+        long updateMillis = 0;
+        for (int i = 0; i < state.tailRows; i++) {
+            id += reader.nextSigned();
+            updateMillis += reader.nextSigned();
+            long amount = reader.nextSigned();
+            TransactionType type = TYPES[reader.nextByte()];
+            if (id > afterId && !visitor.visit(id, amount, type, updateMillis)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 사용자 이력 수
+     */
+    public int countByUserId(long userId) {
+        UserHistories userHistories = find(userId);
+        return userHistories == null ? 0 : userHistories.state.size();
+    }
+
+    /**
+     * 사용자 이력 요약 (전체는 덧붙일 때 갱신한 합계, 최근 구간은 시간 버킷 합계)
+     * 사용자의 첫 구간 요약은 시간 버킷을 만드느라 이력 수에 비례한다.
+     * nowMillis : 최근 구간의 기준 시각
+     */
+    public PointSummary summarize(long userId, PointSummary.Window window, long nowMillis) {
+        UserHistories userHistories = find(userId);
+        if (userHistories == null) {
+            return PointSummary.empty(userId, window);
+        }
+        Totals totals = userHistories.state.totals;
+        if (window == PointSummary.Window.ALL) {
+            return new PointSummary(userId, window, totals.charged(), totals.used(), totals.failed(), totals.lastMillis());
+        }
+        long[] sum = userHistories.sumRecent(window == PointSummary.Window.LAST_24H, nowMillis);
+        return new PointSummary(userId, window, sum[0], sum[1], sum[2], totals.lastMillis());
+    }
+
+    // 조회할 사용자 이력 (접힌 이력을 아직 불러오지 않았으면 불러옴, 이력이 하나도 없으면 null)
+    private UserHistories find(long userId) {
+        UserHistories userHistories = histories.get(userId);
+        if (userHistories != null || loader == null) {
+            return userHistories;
+        }
+        return histories.computeIfAbsent(userId, id -> {
+            UserHistories loaded = load(id);
+            return loaded.state.size() == 0 ? null : loaded; // 이력이 없는 사용자는 담아 두지 않음
+        });
+    }
+
+    // computeIfAbsent 안에서 호출되므로 같은 사용자는 한 번만 불러오고, 불러오는 동안 그 사용자의 조회와 덧붙이기는 기다린다.
+    private UserHistories load(long userId) {
+        UserHistories userHistories = new UserHistories();
+        HistoryLoader current = loader;
+        if (current != null) {
+            current.load(userId, userHistories::append);
+        }
+        return userHistories;
+    }
+
+    /**
+     * 스냅샷에 접힌 사용자 이력을 id 순서대로 sink 에 전달
+     */
+    @FunctionalInterface
+    public interface HistoryLoader {
+
+        void load(long userId, Consumer<PointHistory> sink);
+    }
+
+    /**
+     * 이력 한 건의 열 값 (사용자 id 는 조회한 사용자)
+     */
+    @FunctionalInterface
+    public interface HistoryVisitor {
+
+        /**
+         * @return 계속 읽으려면 true
+         */
+        boolean visit(long id, long amount, TransactionType type, long updateMillis);
+    }
+
+    /*
+     * 단일 작성자 / 다중 독자 이력 저장
+     * - 최근 이력은 행 단위 varint 로 tail 배열 뒤에 덧붙이고, HistoryChunk.ROWS 건이 차면 열 단위 묶음(HistoryChunk)으로 봉인한다.
+     * - 작성자는 tail 배열을 채운 뒤 새 State 를 발행하고, 독자는 State 하나만 읽는다. (volatile 로 가시성 보장)
+     * - tail 배열이 가득 차거나 봉인되면 새 배열로 바꾼다. 이전 배열의 발행된 구간은 바뀌지 않으므로 독자가 들고 있어도 안전하다.
+     * - 시간 버킷은 처음 필요할 때 만든다. State 발행과 버킷 갱신을 같은 모니터 안에서 하므로 버킷을 만들 때 훑은 이력과
+     *   이후 덧붙인 이력이 겹치거나 빠지지 않는다. (버킷이 없을 때도 잡지만 경합이 없어 비용이 작음)
+     */
+    private static final class UserHistories {
+
+        private static final int INITIAL_TAIL_BYTES = 16;
+        private static final int MAX_ROW_BYTES = 3 * Varint.MAX_BYTES + 1;
+        private static final HistoryChunk[] NO_CHUNKS = new HistoryChunk[0];
+
+        private volatile State state = new State(NO_CHUNKS, new byte[INITIAL_TAIL_BYTES], 0, 0, Totals.EMPTY);
+        private HistoryTimeBuckets hourly; // 처음 구간 요약 전에는 null, 아래 둘은 this 모니터 안에서만 사용
+        private HistoryTimeBuckets daily;
+        private long lastId; // 작성자만 사용
+        private long lastMillis; // 작성자만 사용
+
+        private void append(PointHistory history) {
+            State current = state;
+            byte[] tail = current.tail;
+            int position = current.tailLength;
+            if (position + MAX_ROW_BYTES > tail.length) {
+                tail = Arrays.copyOf(tail, Math.max(tail.length * 2, position + MAX_ROW_BYTES));
+            }
+            position = Varint.writeSigned(tail, position, history.id() - lastId);
+            position = Varint.writeSigned(tail, position, history.updateMillis() - lastMillis);
+            position = Varint.writeSigned(tail, position, history.amount());
+            tail[position++] = (byte) history.type().ordinal();
+            lastId = history.id();
+            lastMillis = history.updateMillis();
+            Totals totals = current.totals.add(history);
+
+            int tailRows = current.tailRows + 1;
+            if (tailRows < HistoryChunk.ROWS) {
+                publish(new State(current.chunks, tail, position, tailRows, totals), history);
+                return;
+            }
+            HistoryChunk[] chunks = Arrays.copyOf(current.chunks, current.chunks.length + 1);
+            chunks[current.chunks.length] = seal(tail, tailRows);
+            lastId = 0L; // 새 tail 의 첫 행은 다시 0 기준
+            lastMillis = 0L;
+            publish(new State(chunks, new byte[INITIAL_TAIL_BYTES], 0, 0, totals), history);
+        }
+
+        private synchronized void publish(State next, PointHistory history) {
+            state = next;
+            if (hourly != null) {
+                hourly.add(history.type(), history.amount(), history.updateMillis());
+                daily.add(history.type(), history.amount(), history.updateMillis());
+            }
+        }
+
+        // 최근 24시간(hourly) / 7일 합계, 버킷이 없으면 발행된 이력을 훑어 만듦
+        private synchronized long[] sumRecent(boolean hourlyWindow, long nowMillis) {
+            if (hourly == null) {
+                HistoryTimeBuckets hours = new HistoryTimeBuckets(HOUR_MILLIS, 24);
+                HistoryTimeBuckets days = new HistoryTimeBuckets(DAY_MILLIS, 7);
+                scan(state, 0L, (id, amount, type, updateMillis) -> {
+                    hours.add(type, amount, updateMillis);
+                    days.add(type, amount, updateMillis);
+                    return true;
+                });
+                hourly = hours;
+                daily = days;
+            }
+            return (hourlyWindow ? hourly : daily).sum(nowMillis);
+        }
+
+        private static HistoryChunk seal(byte[] tail, int rows) {
+            long[] ids = new long[rows];
+            long[] millis = new long[rows];
+            long[] amounts = new long[rows];
+            byte[] types = new byte[rows];
+            Varint.Reader reader = new Varint.Reader(tail, 0);
+            long id = 0;
+            long updateMillis = 0;
+            for (int i = 0; i < rows; i++) {
+                ids[i] = id += reader.nextSigned();
+                millis[i] = updateMillis += reader.nextSigned();
+                amounts[i] = reader.nextSigned();
+                types[i] = reader.nextByte();
+            }
+            return HistoryChunk.of(ids, millis, amounts, types, rows);
+        }
+    }
+
+    /*
+     * 발행된 이력 상태 (불변)
+     * - chunks : 봉인된 묶음, 각 HistoryChunk.ROWS 건
+     * - tail : 봉인 전 이력, [0, tailLength) 에 tailRows 건 (id / 변경 시각은 직전 행과의 차이, 첫 행은 0 기준)
+     * - totals : 발행된 이력 전체의 요약 (이력과 같은 State 로 발행되므로 함께 읽으면 서로 어긋나지 않음)
+     */
+    private record State(HistoryChunk[] chunks, byte[] tail, int tailLength, int tailRows, Totals totals) {
+
+        private int size() {
+            return chunks.length * HistoryChunk.ROWS + tailRows;
+        }
+    }
+
+    /*
+     * 사용자 이력 전체 요약 (불변)
+     * - charged / used : CHARGE / USE 금액 합계, failed : FAIL 이력 수, lastMillis : 가장 늦은 변경 시각
+     */
+    private record Totals(long charged, long used, long failed, long lastMillis) {
+
+        private static final Totals EMPTY = new Totals(0L, 0L, 0L, 0L);
+
+        private Totals add(PointHistory history) {
+            long last = Math.max(lastMillis, history.updateMillis());
+            return switch (history.type()) {
+                case CHARGE -> new Totals(charged + history.amount(), used, failed, last);
+                case USE -> new Totals(charged, used + history.amount(), failed, last);
+                case FAIL -> new Totals(charged, used, failed + 1, last);
+                case TRANSFER_IN, TRANSFER_OUT -> new Totals(charged, used, failed, last);
+            };
+        }
+    }
+
+    /*
+     * 상태 하나를 보여주는 읽기 전용 목록
+     * - 행을 읽을 때 해당 묶음 전체를 PointHistory 로 복원하고, 마지막으로 복원한 묶음을 재사용한다. (순서대로 훑으면 묶음마다 한 번씩 복원)
+     * - 복원 결과는 불변이므로 여러 스레드가 같은 목록을 읽어도 안전하다.
+     */
+    private static final class Snapshot extends AbstractList<PointHistory> implements RandomAccess {
+
+        private final long userId;
+        private final State state;
+        private final int size;
+        private volatile Decoded decoded;
+
+        private Snapshot(long userId, State state) {
+            this.userId = userId;
+            this.state = state;
+            this.size = state.size();
+        }
+
+        @Override
+        public PointHistory get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            int block = index / HistoryChunk.ROWS;
+            Decoded current = decoded;
+            if (current == null || current.block != block) {
+                current = new Decoded(block, decode(block));
+                decoded = current;
+            }
+            return current.rows[index % HistoryChunk.ROWS];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        // id 가 cursorId 보다 큰 첫 행의 위치 (묶음의 마지막 id 로 묶음을 먼저 고른 뒤 그 안에서 찾음)
+        private int indexAfter(long cursorId) {
+            HistoryChunk[] chunks = state.chunks;
+            int low = 0;
+            int high = chunks.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (chunks[mid].lastId() <= cursorId) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            int index = low * HistoryChunk.ROWS;
+            while (index < size && get(index).id() <= cursorId) {
+                index++;
+            }
+            return index;
+        }
+
+        private PointHistory[] decode(int block) {
+            HistoryChunk[] chunks = state.chunks;
+            if (block < chunks.length) {
+                PointHistory[] rows = new PointHistory[HistoryChunk.ROWS];
+                chunks[block].decode(userId, rows, 0);
+                return rows;
+            }
+            PointHistory[] rows = new PointHistory[state.tailRows];
+            Varint.Reader reader = new Varint.Reader(state.tail, 0);
+            long id = 0;
+            long updateMillis = 0;
+            for (int i = 0; i < rows.length; i++) {
+                id += reader.nextSigned();
+                updateMillis += reader.nextSigned();
+                long amount = reader.nextSigned();
+                rows[i] = new PointHistory(id, userId, amount, TYPES[reader.nextByte()], updateMillis);
+            }
+            return rows;
+        }
+
+        private record Decoded(int block, PointHistory[] rows) {
+        }
+    }
+}
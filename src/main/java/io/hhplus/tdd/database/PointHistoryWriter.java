@@ -0,0 +1,539 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.config.PointHistoryProperties;
+import io.hhplus.tdd.journal.JournalRecord;
+import io.hhplus.tdd.journal.PointJournal;
+import io.hhplus.tdd.journal.PointSnapshot;
+import io.hhplus.tdd.journal.RecoveredState;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 포인트 이력 write-behind
+ * - 이력은 제한된 대기열에 쌓이고, 백그라운드 스레드가 batchSize 단위로 꺼내 PointHistoryTable 에 기록한다.
+ * - 대기열이 가득 차면 write 호출 스레드가 자리가 날 때까지 기다린다. (backpressure)
+ *   자리는 ticketLock 을 잡기 전에 확보하므로, 기다리는 동안에도 다른 사용자의 기록은 막히지 않는다.
+ * - 종료 시 남은 이력을 모두 기록한 뒤 멈춘다.
+ * - 테이블 기록이 실패하면 실패한 이력부터 maxRetries 번까지 다시 시도한다. 그래도 실패하면 그 이력은 테이블 기록을 포기하고
+ *   failedCount 로 알린다. (health DOWN, 이력은 저널과 조회 색인에 남아 있음)
+ * - PointHistoryTable 은 thread-safe 하지 않으므로(cursor++) 모든 insert 는 tableLock 안에서만 호출한다.
+ * - 이력마다 사용자별 순번을 부여하고, 같은 사용자의 이력은 순번 순서대로 테이블에 기록한다.
+ * - 조회용 PointHistoryIndex 에는 id 를 부여할 때(ticketLock 안, 저널 기록 직후) 바로 추가한다.
+ *   조회는 테이블 기록 속도와 무관하고, 테이블 기록은 조회에 영향 없는 write-behind 부수 작업이다.
+ * - 이력 id 는 writer 가 부여하고(테이블 cursor 와 같은 순서), 적재 전에 PointJournal 에 먼저 남긴다.
+ *   저널 반영 대기는 ticketLock 밖에서 하므로 여러 사용자의 기록이 한 번의 디스크 반영으로 묶인다.
+ *   저널은 sequence 가 이어져야만 받으므로, 레코드 하나를 남길 때마다 바로 lastHistoryId 와 사용자별 순번을 옮긴다.
+ *   (뒤 레코드나 테이블 기록이 실패해도 다음 기록은 저널 마지막 sequence 다음 번호를 받음)
+ * - write-behind 를 쓰지 않을 때(또는 시작 전/종료 후) 호출 스레드의 테이블 기록도 ticketLock 밖에서 한다.
+ *   ticketLock 안에서는 id 와 기록 차례(syncTurn)만 받고, 테이블에는 차례 순서대로 기록하므로 id 순서는 그대로다.
+ */
+@Component
+public class PointHistoryWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryWriter.class);
+
+    private final PointHistoryTable pointHistoryTable;
+    private final PointHistoryIndex pointHistoryIndex;
+    private final PointJournal pointJournal;
+    private final PointMetrics pointMetrics;
+    private final boolean writeBehind;
+    private final int batchSize;
+    private final int maxRetries;
+    private final long retryBackoffNanos;
+    private final int capacity;
+    private final BlockingQueue<PendingHistory> queue;
+    private final Semaphore queueSlots; // ticketLock 밖에서 확보하는 대기열 자리, 대기열에서 꺼낼 때 반납
+
+    private final ReentrantLock tableLock = new ReentrantLock();
+    private final Condition syncTurnCondition = tableLock.newCondition();
+    private final ReentrantLock ticketLock = new ReentrantLock();
+
+    private long lastHistoryId; // ticketLock 안에서만 변경
+    // 호출 스레드에서 직접 기록하는 차례 (issued 는 ticketLock, inserted 는 tableLock 안에서만 변경)
+    private long issuedSyncTurn;
+    private long insertedSyncTurn;
+    private final ConcurrentHashMap<Long, Long> userSequences = new ConcurrentHashMap<>(); // ticketLock 안에서만 변경
+    private volatile RecoveredState recoveredState = RecoveredState.EMPTY;
+
+    private final AtomicLong flushedCount = new AtomicLong();
+    private final AtomicLong flushBatchCount = new AtomicLong();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+    private final AtomicLong retryCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private volatile long lastFlushNanos;
+
+    private volatile boolean running;
+    private Thread drainer;
+
+    public PointHistoryWriter(
+            PointHistoryTable pointHistoryTable,
+            PointHistoryIndex pointHistoryIndex,
+            PointHistoryProperties historyProperties,
+            PointJournal pointJournal,
+            PointMetrics pointMetrics
+    ) {
+        PointHistoryProperties.WriteBehind properties = historyProperties.writeBehind();
+        this.pointHistoryTable = pointHistoryTable;
+        this.pointHistoryIndex = pointHistoryIndex;
+        this.pointJournal = pointJournal;
+        this.pointMetrics = pointMetrics;
+        this.writeBehind = properties.enabled();
+        this.batchSize = properties.batchSize();
+        this.maxRetries = Math.max(0, properties.maxRetries());
+        this.retryBackoffNanos = properties.retryBackoff().toNanos();
+        this.capacity = properties.capacity();
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.queueSlots = new Semaphore(capacity);
+    }
+
+    /**
+     * 반영 후 잔고를 모르는 이력 적재 (작업이 실행되지 않은 실패 이력 등)
+     */
+    public long write(long userId, long amount, TransactionType type, long updateMillis) {
+        return write(userId, amount, type, updateMillis, JournalRecord.UNKNOWN_BALANCE);
+    }
+
+    /**
+     * 이력 적재 및 사용자별 순번 부여
+     * 순번 부여와 적재(대기열 또는 기록 차례)가 ticketLock 안에서 함께 일어나므로, 같은 사용자의 이력은 순번 순서대로 기록된다.
+     * 사용자 작업(잔고 변경) 안에서 호출하면 순번 순서 = 잔고 변경 순서가 된다.
+     * 저널 fsync 정책이 PER_OP 이면 디스크에 반영된 뒤 반환한다.
+     *
+     * @param balanceAfter 반영 후 잔고 (저널 복원용)
+     * @return 사용자별 이력 순번 (1 부터 빈틈 없이 증가)
+     */
+    public long write(long userId, long amount, TransactionType type, long updateMillis, long balanceAfter) {
+        long historyId;
+        long sequence;
+        PendingHistory history;
+        long syncTurn = 0;
+        int reserved = reserve(1);
+        ticketLock.lock();
+        try {
+            historyId = lastHistoryId + 1;
+            sequence = lastSequence(userId) + 1;
+            pointJournal.append(new JournalRecord(historyId, userId, sequence, type, amount, balanceAfter, updateMillis));
+            lastHistoryId = historyId;
+            userSequences.put(userId, sequence);
+            history = new PendingHistory(historyId, userId, sequence, amount, type, updateMillis);
+            index(history);
+            if (reserved > 0 && running) {
+                enqueue(history);
+                reserved = 0;
+            } else {
+                syncTurn = ++issuedSyncTurn;
+            }
+        } finally {
+            ticketLock.unlock();
+            queueSlots.release(reserved); // 대기열에 넣지 않은 자리 반납
+        }
+        if (syncTurn != 0) {
+            insertInTurn(syncTurn, List.of(history));
+        }
+        pointJournal.awaitDurable(historyId);
+        return sequence;
+    }
+
+    /**
+     * 한 사용자의 이력 여러 건을 한 번에 적재 (일괄 처리용)
+     * 순번 부여와 적재를 ticketLock 한 번으로 처리하므로 다른 이력이 중간에 끼지 않는다.
+     * 중간에 저널 기록이 실패하면 그 앞까지 저널에 남은 이력만 적재하고 예외를 던진다.
+     *
+     * @return 마지막으로 부여된 사용자별 이력 순번
+     */
+    public long writeAll(long userId, List<Entry> entries) {
+        if (entries.isEmpty()) {
+            return lastSequence(userId);
+        }
+        long historyId;
+        long sequence;
+        List<PendingHistory> histories = new ArrayList<>(entries.size());
+        long syncTurn = 0;
+        RuntimeException failure = null;
+        int reserved = reserve(entries.size());
+        ticketLock.lock();
+        try {
+            historyId = lastHistoryId;
+            sequence = lastSequence(userId);
+            for (Entry entry : entries) {
+                try {
+                    pointJournal.append(new JournalRecord(historyId + 1, userId, sequence + 1, entry.type(), entry.amount(),
+                            entry.balanceAfter(), entry.updateMillis()));
+                } catch (RuntimeException e) {
+                    failure = e;
+                    break;
+                }
+                lastHistoryId = ++historyId;
+                userSequences.put(userId, ++sequence);
+                PendingHistory history = new PendingHistory(historyId, userId, sequence, entry.amount(), entry.type(),
+                        entry.updateMillis());
+                index(history);
+                histories.add(history);
+            }
+            if (reserved > 0 && running) {
+                histories.forEach(this::enqueue);
+                reserved -= histories.size();
+            } else if (!histories.isEmpty()) {
+                syncTurn = ++issuedSyncTurn;
+            }
+        } finally {
+            ticketLock.unlock();
+            queueSlots.release(reserved);
+        }
+        if (syncTurn != 0) {
+            insertInTurn(syncTurn, histories);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        pointJournal.awaitDurable(historyId);
+        return sequence;
+    }
+
+    /**
+     * 이체 이력 두 건(보낸 사용자 TRANSFER_OUT, 받은 사용자 TRANSFER_IN)을 한 번에 적재
+     * ticketLock 한 번 안에서 id 를 이어서 부여하므로 다른 이력이 사이에 끼지 않고, TRANSFER_IN 의 id 는 TRANSFER_OUT 의 id + 1 이다.
+     * 두 사용자의 작업 안에서 호출하면 두 사용자 모두 순번 순서 = 잔고 변경 순서가 된다.
+     *
+     * @return TRANSFER_OUT 이력 id
+     */
+    public long writeTransfer(long fromUserId, long toUserId, long amount, long updateMillis,
+                              long fromBalanceAfter, long toBalanceAfter) {
+        long historyId;
+        List<PendingHistory> histories;
+        long syncTurn = 0;
+        int reserved = reserve(2);
+        ticketLock.lock();
+        try {
+            historyId = lastHistoryId + 1;
+            long fromSequence = lastSequence(fromUserId) + 1;
+            long toSequence = lastSequence(toUserId) + 1;
+            pointJournal.append(new JournalRecord(historyId, fromUserId, fromSequence, TransactionType.TRANSFER_OUT,
+                    amount, fromBalanceAfter, updateMillis));
+            // TRANSFER_IN 기록이 실패해도 다음 기록이 이어지도록 저널 순번은 바로 넘김
+            // (짝이 없는 TRANSFER_OUT 은 복원 때 건너뛰므로 사용자 순번과 이력은 남기지 않음)
+            lastHistoryId = historyId;
+            pointJournal.append(new JournalRecord(historyId + 1, toUserId, toSequence, TransactionType.TRANSFER_IN,
+                    amount, toBalanceAfter, updateMillis));
+            histories = List.of(
+                    new PendingHistory(historyId, fromUserId, fromSequence, amount, TransactionType.TRANSFER_OUT, updateMillis),
+                    new PendingHistory(historyId + 1, toUserId, toSequence, amount, TransactionType.TRANSFER_IN, updateMillis));
+            histories.forEach(this::index);
+            if (reserved > 0 && running) {
+                histories.forEach(this::enqueue);
+                reserved = 0;
+            } else {
+                syncTurn = ++issuedSyncTurn;
+            }
+            lastHistoryId = historyId + 1;
+            userSequences.put(fromUserId, fromSequence);
+            userSequences.put(toUserId, toSequence);
+        } finally {
+            ticketLock.unlock();
+            queueSlots.release(reserved);
+        }
+        if (syncTurn != 0) {
+            insertInTurn(syncTurn, histories);
+        }
+        pointJournal.awaitDurable(historyId + 1);
+        return historyId;
+    }
+
+    /**
+     * 사용자에게 마지막으로 부여된 이력 순번 (없으면 0)
+     */
+    public long lastSequence(long userId) {
+        Long sequence = userSequences.get(userId);
+        if (sequence != null) {
+            return sequence;
+        }
+        PointSnapshot.Entry restored = recoveredState.find(userId);
+        return restored == null ? 0L : restored.userSequence();
+    }
+
+    /**
+     * 저널 복원 후 순번 이어가기 (시작 전, 적재가 없을 때만 호출)
+     * 복원 이후 이력이 없는 사용자의 순번은 복원 상태에서 찾는다.
+     */
+    public void restore(RecoveredState state) {
+        ticketLock.lock();
+        try {
+            if (this.lastHistoryId != 0) {
+                throw new IllegalStateException("이미 이력이 적재된 뒤에는 복원할 수 없습니다");
+            }
+            this.recoveredState = state;
+            this.lastHistoryId = state.lastSequence();
+        } finally {
+            ticketLock.unlock();
+        }
+    }
+
+    // ticketLock 안에서 저널 기록 직후 호출 (색인 작성자는 한 번에 한 스레드)
+    // 색인 실패로 테이블 기록 차례가 어긋나지 않도록 예외는 남기기만 함 (이력은 저널에 있으므로 재시작하면 복원)
+    private void index(PendingHistory history) {
+        try {
+            pointHistoryIndex.append(history.toPointHistory());
+        } catch (RuntimeException e) {
+            log.error("포인트 이력 색인 실패 : id {}, 사용자 {}", history.id(), history.userId(), e);
+        }
+    }
+
+    /*
+     * ticketLock 을 잡기 전에 대기열 자리 count 개 확보 (가득 차면 호출 스레드만 대기, backpressure)
+     * write-behind 를 쓰지 않거나, 한 번에 대기열 크기보다 많으면 확보하지 않고 호출 스레드에서 직접 기록한다.
+     * 인터럽트되어도 순서가 어긋나지 않도록 계속 대기하고, 반환할 때 인터럽트 상태는 남아 있다.
+     * 반환값 : 확보한 자리 수 (대기열에 넣지 않은 만큼은 호출한 쪽이 반납)
+     */
+    private int reserve(int count) {
+        if (!writeBehind || !running || count > capacity) {
+            return 0;
+        }
+        queueSlots.acquireUninterruptibly(count);
+        return count;
+    }
+
+    // ticketLock 안에서 호출, 자리를 확보했으므로 기다리지 않음 (대기열 순서 = id 순서)
+    private void enqueue(PendingHistory history) {
+        if (!queue.offer(history)) {
+            throw new IllegalStateException("확보한 대기열 자리가 없습니다");
+        }
+    }
+
+    // 대기열에서 꺼낸 만큼 자리 반납
+    private void takeAll(List<PendingHistory> batch) {
+        int taken = queue.drainTo(batch, batchSize - batch.size());
+        queueSlots.release(taken);
+    }
+
+    public Stats stats() {
+        long batches = flushBatchCount.get();
+        return new Stats(
+                queue.size(),
+                queueSlots.availablePermits(),
+                flushedCount.get(),
+                batches,
+                TimeUnit.NANOSECONDS.toMicros(lastFlushNanos),
+                batches == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalFlushNanos.get() / batches),
+                TimeUnit.NANOSECONDS.toMicros(maxFlushNanos.get()),
+                retryCount.get(),
+                failedCount.get()
+        );
+    }
+
+    private void drain() {
+        List<PendingHistory> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingHistory first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                queueSlots.release();
+                batch.add(first);
+                takeAll(batch);
+                flush(batch);
+            } catch (InterruptedException e) {
+                // stop() 에서 깨운 경우, 루프 조건에서 남은 이력을 마저 기록
+            } catch (RuntimeException e) {
+                log.error("포인트 이력 기록 실패 : {}건", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingHistory> batch) {
+        long startedAt = System.nanoTime();
+        int inserted = 0;
+        int attempts = 0;
+        int abandoned = 0;
+        while (inserted < batch.size()) {
+            boolean retry = false;
+            tableLock.lock();
+            try {
+                for (; inserted < batch.size(); inserted++) {
+                    insert(batch.get(inserted));
+                    attempts = 0;
+                }
+            } catch (RuntimeException e) {
+                PendingHistory failed = batch.get(inserted);
+                retry = attempts++ < maxRetries;
+                if (retry) {
+                    retryCount.incrementAndGet();
+                    log.warn("포인트 이력 기록 실패, 다시 시도 ({}/{}) : id {}", attempts, maxRetries, failed.id(), e);
+                } else {
+                    failedCount.incrementAndGet();
+                    abandoned++;
+                    log.error("포인트 이력 기록 포기 : id {}, 사용자 {} (저널에는 남아 있음)", failed.id(), failed.userId(), e);
+                    inserted++; // 이미 기록한 이력은 다시 기록하지 않고 다음 이력부터 이어감
+                    attempts = 0;
+                }
+            } finally {
+                tableLock.unlock();
+            }
+            if (retry) {
+                backoff(attempts);
+            }
+        }
+        long elapsed = System.nanoTime() - startedAt;
+
+        flushedCount.addAndGet(batch.size() - abandoned);
+        flushBatchCount.incrementAndGet();
+        totalFlushNanos.addAndGet(elapsed);
+        maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+        lastFlushNanos = elapsed;
+    }
+
+    private void insert(List<PendingHistory> histories) {
+        tableLock.lock();
+        try {
+            for (PendingHistory history : histories) {
+                insert(history);
+            }
+        } finally {
+            tableLock.unlock();
+        }
+    }
+
+    // tableLock 안에서 호출
+    private void insert(PendingHistory history) {
+        long startedAt = System.nanoTime();
+        pointHistoryTable.insert(history.userId(), history.amount(), history.type(), history.updateMillis());
+        pointMetrics.recordTableCall("point_history", "insert", startedAt);
+    }
+
+    // 다시 시도하기 전 대기 (시도할 때마다 두 배, 종료 중 인터럽트되면 바로 다시 시도)
+    private void backoff(int attempts) {
+        long nanos = retryBackoffNanos << Math.min(attempts - 1, 16);
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // 인터럽트 상태 복원
+        }
+    }
+
+    // 호출 스레드에서 직접 기록 : 앞 차례가 끝날 때까지 기다린 뒤 기록 (실패해도 다음 차례로 넘김)
+    private void insertInTurn(long syncTurn, List<PendingHistory> histories) {
+        tableLock.lock();
+        try {
+            while (insertedSyncTurn != syncTurn - 1) {
+                syncTurnCondition.awaitUninterruptibly(); // 순서가 어긋나지 않도록 인터럽트되어도 계속 대기
+            }
+            try {
+                insert(histories);
+            } finally {
+                insertedSyncTurn = syncTurn;
+                syncTurnCondition.signalAll();
+            }
+        } finally {
+            tableLock.unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!writeBehind || running) {
+            return;
+        }
+        running = true;
+        drainer = new Thread(this::drain, "point-history-writer");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false; // 이후 write 는 호출 스레드에서 직접 기록
+        drainer.interrupt();
+        try {
+            drainer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // 인터럽트 상태 복원
+        }
+        // drainer 종료 직전에 대기열에 들어온 이력까지 기록
+        List<PendingHistory> remaining = new ArrayList<>();
+        queueSlots.release(queue.drainTo(remaining));
+        if (!remaining.isEmpty()) {
+            flush(remaining);
+        }
+        log.info("포인트 이력 write-behind 종료 : 누적 {}건 기록", flushedCount.get());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 웹 서버가 요청을 모두 마친 뒤에 멈추도록 웹 서버(DEFAULT_PHASE - 2048) 보다 늦게 종료
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 4096;
+    }
+
+    /**
+     * - queueDepth : 대기 중인 이력 수
+     * - 지연 시간은 batch 한 번을 기록하는 데 걸린 시간 (마이크로초)
+     * - retryCount : 테이블 기록을 다시 시도한 횟수
+     * - failedCount : 다시 시도해도 실패해 테이블 기록을 포기한 이력 수 (0 이 아니면 unhealthy)
+     */
+    public record Stats(
+            int queueDepth,
+            int remainingCapacity,
+            long flushedCount,
+            long flushBatchCount,
+            long lastFlushMicros,
+            long averageFlushMicros,
+            long maxFlushMicros,
+            long retryCount,
+            long failedCount
+    ) {
+    }
+
+    /**
+     * 일괄 적재할 이력 한 건 (balanceAfter : 반영 후 잔고, 모르면 JournalRecord.UNKNOWN_BALANCE)
+     */
+    public record Entry(
+            long amount,
+            TransactionType type,
+            long updateMillis,
+            long balanceAfter
+    ) {
+    }
+
+    private record PendingHistory(
+            long id,
+            long userId,
+            long sequence,
+            long amount,
+            TransactionType type,
+            long updateMillis
+    ) {
+
+        private PointHistory toPointHistory() {
+            return new PointHistory(id, userId, amount, type, updateMillis);
+        }
+    }
+}
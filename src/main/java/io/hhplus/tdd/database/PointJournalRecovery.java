@@ -0,0 +1,87 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.journal.JournalRecord;
+import io.hhplus.tdd.journal.PointJournal;
+import io.hhplus.tdd.journal.PointSnapshot;
+import io.hhplus.tdd.journal.RecoveredState;
+import io.hhplus.tdd.point.PointHistory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * 시작 시 저널을 다시 읽어 메모리 상태 복원
+ * - 잔고 : 마지막 스냅샷 + 이후 레코드로 복원한 상태를 RestoredUserPoints 에 넘김 (UserPointTable 에 다시 쓰지 않음)
+ * - 이력 : 스냅샷 이후 레코드만 조회용 PointHistoryIndex 에 저널 순서대로 추가하고, 스냅샷에 접힌 이력은 사용자를 처음 조회할 때
+ *   저널에서 불러오도록 연결 (PointHistoryTable 은 조회에 쓰지 않고 건당 throttle 이 있어 다시 채우지 않음)
+ * - 순번 : PointHistoryWriter 가 이력 id 와 사용자별 순번을 저널 다음 번호부터 이어가도록 함
+ */
+@Component
+public class PointJournalRecovery implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PointJournalRecovery.class);
+
+    private final PointJournal pointJournal;
+    private final RestoredUserPoints restoredUserPoints;
+    private final PointHistoryIndex pointHistoryIndex;
+    private final PointHistoryWriter pointHistoryWriter;
+
+    private volatile boolean recovered;
+
+    public PointJournalRecovery(
+            PointJournal pointJournal,
+            RestoredUserPoints restoredUserPoints,
+            PointHistoryIndex pointHistoryIndex,
+            PointHistoryWriter pointHistoryWriter
+    ) {
+        this.pointJournal = pointJournal;
+        this.restoredUserPoints = restoredUserPoints;
+        this.pointHistoryIndex = pointHistoryIndex;
+        this.pointHistoryWriter = pointHistoryWriter;
+    }
+
+    @Override
+    public void start() {
+        if (recovered) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        PointSnapshot snapshot = pointJournal.snapshot();
+        if (snapshot.lastSequence() > 0) {
+            pointHistoryIndex.restore((userId, sink) -> {
+                if (snapshot.find(userId) != null) { // 스냅샷에 없는 사용자는 접힌 이력도 없음
+                    pointJournal.replaySnapshotted(userId, record -> sink.accept(toHistory(record)));
+                }
+            });
+        }
+        RecoveredState state = pointJournal.recover(record -> pointHistoryIndex.append(toHistory(record)));
+        restoredUserPoints.restore(state);
+        pointHistoryWriter.restore(state);
+        recovered = true;
+        if (!state.isEmpty()) {
+            log.info("저널 복원 : 이력 {}건, 스냅샷 사용자 {}명 (sequence {} 까지) + 이후 변경 사용자 {}명 ({}ms)",
+                    state.lastSequence(), state.snapshot().size(), state.snapshot().lastSequence(), state.tail().size(),
+                    (System.nanoTime() - startedAt) / 1_000_000);
+        }
+    }
+
+    private static PointHistory toHistory(JournalRecord record) {
+        return new PointHistory(record.sequence(), record.userId(), record.amount(), record.type(), record.updateMillis());
+    }
+
+    @Override
+    public void stop() {
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recovered;
+    }
+
+    // 이력 writer(DEFAULT_PHASE - 4096) 와 웹 서버보다 먼저 복원
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 8192;
+    }
+}
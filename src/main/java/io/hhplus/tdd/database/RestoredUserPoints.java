@@ -0,0 +1,55 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.journal.PointSnapshot;
+import io.hhplus.tdd.journal.RecoveredState;
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 저널에서 복원한 잔고 (UserPointTable 에 다시 쓰지 않고 필요할 때 읽음)
+ * - 사용자 수만큼 테이블에 insert 하면 건당 throttle 때문에 시작이 사용자 수에 비례해 느려지므로,
+ *   복원한 상태(스냅샷 + 이후 레코드)를 그대로 두고 UserPointCache 가 테이블보다 먼저 조회한다.
+ * - 복원 이후 잔고가 바뀐 사용자는 테이블 값이 최신이므로 supersede 로 표시해 더 이상 복원 값을 돌려주지 않는다.
+ */
+@Component
+public class RestoredUserPoints {
+
+    private volatile RecoveredState state = RecoveredState.EMPTY;
+    private final Set<Long> superseded = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 복원 상태 설정 (시작 시 한 번, 잔고 변경 전에 호출)
+     */
+    public void restore(RecoveredState state) {
+        superseded.clear();
+        this.state = state;
+    }
+
+    /**
+     * 복원한 잔고 (복원 기록이 없거나 이미 테이블에 새로 쓴 사용자면 null)
+     */
+    public UserPoint find(long id) {
+        RecoveredState current = state;
+        if (current.isEmpty() || superseded.contains(id)) {
+            return null;
+        }
+        PointSnapshot.Entry entry = current.find(id);
+        if (entry == null || !entry.hasBalance()) {
+            return null;
+        }
+        return new UserPoint(id, entry.balance(), entry.updateMillis());
+    }
+
+    /**
+     * 테이블에 새 잔고를 쓴 뒤 호출 (사용자 작업 안)
+     */
+    public void supersede(long id) {
+        RecoveredState current = state;
+        if (!current.isEmpty() && !superseded.contains(id) && current.find(id) != null) {
+            superseded.add(id);
+        }
+    }
+}
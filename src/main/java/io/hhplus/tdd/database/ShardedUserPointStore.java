@@ -0,0 +1,38 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.concurrency.UserShards;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.function.IntFunction;
+
+/**
+ * shard 별로 나눈 잔고 저장소 (SHARDED 전략)
+ * ShardedUserTaskExecutor 와 같은 규칙으로 사용자를 나누므로, 한 조각은 한 shard 스레드만 변경한다.
+ * (두 shard 에 걸친 이체는 다른 shard 스레드가 멈춰 기다리는 동안 실행하는 shard 스레드가 두 조각을 변경한다)
+ * 조각마다 따로 늘어나므로 한 조각의 크기 조정이 다른 shard 의 조회를 막지 않는다.
+ */
+public class ShardedUserPointStore implements UserPointStore {
+
+    private final UserPointStore[] slices;
+
+    public ShardedUserPointStore(int shardCount, IntFunction<UserPointStore> sliceFactory) {
+        this.slices = new UserPointStore[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            this.slices[i] = sliceFactory.apply(i);
+        }
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        return slice(id).selectById(id);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        return slice(id).insertOrUpdate(id, amount);
+    }
+
+    private UserPointStore slice(long id) {
+        return slices[UserShards.shardOf(id, slices.length)];
+    }
+}
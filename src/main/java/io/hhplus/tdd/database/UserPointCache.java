@@ -0,0 +1,162 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.cache.BoundedCache;
+import io.hhplus.tdd.config.PointCacheProperties;
+import io.hhplus.tdd.config.PointReadProperties;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 잔고 저장소(UserPointStore) 앞단 잔고 캐시 (read-through / write-through)
+ * - 조회는 캐시를 먼저 보고, 없으면 저장소에서 읽어 채운다.
+ * - 잔고 변경은 저장소에 쓴 결과를 그대로 캐시에 저장한다. 사용자 작업(임계 구역) 안에서 호출되므로
+ *   변경이 끝난 뒤의 조회는 항상 최신 잔고를 본다.
+ * - 저장소를 읽는 도중 같은 사용자의 잔고가 바뀌면 읽은 값은 캐시에 넣지 않는다. (BoundedCache 참고)
+ * - 실제 저장소 호출 시간은 point.table.call 로 기록한다.
+ * - 저널에서 복원한 잔고는 저장소에 다시 쓰지 않으므로, 저장소보다 RestoredUserPoints 를 먼저 본다.
+ * - 외부 조회(read)는 같은 사용자의 동시 조회를 진행 중인 조회 하나로 합친다. (single-flight)
+ *   잔고가 바뀌면 진행 중인 조회를 목록에서 빼므로, 변경이 끝난 뒤 들어온 조회는 변경 전 값을 함께 받지 않는다.
+ * - COMMITTED 면 사용자 작업에서 반영한 잔고를 따로 보관해 외부 조회에 먼저 사용한다.
+ *   잔고를 바꾼 사용자만 보관하고(조회만 한 사용자는 넣지 않음), 크기와 ttl 은 잔고 캐시 설정을 따른다.
+ */
+@Component
+public class UserPointCache {
+
+    private final UserPointStore userPointStore;
+    private final RestoredUserPoints restoredUserPoints;
+    private final BoundedCache<Long, UserPoint> cache;
+    private final PointMetrics pointMetrics;
+    private final boolean coalescing;
+    private final ConcurrentHashMap<Long, CompletableFuture<UserPoint>> inFlight = new ConcurrentHashMap<>();
+    private final BoundedCache<Long, UserPoint> committed; // COMMITTED 에서만 사용, insertOrUpdate 에서만 채움
+
+    private final LongAdder lookupCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder committedCount = new LongAdder();
+
+    public UserPointCache(
+            UserPointStore userPointStore,
+            RestoredUserPoints restoredUserPoints,
+            PointCacheProperties cacheProperties,
+            PointReadProperties readProperties,
+            PointMetrics pointMetrics
+    ) {
+        PointCacheProperties.UserPoint properties = cacheProperties.userPoint();
+        this.userPointStore = userPointStore;
+        this.restoredUserPoints = restoredUserPoints;
+        this.cache = properties.enabled() ? new BoundedCache<>(properties.maximumSize(), properties.ttl()) : null;
+        this.pointMetrics = pointMetrics;
+        this.coalescing = readProperties.coalescing();
+        this.committed = readProperties.source() == PointReadProperties.Source.COMMITTED
+                ? new BoundedCache<>(properties.maximumSize(), properties.ttl()) : null;
+    }
+
+    /**
+     * 외부 조회용 잔고 (사용자 작업 밖)
+     * - COMMITTED 면 마지막으로 반영한 잔고를 바로 반환
+     * - 같은 사용자의 조회가 진행 중이면 새로 조회하지 않고 그 결과를 기다림
+     */
+    public UserPoint read(long id) {
+        if (committed != null) {
+            UserPoint userPoint = committed.getIfPresent(id);
+            if (userPoint != null) {
+                committedCount.increment();
+                return userPoint;
+            }
+        }
+        if (!coalescing) {
+            lookupCount.increment();
+            return selectById(id);
+        }
+        CompletableFuture<UserPoint> flight = new CompletableFuture<>();
+        CompletableFuture<UserPoint> existing = inFlight.putIfAbsent(id, flight);
+        if (existing != null) {
+            coalescedCount.increment();
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        lookupCount.increment();
+        UserPoint userPoint;
+        try {
+            userPoint = selectById(id);
+        } catch (RuntimeException e) {
+            inFlight.remove(id, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+        inFlight.remove(id, flight); // 완료 전에 빼서, 완료 뒤에 들어온 조회는 새로 조회
+        flight.complete(userPoint);
+        return userPoint;
+    }
+
+    // 사용자 작업 안에서 잔고를 읽을 때 사용 (조회를 합치지 않음 : 변경 전에 시작된 조회 결과를 받지 않도록)
+    public UserPoint selectById(long id) {
+        if (cache == null) {
+            return selectFromStore(id);
+        }
+        return cache.get(id, this::selectFromStore);
+    }
+
+    // 사용자 작업 안에서만 호출
+    public UserPoint insertOrUpdate(long id, long amount) {
+        long startedAt = System.nanoTime();
+        UserPoint updated = userPointStore.insertOrUpdate(id, amount);
+        pointMetrics.recordTableCall("user_point", "insert_or_update", startedAt);
+        restoredUserPoints.supersede(id);
+        if (cache != null) {
+            cache.put(id, updated);
+        }
+        if (committed != null) {
+            committed.put(id, updated);
+        }
+        inFlight.remove(id); // 이후 조회는 새로 조회
+        return updated;
+    }
+
+    private UserPoint selectFromStore(long id) {
+        UserPoint restored = restoredUserPoints.find(id);
+        if (restored != null) {
+            return restored;
+        }
+        long startedAt = System.nanoTime();
+        UserPoint userPoint = userPointStore.selectById(id);
+        pointMetrics.recordTableCall("user_point", "select_by_id", startedAt);
+        return userPoint;
+    }
+
+    public BoundedCache.Stats stats() {
+        return cache == null ? new BoundedCache.Stats(0, 0, 0, 0, 0) : cache.stats();
+    }
+
+    public ReadStats readStats() {
+        return new ReadStats(lookupCount.sum(), coalescedCount.sum(), committedCount.sum());
+    }
+
+    /**
+     * 외부 조회 수
+     * - lookupCount : 직접 조회(캐시 → 저장소)한 수
+     * - coalescedCount : 진행 중인 조회의 결과를 함께 받은 수
+     * - committedCount : 마지막으로 반영한 잔고로 응답한 수 (COMMITTED)
+     * - coalescingRatio : 조회한 요청 중 결과를 함께 받은 비율 (조회가 없으면 0)
+     */
+    public record ReadStats(
+            long lookupCount,
+            long coalescedCount,
+            long committedCount
+    ) {
+
+        public double coalescingRatio() {
+            long reads = lookupCount + coalescedCount;
+            return reads == 0 ? 0 : (double) coalescedCount / reads;
+        }
+    }
+}
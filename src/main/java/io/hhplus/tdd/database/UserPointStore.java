@@ -0,0 +1,16 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 사용자 잔고 저장소 (UserPointTable 과 같은 계약)
+ * - selectById : 기록이 없으면 UserPoint.empty(id)
+ * - insertOrUpdate : 잔고를 덮어쓰고 변경 시각을 현재 시각으로 기록
+ * 같은 사용자의 insertOrUpdate 는 사용자 작업 안에서만 호출되지만, 서로 다른 사용자의 호출과 조회는 동시에 들어온다.
+ */
+public interface UserPointStore {
+
+    UserPoint selectById(long id);
+
+    UserPoint insertOrUpdate(long id, long amount);
+}
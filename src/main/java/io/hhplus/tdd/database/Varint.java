@@ -0,0 +1,66 @@
+package io.hhplus.tdd.database;
+
+/**
+ * varint 부호화 (7비트씩 끊어 최대 10바이트, 작은 값일수록 적은 바이트)
+ * - unsigned : 값을 그대로 (0 이상인 차이값용)
+ * - signed : zigzag 로 바꿔 절댓값이 작은 음수도 짧게
+ */
+final class Varint {
+
+    static final int MAX_BYTES = 10;
+
+    private Varint() {
+    }
+
+    /**
+     * buffer[position] 부터 value 를 기록하고 다음 위치를 반환
+     */
+    static int writeUnsigned(byte[] buffer, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+
+    static int writeSigned(byte[] buffer, int position, long value) {
+        return writeUnsigned(buffer, position, (value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * 앞에서부터 차례로 읽는 커서
+     */
+    static final class Reader {
+
+        private final byte[] buffer;
+        private int position;
+
+        Reader(byte[] buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        long nextUnsigned() {
+            long value = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = buffer[position++];
+                value |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while (current < 0);
+            return value;
+        }
+
+        long nextSigned() {
+            long zigzag = nextUnsigned();
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+
+        // varint 가 아닌 1바이트 값
+        byte nextByte() {
+            return buffer[position++];
+        }
+    }
+}
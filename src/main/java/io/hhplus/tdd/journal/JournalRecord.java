@@ -0,0 +1,50 @@
+package io.hhplus.tdd.journal;
+
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 저널 레코드 (포인트 변경 한 건 = 이력 한 건)
+ * - sequence : 저널 순번 = 이력 id (1 부터 빈틈 없이 증가)
+ * - userSequence : 사용자별 이력 순번
+ * - balanceAfter : 반영 후 잔고, 작업이 실행되지 않아 잔고를 모르는 실패 이력은 UNKNOWN_BALANCE
+ */
+public record JournalRecord(
+        long sequence,
+        long userId,
+        long userSequence,
+        TransactionType type,
+        long amount,
+        long balanceAfter,
+        long updateMillis
+) {
+
+    public static final long UNKNOWN_BALANCE = -1L;
+
+    /**
+     * 잔고 변화량 (충전, 이체 받음 +, 사용, 이체 보냄 -, 실패 0)
+     */
+    public long delta() {
+        return switch (type) {
+            case CHARGE -> amount;
+            case USE -> -amount;
+            case FAIL -> 0L;
+            case TRANSFER_OUT -> -amount;
+            case TRANSFER_IN -> amount;
+        };
+    }
+
+    public boolean hasBalance() {
+        return balanceAfter != UNKNOWN_BALANCE;
+    }
+
+    /**
+     * 이체 보냄 레코드의 짝인 이체 받음 레코드가 next 인지 (둘은 항상 이어진 sequence 로 기록됨)
+     * 짝이 없는 이체 보냄은 받는 쪽 기록 전에 종료되었거나 실패한 이체이므로 복원하지 않는다.
+     */
+    public boolean isCompletedBy(JournalRecord next) {
+        return next != null
+                && next.type == TransactionType.TRANSFER_IN
+                && next.sequence == sequence + 1
+                && next.amount == amount;
+    }
+}
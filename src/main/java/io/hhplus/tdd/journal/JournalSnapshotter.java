@@ -0,0 +1,192 @@
+package io.hhplus.tdd.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+/**
+ * 봉인된 저널 세그먼트를 이전 스냅샷에 접어 새 스냅샷을 만든다.
+ * - 봉인된 세그먼트는 더 이상 바뀌지 않으므로 기록 중인 스레드를 멈추지 않고도 세그먼트 경계 시점의 일관된 상태를 얻는다.
+ * - 이전 스냅샷은 사용자 id 순으로 한 번 훑고, 새로 바뀐 사용자만 메모리에 올려 병합한다.
+ * - 최근 retain 개만 남기고 오래된 스냅샷 파일은 지운다. 남은 가장 오래된 스냅샷에도 접힌 세그먼트는 저널이 지운다. (retainSegments 초과분)
+ * - 스냅샷을 기록하기 전에 접은 세그먼트마다 사용자별 레코드 위치를 남긴다. (접힌 이력을 사용자별로 읽는 데 사용)
+ */
+final class JournalSnapshotter {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalSnapshotter.class);
+
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".snapshot";
+
+    private final Path directory;
+    private final int retain;
+    private volatile PointSnapshot latest;
+
+    /**
+     * @param maxSequence 저널의 마지막 sequence, 이보다 앞선 스냅샷만 사용
+     */
+    JournalSnapshotter(Path directory, int retain, long maxSequence) {
+        this.directory = directory;
+        this.retain = Math.max(1, retain);
+        deleteUnfinishedSnapshots();
+        this.latest = loadLatest(maxSequence);
+    }
+
+    PointSnapshot latest() {
+        return latest;
+    }
+
+    /**
+     * 마지막 스냅샷 이후 봉인된 세그먼트가 있으면 새 스냅샷 생성
+     *
+     * @return 새 스냅샷을 만들었으면 true
+     */
+    synchronized boolean snapshot(MappedPointJournal journal) {
+        long startedAt = System.nanoTime();
+        PointSnapshot base = latest;
+        Map<Long, PointSnapshot.Entry> changed = new HashMap<>();
+        long lastSequence = journal.replaySealed(base.lastSequence(), record ->
+                changed.merge(record.userId(), PointSnapshot.Entry.of(record), (older, newer) -> newer.over(older)));
+        if (lastSequence <= base.lastSequence()) {
+            return false;
+        }
+        journal.indexSealed(lastSequence); // 스냅샷에 접힌 이력을 사용자별로 읽을 수 있도록 먼저 남김
+        long[] changedUserIds = changed.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        Path path = directory.resolve(String.format("%s%020d%s", PREFIX, lastSequence, SUFFIX));
+        PointSnapshot.write(path, lastSequence, new MergingIterator(base, changedUserIds, changed));
+        PointSnapshot written = PointSnapshot.load(path);
+        if (written == null) {
+            throw new IllegalStateException("기록한 스냅샷을 읽을 수 없습니다 : " + path);
+        }
+        latest = written;
+        journal.deleteFolded(deleteOldSnapshots());
+        log.info("스냅샷 생성 : sequence {} 까지, 사용자 {}명 (변경 {}명, {}ms)", lastSequence, written.size(),
+                changedUserIds.length, (System.nanoTime() - startedAt) / 1_000_000);
+        return true;
+    }
+
+    // 유효한 스냅샷 중 가장 최근 것 (maxSequence 를 넘는 스냅샷은 저널 끝이 잘린 경우이므로 사용하지 않음)
+    private PointSnapshot loadLatest(long maxSequence) {
+        for (Path path : snapshotFiles()) {
+            long lastSequence = sequenceOf(path);
+            if (lastSequence > maxSequence) {
+                log.warn("저널보다 앞선 스냅샷은 사용하지 않음 : {} (저널 마지막 sequence {})", path, maxSequence);
+                continue;
+            }
+            PointSnapshot snapshot = PointSnapshot.load(path);
+            if (snapshot == null) {
+                log.warn("손상된 스냅샷은 사용하지 않음 : {}", path);
+                continue;
+            }
+            return snapshot;
+        }
+        return PointSnapshot.EMPTY;
+    }
+
+    // 기록 도중 종료되어 남은 임시 파일
+    private void deleteUnfinishedSnapshots() {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : files.filter(path -> path.getFileName().toString().endsWith(SUFFIX + ".tmp")).toList()) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            log.warn("임시 스냅샷 파일 삭제 실패 : {}", directory, e);
+        }
+    }
+
+    // 반환값 : 남은 스냅샷 중 가장 오래된 것의 sequence
+    private long deleteOldSnapshots() {
+        List<Path> files = snapshotFiles();
+        int kept = Math.min(retain, files.size());
+        for (Path path : files.subList(kept, files.size())) {
+            try {
+                Files.deleteIfExists(path); // 매핑 중인 파일도 지울 수 있음 (매핑은 해제될 때까지 유지)
+            } catch (IOException e) {
+                log.warn("오래된 스냅샷 삭제 실패 : {}", path, e);
+            }
+        }
+        return sequenceOf(files.get(kept - 1));
+    }
+
+    // 최근 순 (sequence 내림차순)
+    private List<Path> snapshotFiles() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted(Comparator.comparingLong(JournalSnapshotter::sequenceOf).reversed())
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷 목록을 읽을 수 없습니다 : " + directory, e);
+        }
+    }
+
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    // 이전 스냅샷(사용자 id 순)과 변경된 사용자(정렬된 id)를 한 번씩 훑으며 병합
+    private static final class MergingIterator implements Iterator<PointSnapshot.Entry> {
+
+        private final PointSnapshot base;
+        private final long[] changedUserIds;
+        private final Map<Long, PointSnapshot.Entry> changed;
+        private long baseIndex;
+        private int changedIndex;
+        private PointSnapshot.Entry baseEntry;
+
+        private MergingIterator(PointSnapshot base, long[] changedUserIds, Map<Long, PointSnapshot.Entry> changed) {
+            this.base = base;
+            this.changedUserIds = changedUserIds;
+            this.changed = changed;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return baseEntry != null || baseIndex < base.size() || changedIndex < changedUserIds.length;
+        }
+
+        @Override
+        public PointSnapshot.Entry next() {
+            if (baseEntry == null && baseIndex < base.size()) {
+                baseEntry = base.entry(baseIndex++);
+            }
+            if (changedIndex == changedUserIds.length) {
+                if (baseEntry == null) {
+                    throw new NoSuchElementException();
+                }
+                return takeBase();
+            }
+            long userId = changedUserIds[changedIndex];
+            if (baseEntry != null && baseEntry.userId() < userId) {
+                return takeBase();
+            }
+            changedIndex++;
+            PointSnapshot.Entry entry = changed.get(userId);
+            if (baseEntry != null && baseEntry.userId() == userId) {
+                return entry.over(takeBase());
+            }
+            return entry;
+        }
+
+        private PointSnapshot.Entry takeBase() {
+            PointSnapshot.Entry entry = baseEntry;
+            baseEntry = null;
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,766 @@
+package io.hhplus.tdd.journal;
+
+import io.hhplus.tdd.config.PointJournalProperties;
+import io.hhplus.tdd.point.TransactionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 메모리 매핑 파일 기반 저널
+ * - 고정 크기 세그먼트 파일(segment-{첫 sequence}.journal)을 차례로 이어 쓴다. 가득 찬 세그먼트는 디스크에 반영한 뒤 봉인한다.
+ * - 레코드는 64바이트 고정 길이이고 끝에 CRC32C 를 붙여, 기록 도중 프로세스가 죽어 반쯤 쓰인(torn) 레코드를 가려낸다.
+ * - 열 때 봉인된 세그먼트는 헤더와 첫 sequence 가 이어지는지만 본다. (봉인 전에 디스크에 반영했으므로)
+ *   기록 중이던 마지막 세그먼트만 레코드마다 검사해 순번이 이어지지 않거나 CRC 가 맞지 않는 첫 레코드에서 멈추고, 그 뒤는 지운다.
+ * - 디스크 반영(force)은 flusher 스레드가 맡는다. 반영 사이에 쌓인 기록은 한 번에 반영된다. (group commit)
+ * - 스냅샷을 켜면 봉인된 세그먼트를 주기적으로 스냅샷에 접고, 열 때 가장 최근 스냅샷을 불러온다.
+ *   복원은 스냅샷 이후 레코드만 읽는다. (세그먼트 경계에서 바로 찾아 들어감)
+ * - 스냅샷에 접는 세그먼트마다 사용자별 레코드 위치(SegmentUserIndex)를 남겨, 접힌 이력은 사용자별로 필요할 때 읽는다.
+ *   접힌 세그먼트는 최근 retainSegments 개만 남기고, 남아 있는 가장 오래된 스냅샷에도 접힌 것부터 지운다.
+ *   (그래서 첫 세그먼트가 1 번부터 시작하지 않을 수 있고, 그 앞은 스냅샷이 대신한다)
+ * - 읽는 경로(replay, 스냅샷 접기, 접힌 이력 읽기) 모두 다음 레코드를 보고 짝이 없는 TRANSFER_OUT 을 건너뛴다.
+ *
+ * 레코드 구조 (바이트 위치)
+ * 0 sequence | 8 userId | 16 userSequence | 24 amount | 32 balanceAfter | 40 updateMillis | 48 type | 52 예약 | 60 CRC32C
+ * type 은 TransactionType 의 ordinal 을 기록하므로 TransactionType 은 끝에만 추가해야 한다.
+ */
+public final class MappedPointJournal implements PointJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedPointJournal.class);
+
+    static final int RECORD_SIZE = 64;
+    static final int HEADER_SIZE = 64;
+    private static final int CRC_OFFSET = 60;
+    private static final int MAGIC = 0x504A524E; // "PJRN"
+    private static final int VERSION = 1;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final Path directory;
+    private final int segmentSize;
+    private final PointJournalProperties.Fsync fsync;
+    private final long flushThreshold; // 이만큼 쌓이면 interval 을 기다리지 않고 바로 반영
+    private final long intervalNanos;
+    private final int retainSegments;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushRequested = lock.newCondition();
+    private final Condition durableCondition = lock.newCondition();
+
+    // 아래는 lock 안에서만 사용
+    private final List<Segment> segments;
+    private final byte[] scratch = new byte[RECORD_SIZE];
+    private final ByteBuffer scratchBuffer = ByteBuffer.wrap(scratch);
+    private final CRC32C crc = new CRC32C();
+    private long appendedSequence;
+
+    private volatile boolean closed;
+    private volatile long durableSequence;
+    private final Thread flusher;
+
+    private final PointSnapshot recoveredSnapshot;
+    private final JournalSnapshotter snapshotter; // 스냅샷을 끄면 null
+    private final ScheduledExecutorService snapshotScheduler;
+
+    private MappedPointJournal(PointJournalProperties properties, List<Segment> segments, long lastSequence) {
+        this.directory = properties.directory();
+        this.segmentSize = segmentSize(properties.segmentSize().toBytes());
+        this.fsync = properties.fsync();
+        this.flushThreshold = switch (fsync) {
+            case PER_OP -> 1;
+            case BATCH -> Math.max(1, properties.batchSize());
+            case INTERVAL -> Long.MAX_VALUE;
+        };
+        this.intervalNanos = properties.interval().toNanos();
+        this.segments = segments;
+        this.appendedSequence = lastSequence;
+        this.durableSequence = lastSequence;
+
+        PointJournalProperties.Snapshot snapshot = properties.snapshot();
+        this.retainSegments = Math.max(0, snapshot.retainSegments());
+        if (snapshot.enabled()) {
+            this.snapshotter = new JournalSnapshotter(directory, snapshot.retain(), lastSequence);
+            this.recoveredSnapshot = snapshotter.latest();
+        } else {
+            this.snapshotter = null;
+            this.recoveredSnapshot = PointSnapshot.EMPTY;
+        }
+        long firstSequence = segments.get(0).firstSequence;
+        if (recoveredSnapshot.lastSequence() < firstSequence - 1) {
+            segments.forEach(Segment::close);
+            throw new IllegalStateException("저널 앞부분(sequence " + (firstSequence - 1) + " 까지)을 대신할 스냅샷이 없습니다 : "
+                    + directory + " (스냅샷 sequence " + recoveredSnapshot.lastSequence() + ")");
+        }
+
+        this.flusher = new Thread(this::flushLoop, "point-journal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+        if (snapshotter != null) {
+            this.snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "point-journal-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long intervalMillis = snapshot.interval().toMillis();
+            snapshotScheduler.scheduleWithFixedDelay(this::snapshotQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.snapshotScheduler = null;
+        }
+    }
+
+    /**
+     * 저널 디렉터리를 열고 검사 (없으면 생성)
+     * 마지막 정상 레코드 뒤에 남은 내용(기록 도중 종료된 레코드, 이어지지 않는 세그먼트)은 지운다.
+     * 레코드 CRC 는 마지막 세그먼트에서만 확인하므로 여는 비용은 세그먼트 수가 아니라 세그먼트 하나 크기에 비례한다.
+     */
+    public static MappedPointJournal open(PointJournalProperties properties) {
+        Path directory = properties.directory();
+        try {
+            Files.createDirectories(directory);
+            List<Segment> segments = new ArrayList<>();
+            long expected = 1;
+            boolean truncated = false;
+            for (Path path : segmentFiles(directory)) {
+                if (truncated) {
+                    log.warn("이어지지 않는 저널 세그먼트 삭제 : {}", path);
+                    Files.delete(path);
+                    continue;
+                }
+                Segment segment = Segment.open(path);
+                if (segment != null && segments.isEmpty()) {
+                    expected = segment.firstSequence; // 앞 세그먼트는 스냅샷에 접혀 지워졌을 수 있음
+                }
+                if (segment == null || segment.firstSequence != expected) {
+                    log.warn("헤더가 올바르지 않은 저널 세그먼트 삭제 : {}", path);
+                    if (segment != null) {
+                        segment.close();
+                    }
+                    Files.delete(path);
+                    truncated = true;
+                    continue;
+                }
+                segment.count = segment.capacity; // 다음 세그먼트가 있으면 봉인된 것 (가득 찬 뒤 반영하고 넘어감)
+                expected = segment.lastSequence() + 1;
+                segments.add(segment);
+            }
+            if (segments.isEmpty()) {
+                segments.add(Segment.create(directory, 1, segmentSize(properties.segmentSize().toBytes())));
+            } else {
+                expected = validateTail(segments.get(segments.size() - 1));
+            }
+            log.info("저널 열기 : {} (세그먼트 {}개, 마지막 sequence {}, fsync {})",
+                    directory, segments.size(), expected - 1, properties.fsync());
+            return new MappedPointJournal(properties, segments, expected - 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("저널을 열 수 없습니다 : " + directory, e);
+        }
+    }
+
+    /*
+     * 기록 중이던 마지막 세그먼트를 처음부터 검사해 정상 레코드 수를 정하고, 그 뒤에 남은 내용은 지움
+     * 반환값 : 다음에 기록할 sequence
+     */
+    private static long validateTail(Segment segment) {
+        byte[] buffer = new byte[RECORD_SIZE];
+        CRC32C crc = new CRC32C();
+        long expected = segment.firstSequence;
+        segment.count = 0;
+        while (!segment.isFull()) {
+            segment.read(segment.count, buffer);
+            if (!isValid(buffer, expected, crc)) {
+                break;
+            }
+            segment.count++;
+            expected++;
+        }
+        if (!segment.isFull() && segment.clearTail()) {
+            log.warn("저널 끝의 불완전한 기록 제거 : 세그먼트 {} (sequence {} 부터)", segment.firstSequence, expected);
+        }
+        return expected;
+    }
+
+    @Override
+    public void append(JournalRecord record) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("저널이 닫혀 있습니다");
+            }
+            if (record.sequence() != appendedSequence + 1) {
+                throw new IllegalStateException(
+                        "저널 sequence 가 이어지지 않습니다 : " + appendedSequence + " 다음에 " + record.sequence());
+            }
+            Segment segment = segments.get(segments.size() - 1);
+            if (segment.isFull()) {
+                segment = roll(segment);
+            }
+            encode(record);
+            segment.write(scratch);
+            appendedSequence = record.sequence();
+            if (appendedSequence - durableSequence >= flushThreshold) {
+                flushRequested.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void awaitDurable(long sequence) {
+        if (fsync != PointJournalProperties.Fsync.PER_OP || durableSequence >= sequence) {
+            return;
+        }
+        lock.lock();
+        try {
+            while (durableSequence < sequence) {
+                durableCondition.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // 인터럽트 상태 복원
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long replay(Consumer<JournalRecord> consumer) {
+        return replayAfter(0L, consumer);
+    }
+
+    // afterSequence 가 든 세그먼트부터 읽음 (앞선 세그먼트는 첫 sequence 만 보고 건너뜀)
+    @Override
+    public long replayAfter(long afterSequence, Consumer<JournalRecord> consumer) {
+        lock.lock();
+        try {
+            return replay(segments, afterSequence, null, consumer);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * 스냅샷에 접힌 세그먼트에서 사용자 레코드만 읽음
+     * 세그먼트마다 SegmentUserIndex 로 위치를 찾으므로 비용은 세그먼트 수 x log(세그먼트 레코드 수) + 사용자 레코드 수다.
+     * 접힌 세그먼트는 봉인되어 바뀌지 않으므로 lock 없이 읽는다.
+     */
+    @Override
+    public void replaySnapshotted(long userId, Consumer<JournalRecord> consumer) {
+        long snapshotted = recoveredSnapshot.lastSequence();
+        if (snapshotted == 0L) {
+            return;
+        }
+        List<Segment> all;
+        lock.lock();
+        try {
+            all = List.copyOf(segments); // 접힌 세그먼트 다음 세그먼트는 첫 레코드까지 기록된 뒤에 생김
+        } finally {
+            lock.unlock();
+        }
+        for (int i = 0; i < all.size() - 1; i++) {
+            Segment segment = all.get(i);
+            if (segment.firstSequence > snapshotted) {
+                break;
+            }
+            Segment next = all.get(i + 1);
+            segment.userIndex(directory).forEach(userId, index -> {
+                JournalRecord record = segment.record(index);
+                if (record.sequence() > snapshotted) {
+                    return;
+                }
+                if (record.type() == TransactionType.TRANSFER_OUT) {
+                    JournalRecord following = index + 1 < segment.count ? segment.record(index + 1) : next.record(0);
+                    if (!record.isCompletedBy(following)) {
+                        return;
+                    }
+                }
+                consumer.accept(record);
+            });
+        }
+    }
+
+    @Override
+    public PointSnapshot snapshot() {
+        return recoveredSnapshot;
+    }
+
+    /**
+     * 마지막 스냅샷 이후 봉인된 세그먼트를 바로 스냅샷에 접음 (주기 실행과 같은 작업)
+     *
+     * @return 새 스냅샷을 만들었으면 true
+     */
+    public boolean takeSnapshot() {
+        if (snapshotter == null) {
+            return false;
+        }
+        return snapshotter.snapshot(this);
+    }
+
+    private void snapshotQuietly() {
+        try {
+            takeSnapshot();
+        } catch (RuntimeException e) {
+            log.error("스냅샷 생성 실패", e);
+        }
+    }
+
+    /*
+     * 봉인된 세그먼트에서 afterSequence 이후 레코드를 순서대로 전달 (기록 중인 마지막 세그먼트는 제외)
+     * 봉인된 세그먼트는 바뀌지 않으므로 lock 없이 읽는다.
+     * 반환값 : 전달한 마지막 sequence (없으면 afterSequence)
+     */
+    long replaySealed(long afterSequence, Consumer<JournalRecord> consumer) {
+        List<Segment> sealed;
+        JournalRecord following; // 봉인된 마지막 레코드가 TRANSFER_OUT 이면 짝은 기록 중인 세그먼트의 첫 레코드
+        lock.lock();
+        try {
+            sealed = List.copyOf(segments.subList(0, segments.size() - 1));
+            Segment active = segments.get(segments.size() - 1);
+            following = active.count == 0 ? null : active.record(0);
+        } finally {
+            lock.unlock();
+        }
+        return replay(sealed, afterSequence, following, consumer);
+    }
+
+    /*
+     * 봉인된 세그먼트 중 upToSequence 까지 담긴 것의 사용자별 레코드 위치를 남김 (이미 남긴 세그먼트는 건너뜀)
+     * 스냅샷을 기록하기 전에 호출하므로, 스냅샷이 있으면 그 스냅샷에 접힌 세그먼트의 위치 파일도 모두 있다.
+     */
+    void indexSealed(long upToSequence) {
+        for (Segment segment : sealedSegments()) {
+            if (segment.lastSequence() > upToSequence) {
+                break;
+            }
+            segment.userIndex(directory);
+        }
+    }
+
+    /*
+     * 스냅샷에 접힌 세그먼트 중 최근 retainSegments 개만 남기고 지움 (사용자 색인 파일 포함)
+     * upToSequence : 남아 있는 가장 오래된 스냅샷의 sequence, 어느 스냅샷으로 열어도 필요 없는 세그먼트만 지운다.
+     * 지운 세그먼트를 읽던 스레드는 매핑이 해제될 때까지 계속 읽을 수 있다.
+     */
+    void deleteFolded(long upToSequence) {
+        List<Segment> deleted = new ArrayList<>();
+        lock.lock();
+        try {
+            int folded = 0;
+            while (folded < segments.size() - 1 && segments.get(folded).lastSequence() <= upToSequence) {
+                folded++;
+            }
+            for (int i = 0; i < folded - retainSegments; i++) {
+                deleted.add(segments.remove(0));
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Segment segment : deleted) {
+            segment.close();
+            try {
+                Files.deleteIfExists(segment.path(directory));
+                Files.deleteIfExists(segment.userIndexPath(directory));
+            } catch (IOException e) {
+                log.warn("접힌 저널 세그먼트 삭제 실패 : {}", segment.path(directory), e);
+            }
+        }
+        if (!deleted.isEmpty()) {
+            log.info("접힌 저널 세그먼트 삭제 : {}개 (sequence {} 까지)", deleted.size(), deleted.get(deleted.size() - 1).lastSequence());
+        }
+    }
+
+    private List<Segment> sealedSegments() {
+        lock.lock();
+        try {
+            return List.copyOf(segments.subList(0, segments.size() - 1));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * TRANSFER_OUT 은 다음 레코드를 볼 때까지 미뤘다가 짝이 맞을 때만 전달
+     * following : segments 마지막 레코드 다음에 오는 레코드 (없거나 모르면 null)
+     * 반환값 : 읽은 마지막 sequence (없으면 afterSequence, 건너뛴 TRANSFER_OUT 포함)
+     */
+    private static long replay(List<Segment> segments, long afterSequence, JournalRecord following,
+                               Consumer<JournalRecord> consumer) {
+        byte[] record = new byte[RECORD_SIZE];
+        ByteBuffer view = ByteBuffer.wrap(record);
+        long last = afterSequence;
+        JournalRecord transferOut = null;
+        for (Segment segment : segments) {
+            if (segment.lastSequence() <= afterSequence) {
+                continue;
+            }
+            for (int i = (int) Math.max(0, afterSequence + 1 - segment.firstSequence); i < segment.count; i++) {
+                segment.read(i, record);
+                JournalRecord decoded = decode(view);
+                if (transferOut != null) {
+                    acceptTransferOut(transferOut, decoded, consumer);
+                    transferOut = null;
+                }
+                if (decoded.type() == TransactionType.TRANSFER_OUT) {
+                    transferOut = decoded;
+                } else {
+                    consumer.accept(decoded);
+                }
+                last = decoded.sequence();
+            }
+        }
+        if (transferOut != null) {
+            acceptTransferOut(transferOut, following, consumer);
+        }
+        return last;
+    }
+
+    private static void acceptTransferOut(JournalRecord transferOut, JournalRecord following, Consumer<JournalRecord> consumer) {
+        if (transferOut.isCompletedBy(following)) {
+            consumer.accept(transferOut);
+        } else {
+            log.warn("짝이 없는 이체 기록은 복원하지 않습니다 : sequence {}, 사용자 {}", transferOut.sequence(), transferOut.userId());
+        }
+    }
+
+    @Override
+    public void close() {
+        if (snapshotScheduler != null) {
+            snapshotScheduler.shutdown();
+            try {
+                snapshotScheduler.awaitTermination(1, TimeUnit.MINUTES); // 만들던 스냅샷은 마저 기록
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // 인터럽트 상태 복원
+            }
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            flushRequested.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join(); // 남은 기록을 반영한 뒤 종료
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // 인터럽트 상태 복원
+        }
+        segments.forEach(Segment::close);
+        log.info("저널 닫기 : 마지막 sequence {}", durableSequence);
+    }
+
+    // 가득 찬 세그먼트를 반영해 봉인하고 다음 세그먼트 생성 (lock 안에서 호출)
+    private Segment roll(Segment full) {
+        try {
+            full.force(full.writeOffset());
+            Segment next = Segment.create(directory, appendedSequence + 1, segmentSize);
+            segments.add(next);
+            return next;
+        } catch (IOException e) {
+            throw new UncheckedIOException("저널 세그먼트를 만들 수 없습니다 : " + directory, e);
+        }
+    }
+
+    /*
+     * 반영할 기록이 flushThreshold 만큼 쌓이거나 interval 이 지나면 현재 세그먼트를 force
+     * - PER_OP : 기록이 들어오는 즉시 깨어나며, force 하는 동안 들어온 기록은 다음 force 에 함께 반영된다.
+     * - BATCH / INTERVAL : 호출 스레드는 기다리지 않으므로 마지막 반영 이후 기록은 전원이 나가면 잃을 수 있다.
+     */
+    private void flushLoop() {
+        while (true) {
+            long target;
+            Segment segment;
+            int endOffset;
+            lock.lock();
+            try {
+                long deadline = System.nanoTime() + intervalNanos;
+                while (!closed && appendedSequence - durableSequence < flushThreshold) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        if (appendedSequence > durableSequence) {
+                            break;
+                        }
+                        deadline = System.nanoTime() + intervalNanos;
+                        remaining = intervalNanos;
+                    }
+                    flushRequested.awaitNanos(remaining);
+                }
+                if (appendedSequence == durableSequence) {
+                    if (closed) {
+                        return;
+                    }
+                    continue;
+                }
+                target = appendedSequence;
+                segment = segments.get(segments.size() - 1);
+                endOffset = segment.writeOffset();
+            } catch (InterruptedException e) {
+                continue; // close() 로만 멈춤
+            } finally {
+                lock.unlock();
+            }
+            try {
+                segment.force(endOffset);
+                markDurable(target);
+            } catch (RuntimeException e) {
+                log.error("저널 디스크 반영 실패 : sequence {} 까지", target, e);
+                if (closed) {
+                    return;
+                }
+                sleepQuietly();
+            }
+        }
+    }
+
+    private void markDurable(long sequence) {
+        lock.lock();
+        try {
+            durableSequence = sequence;
+            durableCondition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void sleepQuietly() {
+        try {
+            TimeUnit.NANOSECONDS.sleep(intervalNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // 인터럽트 상태 복원
+        }
+    }
+
+    private void encode(JournalRecord record) {
+        scratchBuffer.putLong(0, record.sequence());
+        scratchBuffer.putLong(8, record.userId());
+        scratchBuffer.putLong(16, record.userSequence());
+        scratchBuffer.putLong(24, record.amount());
+        scratchBuffer.putLong(32, record.balanceAfter());
+        scratchBuffer.putLong(40, record.updateMillis());
+        scratchBuffer.putInt(48, record.type().ordinal());
+        scratchBuffer.putLong(52, 0L);
+        scratchBuffer.putInt(CRC_OFFSET, checksum(scratch, crc));
+    }
+
+    private static JournalRecord decode(ByteBuffer record) {
+        return new JournalRecord(
+                record.getLong(0),
+                record.getLong(8),
+                record.getLong(16),
+                TYPES[record.getInt(48)],
+                record.getLong(24),
+                record.getLong(32),
+                record.getLong(40)
+        );
+    }
+
+    private static boolean isValid(byte[] record, long expectedSequence, CRC32C crc) {
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        int type = buffer.getInt(48);
+        return buffer.getLong(0) == expectedSequence
+                && type >= 0 && type < TYPES.length
+                && buffer.getInt(CRC_OFFSET) == checksum(record, crc);
+    }
+
+    private static int checksum(byte[] record, CRC32C crc) {
+        crc.reset();
+        crc.update(record, 0, CRC_OFFSET);
+        return (int) crc.getValue();
+    }
+
+    // 헤더 + 레코드 정수 배로 맞춤 (최소 레코드 1건)
+    private static int segmentSize(long requested) {
+        long records = Math.max(1, (Math.min(requested, Integer.MAX_VALUE) - HEADER_SIZE) / RECORD_SIZE);
+        return (int) (HEADER_SIZE + records * RECORD_SIZE);
+    }
+
+    private static List<Path> segmentFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted(Comparator.comparingLong(MappedPointJournal::firstSequenceOf))
+                    .toList();
+        }
+    }
+
+    private static long firstSequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /*
+     * 세그먼트 파일 하나
+     * 헤더 : 0 MAGIC | 4 VERSION | 8 첫 sequence
+     */
+    private static final class Segment {
+
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final long firstSequence;
+        private final int capacity;
+        private int count; // 기록된 레코드 수 (lock 안에서만 변경)
+        private int forcedOffset = HEADER_SIZE;
+        private volatile SegmentUserIndex userIndex; // 봉인된 뒤 처음 필요할 때 불러오거나 만듦
+
+        private Segment(FileChannel channel, MappedByteBuffer buffer, long firstSequence) {
+            this.channel = channel;
+            this.buffer = buffer;
+            this.firstSequence = firstSequence;
+            this.capacity = (buffer.capacity() - HEADER_SIZE) / RECORD_SIZE;
+        }
+
+        private static Segment create(Path directory, long firstSequence, int size) throws IOException {
+            Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putLong(8, firstSequence);
+            buffer.force(0, HEADER_SIZE);
+            return new Segment(channel, buffer, firstSequence);
+        }
+
+        // 헤더가 올바르지 않으면 null (세그먼트를 만드는 도중 종료된 경우)
+        private static Segment open(Path path) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = channel.size();
+            if (size < HEADER_SIZE + RECORD_SIZE || size > Integer.MAX_VALUE) {
+                channel.close();
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getLong(8) != firstSequenceOf(path)) {
+                channel.close();
+                return null;
+            }
+            return new Segment(channel, buffer, buffer.getLong(8));
+        }
+
+        private boolean isFull() {
+            return count == capacity;
+        }
+
+        // 비어 있으면 firstSequence - 1
+        private long lastSequence() {
+            return firstSequence + count - 1;
+        }
+
+        /*
+         * 사용자별 레코드 위치 (봉인된 세그먼트에서만 호출)
+         * 파일이 없거나 손상되었으면 레코드를 한 번 훑어 다시 만든다. (이 기능 이전에 접힌 세그먼트 포함)
+         */
+        private SegmentUserIndex userIndex(Path directory) {
+            SegmentUserIndex current = userIndex;
+            if (current != null) {
+                return current;
+            }
+            synchronized (this) {
+                if (userIndex == null) {
+                    Path path = userIndexPath(directory);
+                    SegmentUserIndex loaded = SegmentUserIndex.load(path, count);
+                    if (loaded == null) {
+                        long[] userIds = new long[count];
+                        for (int i = 0; i < count; i++) {
+                            userIds[i] = buffer.getLong(HEADER_SIZE + i * RECORD_SIZE + 8);
+                        }
+                        SegmentUserIndex.write(path, userIds);
+                        loaded = SegmentUserIndex.load(path, count);
+                        if (loaded == null) {
+                            throw new IllegalStateException("기록한 세그먼트 사용자 색인을 읽을 수 없습니다 : " + path);
+                        }
+                    }
+                    userIndex = loaded;
+                }
+                return userIndex;
+            }
+        }
+
+        private Path path(Path directory) {
+            return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        }
+
+        private Path userIndexPath(Path directory) {
+            return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SegmentUserIndex.SUFFIX));
+        }
+
+        private int writeOffset() {
+            return HEADER_SIZE + count * RECORD_SIZE;
+        }
+
+        private void write(byte[] record) {
+            buffer.put(writeOffset(), record, 0, RECORD_SIZE);
+            count++;
+        }
+
+        private void read(int index, byte[] record) {
+            buffer.get(HEADER_SIZE + index * RECORD_SIZE, record, 0, RECORD_SIZE);
+        }
+
+        private JournalRecord record(int index) {
+            byte[] record = new byte[RECORD_SIZE];
+            read(index, record);
+            return decode(ByteBuffer.wrap(record));
+        }
+
+        // 마지막 레코드 뒤에 0 이 아닌 바이트가 남아 있으면 모두 0 으로 지우고 반영 (지운 경우 true)
+        private boolean clearTail() {
+            int from = writeOffset();
+            int dirtyFrom = -1;
+            for (int offset = from; offset + Long.BYTES <= buffer.capacity(); offset += Long.BYTES) {
+                if (buffer.getLong(offset) != 0L) {
+                    dirtyFrom = offset;
+                    break;
+                }
+            }
+            if (dirtyFrom < 0) {
+                return false;
+            }
+            for (int offset = from; offset + Long.BYTES <= buffer.capacity(); offset += Long.BYTES) {
+                buffer.putLong(offset, 0L);
+            }
+            buffer.force(from, buffer.capacity() - from);
+            return true;
+        }
+
+        // [마지막 반영 위치, endOffset) 구간을 디스크에 반영 (flusher 와 roll 이 동시에 부를 수 있음)
+        private synchronized void force(int endOffset) {
+            if (endOffset > forcedOffset) {
+                buffer.force(forcedOffset, endOffset - forcedOffset);
+                forcedOffset = endOffset;
+            }
+        }
+
+        private void close() {
+            try {
+                channel.close(); // 매핑은 채널을 닫아도 유지되며 GC 시 해제
+            } catch (IOException e) {
+                log.warn("저널 세그먼트 닫기 실패", e);
+            }
+        }
+    }
+}
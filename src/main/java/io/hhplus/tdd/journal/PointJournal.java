@@ -0,0 +1,118 @@
+package io.hhplus.tdd.journal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 포인트 변경 저널 (append-only)
+ * - append 는 PointHistoryWriter 의 ticketLock 안에서 한 스레드씩, sequence 순서대로 호출된다.
+ * - awaitDurable 은 락 밖에서 호출해 여러 스레드의 기록이 한 번의 디스크 반영으로 묶이게 한다. (group commit)
+ * - 시작 시 recover 로 마지막 스냅샷과 그 이후 레코드를 합쳐 사용자별 상태를 복원한다.
+ *   스냅샷 이후 레코드만 읽으므로 복원 비용은 전체 저널이 아니라 스냅샷 이후 기록에 비례하고,
+ *   스냅샷에 접힌 이력은 replaySnapshotted 로 사용자별로 필요할 때 읽는다.
+ * - 이체는 TRANSFER_OUT, TRANSFER_IN 두 레코드로 이어 기록한다. 읽을 때는 바로 뒤에 짝(TRANSFER_IN)이 없는
+ *   TRANSFER_OUT 을 전달하지 않아, 두 기록 사이에서 종료되거나 실패한 이체가 보낸 쪽 차감만 복원되지 않게 한다.
+ */
+public interface PointJournal extends AutoCloseable {
+
+    /**
+     * 저널을 쓰지 않는 경우 (기록/복원 모두 하지 않음)
+     */
+    PointJournal DISABLED = new PointJournal() {
+        @Override
+        public void append(JournalRecord record) {
+        }
+
+        @Override
+        public void awaitDurable(long sequence) {
+        }
+
+        @Override
+        public long replay(Consumer<JournalRecord> consumer) {
+            return 0L;
+        }
+
+        @Override
+        public PointSnapshot snapshot() {
+            return PointSnapshot.EMPTY;
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    /**
+     * 레코드 기록 (sequence 는 마지막 기록 + 1 이어야 함)
+     */
+    void append(JournalRecord record);
+
+    /**
+     * sequence 까지의 기록이 fsync 정책상 반환해도 되는 시점까지 대기 (PER_OP 이 아니면 바로 반환)
+     */
+    void awaitDurable(long sequence);
+
+    /**
+     * 기록된 레코드를 순서대로 전달 (짝이 없는 TRANSFER_OUT 은 제외)
+     *
+     * @return 마지막 레코드의 sequence (없으면 0, 제외한 레코드 포함)
+     */
+    long replay(Consumer<JournalRecord> consumer);
+
+    /**
+     * afterSequence 이후 레코드만 순서대로 전달 (기본 구현은 처음부터 읽으며 건너뜀)
+     *
+     * @return 전달한 마지막 sequence (없으면 afterSequence)
+     */
+    default long replayAfter(long afterSequence, Consumer<JournalRecord> consumer) {
+        return Math.max(afterSequence, replay(record -> {
+            if (record.sequence() > afterSequence) {
+                consumer.accept(record);
+            }
+        }));
+    }
+
+    /**
+     * 시작 시 불러온 스냅샷에 접힌 레코드(sequence <= snapshot().lastSequence()) 중 한 사용자의 것만 순서대로 전달
+     * 기본 구현은 처음부터 읽으며 건너뛴다.
+     */
+    default void replaySnapshotted(long userId, Consumer<JournalRecord> consumer) {
+        long snapshotted = snapshot().lastSequence();
+        if (snapshotted == 0L) {
+            return;
+        }
+        replay(record -> {
+            if (record.sequence() <= snapshotted && record.userId() == userId) {
+                consumer.accept(record);
+            }
+        });
+    }
+
+    /**
+     * 시작 시 불러온 스냅샷 (없으면 PointSnapshot.EMPTY)
+     */
+    PointSnapshot snapshot();
+
+    /**
+     * 스냅샷 + 이후 레코드로 사용자별 상태 복원
+     * 스냅샷 이후 레코드만 읽고, 이력도 그 레코드만 historySink 로 전달한다. (조회용 색인 복원)
+     * 스냅샷에 접힌 이력은 replaySnapshotted 로 따로 읽는다.
+     */
+    default RecoveredState recover(Consumer<JournalRecord> historySink) {
+        PointSnapshot snapshot = snapshot();
+        long base = snapshot.lastSequence();
+        Map<Long, PointSnapshot.Entry> tail = new HashMap<>();
+        long lastSequence = replayAfter(base, record -> {
+            historySink.accept(record);
+            tail.merge(record.userId(), PointSnapshot.Entry.of(record), (older, newer) -> newer.over(older));
+        });
+        return new RecoveredState(snapshot, tail, lastSequence);
+    }
+
+    /**
+     * 남은 기록을 디스크에 반영하고 닫음
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,222 @@
+package io.hhplus.tdd.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.zip.CRC32C;
+
+/**
+ * 사용자별 상태 스냅샷 (저널 lastSequence 까지 반영된 잔고와 이력 순번)
+ * - 파일 하나에 사용자 id 순으로 정렬된 32바이트 항목을 이어 쓰고, 읽을 때는 메모리 매핑해 이진 탐색한다. (불러오는 비용 = 매핑 + CRC 검사)
+ * - 쓰기는 임시 파일에 모두 쓰고 반영한 뒤 이름을 바꾸므로, 중간에 종료되어도 완성된 스냅샷만 남는다.
+ *
+ * 헤더 : 0 MAGIC | 4 VERSION | 8 lastSequence | 16 항목 수 | 24 본문 CRC32C
+ * 항목 : 0 userId | 8 balance | 16 userSequence | 24 updateMillis
+ */
+public final class PointSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(PointSnapshot.class);
+
+    /**
+     * 스냅샷이 없는 경우 (lastSequence 0)
+     */
+    public static final PointSnapshot EMPTY = new PointSnapshot(null, 0L, 0L, new MappedByteBuffer[0]);
+
+    static final int HEADER_SIZE = 64;
+    static final int ENTRY_SIZE = 32;
+    private static final int MAGIC = 0x50534E50; // "PSNP"
+    private static final int VERSION = 1;
+    private static final int CHUNK_SHIFT = 25; // 매핑 하나에 2^25 항목 (1GB)
+    private static final int CHUNK_ENTRIES = 1 << CHUNK_SHIFT;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    private final Path path;
+    private final long lastSequence;
+    private final long size;
+    private final MappedByteBuffer[] chunks;
+
+    private PointSnapshot(Path path, long lastSequence, long size, MappedByteBuffer[] chunks) {
+        this.path = path;
+        this.lastSequence = lastSequence;
+        this.size = size;
+        this.chunks = chunks;
+    }
+
+    /**
+     * 스냅샷 파일 불러오기 (형식이나 CRC 가 맞지 않으면 null)
+     */
+    public static PointSnapshot load(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                return null;
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            long size = header.getLong(16);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION || size < 0
+                    || fileSize != HEADER_SIZE + size * ENTRY_SIZE) {
+                return null;
+            }
+            MappedByteBuffer[] chunks = new MappedByteBuffer[(int) ((size + CHUNK_ENTRIES - 1) >>> CHUNK_SHIFT)];
+            CRC32C crc = new CRC32C();
+            for (int i = 0; i < chunks.length; i++) {
+                long entries = Math.min(CHUNK_ENTRIES, size - ((long) i << CHUNK_SHIFT));
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_SIZE + ((long) i << CHUNK_SHIFT) * ENTRY_SIZE, entries * ENTRY_SIZE);
+                crc.update(chunks[i].duplicate());
+            }
+            if ((int) crc.getValue() != header.getInt(24)) {
+                return null;
+            }
+            return new PointSnapshot(path, header.getLong(8), size, chunks); // 매핑은 채널을 닫아도 유지
+        } catch (IOException e) {
+            log.warn("스냅샷을 읽을 수 없습니다 : {}", path, e);
+            return null;
+        }
+    }
+
+    /**
+     * 사용자 id 순으로 정렬된 항목을 스냅샷 파일로 기록
+     * 임시 파일에 쓰고 디스크에 반영한 뒤 path 로 이름을 바꾼다.
+     */
+    public static void write(Path path, long lastSequence, Iterator<Entry> sortedEntries) {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+            CRC32C crc = new CRC32C();
+            long size = 0;
+            long previousUserId = Long.MIN_VALUE;
+            channel.position(HEADER_SIZE);
+            while (sortedEntries.hasNext()) {
+                Entry entry = sortedEntries.next();
+                if (size > 0 && entry.userId() <= previousUserId) {
+                    throw new IllegalArgumentException("스냅샷 항목은 사용자 id 순으로 정렬되어야 합니다 : " + entry.userId());
+                }
+                if (buffer.remaining() < ENTRY_SIZE) {
+                    flush(channel, buffer, crc);
+                }
+                buffer.putLong(entry.userId()).putLong(entry.balance()).putLong(entry.userSequence()).putLong(entry.updateMillis());
+                previousUserId = entry.userId();
+                size++;
+            }
+            flush(channel, buffer, crc);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putLong(lastSequence).putLong(size).putInt((int) crc.getValue());
+            header.clear();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷을 기록할 수 없습니다 : " + path, e);
+        }
+        try {
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷을 기록할 수 없습니다 : " + path, e);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer, CRC32C crc) throws IOException {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * 사용자 상태 조회 (없으면 null), O(log n)
+     */
+    public Entry find(long userId) {
+        long low = 0;
+        long high = size - 1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            long midUserId = userIdAt(mid);
+            if (midUserId < userId) {
+                low = mid + 1;
+            } else if (midUserId > userId) {
+                high = mid - 1;
+            } else {
+                return entry(mid);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * index 번째 항목 (사용자 id 순)
+     */
+    public Entry entry(long index) {
+        ByteBuffer chunk = chunks[(int) (index >>> CHUNK_SHIFT)];
+        int offset = (int) (index & (CHUNK_ENTRIES - 1)) * ENTRY_SIZE;
+        return new Entry(chunk.getLong(offset), chunk.getLong(offset + 8), chunk.getLong(offset + 16), chunk.getLong(offset + 24));
+    }
+
+    private long userIdAt(long index) {
+        return chunks[(int) (index >>> CHUNK_SHIFT)].getLong((int) (index & (CHUNK_ENTRIES - 1)) * ENTRY_SIZE);
+    }
+
+    /**
+     * 이 스냅샷에 반영된 마지막 저널 sequence
+     */
+    public long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * 사용자 수
+     */
+    public long size() {
+        return size;
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    /**
+     * 사용자 한 명의 상태
+     * - balance : 마지막으로 알려진 잔고 (잔고를 모르는 실패 이력만 있으면 JournalRecord.UNKNOWN_BALANCE)
+     * - userSequence : 마지막 이력 순번
+     */
+    public record Entry(
+            long userId,
+            long balance,
+            long userSequence,
+            long updateMillis
+    ) {
+
+        public static Entry of(JournalRecord record) {
+            return new Entry(record.userId(), record.balanceAfter(), record.userSequence(), record.updateMillis());
+        }
+
+        public boolean hasBalance() {
+            return balance != JournalRecord.UNKNOWN_BALANCE;
+        }
+
+        /**
+         * 이전 상태(older) 위에 이 상태를 덮어쓴 결과 (이 상태의 잔고를 모르면 이전 잔고 유지)
+         */
+        public Entry over(Entry older) {
+            if (hasBalance() || older == null) {
+                return this;
+            }
+            return new Entry(userId, older.balance, userSequence, older.updateMillis);
+        }
+    }
+}
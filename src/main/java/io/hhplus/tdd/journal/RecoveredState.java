@@ -0,0 +1,35 @@
+package io.hhplus.tdd.journal;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 저널에서 복원한 사용자별 상태
+ * - snapshot : 시작 시 불러온 스냅샷 (lastSequence 까지 반영)
+ * - tail : 스냅샷 이후 저널 레코드를 사용자별로 접은 상태
+ * - lastSequence : 저널의 마지막 sequence (= 마지막 이력 id)
+ */
+public record RecoveredState(
+        PointSnapshot snapshot,
+        Map<Long, PointSnapshot.Entry> tail,
+        long lastSequence
+) {
+
+    public static final RecoveredState EMPTY = new RecoveredState(PointSnapshot.EMPTY, Collections.emptyMap(), 0L);
+
+    /**
+     * 사용자 상태 (스냅샷 위에 tail 을 덮어씀), 기록이 없으면 null
+     */
+    public PointSnapshot.Entry find(long userId) {
+        PointSnapshot.Entry recent = tail.get(userId);
+        if (recent != null && recent.hasBalance()) {
+            return recent;
+        }
+        PointSnapshot.Entry base = snapshot.find(userId);
+        return recent == null ? base : recent.over(base);
+    }
+
+    public boolean isEmpty() {
+        return lastSequence == 0L;
+    }
+}
@@ -0,0 +1,137 @@
+package io.hhplus.tdd.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32C;
+
+/**
+ * 봉인된 세그먼트 하나의 사용자별 레코드 위치 (segment-{첫 sequence}.users)
+ * - 세그먼트의 레코드 위치를 (userId, 위치) 순으로 정렬해 두고, 읽을 때는 메모리 매핑해 이진 탐색한다.
+ * - 스냅샷에 접힌 이력을 사용자별로 불러올 때 세그먼트 전체를 훑지 않고 그 사용자의 레코드만 읽는다.
+ * - 쓰기는 임시 파일에 모두 쓰고 반영한 뒤 이름을 바꾸므로, 중간에 종료되어도 완성된 파일만 남는다.
+ *
+ * 헤더 : 0 MAGIC | 4 VERSION | 8 항목 수 | 12 본문 CRC32C
+ * 항목 : 0 userId | 8 세그먼트 안의 레코드 위치
+ */
+final class SegmentUserIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SegmentUserIndex.class);
+
+    static final String SUFFIX = ".users";
+    static final int HEADER_SIZE = 16;
+    static final int ENTRY_SIZE = 12;
+    private static final int MAGIC = 0x504A5549; // "PJUI"
+    private static final int VERSION = 1;
+
+    private final MappedByteBuffer buffer;
+    private final int size;
+
+    private SegmentUserIndex(MappedByteBuffer buffer, int size) {
+        this.buffer = buffer;
+        this.size = size;
+    }
+
+    /**
+     * 세그먼트 레코드의 사용자 id (userIds[i] = i 번째 레코드의 사용자) 로 색인 파일 기록
+     */
+    static void write(Path path, long[] userIds) {
+        int[] order = IntStream.range(0, userIds.length).boxed()
+                .sorted(Comparator.comparingLong(index -> userIds[index])) // 정렬이 안정적이므로 같은 사용자는 위치 순
+                .mapToInt(Integer::intValue)
+                .toArray();
+        ByteBuffer body = ByteBuffer.allocate(order.length * ENTRY_SIZE);
+        for (int index : order) {
+            body.putLong(userIds[index]).putInt(index);
+        }
+        body.flip();
+        CRC32C crc = new CRC32C();
+        crc.update(body.duplicate());
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putInt(order.length).putInt((int) crc.getValue());
+        header.flip();
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            while (body.hasRemaining()) {
+                channel.write(body);
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("세그먼트 사용자 색인을 기록할 수 없습니다 : " + path, e);
+        }
+        try {
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("세그먼트 사용자 색인을 기록할 수 없습니다 : " + path, e);
+        }
+    }
+
+    /**
+     * 색인 파일 불러오기 (없거나 형식, 항목 수, CRC 가 맞지 않으면 null)
+     *
+     * @param records 세그먼트의 레코드 수
+     */
+    static SegmentUserIndex load(Path path, int records) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() != HEADER_SIZE + (long) records * ENTRY_SIZE) {
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getInt(8) != records) {
+                return null;
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.slice(HEADER_SIZE, records * ENTRY_SIZE));
+            if ((int) crc.getValue() != buffer.getInt(12)) {
+                return null;
+            }
+            return new SegmentUserIndex(buffer, records); // 매핑은 채널을 닫아도 유지
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("세그먼트 사용자 색인을 읽을 수 없습니다 : {}", path, e);
+            return null;
+        }
+    }
+
+    /**
+     * 사용자의 레코드 위치를 세그먼트 안의 순서대로 전달, O(log n + 사용자 레코드 수)
+     */
+    void forEach(long userId, IntConsumer consumer) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (userIdAt(mid) < userId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (int index = low; index < size && userIdAt(index) == userId; index++) {
+            consumer.accept(buffer.getInt(HEADER_SIZE + index * ENTRY_SIZE + 8));
+        }
+    }
+
+    private long userIdAt(int index) {
+        return buffer.getLong(HEADER_SIZE + index * ENTRY_SIZE);
+    }
+}
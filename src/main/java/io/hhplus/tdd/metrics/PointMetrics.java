@@ -0,0 +1,108 @@
+package io.hhplus.tdd.metrics;
+
+import io.hhplus.tdd.concurrency.UserTaskRejectedException;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 지표 (/actuator/prometheus 로 노출)
+ * - point.operation : 서비스 메서드 처리 시간 (operation, outcome=success|failure)
+ * - point.task.wait : 사용자 작업이 제출된 뒤 실행되기까지 기다린 시간 (스레드 풀 큐 + 사용자 락 / 메일박스)
+ * - point.task.hold : 사용자 작업 실행 시간 (사용자 락을 잡고 있는 시간)
+ * - point.table.call : 테이블 호출 시간 (table, operation)
+ * - point.transactions : 기록된 거래 수 (type=CHARGE|USE|FAIL)
+ * - point.idempotency.replays : Idempotency-Key 가 같아 다시 실행하지 않고 처음 결과로 응답한 요청 수
+ * - point.cas.retries : OPTIMISTIC 전략에서 잔고 셀 compareAndSet 충돌로 다시 계산한 횟수
+ * - point.admission.rejected : 실행하지 않고 거절한 사용자 작업 수 (reason=USER_LIMIT|OVERLOADED|DEADLINE)
+ * 시간 지표는 모두 50 / 95 / 99 백분위수를 함께 내보낸다.
+ */
+@Component
+public class PointMetrics {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry meterRegistry;
+    private final Timer taskWaitTimer;
+    private final Timer taskHoldTimer;
+    private final Counter casRetryCounter;
+    private final Counter idempotentReplayCounter;
+    private final Map<TransactionType, Counter> transactionCounters = new EnumMap<>(TransactionType.class);
+    private final Map<UserTaskRejectedException.Reason, Counter> rejectionCounters = new EnumMap<>(UserTaskRejectedException.Reason.class);
+    private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public PointMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.taskWaitTimer = timer("point.task.wait").register(meterRegistry);
+        this.taskHoldTimer = timer("point.task.hold").register(meterRegistry);
+        this.casRetryCounter = Counter.builder("point.cas.retries").register(meterRegistry);
+        this.idempotentReplayCounter = Counter.builder("point.idempotency.replays").register(meterRegistry);
+        for (TransactionType type : TransactionType.values()) {
+            transactionCounters.put(type, Counter.builder("point.transactions")
+                    .tag("type", type.name())
+                    .register(meterRegistry));
+        }
+        for (UserTaskRejectedException.Reason reason : UserTaskRejectedException.Reason.values()) {
+            rejectionCounters.put(reason, Counter.builder("point.admission.rejected")
+                    .tag("reason", reason.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * 서비스 메서드 처리 시간 기록
+     *
+     * @param startedAtNanos System.nanoTime() 기준 시작 시각
+     */
+    public void recordOperation(String operation, long startedAtNanos, boolean success) {
+        String outcome = success ? "success" : "failure";
+        timers.computeIfAbsent("operation:" + operation + ":" + outcome, key -> timer("point.operation")
+                        .tag("operation", operation)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry))
+                .record(System.nanoTime() - startedAtNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordTaskWait(long nanos) {
+        taskWaitTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordTaskHold(long nanos) {
+        taskHoldTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordTableCall(String table, String operation, long startedAtNanos) {
+        timers.computeIfAbsent("table:" + table + ":" + operation, key -> timer("point.table.call")
+                        .tag("table", table)
+                        .tag("operation", operation)
+                        .register(meterRegistry))
+                .record(System.nanoTime() - startedAtNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void countTransaction(TransactionType type) {
+        transactionCounters.get(type).increment();
+    }
+
+    public void countCasRetry() {
+        casRetryCounter.increment();
+    }
+
+    public void countIdempotentReplay() {
+        idempotentReplayCounter.increment();
+    }
+
+    public void countRejection(UserTaskRejectedException.Reason reason) {
+        rejectionCounters.get(reason).increment();
+    }
+
+    private static Timer.Builder timer(String name) {
+        return Timer.builder(name).publishPercentiles(PERCENTILES);
+    }
+}
@@ -0,0 +1,40 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrency.HotUserTracker;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 요청이 몰리는 사용자와 결합 처리 현황 : /actuator/hotusers
+ * - topK : 추적 중인 사용자 카운터 (표본 수 추정치가 큰 순서, hot 이면 결합 처리 대상)
+ * - combinedRequests / combinedBatches : 결합 처리로 받은 요청 수 / 제출한 결합 작업 수
+ * - averageBatchSize : 결합 작업 하나가 평균적으로 함께 처리한 요청 수
+ */
+@Component
+@Endpoint(id = "hotusers")
+public class HotUsersEndpoint {
+
+    private final PointService pointService;
+
+    public HotUsersEndpoint(PointService pointService) {
+        this.pointService = pointService;
+    }
+
+    @ReadOperation
+    public Report hotUsers() {
+        PointService.CombiningReport report = pointService.combiningReport();
+        PointCombiner.Stats stats = report.combining();
+        return new Report(report.topK(), stats.requests(), stats.batches(), stats.averageBatchSize());
+    }
+
+    public record Report(
+            List<HotUserTracker.HotUser> topK,
+            long combinedRequests,
+            long combinedBatches,
+            double averageBatchSize
+    ) {
+    }
+}
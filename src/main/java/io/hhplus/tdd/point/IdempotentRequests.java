@@ -0,0 +1,90 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.cache.BoundedCache;
+import io.hhplus.tdd.concurrency.UserTaskRejectedException;
+import io.hhplus.tdd.config.PointIdempotencyProperties;
+import io.hhplus.tdd.metrics.PointMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 로 충전/사용 요청 중복 제거
+ * - (사용자, 거래 종류, 키) 마다 처음 요청의 결과 future 를 크기 제한 + TTL 캐시(BoundedCache)에 보관한다.
+ * - 같은 키의 요청은 작업을 다시 제출하지 않고 그 결과를 그대로 돌려준다. (사용자 락, 테이블 접근 없음)
+ *   처음 요청이 아직 진행 중이면 그 완료를 함께 기다리고, 끝났으면 저장된 잔고 또는 오류를 바로 반환한다.
+ * - 같은 키로 금액이 다른 요청은 IllegalArgumentException 으로 거절한다.
+ * - 작업이 실행되지 않은 실패(대기 시간 초과, 실행 거절)는 보관하지 않으므로 같은 키로 다시 시도할 수 있다.
+ */
+@Component
+public class IdempotentRequests {
+
+    private final BoundedCache<Key, Request> requests;
+    private final PointMetrics pointMetrics;
+
+    public IdempotentRequests(PointIdempotencyProperties idempotencyProperties, PointMetrics pointMetrics) {
+        this.requests = new BoundedCache<>(idempotencyProperties.maximumSize(), idempotencyProperties.ttl());
+        this.pointMetrics = pointMetrics;
+    }
+
+    public CompletableFuture<UserPoint> execute(
+            String idempotencyKey,
+            long userId,
+            TransactionType type,
+            long amount,
+            Supplier<CompletableFuture<UserPoint>> operation
+    ) {
+        Key key = new Key(userId, type, idempotencyKey);
+        Request request = new Request(amount, new CompletableFuture<>());
+        Request existing = requests.putIfAbsent(key, request);
+        if (existing != null) {
+            if (existing.amount() != amount) {
+                return CompletableFuture.failedFuture(
+                        new IllegalArgumentException("같은 Idempotency-Key 로 다른 금액을 요청할 수 없습니다"));
+            }
+            pointMetrics.countIdempotentReplay();
+            return existing.result().copy();
+        }
+
+        CompletableFuture<UserPoint> future;
+        try {
+            future = operation.get();
+        } catch (RuntimeException e) {
+            requests.invalidate(key, request); // 제출 자체가 실패하면 실행되지 않은 것으로 봄
+            request.result().completeExceptionally(e);
+            return request.result().copy();
+        }
+        future.whenComplete((userPoint, e) -> {
+            if (e == null) {
+                request.result().complete(userPoint);
+                return;
+            }
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (!executed(cause)) {
+                requests.invalidate(key, request); // 재시도가 캐시된 실패를 받지 않도록 완료 전에 제거
+            }
+            request.result().completeExceptionally(cause);
+        });
+        return request.result().copy();
+    }
+
+    public BoundedCache.Stats stats() {
+        return requests.stats();
+    }
+
+    // 작업이 실행되어 결과(성공 또는 검증 실패)가 확정됐는지
+    private static boolean executed(Throwable cause) {
+        return !(cause instanceof TimeoutException) && !(cause instanceof RejectedExecutionException)
+                && !(cause instanceof UserTaskRejectedException);
+    }
+
+    private record Key(long userId, TransactionType type, String idempotencyKey) {
+    }
+
+    private record Request(long amount, CompletableFuture<UserPoint> result) {
+    }
+}
@@ -0,0 +1,202 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrency.UserTaskRejectedException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 사용자별 결합(combining) 처리 : 같은 사용자의 충전/사용 요청을 대기 목록에 모아 사용자 작업 한 번에 함께 적용
+ * - 대기 목록마다 결합 작업은 최대 하나만 제출된다. 결합 작업은 실행될 때(사용자 락을 잡은 뒤) maxBatchSize 건까지 꺼내
+ *   일괄 처리하므로, 작업이 차례를 기다리는 동안 들어온 요청도 함께 처리된다.
+ *   (사용자 락 1회, 잔고 조회 1회, 요청 순서대로 검증/적용, 잔고 저장 1회)
+ * - 요청마다 자기 결과를 받는다. 성공하면 그 요청까지 적용한 잔고 (변경 시각은 저장된 잔고의 것),
+ *   검증 실패는 IllegalStateException (개별 처리와 같은 형태),
+ *   결합 작업이 실행되지 않았으면(대기 시간 초과, 거절) 그 원인. 이때는 작업이 꺼냈을 만큼(maxBatchSize)만 실패시킨다.
+ * - 남은 요청이 있으면 다시 제출해 다른 작업에게 차례를 넘긴다. (MailboxUserTaskExecutor 의 메일박스와 같은 방식)
+ * - 사용자별 대기 요청이 maxPendingPerUser 면 USER_LIMIT 로 거절한다.
+ */
+public final class PointCombiner {
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1); // 대기 목록은 결합 작업 몇 번이면 비므로 짧게
+
+    private final BatchApplier batchApplier;
+    private final int maxBatchSize;
+    private final int maxPendingPerUser;
+    private final ConcurrentHashMap<Long, Pending> pendingByUser = new ConcurrentHashMap<>();
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+
+    PointCombiner(BatchApplier batchApplier, int maxBatchSize, int maxPendingPerUser) {
+        if (maxBatchSize < 1 || maxPendingPerUser < 1) {
+            throw new IllegalArgumentException("maxBatchSize, maxPendingPerUser 는 1 이상이어야 합니다");
+        }
+        this.batchApplier = batchApplier;
+        this.maxBatchSize = maxBatchSize;
+        this.maxPendingPerUser = maxPendingPerUser;
+    }
+
+    CompletableFuture<UserPoint> submit(PointOperation operation) {
+        Request request = new Request(operation, new CompletableFuture<>());
+        boolean[] rejected = {false};
+        Pending[] toSchedule = new Pending[1];
+        // 추가와 빈 대기 목록 제거가 같은 버킷 락 안에서 일어나도록 compute 사용
+        pendingByUser.compute(operation.userId(), (id, pending) -> {
+            Pending target = pending == null ? new Pending(id) : pending;
+            if (target.size.get() >= maxPendingPerUser) {
+                rejected[0] = true;
+                return target;
+            }
+            target.size.incrementAndGet();
+            target.queue.add(request);
+            if (target.scheduled.compareAndSet(false, true)) {
+                toSchedule[0] = target;
+            }
+            return target;
+        });
+        if (rejected[0]) {
+            return CompletableFuture.failedFuture(
+                    new UserTaskRejectedException(UserTaskRejectedException.Reason.USER_LIMIT, RETRY_AFTER, null));
+        }
+        requestCount.increment();
+        if (toSchedule[0] != null) {
+            schedule(toSchedule[0]);
+        }
+        return request.result();
+    }
+
+    Stats stats() {
+        return new Stats(requestCount.sum(), batchCount.sum());
+    }
+
+    private void schedule(Pending pending) {
+        batchCount.increment();
+        Batch batch = new Batch(pending);
+        CompletableFuture<Applied> applied;
+        try {
+            applied = batchApplier.apply(pending.userId, batch);
+        } catch (RuntimeException e) {
+            applied = CompletableFuture.failedFuture(e);
+        }
+        applied.whenComplete((result, e) -> {
+            List<Request> requests = batch.requests(); // 작업이 실행되지 않았으면 여기서 꺼내 실패시킴
+            if (e != null) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                requests.forEach(each -> each.result().completeExceptionally(cause));
+            } else {
+                for (int i = 0; i < requests.size(); i++) {
+                    PointOperationResult each = result.results().get(i);
+                    if (each.success()) {
+                        // 마지막 성공 요청은 저장된 잔고 그대로, 앞선 요청은 자기 차례의 잔고에 저장 시각
+                        requests.get(i).result().complete(
+                                new UserPoint(pending.userId, each.point(), result.stored().updateMillis()));
+                    } else {
+                        requests.get(i).result().completeExceptionally(new IllegalStateException(each.message()));
+                    }
+                }
+            }
+            release(pending);
+        });
+    }
+
+    // 대기 목록에서 maxBatchSize 건까지 꺼냄
+    private List<Request> drain(Pending pending) {
+        List<Request> requests = new ArrayList<>(Math.min(maxBatchSize, Math.max(1, pending.size.get())));
+        Request request;
+        while (requests.size() < maxBatchSize && (request = pending.queue.poll()) != null) {
+            requests.add(request);
+        }
+        pending.size.addAndGet(-requests.size());
+        return requests;
+    }
+
+    private void release(Pending pending) {
+        if (!pending.queue.isEmpty()) {
+            schedule(pending); // 남은 요청은 다시 제출 (다른 작업에게 양보)
+            return;
+        }
+        pending.scheduled.set(false);
+        // 해제 직전에 들어온 요청 재확인
+        if (!pending.queue.isEmpty() && pending.scheduled.compareAndSet(false, true)) {
+            schedule(pending);
+            return;
+        }
+        pendingByUser.computeIfPresent(pending.userId, (id, current) ->
+                current == pending && current.queue.isEmpty() && !current.scheduled.get() ? null : current);
+    }
+
+    /**
+     * 한 사용자의 요청 목록을 사용자 작업 한 번으로 적용하고 요청 순서대로 결과 반환 (작업이 실행되지 않으면 예외로 완료)
+     * operations 는 작업이 실행될 때 한 번 꺼낸다. (실행되지 않은 작업의 실패 이력을 남길 때도 꺼낼 수 있음)
+     */
+    @FunctionalInterface
+    interface BatchApplier {
+        CompletableFuture<Applied> apply(long userId, Supplier<List<PointOperation>> operations);
+    }
+
+    /**
+     * 사용자 작업 한 번의 결과
+     * - results : 요청 순서대로의 결과
+     * - stored : 작업이 저장한 잔고 (성공한 요청이 없어 저장하지 않았으면 null)
+     */
+    record Applied(List<PointOperationResult> results, UserPoint stored) {
+    }
+
+    /**
+     * - requests : 결합 처리로 받은 요청 수
+     * - batches : 제출한 결합 작업 수
+     */
+    public record Stats(long requests, long batches) {
+
+        // 결합 작업 하나가 평균적으로 함께 처리한 요청 수
+        public double averageBatchSize() {
+            return batches == 0 ? 0.0 : (double) requests / batches;
+        }
+    }
+
+    private record Request(PointOperation operation, CompletableFuture<UserPoint> result) {
+    }
+
+    // 결합 작업 하나가 꺼낸 요청 (처음 꺼낼 때 한 번만 대기 목록에서 가져옴)
+    private final class Batch implements Supplier<List<PointOperation>> {
+        private final Pending pending;
+        private List<Request> requests;
+
+        private Batch(Pending pending) {
+            this.pending = pending;
+        }
+
+        @Override
+        public List<PointOperation> get() {
+            return requests().stream().map(Request::operation).toList();
+        }
+
+        private synchronized List<Request> requests() {
+            if (requests == null) {
+                requests = drain(pending);
+            }
+            return requests;
+        }
+    }
+
+    private static final class Pending {
+        private final long userId;
+        private final Queue<Request> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        private Pending(long userId) {
+            this.userId = userId;
+        }
+    }
+}
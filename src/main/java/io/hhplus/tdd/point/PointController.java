@@ -1,11 +1,21 @@
 package io.hhplus.tdd.point;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/point")
@@ -13,8 +23,16 @@ public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
 
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     @Autowired
     private PointService pointService;
+
+    @Autowired
+    private IdempotentRequests idempotentRequests;
+
+    @Autowired
+    private ObjectMapper objectMapper;
     /**
      * TODO - 특정 유저의 포인트를 조회하는 기능을 작성해주세요.
      */
@@ -28,32 +46,112 @@ public class PointController {
     /**
      * TODO - 특정 유저의 포인트 충전/이용 내역을 조회하는 기능을 작성해주세요.
      */
+    // cursor 기반 페이지 조회, 응답 : {"items":[...],"nextCursor":다음 페이지 cursor 또는 null}
+    // 전체 목록을 만들지 않고 이력을 하나씩 꺼내며 바로 JSON 으로 내보냄
     @GetMapping("{id}/histories")
-    public List<PointHistory> history(
-            @PathVariable(name = "id") long id
+    public ResponseEntity<StreamingResponseBody> history(
+            @PathVariable(name = "id") long id,
+            @RequestParam(name = "cursor", required = false) Long cursor,
+            @RequestParam(name = "size", defaultValue = "" + PointHistoryQuery.DEFAULT_SIZE) int size,
+            @RequestParam(name = "from", required = false) Long from,
+            @RequestParam(name = "to", required = false) Long to,
+            @RequestParam(name = "type", required = false) TransactionType type
     ) {
-        return pointService.getPointHistories(id);
+        PointHistoryQuery query = new PointHistoryQuery(cursor, size, from, to, type);
+        Stream<PointHistory> histories = pointService.getPointHistories(id, query);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> writeHistoryPage(out, histories, query.size()));
+    }
+
+    // size 건을 꽉 채운 경우에만 다음 cursor 를 내려줌 (마지막 페이지가 정확히 size 건이면 다음 요청은 빈 페이지)
+    private void writeHistoryPage(OutputStream out, Stream<PointHistory> histories, int size) throws IOException {
+        JsonGenerator generator = objectMapper.createGenerator(out);
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("items");
+        int count = 0;
+        long lastId = 0;
+        try (histories) {
+            Iterator<PointHistory> iterator = histories.iterator();
+            while (iterator.hasNext()) {
+                PointHistory history = iterator.next();
+                generator.writeObject(history);
+                lastId = history.id();
+                count++;
+            }
+        }
+        generator.writeEndArray();
+        if (count == size) {
+            generator.writeNumberField("nextCursor", lastId);
+        } else {
+            generator.writeNullField("nextCursor");
+        }
+        generator.writeEndObject();
+        generator.flush(); // 출력 스트림은 컨테이너가 닫음
+    }
+
+    /**
+     * 포인트 이력 요약 (충전/사용 합계, 실패 수, 마지막 이력 시각)
+     * window : ALL (전체, 기본) / LAST_24H / LAST_7D
+     */
+    @GetMapping("{id}/summary")
+    public PointSummary summary(
+            @PathVariable(name = "id") long id,
+            @RequestParam(name = "window", defaultValue = "ALL") PointSummary.Window window
+    ) {
+        return pointService.getSummary(id, window);
     }
 
     /**
      * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
      */
+    // Idempotency-Key 가 있으면 같은 키의 재시도는 다시 충전하지 않고 처음 결과로 응답
     @PatchMapping("{id}/charge")
-    public UserPoint charge(
+    public CompletableFuture<UserPoint> charge(
             @PathVariable(name = "id") long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey
     ) {
-        return pointService.charge(id, amount);
+        if (idempotencyKey == null) {
+            return pointService.chargeAsync(id, amount);
+        }
+        return idempotentRequests.execute(idempotencyKey, id, TransactionType.CHARGE, amount,
+                () -> pointService.chargeAsync(id, amount));
     }
 
     /**
      * TODO - 특정 유저의 포인트를 사용하는 기능을 작성해주세요.
      */
     @PatchMapping("{id}/use")
-    public UserPoint use(
+    public CompletableFuture<UserPoint> use(
             @PathVariable(name = "id") long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey
+    ) {
+        if (idempotencyKey == null) {
+            return pointService.useAsync(id, amount);
+        }
+        return idempotentRequests.execute(idempotencyKey, id, TransactionType.USE, amount,
+                () -> pointService.useAsync(id, amount));
+    }
+
+    /**
+     * 포인트 이체 (보낸 사용자 차감과 받은 사용자 증가를 한 번에 처리)
+     */
+    @PostMapping("transfer")
+    public CompletableFuture<PointTransferResult> transfer(
+            @RequestBody PointTransferRequest request
+    ) {
+        return pointService.transferAsync(request.fromUserId(), request.toUserId(), request.amount());
+    }
+
+    /**
+     * 포인트 충전/사용 일괄 처리 (사용자별로 묶어 처리, 요청별 결과를 요청 순서대로 반환)
+     */
+    @PostMapping("batch")
+    public CompletableFuture<List<PointOperationResult>> batch(
+            @RequestBody List<PointOperation> operations
     ) {
-        return pointService.use(id, amount);
+        return pointService.applyBatch(operations);
     }
 }
@@ -0,0 +1,43 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 이력 페이지 조회 조건
+ * - cursor : 이전 페이지 마지막 이력 id (없으면 처음부터)
+ * - size : 한 페이지 최대 건수
+ * - from / to : updateMillis 범위 (양 끝 포함, 없으면 제한 없음)
+ * - type : 거래 종류 (없으면 전체)
+ */
+public record PointHistoryQuery(
+        Long cursor,
+        int size,
+        Long from,
+        Long to,
+        TransactionType type
+) {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    public PointHistoryQuery {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("페이지 크기는 1 이상 " + MAX_SIZE + " 이하여야 합니다");
+        }
+        if (from != null && to != null && from > to) {
+            throw new IllegalArgumentException("조회 시작 시각은 종료 시각보다 늦을 수 없습니다");
+        }
+    }
+
+    public static PointHistoryQuery firstPage(int size) {
+        return new PointHistoryQuery(null, size, null, null, null);
+    }
+
+    public boolean matches(PointHistory history) {
+        return matches(history.type(), history.updateMillis());
+    }
+
+    public boolean matches(TransactionType type, long updateMillis) {
+        return (from == null || updateMillis >= from)
+                && (to == null || updateMillis <= to)
+                && (this.type == null || this.type == type);
+    }
+}
@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 일괄 처리용 포인트 충전/사용 요청 한 건
+ * - type : CHARGE 또는 USE
+ */
+public record PointOperation(
+        long userId,
+        TransactionType type,
+        long amount
+) {
+
+    public PointOperation {
+        if (type != TransactionType.CHARGE && type != TransactionType.USE) {
+            throw new IllegalArgumentException("일괄 처리는 충전(CHARGE) 또는 사용(USE)만 가능합니다");
+        }
+    }
+
+    // 적용 후 잔고 계산 (검증 실패 시 IllegalArgumentException)
+    public long apply(UserPoint user) {
+        return type == TransactionType.CHARGE ? user.calculateChargeAmount(amount) : user.calculateUseAmount(amount);
+    }
+}
@@ -0,0 +1,24 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 일괄 처리 결과 한 건 (요청 순서와 같은 순서로 반환)
+ * - point : 성공 시 해당 요청까지 적용한 잔고, 실패 시 null
+ * - message : 실패 사유, 성공 시 null
+ */
+public record PointOperationResult(
+        long userId,
+        TransactionType type,
+        long amount,
+        boolean success,
+        Long point,
+        String message
+) {
+
+    public static PointOperationResult success(PointOperation operation, long point) {
+        return new PointOperationResult(operation.userId(), operation.type(), operation.amount(), true, point, null);
+    }
+
+    public static PointOperationResult failure(PointOperation operation, String message) {
+        return new PointOperationResult(operation.userId(), operation.type(), operation.amount(), false, null, message);
+    }
+}
@@ -1,115 +1,428 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
-import org.apache.catalina.User;
-import org.springframework.beans.factory.annotation.Qualifier;
+import io.hhplus.tdd.concurrency.BalanceCells;
+import io.hhplus.tdd.concurrency.HotUserTracker;
+import io.hhplus.tdd.concurrency.UserTaskExecutor;
+import io.hhplus.tdd.concurrency.UserTaskRejectedException;
+import io.hhplus.tdd.config.PointCombiningProperties;
+import io.hhplus.tdd.database.PointHistoryIndex;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.UserPointCache;
+import io.hhplus.tdd.journal.JournalRecord;
+import io.hhplus.tdd.metrics.PointMetrics;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.*;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
 
 @Service
 public class PointService {
 
     /*
      * ExcutorService 는 Bean 으로 등록해서 사용하는 것이 더 좋을 것 같아요!
-     * 요청별로 비동기 스레드를 열고, 기다리는 방식을 활용했는데 요청스레드는 단순 대기하게됨. ( 비효율 )
+     * 요청 스레드는 CompletableFuture 를 그대로 반환하고, 결과는 스레드 풀에서 완료시킴 ( 요청 스레드 대기 X )
+     * 사용자별 직렬 실행은 UserTaskExecutor 에 위임 ( LOCK / MAILBOX ), OPTIMISTIC 은 직렬화 대신 잔고 셀 CAS
      * addAmount 와 같은 함수는 차라리 UserPoint에게 주기?
      * 기존 구현함수들의 책임만 리팩토링이 좀 더 되면 좋을 것 같아요
      * 전체적인 품질 생각하기. 테스트 코드도 리소스니까
      */
 
-    private final UserPointTable userPointTable;
-    private final PointHistoryTable pointHistoryTable;
-    private final ConcurrentHashMap<Long, ReentrantLock> userLocks;
-    private final ExecutorService executorService;
+    private static final int MAX_BATCH_SIZE = 10_000;
+
+    private final UserPointCache userPointCache;
+    private final PointHistoryIndex pointHistoryIndex;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final UserTaskExecutor userTaskExecutor;
+    private final PointMetrics pointMetrics;
+    private final BalanceCells balanceCells; // OPTIMISTIC 에서만 사용
+    private final HotUserTracker hotUserTracker; // 결합 처리를 끄면 null
+    private final PointCombiner pointCombiner;
+    private final boolean combineAll; // false 면 hot 사용자만 결합 처리
 
     public PointService(
-            UserPointTable userPointTable,
-            PointHistoryTable pointHistoryTable,
-            ExecutorService executorService
+            UserPointCache userPointCache,
+            PointHistoryIndex pointHistoryIndex,
+            PointHistoryWriter pointHistoryWriter,
+            UserTaskExecutor userTaskExecutor,
+            PointMetrics pointMetrics,
+            PointCombiningProperties combiningProperties
     ) {
-        this.userPointTable = userPointTable;
-        this.pointHistoryTable = pointHistoryTable;
-        this.userLocks = new ConcurrentHashMap<>();
-        this.executorService = executorService;
+        this.userPointCache = userPointCache;
+        this.pointHistoryIndex = pointHistoryIndex;
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.userTaskExecutor = userTaskExecutor;
+        this.pointMetrics = pointMetrics;
+        this.balanceCells = userTaskExecutor.serializesUsers() ? null : new BalanceCells(pointMetrics::countCasRetry);
+        PointCombiningProperties.Hot hot = combiningProperties.hot();
+        this.hotUserTracker = combiningProperties.mode() == PointCombiningProperties.Mode.OFF
+                ? null
+                : new HotUserTracker(hot.topK(), hot.sampleRate(), hot.window(), hot.share());
+        this.pointCombiner = hotUserTracker == null
+                ? null
+                : new PointCombiner(this::submitUserBatch, combiningProperties.maxBatchSize(), combiningProperties.maxPendingPerUser());
+        this.combineAll = combiningProperties.mode() == PointCombiningProperties.Mode.ALL;
     }
 
-    // 작업 실행 (글로벌 스레드 풀과 사용자별 락 활용)
+    // 작업 실행 (사용자 단위 직렬 실행, 대기 시간 초과 시 TimeoutException)
+    // 제출 ~ 실행 시작까지의 대기 시간과 실행 시간(사용자 락 점유 시간)을 따로 기록
     private <T> CompletableFuture<T> submitTask(Long userId, Supplier<T> task) {
-        ReentrantLock lock = userLocks.computeIfAbsent(userId, k -> new ReentrantLock(true));
-        return CompletableFuture.supplyAsync(() -> {
-            lock.lock(); // 락 획득
+        return userTaskExecutor.submit(userId, timed(System.nanoTime(), task));
+    }
+
+    // 두 사용자 작업 (두 사용자 모두의 작업 순서에 끼어 실행)
+    private <T> CompletableFuture<T> submitTask(Long userId, Long otherUserId, Supplier<T> task) {
+        return userTaskExecutor.submit(userId, otherUserId, timed(System.nanoTime(), task));
+    }
+
+    private <T> Supplier<T> timed(long submittedAt, Supplier<T> task) {
+        return () -> {
+            long startedAt = System.nanoTime();
+            pointMetrics.recordTaskWait(startedAt - submittedAt);
             try {
                 return task.get();
-            } catch (Exception e) {
-                // 작업 내부에서 발생한 예외 처리
-                throw new IllegalStateException(e.getMessage());
             } finally {
-                lock.unlock(); // 락 해제
+                pointMetrics.recordTaskHold(System.nanoTime() - startedAt);
             }
-        }, executorService);
+        };
+    }
+
+    public CompletableFuture<UserPoint> chargeAsync(final Long userId, final Long amount) {
+        long startedAt = System.nanoTime();
+        return execute(userId, amount, TransactionType.CHARGE, user -> user.calculateChargeAmount(amount))
+                .whenComplete((userPoint, e) -> pointMetrics.recordOperation("charge", startedAt, e == null));
+    }
+
+    public CompletableFuture<UserPoint> useAsync(final Long userId, final Long amount) {
+        long startedAt = System.nanoTime();
+        return execute(userId, amount, TransactionType.USE, user -> user.calculateUseAmount(amount))
+                .whenComplete((userPoint, e) -> pointMetrics.recordOperation("use", startedAt, e == null));
     }
 
     public UserPoint charge(final Long userId, final Long amount) {
-        TransactionType type = TransactionType.CHARGE;
-        try {
-            return submitTask(userId, () -> {
-                UserPoint user = this.select(userId);
-                long addAmount = user.calculateChargeAmount(amount);
-                return updatedPoint(userId, addAmount);
-            }).get();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt(); // 인터럽트 상태 복원
-            throw new RuntimeException("작업이 중단되었습니다.", e);
-        } catch (IllegalStateException | ExecutionException e) {
-            type = TransactionType.FAIL;
-            throw new IllegalStateException(e.getMessage());
-        } finally {
-            insertHistory(userId, amount, type);
-        }
+        return await(chargeAsync(userId, amount));
     }
 
     public UserPoint use(final Long userId, final Long amount) {
-        TransactionType type = TransactionType.USE;
+        return await(useAsync(userId, amount));
+    }
+
+    // 잔고 변경과 이력 적재를 같은 사용자 작업 안에서 처리해 이력 순서 = 잔고 변경 순서를 보장
+    // (이력 테이블 기록은 write-behind 이므로 임계 구역에는 적재 비용만 포함)
+    // 이력(저널)을 먼저 남기고 잔고를 반영 : 저널 기록이 실패하면 잔고도 바뀌지 않음
+    // 결합 처리(ALL, 또는 HOT 에서 요청이 몰리는 사용자) : 대기 중인 요청을 모아 사용자 작업 한 번에 적용
+    // (사용자 락 경합과 잔고 조회/저장 횟수를 줄임, 요청마다 결과는 따로 받음)
+    private CompletableFuture<UserPoint> execute(
+            final Long userId,
+            final Long amount,
+            final TransactionType type,
+            final ToLongFunction<UserPoint> calculator
+    ) {
+        if (hotUserTracker != null) {
+            hotUserTracker.record(userId);
+            if (combineAll || hotUserTracker.isHot(userId)) {
+                return pointCombiner.submit(new PointOperation(userId, type, amount));
+            }
+        }
+        AtomicBoolean recorded = new AtomicBoolean(false);
+        return submitTask(userId, () -> {
+            recorded.set(true);
+            return applyToBalance(userId, balance -> {
+                long updated;
+                try {
+                    updated = calculator.applyAsLong(new UserPoint(userId, balance, 0L)); // 검증은 잔고만 사용
+                } catch (RuntimeException e) {
+                    return new BalanceCells.Outcome<UserPoint>(balance, () -> {
+                        insertHistory(userId, amount, TransactionType.FAIL, balance);
+                        throw e;
+                    });
+                }
+                return new BalanceCells.Outcome<>(updated, () -> {
+                    insertHistory(userId, amount, type, updated);
+                    return updatedPoint(userId, updated);
+                });
+            });
+        }).whenComplete((userPoint, e) -> {
+            if (e != null && !recorded.get() && !shed(e)) {
+                // 대기 시간 초과 등으로 작업이 실행되지 않은 경우
+                insertHistory(userId, amount, TransactionType.FAIL, JournalRecord.UNKNOWN_BALANCE);
+            }
+        });
+    }
+
+    // 현재 잔고로 attempt 를 계산하고 publish(이력 적재, 잔고 반영)를 실행
+    // - LOCK / MAILBOX : 사용자 작업이 직렬 실행되므로 한 번 계산하고 바로 반영
+    // - OPTIMISTIC : 잔고 셀 compareAndSet, 충돌하면 검증부터 다시 계산하고 반영은 변경 순서대로
+    private <T> T applyToBalance(long userId, BalanceCells.Attempt<T> attempt) {
+        if (balanceCells == null) {
+            return attempt.apply(userPointCache.selectById(userId).point()).publish().get();
+        }
+        return balanceCells.update(userId, () -> userPointCache.selectById(userId).point(), attempt);
+    }
+
+    /**
+     * 포인트 이체
+     * - 보낸 사용자 차감, 받은 사용자 증가, 연결된 이력 두 건(TRANSFER_OUT / TRANSFER_IN)을 두 사용자 작업 한 번으로 처리
+     * - 검증(잔고 부족, 받는 사용자 최대 잔고)에 실패하면 두 잔고 모두 그대로 두고 보낸 사용자에게 실패 이력을 남김
+     */
+    public CompletableFuture<PointTransferResult> transferAsync(final Long fromUserId, final Long toUserId, final Long amount) {
+        if (fromUserId.equals(toUserId)) {
+            throw new IllegalArgumentException("자기 자신에게는 이체할 수 없습니다");
+        }
+        if (amount <= 0) {
+            throw new IllegalArgumentException("이체 금액은 0보다 커야 합니다");
+        }
+        if (hotUserTracker != null) {
+            hotUserTracker.record(fromUserId);
+            hotUserTracker.record(toUserId);
+        }
+        long startedAt = System.nanoTime();
+        AtomicBoolean recorded = new AtomicBoolean(false);
+        return submitTask(fromUserId, toUserId, () -> {
+            recorded.set(true);
+            return applyToBalances(fromUserId, toUserId, (fromBalance, toBalance) -> {
+                long fromUpdated;
+                long toUpdated;
+                try {
+                    fromUpdated = new UserPoint(fromUserId, fromBalance, 0L).calculateUseAmount(amount);
+                    toUpdated = new UserPoint(toUserId, toBalance, 0L).calculateReceiveAmount(amount);
+                } catch (RuntimeException e) {
+                    return new BalanceCells.PairOutcome<PointTransferResult>(fromBalance, toBalance, () -> {
+                        insertHistory(fromUserId, amount, TransactionType.FAIL, fromBalance);
+                        throw e;
+                    });
+                }
+                return new BalanceCells.PairOutcome<>(fromUpdated, toUpdated, () -> {
+                    insertTransferHistories(fromUserId, toUserId, amount, fromUpdated, toUpdated);
+                    return new PointTransferResult(updatedPoint(fromUserId, fromUpdated), updatedPoint(toUserId, toUpdated));
+                });
+            });
+        }).whenComplete((transfer, e) -> {
+            if (e != null && !recorded.get() && !shed(e)) {
+                // 대기 시간 초과 등으로 작업이 실행되지 않은 경우
+                insertHistory(fromUserId, amount, TransactionType.FAIL, JournalRecord.UNKNOWN_BALANCE);
+            }
+            pointMetrics.recordOperation("transfer", startedAt, e == null);
+        });
+    }
+
+    public PointTransferResult transfer(final Long fromUserId, final Long toUserId, final Long amount) {
+        return await(transferAsync(fromUserId, toUserId, amount));
+    }
+
+    // 두 사용자의 현재 잔고로 attempt 를 계산하고 publish 실행 (OPTIMISTIC 은 두 잔고 셀을 함께 잡음)
+    private <T> T applyToBalances(long userId, long otherUserId, BalanceCells.PairAttempt<T> attempt) {
+        if (balanceCells == null) {
+            long balance = userPointCache.selectById(userId).point();
+            long otherBalance = userPointCache.selectById(otherUserId).point();
+            return attempt.apply(balance, otherBalance).publish().get();
+        }
+        return balanceCells.update(userId, () -> userPointCache.selectById(userId).point(),
+                otherUserId, () -> userPointCache.selectById(otherUserId).point(), attempt);
+    }
+
+    /**
+     * 충전/사용 일괄 처리
+     * - 사용자별로 묶어 사용자 작업 한 번 안에서 처리 : 잔고 조회 1회, 요청을 차례로 적용, 최종 잔고 저장 1회
+     * - 검증에 실패한 요청만 실패로 기록하고 나머지는 계속 적용
+     * - 이력은 사용자별로 한 번에 적재
+     * - 결과는 요청 순서대로 반환
+     */
+    public CompletableFuture<List<PointOperationResult>> applyBatch(final List<PointOperation> operations) {
+        if (operations.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("일괄 처리는 한 번에 " + MAX_BATCH_SIZE + "건까지 가능합니다");
+        }
+        long startedAt = System.nanoTime();
+        Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            indexesByUser.computeIfAbsent(operations.get(i).userId(), id -> new ArrayList<>()).add(i);
+        }
+
+        PointOperationResult[] results = new PointOperationResult[operations.size()];
+        CompletableFuture<?>[] futures = indexesByUser.entrySet().stream()
+                .map(entry -> {
+                    List<Integer> indexes = entry.getValue();
+                    List<PointOperation> userOperations = indexes.stream().map(operations::get).toList();
+                    return applyUserBatch(entry.getKey(), userOperations).thenAccept(userResults -> {
+                        for (int i = 0; i < indexes.size(); i++) {
+                            results[indexes.get(i)] = userResults.get(i);
+                        }
+                    });
+                })
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(futures)
+                .thenApply(ignored -> Arrays.asList(results))
+                .whenComplete((batchResults, e) -> pointMetrics.recordOperation("batch", startedAt, e == null));
+    }
+
+    // 한 사용자의 요청들을 사용자 작업 한 번으로 처리, 작업 자체가 실패하면(대기 시간 초과 등) 모든 요청을 실패로 반환
+    private CompletableFuture<List<PointOperationResult>> applyUserBatch(
+            final long userId,
+            final List<PointOperation> operations
+    ) {
+        return submitUserBatch(userId, () -> operations).thenApply(PointCombiner.Applied::results).exceptionally(e -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            return operations.stream()
+                    .map(operation -> PointOperationResult.failure(operation, cause.getMessage()))
+                    .toList();
+        });
+    }
+
+    // 한 사용자의 요청들을 사용자 작업 한 번으로 처리 (일괄 처리, 결합 처리), 작업이 실행되지 않으면 그 원인으로 완료
+    // 요청은 작업이 실행될 때 꺼냄 (결합 처리는 차례를 기다리는 동안 들어온 요청까지 함께 처리)
+    private CompletableFuture<PointCombiner.Applied> submitUserBatch(
+            final long userId,
+            final Supplier<List<PointOperation>> drain
+    ) {
+        AtomicBoolean recorded = new AtomicBoolean(false);
+        return submitTask(userId, () -> {
+            recorded.set(true);
+            List<PointOperation> operations = drain.get();
+            return applyToBalance(userId, balance -> {
+                long now = System.currentTimeMillis();
+                UserPoint current = new UserPoint(userId, balance, now);
+                boolean changed = false;
+                List<PointOperationResult> results = new ArrayList<>(operations.size());
+                List<PointHistoryWriter.Entry> histories = new ArrayList<>(operations.size());
+                for (PointOperation operation : operations) {
+                    try {
+                        current = new UserPoint(userId, operation.apply(current), now);
+                        changed = true;
+                        results.add(PointOperationResult.success(operation, current.point()));
+                        histories.add(new PointHistoryWriter.Entry(operation.amount(), operation.type(), now, current.point()));
+                    } catch (IllegalArgumentException e) {
+                        results.add(PointOperationResult.failure(operation, e.getMessage()));
+                        histories.add(new PointHistoryWriter.Entry(operation.amount(), TransactionType.FAIL, now, current.point()));
+                    }
+                }
+                long updated = current.point();
+                boolean update = changed;
+                return new BalanceCells.Outcome<>(updated, () -> {
+                    insertHistories(userId, histories);
+                    return new PointCombiner.Applied(results, update ? updatedPoint(userId, updated) : null);
+                });
+            });
+        }).whenComplete((results, e) -> {
+            if (e != null && !recorded.get() && !shed(e)) {
+                // 대기 시간 초과 등으로 작업이 실행되지 않은 경우
+                long now = System.currentTimeMillis();
+                insertHistories(userId, drain.get().stream()
+                        .map(operation -> new PointHistoryWriter.Entry(
+                                operation.amount(), TransactionType.FAIL, now, JournalRecord.UNKNOWN_BALANCE))
+                        .toList());
+            }
+        });
+    }
+
+    /**
+     * 요청이 몰리는 사용자 추적 결과와 결합 처리 현황 (결합 처리를 끄면 빈 목록)
+     */
+    public CombiningReport combiningReport() {
+        if (hotUserTracker == null) {
+            return new CombiningReport(List.of(), combiningStats());
+        }
+        return new CombiningReport(hotUserTracker.topK(), combiningStats());
+    }
+
+    public PointCombiner.Stats combiningStats() {
+        return pointCombiner == null ? new PointCombiner.Stats(0, 0) : pointCombiner.stats();
+    }
+
+    public record CombiningReport(List<HotUserTracker.HotUser> topK, PointCombiner.Stats combining) {
+    }
+
+    // 입장 제어로 대기열에 넣기 전에(또는 풀이) 거절한 요청 : 과부하 중 이력 기록 부하를 더하지 않도록 실패 이력을 남기지 않음
+    private static boolean shed(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof UserTaskRejectedException rejected
+                && rejected.reason() != UserTaskRejectedException.Reason.DEADLINE;
+    }
+
+    // 동기 호출용 : CompletionException 을 벗겨 원래 예외를 던짐
+    private <T> T await(CompletableFuture<T> future) {
         try {
-            return submitTask(userId, () -> {
-                UserPoint user = this.select(userId);
-                long useAmount = user.calculateUseAmount(amount);
-                return updatedPoint(userId, useAmount);
-            }).get();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt(); // 인터럽트 상태 복원
-            throw new RuntimeException("작업이 중단되었습니다.", e);
-        } catch (IllegalStateException | ExecutionException e) {
-            type = TransactionType.FAIL;
-            throw new IllegalStateException(e.getMessage());
-        } finally {
-            insertHistory(userId, amount, type);
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
         }
     }
 
+    // 캐시에 없을 때만 테이블 조회, 같은 사용자의 동시 조회는 테이블 호출 하나를 함께 기다림
     public UserPoint select(final Long userId) {
-        return userPointTable.selectById(userId);
+        long startedAt = System.nanoTime();
+        boolean success = false;
+        try {
+            UserPoint userPoint = userPointCache.read(userId);
+            success = true;
+            return userPoint;
+        } finally {
+            pointMetrics.recordOperation("select", startedAt, success);
+        }
     }
 
+    // 사용자 작업 안에서 테이블과 캐시를 함께 갱신 (변경 직후 조회도 최신 잔고)
     public UserPoint updatedPoint(final Long userId, final Long amount) {
-        return userPointTable.insertOrUpdate(userId, amount);
+        return userPointCache.insertOrUpdate(userId, amount);
+    }
+
+    // 이력은 write-behind 대기열에 적재만 하고 바로 반환 (기록과 사용자별 순번, 저널은 PointHistoryWriter 가 담당)
+    public void insertHistory(final long userId, final long amount, final TransactionType type, final long balanceAfter){
+        pointHistoryWriter.write(userId, amount, type, System.currentTimeMillis(), balanceAfter);
+        pointMetrics.countTransaction(type);
+    }
+
+    private void insertTransferHistories(long fromUserId, long toUserId, long amount, long fromBalanceAfter, long toBalanceAfter) {
+        pointHistoryWriter.writeTransfer(fromUserId, toUserId, amount, System.currentTimeMillis(), fromBalanceAfter, toBalanceAfter);
+        pointMetrics.countTransaction(TransactionType.TRANSFER_OUT);
+        pointMetrics.countTransaction(TransactionType.TRANSFER_IN);
     }
 
-    public void insertHistory(final long userId, final long amount, final TransactionType type){
-        pointHistoryTable.insert(userId, amount, type, System.currentTimeMillis());
+    private void insertHistories(final long userId, final List<PointHistoryWriter.Entry> histories) {
+        pointHistoryWriter.writeAll(userId, histories);
+        histories.forEach(history -> pointMetrics.countTransaction(history.type()));
     }
 
+    // 전체 이력을 훑는 테이블 대신 사용자별 색인에서 조회 (비용 = 본인 이력 수), 이력이 없으면 빈 리스트
+    // 색인은 이력 id 를 부여할 때 함께 갱신되므로 테이블 기록(write-behind)을 기다리지 않음
     public List<PointHistory> getPointHistories(Long userId) {
-        List<PointHistory> histories = pointHistoryTable.selectAllByUserId(userId);
-        if (histories == null || histories.isEmpty()) {
-            return Collections.emptyList(); // null 대신 빈 리스트 반환
-        }
+        long startedAt = System.nanoTime();
+        List<PointHistory> histories = pointHistoryIndex.findAllByUserId(userId);
+        pointMetrics.recordOperation("histories", startedAt, true);
         return histories;
     }
+
+    // 이력 요약 : 색인이 덧붙일 때 갱신한 합계 / 시간 버킷만 읽으므로 이력 수와 무관
+    public PointSummary getSummary(Long userId, PointSummary.Window window) {
+        long startedAt = System.nanoTime();
+        PointSummary summary = pointHistoryIndex.summarize(userId, window, System.currentTimeMillis());
+        pointMetrics.recordOperation("summary", startedAt, true);
+        return summary;
+    }
+
+    // 이력 페이지 조회 : cursor 다음 위치부터 압축된 열 값으로 조건을 확인하고, 맞는 이력만 size 건까지 객체로 만듦
+    // 처리 시간은 스트림을 닫을 때까지 (응답 쓰기 포함)
+    public Stream<PointHistory> getPointHistories(Long userId, PointHistoryQuery query) {
+        long startedAt = System.nanoTime();
+        List<PointHistory> page = new ArrayList<>(query.size());
+        long afterId = query.cursor() == null ? Long.MIN_VALUE : query.cursor();
+        pointHistoryIndex.scanByUserId(userId, afterId, (id, amount, type, updateMillis) -> {
+            if (query.matches(type, updateMillis)) {
+                page.add(new PointHistory(id, userId, amount, type, updateMillis));
+            }
+            return page.size() < query.size();
+        });
+        return page.stream()
+                .onClose(() -> pointMetrics.recordOperation("histories_page", startedAt, true));
+    }
 }
@@ -0,0 +1,31 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 사용자 포인트 이력 요약
+ * - window : 집계 구간
+ * - totalCharged / totalUsed : 구간 안의 충전(CHARGE) / 사용(USE) 금액 합계 (이체는 포함하지 않음)
+ * - failCount : 구간 안의 실패(FAIL) 이력 수
+ * - lastActivityMillis : 구간과 관계없이 마지막 이력의 변경 시각 (이력이 없으면 0)
+ */
+public record PointSummary(
+        long userId,
+        Window window,
+        long totalCharged,
+        long totalUsed,
+        long failCount,
+        long lastActivityMillis
+) {
+
+    public static PointSummary empty(long userId, Window window) {
+        return new PointSummary(userId, window, 0L, 0L, 0L, 0L);
+    }
+
+    /**
+     * - ALL : 전체 이력
+     * - LAST_24H : 현재 시각이 속한 1시간 구간을 포함한 최근 24개 구간 (UTC 정시 기준)
+     * - LAST_7D : 현재 시각이 속한 하루 구간을 포함한 최근 7개 구간 (UTC 자정 기준)
+     */
+    public enum Window {
+        ALL, LAST_24H, LAST_7D
+    }
+}
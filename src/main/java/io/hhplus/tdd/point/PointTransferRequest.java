@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 이체 요청 (fromUserId 가 toUserId 에게 amount 만큼 보냄)
+ */
+public record PointTransferRequest(
+        long fromUserId,
+        long toUserId,
+        long amount
+) {
+}
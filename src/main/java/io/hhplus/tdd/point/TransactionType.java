@@ -6,7 +6,9 @@ package io.hhplus.tdd.point;
  * - CHARGE : 충전
  * - USE : 사용
  * - FAIL : 실패
+ * - TRANSFER_OUT / TRANSFER_IN : 이체로 보낸 / 받은 포인트 (한 이체의 두 이력은 id 가 이어짐, IN = OUT + 1)
+ * 저널이 ordinal 을 기록하므로 새 종류는 끝에만 추가한다.
  */
 public enum TransactionType {
-    CHARGE, USE, FAIL
+    CHARGE, USE, FAIL, TRANSFER_OUT, TRANSFER_IN
 }
\ No newline at end of file
@@ -24,6 +24,12 @@ public record UserPoint(
         return point - amount;
     }
 
+    // 이체로 받는 금액은 충전 단위/한도 없이 최대 잔고만 확인
+    public long calculateReceiveAmount(long amount) {
+        validateTotalPoint(point + amount);
+        return point + amount;
+    }
+
     private void validateCharge(long amount) {
         if (amount < MIN_CHARGE_AMOUNT) {
             throw new IllegalArgumentException("최소 " + MIN_CHARGE_AMOUNT + "원 이상 충전 가능합니다");
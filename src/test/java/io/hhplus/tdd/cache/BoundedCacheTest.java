@@ -0,0 +1,109 @@
+package io.hhplus.tdd.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    @DisplayName("크기를 넘으면 가장 오래 안 쓴 항목부터 제거")
+    void put_WhenFull_ShouldEvictLeastRecentlyUsed() {
+        // given (크기 1 이면 세그먼트 1개)
+        BoundedCache<Long, String> cache = new BoundedCache<>(1, Duration.ofMinutes(1), now::get);
+        cache.put(1L, "a");
+
+        // when
+        cache.put(2L, "b");
+
+        // then
+        assertThat(cache.getIfPresent(1L)).isNull();
+        assertThat(cache.getIfPresent(2L)).isEqualTo("b");
+        assertThat(cache.stats().evictionCount()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("ttl 이 지나면 만료되어 다시 적재")
+    void get_WhenExpired_ShouldReload() {
+        // given
+        BoundedCache<Long, String> cache = new BoundedCache<>(100, Duration.ofSeconds(10), now::get);
+        AtomicLong loads = new AtomicLong();
+        cache.get(1L, id -> "v" + loads.incrementAndGet());
+
+        // when
+        String beforeExpiry = cache.get(1L, id -> "v" + loads.incrementAndGet());
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        String afterExpiry = cache.get(1L, id -> "v" + loads.incrementAndGet());
+
+        // then
+        assertThat(beforeExpiry).isEqualTo("v1");
+        assertThat(afterExpiry).isEqualTo("v2");
+        BoundedCache.Stats stats = cache.stats();
+        assertThat(stats.hitCount()).isEqualTo(1);
+        assertThat(stats.missCount()).isEqualTo(2);
+        assertThat(stats.expirationCount()).isEqualTo(1);
+        assertThat(stats.hitRate()).isEqualTo(1.0 / 3);
+    }
+
+    @Test
+    @DisplayName("적재 중에 값이 저장되면 적재한 이전 값은 캐시에 넣지 않음")
+    void get_WhenPutDuringLoad_ShouldDiscardLoadedValue() {
+        // given
+        BoundedCache<Long, String> cache = new BoundedCache<>(100, Duration.ofMinutes(1), now::get);
+
+        // when : 느린 조회가 끝나기 전에 잔고 변경이 캐시에 저장된 상황
+        String loaded = cache.get(1L, id -> {
+            cache.put(1L, "new");
+            cache.invalidate(1L); // 저장된 값이 밀려난 경우까지 포함
+            return "old";
+        });
+
+        // then
+        assertThat(loaded).isEqualTo("old");
+        assertThat(cache.getIfPresent(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("putIfAbsent 는 살아 있는 값이 있으면 그 값을 반환하고, 만료됐으면 새 값으로 저장")
+    void putIfAbsent_ShouldKeepLiveValueAndReplaceExpired() {
+        // given
+        BoundedCache<Long, String> cache = new BoundedCache<>(100, Duration.ofSeconds(10), now::get);
+
+        // when
+        String first = cache.putIfAbsent(1L, "a");
+        String duplicate = cache.putIfAbsent(1L, "b");
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        String afterExpiry = cache.putIfAbsent(1L, "c");
+
+        // then
+        assertThat(first).isNull();
+        assertThat(duplicate).isEqualTo("a");
+        assertThat(afterExpiry).isNull();
+        assertThat(cache.getIfPresent(1L)).isEqualTo("c");
+    }
+
+    @Test
+    @DisplayName("값을 지정한 invalidate 는 저장된 값이 같을 때만 제거")
+    void invalidate_WithValue_ShouldRemoveOnlySameValue() {
+        // given
+        BoundedCache<Long, String> cache = new BoundedCache<>(100, Duration.ofMinutes(1), now::get);
+        String stored = "a";
+        cache.put(1L, stored);
+
+        // when
+        cache.invalidate(1L, "other");
+        String afterMismatch = cache.getIfPresent(1L);
+        cache.invalidate(1L, stored);
+
+        // then
+        assertThat(afterMismatch).isEqualTo("a");
+        assertThat(cache.getIfPresent(1L)).isNull();
+    }
+}
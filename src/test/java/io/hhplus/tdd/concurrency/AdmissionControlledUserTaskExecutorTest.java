@@ -0,0 +1,174 @@
+package io.hhplus.tdd.concurrency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlledUserTaskExecutorTest {
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(2);
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<UserTaskRejectedException.Reason> rejections = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executorService.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("한 사용자의 처리 중 작업이 상한이면 USER_LIMIT 로 거절하고, 다른 사용자는 받음")
+    void submit_WhenUserLimitReached_ShouldRejectOnlyThatUser() {
+        // given
+        AdmissionControlledUserTaskExecutor executor = admission(mailbox(), 100, 2);
+        CompletableFuture<Void> first = executor.submit(1L, this::await);
+        executor.submit(1L, this::await);
+
+        // when
+        CompletableFuture<Void> rejected = executor.submit(1L, this::await);
+        CompletableFuture<Void> otherUser = executor.submit(2L, this::await);
+
+        // then
+        assertThat(rejected.handle((value, e) -> (UserTaskRejectedException) e).join())
+                .satisfies(e -> {
+                    assertThat(e.reason()).isEqualTo(UserTaskRejectedException.Reason.USER_LIMIT);
+                    assertThat(e.retryAfter()).isEqualTo(RETRY_AFTER);
+                });
+        assertThat(otherUser).isNotDone();
+        assertThat(executor.inFlight()).isEqualTo(3);
+        assertThat(executor.inFlight(1L)).isEqualTo(2);
+        assertThat(rejections).containsExactly(UserTaskRejectedException.Reason.USER_LIMIT);
+
+        // 작업이 끝나면 자리를 반납
+        release.countDown();
+        assertThat(first).succeedsWithin(Duration.ofSeconds(5));
+        assertThat(otherUser).succeedsWithin(Duration.ofSeconds(5));
+        assertThat(executor.submit(1L, () -> 1)).succeedsWithin(Duration.ofSeconds(5)).isEqualTo(1);
+        assertThat(executor.inFlight()).isZero();
+        assertThat(executor.inFlight(1L)).isZero();
+    }
+
+    @Test
+    @DisplayName("전체 처리 중 작업이 상한이면 OVERLOADED 로 거절")
+    void submit_WhenGlobalLimitReached_ShouldRejectAsOverloaded() {
+        // given
+        AdmissionControlledUserTaskExecutor executor = admission(mailbox(), 2, 10);
+        executor.submit(1L, this::await);
+        executor.submit(2L, this::await);
+
+        // when
+        CompletableFuture<Void> rejected = executor.submit(3L, this::await);
+
+        // then
+        assertThat(reasonOf(rejected)).isEqualTo(UserTaskRejectedException.Reason.OVERLOADED);
+        assertThat(executor.inFlight(3L)).isZero(); // 거절된 사용자의 자리는 남지 않음
+    }
+
+    @Test
+    @DisplayName("두 사용자 작업은 두 사용자 모두의 상한에 걸리고, 한쪽이 거절되면 다른 쪽 자리도 되돌림")
+    void submitPair_WhenOneUserLimitReached_ShouldReleaseTheOther() {
+        // given
+        AdmissionControlledUserTaskExecutor executor = admission(mailbox(), 100, 1);
+        executor.submit(2L, this::await);
+
+        // when
+        CompletableFuture<Void> rejected = executor.submit(1L, 2L, this::await);
+
+        // then
+        assertThat(reasonOf(rejected)).isEqualTo(UserTaskRejectedException.Reason.USER_LIMIT);
+        assertThat(executor.inFlight(1L)).isZero();
+        assertThat(executor.inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("스레드 풀 대기열이 가득 차 거절되면 OVERLOADED 로 완료")
+    void submit_WhenPoolQueueIsFull_ShouldRejectAsOverloaded() {
+        // given : 스레드 1개, 대기열 1칸
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(1));
+        try {
+            AdmissionControlledUserTaskExecutor executor = admission(
+                    new ConcurrentUserTaskExecutor(pool, Duration.ofSeconds(10)), 100, 100);
+            executor.submit(1L, this::await);
+            executor.submit(2L, this::await);
+
+            // when
+            CompletableFuture<Void> rejected = executor.submit(3L, this::await);
+
+            // then
+            assertThat(reasonOf(rejected)).isEqualTo(UserTaskRejectedException.Reason.OVERLOADED);
+            assertThat(executor.inFlight()).isEqualTo(2);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("대기 시간을 넘긴 작업은 실행하지 않고 DEADLINE 으로 완료하며, 그 시점에 자리를 반납")
+    void submit_WhenDeadlinePassed_ShouldDropAndReleaseSlot() {
+        // given : 스레드 1개를 앞 작업이 점유
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        try {
+            AdmissionControlledUserTaskExecutor executor = admission(
+                    new ConcurrentUserTaskExecutor(single, Duration.ofMillis(100)), 100, 100);
+            executor.submit(1L, this::await);
+            List<Integer> executed = new ArrayList<>();
+
+            // when
+            CompletableFuture<Integer> dropped = executor.submit(2L, () -> {
+                executed.add(2);
+                return 2;
+            });
+
+            // then
+            assertThat(reasonOf(dropped)).isEqualTo(UserTaskRejectedException.Reason.DEADLINE);
+            assertThat(executor.inFlight(2L)).isZero();
+            release.countDown();
+            single.shutdown();
+            assertThat(executed).isEmpty();
+            assertThat(rejections).contains(UserTaskRejectedException.Reason.DEADLINE);
+        } finally {
+            single.shutdownNow();
+        }
+    }
+
+    private AdmissionControlledUserTaskExecutor admission(UserTaskExecutor delegate, int maxInFlight, int maxInFlightPerUser) {
+        return new AdmissionControlledUserTaskExecutor(delegate, maxInFlight, maxInFlightPerUser, RETRY_AFTER,
+                reason -> {
+                    synchronized (rejections) {
+                        rejections.add(reason);
+                    }
+                });
+    }
+
+    private static UserTaskRejectedException.Reason reasonOf(CompletableFuture<?> future) {
+        return future.handle((value, e) -> ((UserTaskRejectedException) e).reason()).join();
+    }
+
+    private MailboxUserTaskExecutor mailbox() {
+        return new MailboxUserTaskExecutor(executorService, Duration.ofSeconds(10), 8);
+    }
+
+    private Void await() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,206 @@
+package io.hhplus.tdd.concurrency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BalanceCellsTest {
+
+    private static final int THREADS = 8;
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+    private final AtomicLong retries = new AtomicLong();
+    private final BalanceCells balanceCells = new BalanceCells(retries::incrementAndGet);
+    // 셀이 비워지면 잔고를 다시 읽어 오는 저장소 (publish 에서 반영)
+    private final Map<Long, Long> store = new ConcurrentHashMap<>();
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("같은 사용자의 동시 변경이 유실되지 않고, publish 는 변경 순서대로 겹치지 않게 실행")
+    void update_WhenConcurrent_ShouldApplyAllAndPublishInOrder() {
+        // given
+        int updatesPerThread = 10_000;
+        AtomicInteger publishing = new AtomicInteger();
+        List<Long> published = new ArrayList<>(); // publish 가 겹치지 않으면 동기화 없이도 안전
+
+        // when
+        List<CompletableFuture<Void>> futures = IntStream.range(0, THREADS)
+                .mapToObj(thread -> CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < updatesPerThread; i++) {
+                        balanceCells.update(1L, loader(1L, 0L), balance -> new BalanceCells.Outcome<>(balance + 1, () -> {
+                            assertThat(publishing.incrementAndGet()).isEqualTo(1);
+                            published.add(balance + 1);
+                            store.put(1L, balance + 1);
+                            publishing.decrementAndGet();
+                            return balance + 1;
+                        }));
+                    }
+                }, executorService))
+                .toList();
+
+        // then
+        assertThat(CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])))
+                .succeedsWithin(Duration.ofSeconds(30));
+        long total = (long) THREADS * updatesPerThread;
+        assertThat(published).hasSize((int) total);
+        for (int i = 0; i < published.size(); i++) {
+            assertThat(published.get(i)).isEqualTo(i + 1L);
+        }
+        assertThat(balanceCells.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("변경 중인 작업이 없으면 셀을 제거하고, 다음 변경은 저장소 잔고를 다시 읽음")
+    void update_WhenIdle_ShouldEvictAndReload() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+        long first = balanceCells.update(1L, () -> {
+            loads.incrementAndGet();
+            return 10L;
+        }, balance -> new BalanceCells.Outcome<>(balance + 1, () -> balance + 1));
+        assertThat(balanceCells.size()).isZero();
+
+        // when : 셀 밖에서 저장소 잔고가 바뀐 뒤 다시 변경
+        long second = balanceCells.update(1L, () -> {
+            loads.incrementAndGet();
+            return 100L;
+        }, balance -> new BalanceCells.Outcome<>(balance + 1, () -> balance + 1));
+
+        // then
+        assertThat(first).isEqualTo(11L);
+        assertThat(second).isEqualTo(101L);
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(balanceCells.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("변경 중인 작업이 남아 있으면 셀을 유지하고, 끼어든 변경은 셀의 잔고에서 이어짐")
+    void update_WhenNested_ShouldKeepCellUntilLastRelease() {
+        // when : 바깥 변경이 셀을 잡은 동안 안쪽 변경이 끝남
+        long outer = balanceCells.update(1L, () -> 10L, balance -> {
+            if (balance == 10L) {
+                long inner = balanceCells.update(1L, () -> 0L, other -> new BalanceCells.Outcome<>(other + 5, () -> other + 5));
+                assertThat(inner).isEqualTo(15L);
+                assertThat(balanceCells.size()).isEqualTo(1);
+            }
+            return new BalanceCells.Outcome<>(balance + 1, () -> balance + 1);
+        });
+
+        // then : 안쪽 변경 이후 셀이 유지되어 재시도는 15 에서 계산
+        assertThat(outer).isEqualTo(16L);
+        assertThat(balanceCells.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("충돌하면 검증을 포함한 계산을 최신 잔고로 다시 실행")
+    void update_WhenConflicted_ShouldRevalidateWithLatestBalance() {
+        // given
+        store.put(1L, 100L);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // when : 첫 계산 도중 다른 변경이 끼어들어 잔고가 0 이 됨
+        String result = balanceCells.update(1L, loader(1L, 0L), balance -> {
+            if (attempts.incrementAndGet() == 1) {
+                balanceCells.update(1L, loader(1L, 0L), other -> new BalanceCells.Outcome<>(0L, () -> store.put(1L, 0L)));
+            }
+            boolean enough = balance >= 100L;
+            return new BalanceCells.Outcome<>(enough ? balance - 100L : balance, () -> enough ? "USE" : "FAIL");
+        });
+
+        // then
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(result).isEqualTo("FAIL");
+        assertThat(retries.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("publish 가 실패해도 예외를 그대로 전달하고 다음 변경은 멈추지 않음")
+    void update_WhenPublishFails_ShouldPropagateAndContinue() {
+        // when
+        assertThatThrownBy(() -> balanceCells.update(1L, loader(1L, 0L), balance -> new BalanceCells.Outcome<Long>(balance + 10, () -> {
+            throw new IllegalArgumentException("기록 실패");
+        }))).isInstanceOf(IllegalArgumentException.class);
+        long next = balanceCells.update(1L, loader(1L, 0L), balance -> new BalanceCells.Outcome<>(balance + 1, () -> balance + 1));
+
+        // then : 실패한 변경이 끝나 셀이 비워졌으므로, 다음 변경은 publish 가 반영하지 못한 잔고가 아닌 저장소 잔고에서 이어짐
+        assertThat(next).isEqualTo(1L);
+        assertThat(balanceCells.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("두 사용자 변경이 반대 방향으로 동시에 들어와도 멈추지 않고, 합계가 보존되며 잔고가 음수가 되지 않음")
+    void updatePair_WhenOppositeDirections_ShouldConserveTotal() {
+        // given
+        int users = 4;
+        long initial = 100L;
+        int transfersPerThread = 5_000;
+        AtomicLong publishedTransfers = new AtomicLong();
+
+        // when : 스레드마다 서로 다른 방향으로 1씩 옮기고, 사이사이 단일 변경(+0)을 섞음
+        List<CompletableFuture<Void>> futures = IntStream.range(0, THREADS)
+                .mapToObj(thread -> CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < transfersPerThread; i++) {
+                        long from = 1 + (thread + i) % users;
+                        long to = 1 + (thread + i + 1 + i % (users - 1)) % users;
+                        balanceCells.update(from, loader(from, initial), to, loader(to, initial), (fromBalance, toBalance) -> {
+                            boolean enough = fromBalance >= 1;
+                            long fromUpdated = enough ? fromBalance - 1 : fromBalance;
+                            long toUpdated = enough ? toBalance + 1 : toBalance;
+                            return new BalanceCells.PairOutcome<>(fromUpdated, toUpdated, () -> {
+                                assertThat(fromBalance).isNotNegative();
+                                store.put(from, fromUpdated);
+                                store.put(to, toUpdated);
+                                return publishedTransfers.incrementAndGet();
+                            });
+                        });
+                        balanceCells.update(from, loader(from, initial), balance -> new BalanceCells.Outcome<>(balance, () -> balance));
+                    }
+                }, executorService))
+                .toList();
+
+        // then
+        assertThat(CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])))
+                .succeedsWithin(Duration.ofSeconds(30));
+        long total = 0;
+        for (long user = 1; user <= users; user++) {
+            long balance = balanceCells.update(user, loader(user, initial), current -> new BalanceCells.Outcome<>(current, () -> current));
+            assertThat(balance).isNotNegative();
+            total += balance;
+        }
+        assertThat(total).isEqualTo(users * initial);
+        assertThat(publishedTransfers.get()).isEqualTo((long) THREADS * transfersPerThread);
+        assertThat(balanceCells.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 사용자끼리의 두 사용자 변경은 거절")
+    void updatePair_WhenSameUser_ShouldThrow() {
+        assertThatThrownBy(() -> balanceCells.update(1L, () -> 0L, 1L, () -> 0L,
+                (balance, other) -> new BalanceCells.PairOutcome<>(balance, other, () -> balance)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private LongSupplier loader(long userId, long initial) {
+        return () -> store.getOrDefault(userId, initial);
+    }
+}
@@ -0,0 +1,74 @@
+package io.hhplus.tdd.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HotUserTrackerTest {
+
+    @Test
+    @DisplayName("요청이 몰리는 사용자만 window 가 지나면 hot 으로 판정")
+    void record_WhenSkewed_ShouldFlagOnlyHeavyHitter() {
+        // given : 모든 요청을 표본으로, window 100 / 비율 20%
+        HotUserTracker tracker = new HotUserTracker(8, 1, 100, 0.2);
+
+        // when : 절반은 사용자 1, 나머지는 50명에게 한 번씩
+        for (int i = 0; i < 50; i++) {
+            tracker.record(1L);
+            tracker.record(100L + i);
+        }
+
+        // then
+        assertThat(tracker.isHot(1L)).isTrue();
+        assertThat(tracker.isHot(100L)).isFalse();
+        assertThat(tracker.topK()).first().satisfies(user -> {
+            assertThat(user.userId()).isEqualTo(1L);
+            assertThat(user.hot()).isTrue();
+        });
+        assertThat(tracker.topK()).hasSizeLessThanOrEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("window 를 다 채우기 전에는 hot 으로 판정하지 않음")
+    void record_BeforeWindow_ShouldNotFlag() {
+        // given
+        HotUserTracker tracker = new HotUserTracker(8, 1, 100, 0.2);
+
+        // when
+        for (int i = 0; i < 99; i++) {
+            tracker.record(1L);
+        }
+
+        // then
+        assertThat(tracker.isHot(1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("요청이 줄어든 사용자는 몇 window 뒤에 hot 에서 빠짐")
+    void record_WhenTrafficMoves_ShouldDecay() {
+        // given
+        HotUserTracker tracker = new HotUserTracker(8, 1, 100, 0.2);
+        for (int i = 0; i < 100; i++) {
+            tracker.record(1L);
+        }
+        assertThat(tracker.isHot(1L)).isTrue();
+
+        // when : 이후 요청은 모두 사용자 2
+        for (int i = 0; i < 500; i++) {
+            tracker.record(2L);
+        }
+
+        // then
+        assertThat(tracker.isHot(1L)).isFalse();
+        assertThat(tracker.isHot(2L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("잘못된 설정값은 생성 시 거절")
+    void create_WhenInvalid_ShouldThrow() {
+        assertThatThrownBy(() -> new HotUserTracker(0, 1, 100, 0.2)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HotUserTracker(8, 1, 100, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
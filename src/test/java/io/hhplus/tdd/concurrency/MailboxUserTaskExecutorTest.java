@@ -0,0 +1,194 @@
+package io.hhplus.tdd.concurrency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class MailboxUserTaskExecutorTest {
+
+    private static final int POOL_SIZE = 4;
+    private static final int HOT_TASK_COUNT = 200;
+    private static final int COLD_USER_COUNT = 20;
+    private static final long TASK_MILLIS = 10;
+
+    private ExecutorService executorService;
+
+    @BeforeEach
+    void setUp() {
+        executorService = Executors.newFixedThreadPool(POOL_SIZE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("같은 사용자의 작업은 겹치지 않고 제출 순서대로 실행")
+    void submit_SameUser_ShouldRunSeriallyInOrder() {
+        // given
+        MailboxUserTaskExecutor executor = new MailboxUserTaskExecutor(executorService, Duration.ofSeconds(10), 8);
+        AtomicInteger running = new AtomicInteger();
+        List<Integer> executed = new ArrayList<>(); // 직렬 실행이 보장되면 동기화 없이도 안전
+
+        // when
+        List<CompletableFuture<Integer>> futures = IntStream.range(0, 100)
+                .mapToObj(i -> executor.submit(1L, () -> {
+                    assertThat(running.incrementAndGet()).isEqualTo(1);
+                    executed.add(i);
+                    running.decrementAndGet();
+                    return i;
+                }))
+                .collect(Collectors.toList());
+
+        // then
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join()
+        );
+        assertThat(executed).containsExactlyElementsOf(IntStream.range(0, 100).boxed().toList());
+    }
+
+    @Test
+    @DisplayName("특정 사용자에게 요청이 몰려도 다른 사용자의 대기 시간은 늘어나지 않음")
+    void submit_WhenOneUserIsHot_ColdUserLatencyShouldStayFlat() {
+        // given
+        MailboxUserTaskExecutor executor = new MailboxUserTaskExecutor(executorService, Duration.ofSeconds(30), 8);
+        final long hotUserId = 1L;
+        List<CompletableFuture<Void>> hotFutures = IntStream.range(0, HOT_TASK_COUNT)
+                .mapToObj(i -> executor.submit(hotUserId, () -> sleep(TASK_MILLIS)))
+                .collect(Collectors.toList());
+
+        // when
+        List<CompletableFuture<Long>> coldLatencies = IntStream.range(0, COLD_USER_COUNT)
+                .mapToObj(i -> {
+                    long submittedAt = System.nanoTime();
+                    return executor.submit(100L + i, () -> sleep(TASK_MILLIS))
+                            .thenApply(ignored -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submittedAt));
+                })
+                .collect(Collectors.toList());
+
+        // then
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () ->
+                CompletableFuture.allOf(coldLatencies.toArray(new CompletableFuture[0])).join()
+        );
+        // 핫 유저 작업(200 x 10ms = 2초) 뒤에 줄 서지 않고, 나머지 풀 스레드에서 바로 처리되어야 함
+        long maxColdLatency = coldLatencies.stream().mapToLong(CompletableFuture::join).max().orElseThrow();
+        assertThat(maxColdLatency).isLessThan(HOT_TASK_COUNT * TASK_MILLIS / 4);
+        assertThat(hotFutures).noneMatch(CompletableFuture::isCompletedExceptionally);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () ->
+                CompletableFuture.allOf(hotFutures.toArray(new CompletableFuture[0])).join()
+        );
+    }
+
+    @Test
+    @DisplayName("작업이 끝난 사용자의 메일박스는 제거됨")
+    void submit_WhenMailboxDrained_ShouldRemoveMailbox() {
+        // given
+        MailboxUserTaskExecutor executor = new MailboxUserTaskExecutor(executorService, Duration.ofSeconds(10), 8);
+
+        // when
+        List<CompletableFuture<Long>> futures = IntStream.range(0, 1_000)
+                .mapToObj(i -> executor.submit(i, () -> (long) i))
+                .collect(Collectors.toList());
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        // then
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            while (executor.mailboxCount() > 0) {
+                Thread.onSpinWait();
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("작업 예외는 IllegalStateException 으로 전달되고 이후 작업은 계속 실행")
+    void submit_WhenTaskThrows_ShouldFailOnlyThatTask() {
+        // given
+        MailboxUserTaskExecutor executor = new MailboxUserTaskExecutor(executorService, Duration.ofSeconds(10), 8);
+
+        // when
+        CompletableFuture<Long> failed = executor.submit(1L, () -> {
+            throw new IllegalArgumentException("잔고가 부족하여 사용이 불가능 합니다");
+        });
+        CompletableFuture<Long> next = executor.submit(1L, () -> 1L);
+
+        // then
+        assertThat(failed).failsWithin(Duration.ofSeconds(5))
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(IllegalStateException.class)
+                .withMessageContaining("잔고가 부족하여 사용이 불가능 합니다");
+        assertThat(next).succeedsWithin(Duration.ofSeconds(5)).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("두 사용자 작업은 두 사용자 어느 쪽 작업과도 겹치지 않고, 반대 방향이 동시에 들어와도 모두 끝남")
+    void submitPair_WhenOppositeDirections_ShouldNotOverlapOrDeadlock() {
+        // given
+        MailboxUserTaskExecutor executor = new MailboxUserTaskExecutor(executorService, Duration.ofSeconds(30), 8);
+        int users = 4;
+        AtomicInteger[] running = IntStream.range(0, users).mapToObj(i -> new AtomicInteger()).toArray(AtomicInteger[]::new);
+        AtomicInteger overlaps = new AtomicInteger();
+
+        // when
+        List<CompletableFuture<Void>> futures = IntStream.range(0, 2_000)
+                .mapToObj(i -> {
+                    int user = i % users;
+                    int other = (user + 1 + i % (users - 1)) % users;
+                    if (i % 3 == 0) {
+                        return executor.<Void>submit(user, () -> enter(running, overlaps, user));
+                    }
+                    return executor.<Void>submit(user, other, () -> enter(running, overlaps, user, other));
+                })
+                .toList();
+
+        // then
+        assertThat(CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])))
+                .succeedsWithin(Duration.ofSeconds(30));
+        assertThat(overlaps.get()).isZero();
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            while (executor.mailboxCount() > 0) {
+                Thread.onSpinWait();
+            }
+        });
+    }
+
+    // 사용자별 실행 중 표시, 이미 실행 중인 사용자가 있으면 겹침으로 기록
+    private static Void enter(AtomicInteger[] running, AtomicInteger overlaps, int... users) {
+        for (int user : users) {
+            if (running[user].incrementAndGet() != 1) {
+                overlaps.incrementAndGet();
+            }
+        }
+        Thread.yield();
+        for (int user : users) {
+            running[user].decrementAndGet();
+        }
+        return null;
+    }
+
+    private static Void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+}
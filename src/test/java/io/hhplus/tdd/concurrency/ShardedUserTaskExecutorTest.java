@@ -0,0 +1,147 @@
+package io.hhplus.tdd.concurrency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardedUserTaskExecutorTest {
+
+    private static final int SHARDS = 4;
+
+    private final ShardedUserTaskExecutor executor = new ShardedUserTaskExecutor(SHARDS, Duration.ofSeconds(10));
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("같은 사용자의 작업은 항상 같은 shard 스레드에서 제출 순서대로 실행")
+    void submit_SameUser_ShouldRunOnOneThreadInOrder() {
+        // given
+        List<Integer> executed = new ArrayList<>(); // 한 스레드에서만 실행되므로 동기화 없이도 안전
+        List<String> threads = new ArrayList<>();
+
+        // when
+        List<CompletableFuture<Integer>> futures = IntStream.range(0, 100)
+                .mapToObj(i -> executor.submit(7L, () -> {
+                    executed.add(i);
+                    threads.add(Thread.currentThread().getName());
+                    return i;
+                }))
+                .toList();
+
+        // then
+        assertThat(CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])))
+                .succeedsWithin(Duration.ofSeconds(10));
+        assertThat(executed).containsExactlyElementsOf(IntStream.range(0, 100).boxed().toList());
+        assertThat(threads).containsOnly("point-shard-" + UserShards.shardOf(7L, SHARDS));
+    }
+
+    @Test
+    @DisplayName("한 shard 가 막혀도 다른 shard 의 사용자는 기다리지 않음")
+    void submit_WhenOneShardIsBlocked_OtherShardsShouldProceed() {
+        // given
+        long blockedUser = 1L;
+        long otherUser = LongStream.rangeClosed(2, 1_000)
+                .filter(id -> UserShards.shardOf(id, SHARDS) != UserShards.shardOf(blockedUser, SHARDS))
+                .findFirst()
+                .orElseThrow();
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> blocked = executor.submit(blockedUser, () -> {
+            try {
+                return release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+
+        // when
+        CompletableFuture<Long> other = executor.submit(otherUser, () -> otherUser);
+
+        // then
+        assertThat(other).succeedsWithin(Duration.ofSeconds(5)).isEqualTo(otherUser);
+        assertThat(blocked).isNotDone();
+        release.countDown();
+        assertThat(blocked).succeedsWithin(Duration.ofSeconds(5)).isEqualTo(true);
+    }
+
+    @Test
+    @DisplayName("연속된 사용자 id 도 shard 에 고르게 나뉘고, 같은 id 는 항상 같은 shard")
+    void shardOf_ShouldSpreadEvenlyAndStayStable() {
+        // given
+        int shards = 8;
+        int users = 100_000;
+        int[] counts = new int[shards];
+
+        // when
+        for (long id = 1; id <= users; id++) {
+            counts[UserShards.shardOf(id, shards)]++;
+        }
+
+        // then
+        int mean = users / shards;
+        assertThat(counts).allSatisfy(count -> assertThat(count).isBetween(mean * 9 / 10, mean * 11 / 10));
+        assertThat(UserShards.shardOf(12_345L, shards)).isEqualTo(UserShards.shardOf(12_345L, shards));
+    }
+
+    @Test
+    @DisplayName("다른 shard 의 두 사용자 작업은 두 사용자 어느 쪽 작업과도 겹치지 않고, 반대 방향이 동시에 들어와도 모두 끝남")
+    void submitPair_AcrossShards_ShouldNotOverlapOrDeadlock() {
+        // given
+        long[] users = new long[SHARDS]; // shard 마다 한 명
+        for (long id = 1, found = 0; found < SHARDS; id++) {
+            int shard = UserShards.shardOf(id, SHARDS);
+            if (users[shard] == 0) {
+                users[shard] = id;
+                found++;
+            }
+        }
+        AtomicInteger[] running = IntStream.range(0, users.length).mapToObj(i -> new AtomicInteger()).toArray(AtomicInteger[]::new);
+        AtomicInteger overlaps = new AtomicInteger();
+
+        // when
+        List<CompletableFuture<Void>> futures = IntStream.range(0, 2_000)
+                .mapToObj(i -> {
+                    int user = i % users.length;
+                    int other = (user + 1 + i % (users.length - 1)) % users.length;
+                    if (i % 3 == 0) {
+                        return executor.<Void>submit(users[user], () -> enter(running, overlaps, user));
+                    }
+                    return executor.<Void>submit(users[user], users[other], () -> enter(running, overlaps, user, other));
+                })
+                .toList();
+
+        // then
+        assertThat(CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])))
+                .succeedsWithin(Duration.ofSeconds(30));
+        assertThat(overlaps.get()).isZero();
+    }
+
+    // 사용자별 실행 중 표시, 이미 실행 중인 사용자가 있으면 겹침으로 기록
+    private static Void enter(AtomicInteger[] running, AtomicInteger overlaps, int... users) {
+        for (int user : users) {
+            if (running[user].incrementAndGet() != 1) {
+                overlaps.incrementAndGet();
+            }
+        }
+        Thread.yield();
+        for (int user : users) {
+            running[user].decrementAndGet();
+        }
+        return null;
+    }
+}
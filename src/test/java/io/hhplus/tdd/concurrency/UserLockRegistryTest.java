@@ -0,0 +1,131 @@
+package io.hhplus.tdd.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class UserLockRegistryTest {
+
+    @Test
+    @DisplayName("참조 카운트 락은 해제 후 보관소에서 제거됨")
+    void refCounting_WhenReleased_ShouldEvictLock() throws InterruptedException {
+        // given
+        RefCountingLockRegistry registry = new RefCountingLockRegistry(true);
+
+        // when
+        for (long userId = 1; userId <= 10_000; userId++) {
+            try (UserLockRegistry.Lease ignored = registry.tryAcquire(userId, 1, TimeUnit.SECONDS)) {
+                assertThat(registry.size()).isEqualTo(1);
+            }
+        }
+
+        // then
+        assertThat(registry.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("참조 카운트 락은 대기자가 있는 동안 유지되고, 획득 실패 시에도 카운트가 정리됨")
+    void refCounting_WhenWaiterTimesOut_ShouldKeepLockForHolder() throws Exception {
+        // given
+        RefCountingLockRegistry registry = new RefCountingLockRegistry(true);
+        UserLockRegistry.Lease holder = registry.tryAcquire(1L, 1, TimeUnit.SECONDS);
+
+        // when
+        UserLockRegistry.Lease waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return registry.tryAcquire(1L, 50, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }).join();
+
+        // then
+        assertThat(waiter).isNull();
+        assertThat(registry.size()).isEqualTo(1);
+        holder.close();
+        assertThat(registry.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("스트라이프 락은 사용자 수와 무관하게 개수가 고정됨")
+    void striped_ShouldKeepFixedNumberOfLocks() throws InterruptedException {
+        // given
+        StripedLockRegistry registry = new StripedLockRegistry(1000, true);
+
+        // when
+        for (long userId = 1; userId <= 10_000; userId++) {
+            try (UserLockRegistry.Lease ignored = registry.tryAcquire(userId, 1, TimeUnit.SECONDS)) {
+                // 락만 잡았다 놓음
+            }
+        }
+
+        // then
+        assertThat(registry.size()).isEqualTo(1024);
+    }
+
+    @Test
+    @DisplayName("기존 사용자별 락은 해제 후에도 유지됨")
+    void perUser_ShouldRetainLocks() throws InterruptedException {
+        // given
+        PerUserLockRegistry registry = new PerUserLockRegistry(true);
+
+        // when
+        for (long userId = 1; userId <= 100; userId++) {
+            try (UserLockRegistry.Lease ignored = registry.tryAcquire(userId, 1, TimeUnit.SECONDS)) {
+                // 락만 잡았다 놓음
+            }
+        }
+
+        // then
+        assertThat(registry.size()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("동시에 같은 사용자 락을 요청해도 한 번에 하나만 획득")
+    void tryAcquire_WhenConcurrent_ShouldBeMutuallyExclusive() {
+        // given
+        List<UserLockRegistry> registries = List.of(
+                new PerUserLockRegistry(true),
+                new RefCountingLockRegistry(true),
+                new StripedLockRegistry(16, true)
+        );
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+        for (UserLockRegistry registry : registries) {
+            AtomicInteger holders = new AtomicInteger();
+            AtomicInteger counter = new AtomicInteger();
+
+            // when
+            List<CompletableFuture<Void>> futures = IntStream.range(0, 1_000)
+                    .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                        try (UserLockRegistry.Lease ignored = registry.tryAcquire(1L, 5, TimeUnit.SECONDS)) {
+                            assertThat(holders.incrementAndGet()).isEqualTo(1);
+                            counter.incrementAndGet();
+                            holders.decrementAndGet();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }, executorService))
+                    .collect(Collectors.toList());
+
+            // then
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+                    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join()
+            );
+            assertThat(counter).hasValue(1_000);
+        }
+        executorService.shutdownNow();
+    }
+}
@@ -0,0 +1,104 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpenAddressingUserPointStoreTest {
+
+    @Test
+    @DisplayName("기록이 없는 사용자는 잔고 0 으로 조회")
+    void selectById_WhenAbsent_ShouldReturnEmpty() {
+        for (OpenAddressingUserPointStore store : stores(16)) {
+            UserPoint userPoint = store.selectById(1L);
+
+            assertThat(userPoint.id()).isEqualTo(1L);
+            assertThat(userPoint.point()).isZero();
+            assertThat(store.size()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("insertOrUpdate 는 잔고를 덮어쓰고, 조회는 마지막으로 쓴 잔고와 변경 시각을 반환 (id 0 포함)")
+    void insertOrUpdate_ShouldOverwriteBalance() {
+        for (OpenAddressingUserPointStore store : stores(16)) {
+            // given
+            store.insertOrUpdate(0L, 5_000L);
+            store.insertOrUpdate(7L, 10_000L);
+
+            // when
+            UserPoint updated = store.insertOrUpdate(7L, 3_000L);
+
+            // then
+            assertThat(store.selectById(7L)).isEqualTo(updated);
+            assertThat(store.selectById(7L).point()).isEqualTo(3_000L);
+            assertThat(store.selectById(0L).point()).isEqualTo(5_000L);
+            assertThat(store.size()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @DisplayName("예상 사용자 수를 넘으면 슬롯을 늘리고 기존 잔고는 그대로 유지")
+    void insertOrUpdate_WhenFull_ShouldGrowAndKeepBalances() {
+        for (OpenAddressingUserPointStore store : stores(16)) {
+            // when
+            for (long id = 1; id <= 100_000; id++) {
+                store.insertOrUpdate(id * 31, id);
+            }
+
+            // then
+            assertThat(store.size()).isEqualTo(100_000);
+            assertThat(LongStream.rangeClosed(1, 100_000).allMatch(id -> store.selectById(id * 31).point() == id)).isTrue();
+            assertThat(store.selectById(32L).point()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("서로 다른 사용자의 동시 갱신과 조회가 섞여도 잔고가 유실되지 않음")
+    void insertOrUpdate_WhenConcurrent_ShouldKeepEveryUser() {
+        for (OpenAddressingUserPointStore store : stores(16)) {
+            // given
+            ExecutorService executorService = Executors.newFixedThreadPool(8);
+            int threads = 8;
+            int usersPerThread = 20_000;
+
+            // when
+            List<CompletableFuture<Void>> futures = IntStream.range(0, threads)
+                    .mapToObj(thread -> CompletableFuture.runAsync(() -> {
+                        for (long i = 1; i <= usersPerThread; i++) {
+                            long id = i * threads + thread;
+                            store.insertOrUpdate(id, i);
+                            store.insertOrUpdate(id, i * 2);
+                            assertThat(store.selectById(id).point()).isEqualTo(i * 2);
+                            store.selectById(id - threads); // 다른 스레드가 늘리는 도중의 조회
+                        }
+                    }, executorService))
+                    .toList();
+
+            // then
+            assertThat(CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])))
+                    .succeedsWithin(Duration.ofSeconds(30));
+            executorService.shutdown();
+            assertThat(store.size()).isEqualTo(threads * usersPerThread);
+            for (long i = 1; i <= usersPerThread; i++) {
+                for (int thread = 0; thread < threads; thread++) {
+                    assertThat(store.selectById(i * threads + thread).point()).isEqualTo(i * 2);
+                }
+            }
+        }
+    }
+
+    private List<OpenAddressingUserPointStore> stores(int expectedUsers) {
+        return List.of(OpenAddressingUserPointStore.onHeap(expectedUsers), OpenAddressingUserPointStore.offHeap(expectedUsers));
+    }
+}
@@ -0,0 +1,217 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PointHistoryIndexTest {
+
+    private final PointHistoryIndex pointHistoryIndex = new PointHistoryIndex();
+
+    @Test
+    @DisplayName("사용자별 이력을 기록 순서대로 반환")
+    void findAllByUserId_ShouldReturnOwnHistoriesInOrder() {
+        // given
+        for (long id = 1; id <= 100; id++) {
+            pointHistoryIndex.append(history(id, id % 2));
+        }
+
+        // when
+        List<PointHistory> histories = pointHistoryIndex.findAllByUserId(1L);
+
+        // then
+        assertThat(histories).hasSize(50)
+                .allMatch(h -> h.userId() == 1L)
+                .extracting(PointHistory::id)
+                .isSorted();
+        assertThat(pointHistoryIndex.countByUserId(0L)).isEqualTo(50);
+        assertThat(pointHistoryIndex.findAllByUserId(2L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("조회한 목록은 이후 추가되는 이력에 영향받지 않고 변경할 수 없음")
+    void findAllByUserId_ShouldReturnImmutableSnapshot() {
+        // given
+        pointHistoryIndex.append(history(1L, 1L));
+        List<PointHistory> snapshot = pointHistoryIndex.findAllByUserId(1L);
+
+        // when
+        for (long id = 2; id <= 20; id++) { // 내부 배열이 커지도록 충분히 추가
+            pointHistoryIndex.append(history(id, 1L));
+        }
+
+        // then
+        assertThat(snapshot).extracting(PointHistory::id).containsExactly(1L);
+        assertThatThrownBy(() -> snapshot.add(history(99L, 1L))).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(pointHistoryIndex.findAllByUserId(1L)).hasSize(20);
+    }
+
+    @Test
+    @DisplayName("cursor 이후 이력만 반환")
+    void findAllByUserIdAfter_ShouldReturnHistoriesAfterCursor() {
+        // given
+        for (long id = 2; id <= 20; id += 2) {
+            pointHistoryIndex.append(history(id, 1L));
+        }
+
+        // when & then
+        assertThat(pointHistoryIndex.findAllByUserIdAfter(1L, 0L)).hasSize(10);
+        assertThat(pointHistoryIndex.findAllByUserIdAfter(1L, 15L)).extracting(PointHistory::id).containsExactly(16L, 18L, 20L);
+        assertThat(pointHistoryIndex.findAllByUserIdAfter(1L, 16L)).extracting(PointHistory::id).containsExactly(18L, 20L);
+        assertThat(pointHistoryIndex.findAllByUserIdAfter(1L, 20L)).isEmpty();
+        assertThat(pointHistoryIndex.findAllByUserIdAfter(2L, 0L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("추가 중에 조회해도 빈 자리 없이 앞에서부터 연속된 이력만 보임")
+    void findAllByUserId_WhenAppendingConcurrently_ShouldSeeContiguousPrefix() {
+        // given
+        final long total = 100_000L;
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() ->
+                LongStream.rangeClosed(1, total).forEach(id -> pointHistoryIndex.append(history(id, 1L))));
+
+        // when & then
+        while (!writer.isDone()) {
+            List<PointHistory> histories = pointHistoryIndex.findAllByUserId(1L);
+            for (int i = 0; i < histories.size(); i++) {
+                assertThat(histories.get(i).id()).isEqualTo(i + 1L);
+            }
+        }
+        writer.join();
+        assertThat(pointHistoryIndex.countByUserId(1L)).isEqualTo((int) total);
+    }
+
+    @Test
+    @DisplayName("압축 묶음 경계를 넘어도 id 간격, 음수 금액, 시각 역전, 거래 종류가 그대로 복원됨")
+    void findAllByUserId_AcrossChunks_ShouldRestoreEveryColumn() {
+        // given
+        Random random = new Random(1);
+        List<PointHistory> expected = new ArrayList<>();
+        long id = 0;
+        long updateMillis = 1_700_000_000_000L;
+        for (int i = 0; i < HistoryChunk.ROWS * 3 + 7; i++) {
+            id += 1 + random.nextInt(100_000);
+            updateMillis += random.nextInt(5_000) - 100;
+            long amount = i % 3 == 0 ? random.nextLong() : -random.nextInt(50_000);
+            TransactionType type = TransactionType.values()[i % TransactionType.values().length];
+            PointHistory history = new PointHistory(id, 1L, amount, type, updateMillis);
+            expected.add(history);
+            pointHistoryIndex.append(history);
+        }
+
+        // when
+        List<PointHistory> histories = pointHistoryIndex.findAllByUserId(1L);
+
+        // then
+        assertThat(histories).containsExactlyElementsOf(expected);
+        assertThat(pointHistoryIndex.countByUserId(1L)).isEqualTo(expected.size());
+        long cursor = expected.get(HistoryChunk.ROWS + 3).id();
+        assertThat(pointHistoryIndex.findAllByUserIdAfter(1L, cursor))
+                .containsExactlyElementsOf(expected.subList(HistoryChunk.ROWS + 4, expected.size()));
+    }
+
+    @Test
+    @DisplayName("scanByUserId 는 cursor 이후 이력을 차례로 전달하고, visitor 가 false 를 반환하면 멈춤")
+    void scanByUserId_ShouldVisitAfterCursorAndStopEarly() {
+        // given
+        for (long id = 1; id <= HistoryChunk.ROWS * 2L + 10; id++) {
+            pointHistoryIndex.append(history(id, 1L));
+        }
+        List<Long> visited = new ArrayList<>();
+
+        // when
+        pointHistoryIndex.scanByUserId(1L, HistoryChunk.ROWS - 2L, (id, amount, type, updateMillis) -> {
+            visited.add(id);
+            return visited.size() < 5;
+        });
+
+        // then
+        long first = HistoryChunk.ROWS - 1L;
+        assertThat(visited).containsExactly(first, first + 1, first + 2, first + 3, first + 4);
+    }
+
+    @Test
+    @DisplayName("요약은 덧붙일 때 갱신된 충전/사용 합계, 실패 수, 마지막 시각을 반환 (이체는 합계에 포함하지 않음)")
+    void summarize_All_ShouldReturnIncrementalTotals() {
+        // given : 압축 묶음 경계를 넘도록 충전
+        long id = 0;
+        for (int i = 0; i < HistoryChunk.ROWS + 5; i++) {
+            pointHistoryIndex.append(new PointHistory(++id, 1L, 10_000L, TransactionType.CHARGE, 1_000L + id));
+        }
+        pointHistoryIndex.append(new PointHistory(++id, 1L, 3_000L, TransactionType.USE, 5_000L));
+        pointHistoryIndex.append(new PointHistory(++id, 1L, 99_000L, TransactionType.FAIL, 4_000L)); // 시각 역전
+        pointHistoryIndex.append(new PointHistory(++id, 1L, 7_000L, TransactionType.TRANSFER_OUT, 4_500L));
+        pointHistoryIndex.append(new PointHistory(++id, 2L, 10_000L, TransactionType.CHARGE, 6_000L));
+
+        // when
+        PointSummary summary = pointHistoryIndex.summarize(1L, PointSummary.Window.ALL, 0L);
+
+        // then
+        assertThat(summary).isEqualTo(new PointSummary(1L, PointSummary.Window.ALL,
+                (HistoryChunk.ROWS + 5) * 10_000L, 3_000L, 1L, 5_000L));
+        assertThat(pointHistoryIndex.summarize(3L, PointSummary.Window.ALL, 0L))
+                .isEqualTo(PointSummary.empty(3L, PointSummary.Window.ALL));
+    }
+
+    @Test
+    @DisplayName("최근 24시간 / 7일 요약은 기준 시각이 속한 구간부터 시간 버킷을 더하고, 지난 구간은 빠짐")
+    void summarize_Windowed_ShouldSumRecentBuckets() {
+        // given
+        long hour = 60 * 60 * 1000L;
+        long day = 24 * hour;
+        long now = 100 * day + 5 * hour;
+        pointHistoryIndex.append(new PointHistory(1L, 1L, 10_000L, TransactionType.CHARGE, now - 8 * day)); // 7일 밖
+        pointHistoryIndex.append(new PointHistory(2L, 1L, 20_000L, TransactionType.CHARGE, now - 3 * day));
+        pointHistoryIndex.append(new PointHistory(3L, 1L, 30_000L, TransactionType.CHARGE, now - 30 * hour)); // 24시간 밖
+        pointHistoryIndex.append(new PointHistory(4L, 1L, 5_000L, TransactionType.USE, now - 2 * hour));
+        pointHistoryIndex.append(new PointHistory(5L, 1L, 40_000L, TransactionType.CHARGE, now - 3 * hour)); // 시각 역전
+        pointHistoryIndex.append(new PointHistory(6L, 1L, 1_000L, TransactionType.FAIL, now));
+
+        // when
+        PointSummary lastDay = pointHistoryIndex.summarize(1L, PointSummary.Window.LAST_24H, now);
+        PointSummary lastWeek = pointHistoryIndex.summarize(1L, PointSummary.Window.LAST_7D, now);
+        PointSummary later = pointHistoryIndex.summarize(1L, PointSummary.Window.LAST_24H, now + 2 * day);
+
+        // then
+        assertThat(lastDay).isEqualTo(new PointSummary(1L, PointSummary.Window.LAST_24H, 40_000L, 5_000L, 1L, now));
+        assertThat(lastWeek).isEqualTo(new PointSummary(1L, PointSummary.Window.LAST_7D, 90_000L, 5_000L, 1L, now));
+        assertThat(later).isEqualTo(new PointSummary(1L, PointSummary.Window.LAST_24H, 0L, 0L, 0L, now));
+    }
+
+    @Test
+    @DisplayName("시간 버킷은 첫 구간 요약 때 이력을 훑어 만들고, 이후 덧붙인 이력은 겹치거나 빠지지 않고 반영")
+    void summarize_Windowed_ShouldKeepBucketsUpdatedAfterFirstQuery() {
+        // given : 첫 구간 요약 전에 압축 묶음 경계를 넘도록 충전
+        long hour = 60 * 60 * 1000L;
+        long now = 100 * 24 * hour;
+        long id = 0;
+        for (int i = 0; i < HistoryChunk.ROWS + 5; i++) {
+            pointHistoryIndex.append(new PointHistory(++id, 1L, 1_000L, TransactionType.CHARGE, now - hour));
+        }
+        PointSummary first = pointHistoryIndex.summarize(1L, PointSummary.Window.LAST_24H, now);
+
+        // when
+        pointHistoryIndex.append(new PointHistory(++id, 1L, 2_000L, TransactionType.USE, now));
+        PointSummary second = pointHistoryIndex.summarize(1L, PointSummary.Window.LAST_24H, now);
+
+        // then
+        assertThat(first.totalCharged()).isEqualTo((HistoryChunk.ROWS + 5) * 1_000L);
+        assertThat(second).isEqualTo(new PointSummary(1L, PointSummary.Window.LAST_24H,
+                (HistoryChunk.ROWS + 5) * 1_000L, 2_000L, 0L, now));
+    }
+
+    private static PointHistory history(long id, long userId) {
+        return new PointHistory(id, userId, 10_000L, TransactionType.CHARGE, id);
+    }
+}
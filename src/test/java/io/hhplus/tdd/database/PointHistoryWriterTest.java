@@ -0,0 +1,410 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.config.PointHistoryProperties;
+import io.hhplus.tdd.journal.JournalRecord;
+import io.hhplus.tdd.journal.PointJournal;
+import io.hhplus.tdd.journal.PointSnapshot;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PointHistoryWriterTest {
+
+    @Mock
+    private PointHistoryTable pointHistoryTable;
+
+    private PointHistoryWriter pointHistoryWriter;
+
+    @AfterEach
+    void tearDown() {
+        if (pointHistoryWriter != null) {
+            pointHistoryWriter.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("적재된 이력은 순서대로 기록됨")
+    void write_ShouldFlushInOrder() {
+        // given
+        pointHistoryWriter = writer(100, 10);
+        pointHistoryWriter.start();
+
+        // when
+        for (long amount = 1; amount <= 30; amount++) {
+            pointHistoryWriter.write(1L, amount, TransactionType.CHARGE, amount);
+        }
+        pointHistoryWriter.stop(); // 남은 이력을 모두 기록
+
+        // then
+        InOrder inOrder = inOrder(pointHistoryTable);
+        for (long amount = 1; amount <= 30; amount++) {
+            inOrder.verify(pointHistoryTable).insert(1L, amount, TransactionType.CHARGE, amount);
+        }
+        assertThat(pointHistoryWriter.stats().flushedCount()).isEqualTo(30);
+        assertThat(pointHistoryWriter.stats().queueDepth()).isZero();
+    }
+
+    @Test
+    @DisplayName("테이블 기록이 멈춰 있어도 id 를 부여한 이력은 바로 조회 색인에 반영")
+    void write_WhenTableIsSlow_ShouldIndexImmediately() throws InterruptedException {
+        // given : 테이블 기록이 멈춘 상태
+        CountDownLatch release = new CountDownLatch(1);
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).thenAnswer(invocation -> {
+            release.await();
+            return null;
+        });
+        PointHistoryIndex index = new PointHistoryIndex();
+        pointHistoryWriter = writer(index, 100, 10, 3);
+        pointHistoryWriter.start();
+
+        // when
+        pointHistoryWriter.write(1L, 1L, TransactionType.CHARGE, 1L);
+        pointHistoryWriter.writeTransfer(1L, 2L, 1L, 2L, 0L, 1L);
+
+        // then
+        assertThat(index.findAllByUserId(1L)).extracting(PointHistory::type)
+                .containsExactly(TransactionType.CHARGE, TransactionType.TRANSFER_OUT);
+        assertThat(index.findAllByUserId(2L)).extracting(PointHistory::id).containsExactly(3L);
+        assertThat(pointHistoryWriter.stats().flushedCount()).isZero();
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 자리가 날 때까지 호출 스레드가 대기")
+    void write_WhenQueueIsFull_ShouldBlockCaller() throws InterruptedException {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch firstInsertStarted = new CountDownLatch(1);
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).thenAnswer(invocation -> {
+            firstInsertStarted.countDown();
+            release.await();
+            return new PointHistory(1L, 1L, 1L, TransactionType.CHARGE, 1L);
+        });
+        pointHistoryWriter = writer(2, 1);
+        pointHistoryWriter.start();
+        pointHistoryWriter.write(1L, 1L, TransactionType.CHARGE, 1L);
+        assertThat(firstInsertStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        pointHistoryWriter.write(1L, 2L, TransactionType.CHARGE, 2L);
+        pointHistoryWriter.write(1L, 3L, TransactionType.CHARGE, 3L);
+
+        // when
+        CompletableFuture<Void> blocked = CompletableFuture.runAsync(() ->
+                pointHistoryWriter.write(1L, 4L, TransactionType.CHARGE, 4L));
+
+        // then
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertThat(blocked).isNotCompleted();
+        assertThat(pointHistoryWriter.stats().remainingCapacity()).isZero();
+        assertThat(pointHistoryWriter.lastSequence(1L)).isEqualTo(3L); // 자리를 확보하기 전이므로 순번도 부여되지 않음
+
+        release.countDown();
+        assertThat(blocked).succeedsWithin(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("종료 시 대기열에 남은 이력을 모두 기록")
+    void stop_ShouldFlushRemainingHistories() {
+        // given
+        pointHistoryWriter = writer(1_000, 100);
+        pointHistoryWriter.start();
+        for (long amount = 1; amount <= 500; amount++) {
+            pointHistoryWriter.write(amount, amount, TransactionType.USE, amount);
+        }
+
+        // when
+        pointHistoryWriter.stop();
+
+        // then
+        verify(pointHistoryTable, times(500)).insert(anyLong(), anyLong(), eq(TransactionType.USE), anyLong());
+        assertThat(pointHistoryWriter.stats().queueDepth()).isZero();
+    }
+
+    @Test
+    @DisplayName("일괄 적재 중 저널 기록이 실패하면 앞선 이력만 적재하고, 다음 기록은 저널 마지막 sequence 다음 번호로 이어감")
+    void writeAll_WhenJournalFailsMidBatch_ShouldKeepNextWriteWorking() {
+        // given : 세 번째 레코드에서 한 번 실패
+        List<Long> journaled = new CopyOnWriteArrayList<>();
+        PointHistoryIndex index = new PointHistoryIndex();
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryTable, index, new PointHistoryProperties(
+                new PointHistoryProperties.WriteBehind(false, 10, 10, 3, Duration.ofMillis(100))), recordingJournal(journaled, 3L),
+                new PointMetrics(new SimpleMeterRegistry()));
+        List<PointHistoryWriter.Entry> entries = LongStream.rangeClosed(1, 4)
+                .mapToObj(amount -> new PointHistoryWriter.Entry(amount, TransactionType.CHARGE, amount, amount))
+                .toList();
+
+        // when
+        assertThatThrownBy(() -> pointHistoryWriter.writeAll(1L, entries)).isInstanceOf(UncheckedIOException.class);
+        long sequence = pointHistoryWriter.write(1L, 5L, TransactionType.CHARGE, 5L, 5L);
+
+        // then
+        assertThat(sequence).isEqualTo(3);
+        assertThat(journaled).containsExactly(1L, 2L, 3L);
+        assertThat(index.findAllByUserId(1L)).extracting(PointHistory::id).containsExactly(1L, 2L, 3L);
+        assertThat(index.findAllByUserId(1L)).extracting(PointHistory::amount).containsExactly(1L, 2L, 5L);
+    }
+
+    @Test
+    @DisplayName("이체의 TRANSFER_IN 저널 기록이 실패하면 이체 이력은 남기지 않고, 다음 기록은 TRANSFER_OUT 다음 sequence 로 이어감")
+    void writeTransfer_WhenTransferInJournalFails_ShouldKeepNextWriteWorking() {
+        // given : 두 번째 레코드(TRANSFER_IN)에서 한 번 실패
+        List<Long> journaled = new CopyOnWriteArrayList<>();
+        PointHistoryIndex index = new PointHistoryIndex();
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryTable, index, new PointHistoryProperties(
+                new PointHistoryProperties.WriteBehind(false, 10, 10, 3, Duration.ofMillis(100))), recordingJournal(journaled, 2L),
+                new PointMetrics(new SimpleMeterRegistry()));
+
+        // when
+        assertThatThrownBy(() -> pointHistoryWriter.writeTransfer(1L, 2L, 100L, 1L, 0L, 100L))
+                .isInstanceOf(UncheckedIOException.class);
+        long sequence = pointHistoryWriter.write(1L, 5L, TransactionType.CHARGE, 5L, 5L);
+
+        // then : 짝이 없는 TRANSFER_OUT(1) 은 복원에서 건너뛰므로 사용자 순번도 쓰지 않음
+        assertThat(sequence).isEqualTo(1);
+        assertThat(journaled).containsExactly(1L, 3L);
+        assertThat(index.findAllByUserId(1L)).extracting(PointHistory::id).containsExactly(3L);
+        assertThat(index.findAllByUserId(2L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("호출 스레드의 테이블 기록이 실패해도 순번은 이미 넘어가 있어 다음 기록은 계속 저널에 남음")
+    void write_WhenTableFails_ShouldKeepNextWriteWorking() {
+        // given
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong()))
+                .thenThrow(new IllegalStateException("table unavailable"))
+                .thenReturn(null);
+        List<Long> journaled = new CopyOnWriteArrayList<>();
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryTable, new PointHistoryIndex(), new PointHistoryProperties(
+                new PointHistoryProperties.WriteBehind(false, 10, 10, 3, Duration.ofMillis(100))), recordingJournal(journaled, 0L),
+                new PointMetrics(new SimpleMeterRegistry()));
+
+        // when
+        assertThatThrownBy(() -> pointHistoryWriter.write(1L, 1L, TransactionType.CHARGE, 1L))
+                .isInstanceOf(IllegalStateException.class);
+        long sequence = pointHistoryWriter.write(1L, 2L, TransactionType.CHARGE, 2L);
+
+        // then
+        assertThat(sequence).isEqualTo(2);
+        assertThat(journaled).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("테이블 기록이 실패하면 실패한 이력부터 다시 시도하고, 이미 기록한 이력은 다시 기록하지 않음")
+    void flush_WhenInsertFails_ShouldRetryFromFailedHistory() {
+        // given : 두 번째 이력이 두 번 실패한 뒤 성공
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).thenReturn(null);
+        when(pointHistoryTable.insert(1L, 2L, TransactionType.CHARGE, 2L))
+                .thenThrow(new IllegalStateException("table unavailable"))
+                .thenThrow(new IllegalStateException("table unavailable"))
+                .thenReturn(null);
+        PointHistoryIndex index = new PointHistoryIndex();
+        pointHistoryWriter = writer(index, 100, 10, 3);
+        pointHistoryWriter.start();
+
+        // when
+        for (long amount = 1; amount <= 3; amount++) {
+            pointHistoryWriter.write(1L, amount, TransactionType.CHARGE, amount);
+        }
+        pointHistoryWriter.stop(); // 남은 이력을 모두 기록
+
+        // then
+        verify(pointHistoryTable, times(1)).insert(1L, 1L, TransactionType.CHARGE, 1L);
+        verify(pointHistoryTable, times(3)).insert(1L, 2L, TransactionType.CHARGE, 2L);
+        verify(pointHistoryTable, times(1)).insert(1L, 3L, TransactionType.CHARGE, 3L);
+        assertThat(index.findAllByUserId(1L)).extracting(PointHistory::amount).containsExactly(1L, 2L, 3L);
+        assertThat(pointHistoryWriter.stats().retryCount()).isEqualTo(2);
+        assertThat(pointHistoryWriter.stats().failedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("다시 시도해도 실패하면 그 이력은 테이블 기록을 포기하고 실패 수로 알리며, 조회 색인과 이후 이력은 계속 기록")
+    void flush_WhenRetriesExhausted_ShouldReportFailureAndContinue() {
+        // given
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).thenReturn(null);
+        when(pointHistoryTable.insert(1L, 2L, TransactionType.CHARGE, 2L)).thenThrow(new IllegalStateException("table unavailable"));
+        PointHistoryIndex index = new PointHistoryIndex();
+        pointHistoryWriter = writer(index, 100, 10, 2);
+        pointHistoryWriter.start();
+
+        // when
+        for (long amount = 1; amount <= 3; amount++) {
+            pointHistoryWriter.write(1L, amount, TransactionType.CHARGE, amount);
+        }
+        pointHistoryWriter.stop(); // 남은 이력을 모두 기록
+
+        // then
+        verify(pointHistoryTable, times(3)).insert(1L, 2L, TransactionType.CHARGE, 2L);
+        verify(pointHistoryTable).insert(1L, 3L, TransactionType.CHARGE, 3L);
+        assertThat(index.findAllByUserId(1L)).extracting(PointHistory::amount).containsExactly(1L, 2L, 3L);
+        assertThat(pointHistoryWriter.stats().retryCount()).isEqualTo(2);
+        assertThat(pointHistoryWriter.stats().failedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("write-behind 를 끄면 호출 스레드에서 바로 기록")
+    void write_WhenDisabled_ShouldInsertImmediately() {
+        // given
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryTable, new PointHistoryIndex(), new PointHistoryProperties(
+                new PointHistoryProperties.WriteBehind(false, 10, 10, 3, Duration.ofMillis(100))), PointJournal.DISABLED,
+                new PointMetrics(new SimpleMeterRegistry()));
+        pointHistoryWriter.start();
+
+        // when
+        pointHistoryWriter.write(1L, 10_000L, TransactionType.CHARGE, 1L);
+
+        // then
+        verify(pointHistoryTable).insert(1L, 10_000L, TransactionType.CHARGE, 1L);
+    }
+
+    @Test
+    @DisplayName("write-behind 를 끄면 테이블 기록은 ticketLock 밖에서 하므로, 앞선 기록이 느려도 다른 이력은 id 를 받고 저널에 남김")
+    void write_WhenDisabledAndTableIsSlow_ShouldNotBlockIdAssignment() throws InterruptedException {
+        // given : 첫 기록이 테이블에서 멈춘 상태
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch firstInsertStarted = new CountDownLatch(1);
+        List<Long> inserted = new CopyOnWriteArrayList<>();
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).thenAnswer(invocation -> {
+            if (inserted.isEmpty()) {
+                firstInsertStarted.countDown();
+                release.await();
+            }
+            inserted.add(invocation.getArgument(0));
+            return null;
+        });
+        List<Long> journaled = new CopyOnWriteArrayList<>();
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryTable, new PointHistoryIndex(), new PointHistoryProperties(
+                new PointHistoryProperties.WriteBehind(false, 10, 10, 3, Duration.ofMillis(100))), recordingJournal(journaled, 0L),
+                new PointMetrics(new SimpleMeterRegistry()));
+        CompletableFuture<Long> first = CompletableFuture.supplyAsync(() ->
+                pointHistoryWriter.write(1L, 10_000L, TransactionType.CHARGE, 1L));
+        assertThat(firstInsertStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        CompletableFuture<Long> second = CompletableFuture.supplyAsync(() ->
+                pointHistoryWriter.write(2L, 10_000L, TransactionType.CHARGE, 2L));
+
+        // then : 두 번째 이력은 id 를 받아 저널에 남지만, 테이블에는 첫 이력 다음 차례에 기록
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertThat(journaled).containsExactly(1L, 2L);
+        assertThat(pointHistoryWriter.lastSequence(2L)).isEqualTo(1);
+        assertThat(second).isNotCompleted();
+
+        release.countDown();
+        assertThat(first).succeedsWithin(Duration.ofSeconds(5));
+        assertThat(second).succeedsWithin(Duration.ofSeconds(5));
+        assertThat(inserted).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("사용자별 순번은 빈틈 없이 증가하고, 같은 사용자의 이력은 순번 순서대로 기록됨")
+    void write_WhenConcurrent_ShouldAssignGapFreeSequencePerUser() {
+        // given
+        List<long[]> inserted = new CopyOnWriteArrayList<>(); // {userId, amount}
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).thenAnswer(invocation -> {
+            inserted.add(new long[]{invocation.getArgument(0), invocation.getArgument(1)});
+            return null;
+        });
+        pointHistoryWriter = writer(1_000, 50);
+        pointHistoryWriter.start();
+        Map<Long, Long> sequenceByAmount = new ConcurrentHashMap<>();
+
+        // when
+        List<CompletableFuture<Void>> futures = IntStream.range(0, 400)
+                .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                    long amount = i;
+                    sequenceByAmount.put(amount, pointHistoryWriter.write(i % 4, amount, TransactionType.CHARGE, i));
+                }))
+                .collect(Collectors.toList());
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        pointHistoryWriter.stop();
+
+        // then
+        assertThat(inserted).hasSize(400);
+        for (long userId = 0; userId < 4; userId++) {
+            final long user = userId;
+            List<Long> sequencesInTableOrder = inserted.stream()
+                    .filter(row -> row[0] == user)
+                    .map(row -> sequenceByAmount.get(row[1]))
+                    .toList();
+            assertThat(sequencesInTableOrder).containsExactlyElementsOf(LongStream.rangeClosed(1, 100).boxed().toList());
+            assertThat(pointHistoryWriter.lastSequence(userId)).isEqualTo(100);
+        }
+    }
+
+    // 기록된 레코드의 sequence 만 남기는 저널 (MappedPointJournal 처럼 이어지지 않는 sequence 는 거절, failingSequence 는 한 번 실패)
+    private static PointJournal recordingJournal(List<Long> journaled, long failingSequence) {
+        AtomicBoolean failed = new AtomicBoolean();
+        return new PointJournal() {
+            @Override
+            public void append(JournalRecord record) {
+                long expected = journaled.isEmpty() ? 1L : journaled.get(journaled.size() - 1) + 1;
+                if (record.sequence() != expected) {
+                    throw new IllegalStateException("저널 sequence 가 이어지지 않습니다 : " + record.sequence());
+                }
+                if (record.sequence() == failingSequence && failed.compareAndSet(false, true)) {
+                    throw new UncheckedIOException(new IOException("disk full"));
+                }
+                journaled.add(record.sequence());
+            }
+
+            @Override
+            public void awaitDurable(long sequence) {
+            }
+
+            @Override
+            public long replay(Consumer<JournalRecord> consumer) {
+                return 0L;
+            }
+
+            @Override
+            public PointSnapshot snapshot() {
+                return PointSnapshot.EMPTY;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    // 재시도 대기 없이 다시 시도
+    private PointHistoryWriter writer(PointHistoryIndex index, int capacity, int batchSize, int maxRetries) {
+        return new PointHistoryWriter(pointHistoryTable, index, new PointHistoryProperties(
+                new PointHistoryProperties.WriteBehind(true, capacity, batchSize, maxRetries, Duration.ZERO)), PointJournal.DISABLED,
+                new PointMetrics(new SimpleMeterRegistry()));
+    }
+
+    private PointHistoryWriter writer(int capacity, int batchSize) {
+        return new PointHistoryWriter(pointHistoryTable, new PointHistoryIndex(), new PointHistoryProperties(
+                new PointHistoryProperties.WriteBehind(true, capacity, batchSize, 3, Duration.ofMillis(100))), PointJournal.DISABLED,
+                new PointMetrics(new SimpleMeterRegistry()));
+    }
+}
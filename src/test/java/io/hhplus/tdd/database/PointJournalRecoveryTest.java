@@ -0,0 +1,203 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.config.PointHistoryProperties;
+import io.hhplus.tdd.config.PointJournalProperties;
+import io.hhplus.tdd.journal.MappedPointJournal;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PointJournalRecoveryTest {
+
+    // MappedPointJournal 세그먼트 헤더 / 레코드 크기
+    private static final int JOURNAL_HEADER_SIZE = 64;
+    private static final int JOURNAL_RECORD_SIZE = 64;
+
+    @Mock
+    private UserPointTable userPointTable;
+
+    @Mock
+    private PointHistoryTable pointHistoryTable;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("재시작 시 저널에서 잔고와 이력을 복원하고, 이력 id 와 사용자별 순번을 이어서 부여")
+    void start_ShouldRestoreBalancesAndHistories() {
+        // given : 이전 실행에서 기록된 저널
+        try (MappedPointJournal journal = MappedPointJournal.open(properties())) {
+            PointHistoryWriter writer = writer(journal, new PointHistoryIndex());
+            writer.write(1L, 10_000L, TransactionType.CHARGE, 1L, 10_000L);
+            writer.write(2L, 3_000L, TransactionType.CHARGE, 2L, 3_000L);
+            writer.write(1L, 4_000L, TransactionType.USE, 3L, 6_000L);
+            writer.write(1L, 50_000L, TransactionType.FAIL, 4L, 6_000L);
+            writer.write(2L, 1_000L, TransactionType.FAIL, 5L); // 실행되지 않은 작업 (잔고 모름)
+        }
+
+        // when
+        try (MappedPointJournal journal = MappedPointJournal.open(properties())) {
+            PointHistoryIndex index = new PointHistoryIndex();
+            PointHistoryWriter writer = writer(journal, index);
+            RestoredUserPoints restoredUserPoints = new RestoredUserPoints();
+            PointJournalRecovery recovery = new PointJournalRecovery(journal, restoredUserPoints, index, writer);
+            recovery.start();
+            long nextSequence = writer.write(2L, 500L, TransactionType.USE, 6L, 2_500L);
+
+            // then
+            verifyNoInteractions(userPointTable);
+            assertThat(restoredUserPoints.find(1L)).isEqualTo(new UserPoint(1L, 6_000L, 4L));
+            assertThat(restoredUserPoints.find(2L)).isEqualTo(new UserPoint(2L, 3_000L, 2L));
+            assertThat(restoredUserPoints.find(3L)).isNull();
+            assertThat(index.findAllByUserId(1L)).containsExactly(
+                    new PointHistory(1L, 1L, 10_000L, TransactionType.CHARGE, 1L),
+                    new PointHistory(3L, 1L, 4_000L, TransactionType.USE, 3L),
+                    new PointHistory(4L, 1L, 50_000L, TransactionType.FAIL, 4L));
+            assertThat(index.findAllByUserId(2L)).extracting(PointHistory::id).containsExactly(2L, 5L, 6L);
+            assertThat(nextSequence).isEqualTo(3);
+            assertThat(writer.lastSequence(1L)).isEqualTo(3);
+            assertThat(journal.replay(record -> { })).isEqualTo(6);
+        }
+    }
+
+    @Test
+    @DisplayName("저널이 비어 있으면 아무것도 복원하지 않음")
+    void start_WhenJournalIsEmpty_ShouldRestoreNothing() {
+        try (MappedPointJournal journal = MappedPointJournal.open(properties())) {
+            PointHistoryIndex index = new PointHistoryIndex();
+            PointHistoryWriter writer = writer(journal, index);
+
+            RestoredUserPoints restoredUserPoints = new RestoredUserPoints();
+
+            new PointJournalRecovery(journal, restoredUserPoints, index, writer).start();
+
+            verifyNoInteractions(userPointTable);
+            assertThat(restoredUserPoints.find(1L)).isNull();
+            assertThat(writer.write(1L, 1_000L, TransactionType.CHARGE, 1L, 1_000L)).isEqualTo(1);
+            assertThat(index.findAllByUserId(1L)).extracting(PointHistory::id).containsExactly(1L);
+        }
+    }
+
+    @Test
+    @DisplayName("스냅샷이 있으면 스냅샷 위에 이후 레코드를 덮어 잔고와 순번을 복원하고, 스냅샷에 접힌 이력은 처음 조회하거나 덧붙일 때 불러옴")
+    void start_WithSnapshot_ShouldRestoreSnapshotAndTail() {
+        // given : 세그먼트 하나(15건)를 넘겨 기록하고 스냅샷을 남긴 뒤, 이후 기록 추가
+        try (MappedPointJournal journal = MappedPointJournal.open(properties(DataSize.ofBytes(1024)))) {
+            PointHistoryWriter writer = writer(journal, new PointHistoryIndex());
+            for (long i = 1; i <= 16; i++) {
+                writer.write((i - 1) % 4 + 1, 10_000L, TransactionType.CHARGE, i, (i + 3) / 4 * 10_000L);
+            }
+            assertThat(journal.takeSnapshot()).isTrue(); // 봉인된 1~15 번 레코드
+            writer.write(1L, 5_000L, TransactionType.USE, 17L, 35_000L);
+            writer.write(2L, 90_000L, TransactionType.FAIL, 18L); // 잔고 모름 → 스냅샷 잔고 유지
+        }
+
+        // when
+        try (MappedPointJournal journal = MappedPointJournal.open(properties(DataSize.ofBytes(1024)))) {
+            PointHistoryIndex index = new PointHistoryIndex();
+            PointHistoryWriter writer = writer(journal, index);
+            RestoredUserPoints restoredUserPoints = new RestoredUserPoints();
+            new PointJournalRecovery(journal, restoredUserPoints, index, writer).start();
+
+            // then
+            assertThat(journal.snapshot().lastSequence()).isEqualTo(15);
+            assertThat(restoredUserPoints.find(1L)).isEqualTo(new UserPoint(1L, 35_000L, 17L));
+            assertThat(restoredUserPoints.find(2L)).isEqualTo(new UserPoint(2L, 40_000L, 14L));
+            assertThat(restoredUserPoints.find(3L)).isEqualTo(new UserPoint(3L, 40_000L, 15L)); // 스냅샷에만 있음
+            assertThat(restoredUserPoints.find(4L)).isEqualTo(new UserPoint(4L, 40_000L, 16L)); // 이후 레코드에만 있음
+            assertThat(writer.lastSequence(2L)).isEqualTo(5);
+            assertThat(writer.lastSequence(3L)).isEqualTo(4);
+            assertThat(writer.write(3L, 10_000L, TransactionType.CHARGE, 19L, 50_000L)).isEqualTo(5);
+            assertThat(index.findAllByUserId(1L)).extracting(PointHistory::id).containsExactly(1L, 5L, 9L, 13L, 17L);
+            assertThat(index.findAllByUserId(3L)).extracting(PointHistory::id).containsExactly(3L, 7L, 11L, 15L, 19L);
+        }
+    }
+
+    @Test
+    @DisplayName("이체의 TRANSFER_OUT 만 기록되고 종료되면 보낸 쪽 차감 없이 두 잔고와 이력을 이체 전으로 복원")
+    void start_WhenJournalEndsAfterTransferOut_ShouldDropIncompleteTransfer() throws IOException {
+        // given : 이체 후 TRANSFER_IN(4번 레코드)이 기록되기 전에 종료된 저널
+        try (MappedPointJournal journal = MappedPointJournal.open(properties())) {
+            PointHistoryWriter writer = writer(journal, new PointHistoryIndex());
+            writer.write(1L, 10_000L, TransactionType.CHARGE, 1L, 10_000L);
+            writer.write(2L, 3_000L, TransactionType.CHARGE, 2L, 3_000L);
+            writer.writeTransfer(1L, 2L, 4_000L, 3L, 6_000L, 7_000L);
+        }
+        try (RandomAccessFile file = new RandomAccessFile(
+                directory.resolve(String.format("segment-%020d.journal", 1)).toFile(), "rw")) {
+            file.seek(JOURNAL_HEADER_SIZE + 3L * JOURNAL_RECORD_SIZE);
+            file.write(new byte[JOURNAL_RECORD_SIZE]);
+        }
+
+        // when
+        try (MappedPointJournal journal = MappedPointJournal.open(properties())) {
+            PointHistoryIndex index = new PointHistoryIndex();
+            PointHistoryWriter writer = writer(journal, index);
+            RestoredUserPoints restoredUserPoints = new RestoredUserPoints();
+            new PointJournalRecovery(journal, restoredUserPoints, index, writer).start();
+            long nextSequence = writer.write(1L, 1_000L, TransactionType.USE, 4L, 9_000L);
+
+            // then : 짝이 없는 TRANSFER_OUT(3) 은 건너뛰고, 저널 sequence 는 그 다음부터 이어감
+            assertThat(restoredUserPoints.find(1L)).isEqualTo(new UserPoint(1L, 10_000L, 1L));
+            assertThat(restoredUserPoints.find(2L)).isEqualTo(new UserPoint(2L, 3_000L, 2L));
+            assertThat(index.findAllByUserId(1L)).extracting(PointHistory::id).containsExactly(1L, 4L);
+            assertThat(index.findAllByUserId(2L)).extracting(PointHistory::id).containsExactly(2L);
+            assertThat(nextSequence).isEqualTo(2);
+            assertThat(journal.replay(record -> { })).isEqualTo(4);
+        }
+    }
+
+    @Test
+    @DisplayName("복원 이후 잔고가 바뀐 사용자는 복원 값 대신 테이블 값을 사용")
+    void supersede_ShouldHideRestoredBalance() {
+        // given
+        try (MappedPointJournal journal = MappedPointJournal.open(properties())) {
+            writer(journal, new PointHistoryIndex()).write(1L, 10_000L, TransactionType.CHARGE, 1L, 10_000L);
+        }
+        RestoredUserPoints restoredUserPoints = new RestoredUserPoints();
+        try (MappedPointJournal journal = MappedPointJournal.open(properties())) {
+            PointHistoryIndex index = new PointHistoryIndex();
+            new PointJournalRecovery(journal, restoredUserPoints, index, writer(journal, index)).start();
+        }
+
+        // when
+        restoredUserPoints.supersede(1L);
+
+        // then
+        assertThat(restoredUserPoints.find(1L)).isNull();
+    }
+
+    // write-behind 를 끈 writer (호출 스레드에서 바로 기록)
+    private PointHistoryWriter writer(MappedPointJournal journal, PointHistoryIndex index) {
+        return new PointHistoryWriter(pointHistoryTable, index, new PointHistoryProperties(
+                new PointHistoryProperties.WriteBehind(false, 100, 10, 3, Duration.ofMillis(100))), journal, new PointMetrics(new SimpleMeterRegistry()));
+    }
+
+    private PointJournalProperties properties() {
+        return properties(DataSize.ofKilobytes(64));
+    }
+
+    // 스냅샷은 테스트에서 직접 생성 (주기 생성은 사실상 끔)
+    private PointJournalProperties properties(DataSize segmentSize) {
+        return new PointJournalProperties(true, directory, PointJournalProperties.Fsync.PER_OP, 16,
+                Duration.ofMillis(10), segmentSize, new PointJournalProperties.Snapshot(true, Duration.ofHours(1), 2, 16));
+    }
+}
@@ -0,0 +1,47 @@
+package io.hhplus.tdd.journal;
+
+import io.hhplus.tdd.config.PointJournalProperties;
+import io.hhplus.tdd.point.TransactionType;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 복구 테스트용 자식 프로세스
+ * 저널을 복원한 뒤 이어서 충전 기록을 계속 남기고, 디스크 반영이 끝난 sequence 를 한 줄씩 출력한다.
+ * 부모 프로세스가 기록 도중에 강제 종료한다.
+ * args : 저널 디렉터리
+ */
+class JournalCrashWriter {
+
+    static final int USERS = 7;
+    static final long AMOUNT = 1_000L;
+
+    public static void main(String[] args) {
+        MappedPointJournal journal = MappedPointJournal.open(properties(Path.of(args[0])));
+        Map<Long, JournalRecord> lastByUser = new HashMap<>();
+        long sequence = journal.replay(record -> lastByUser.put(record.userId(), record));
+        while (true) {
+            sequence++;
+            long userId = sequence % USERS;
+            JournalRecord last = lastByUser.get(userId);
+            long userSequence = last == null ? 1 : last.userSequence() + 1;
+            long balance = last == null ? AMOUNT : last.balanceAfter() + AMOUNT;
+            JournalRecord record = new JournalRecord(
+                    sequence, userId, userSequence, TransactionType.CHARGE, AMOUNT, balance, System.currentTimeMillis());
+            journal.append(record);
+            journal.awaitDurable(sequence);
+            lastByUser.put(userId, record);
+            System.out.println(sequence);
+        }
+    }
+
+    // 세그먼트를 작게 잡아 기록 도중 세그먼트 전환도 함께 겪도록 함
+    static PointJournalProperties properties(Path directory) {
+        return new PointJournalProperties(true, directory, PointJournalProperties.Fsync.PER_OP, 16,
+                Duration.ofMillis(10), DataSize.ofKilobytes(64), new PointJournalProperties.Snapshot(false, Duration.ofMinutes(1), 2, 16));
+    }
+}
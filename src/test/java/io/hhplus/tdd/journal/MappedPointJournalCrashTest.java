@@ -0,0 +1,70 @@
+package io.hhplus.tdd.journal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedPointJournalCrashTest {
+
+    private static final int ROUNDS = 3;
+    private static final long RECORDS_PER_ROUND = 3_000L;
+
+    @Test
+    @DisplayName("기록 도중 프로세스를 강제 종료해도 반영이 확인된 기록은 모두 복원되고, 복원 후 이어서 기록 가능")
+    void open_AfterProcessKilledWhileWriting_ShouldRecoverAcknowledgedRecords(@TempDir Path directory) throws Exception {
+        long acknowledged = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            // given : 자식 프로세스가 저널을 이어서 기록
+            Process process = new ProcessBuilder(
+                    ProcessHandle.current().info().command().orElse("java"),
+                    "-cp", System.getProperty("java.class.path"),
+                    JournalCrashWriter.class.getName(),
+                    directory.toString())
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            long target = acknowledged + RECORDS_PER_ROUND;
+
+            // when : 반영 확인이 target 건을 넘으면 기록 도중에 강제 종료 (SIGKILL)
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while (acknowledged < target && (line = reader.readLine()) != null) {
+                    acknowledged = Long.parseLong(line.trim());
+                }
+                process.destroyForcibly();
+                assertThat(process.waitFor(10, TimeUnit.SECONDS)).isTrue();
+            }
+
+            // then
+            assertThat(acknowledged).isGreaterThanOrEqualTo(target);
+            assertRecovered(directory, acknowledged);
+        }
+    }
+
+    // 반영이 확인된 기록까지 빈틈 없이 남아 있고, 사용자별 잔고가 충전 횟수와 일치
+    private void assertRecovered(Path directory, long acknowledged) {
+        try (MappedPointJournal journal = MappedPointJournal.open(JournalCrashWriter.properties(directory))) {
+            List<JournalRecord> records = new ArrayList<>();
+            long last = journal.replay(records::add);
+
+            assertThat(last).isGreaterThanOrEqualTo(acknowledged);
+            assertThat(records).hasSize((int) last);
+            for (int i = 0; i < records.size(); i++) {
+                JournalRecord record = records.get(i);
+                assertThat(record.sequence()).isEqualTo(i + 1);
+                assertThat(record.userId()).isEqualTo(record.sequence() % JournalCrashWriter.USERS);
+                assertThat(record.balanceAfter()).isEqualTo(record.userSequence() * JournalCrashWriter.AMOUNT);
+            }
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package io.hhplus.tdd.journal;
+
+import io.hhplus.tdd.config.PointJournalProperties;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MappedPointJournalTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("다시 열면 기록한 레코드를 순서대로 복원 (세그먼트 전환 포함)")
+    void replay_AfterReopen_ShouldReturnRecordsInOrder() throws IOException {
+        // given (세그먼트 하나에 15건)
+        PointJournalProperties properties = properties(PointJournalProperties.Fsync.BATCH, DataSize.ofBytes(1_024));
+        try (MappedPointJournal journal = MappedPointJournal.open(properties)) {
+            for (long sequence = 1; sequence <= 40; sequence++) {
+                journal.append(record(sequence));
+            }
+        }
+
+        // when
+        List<JournalRecord> records = new ArrayList<>();
+        long last;
+        try (MappedPointJournal journal = MappedPointJournal.open(properties)) {
+            last = journal.replay(records::add);
+        }
+
+        // then
+        assertThat(last).isEqualTo(40);
+        assertThat(records).containsExactlyElementsOf(
+                Stream.iterate(1L, sequence -> sequence + 1).limit(40).map(this::record).toList());
+        assertThat(segmentFiles()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("기록 도중 종료되어 끝에 남은 불완전한 레코드는 버리고 그 자리부터 이어서 기록")
+    void open_WhenTailIsTorn_ShouldTruncateAndContinue() throws IOException {
+        // given
+        PointJournalProperties properties = properties(PointJournalProperties.Fsync.BATCH, DataSize.ofKilobytes(64));
+        try (MappedPointJournal journal = MappedPointJournal.open(properties)) {
+            for (long sequence = 1; sequence <= 3; sequence++) {
+                journal.append(record(sequence));
+            }
+        }
+        // 4번째 레코드가 앞 20바이트만 쓰인 상태
+        try (RandomAccessFile file = new RandomAccessFile(segmentFiles().get(0).toFile(), "rw")) {
+            file.seek(MappedPointJournal.HEADER_SIZE + 3L * MappedPointJournal.RECORD_SIZE);
+            file.writeLong(4L);
+            file.writeLong(1L);
+            file.writeInt(0x7F7F7F7F);
+        }
+
+        // when
+        List<JournalRecord> recovered = new ArrayList<>();
+        try (MappedPointJournal journal = MappedPointJournal.open(properties)) {
+            journal.replay(recovered::add);
+            journal.append(record(4));
+        }
+        List<JournalRecord> reopened = new ArrayList<>();
+        try (MappedPointJournal journal = MappedPointJournal.open(properties)) {
+            journal.replay(reopened::add);
+        }
+
+        // then
+        assertThat(recovered).extracting(JournalRecord::sequence).containsExactly(1L, 2L, 3L);
+        assertThat(reopened).containsExactly(record(1), record(2), record(3), record(4));
+    }
+
+    @Test
+    @DisplayName("마지막 세그먼트의 중간 레코드 CRC 가 맞지 않으면 그 앞까지만 복원하고 이어서 기록")
+    void open_WhenRecordIsCorrupted_ShouldStopBeforeIt() throws IOException {
+        // given (세그먼트 하나에 15건, 두 번째 세그먼트에 16~20)
+        PointJournalProperties properties = properties(PointJournalProperties.Fsync.BATCH, DataSize.ofBytes(1_024));
+        try (MappedPointJournal journal = MappedPointJournal.open(properties)) {
+            for (long sequence = 1; sequence <= 20; sequence++) {
+                journal.append(record(sequence));
+            }
+        }
+        // 18번째 레코드의 금액 변조
+        try (RandomAccessFile file = new RandomAccessFile(segmentFiles().get(1).toFile(), "rw")) {
+            file.seek(MappedPointJournal.HEADER_SIZE + 2L * MappedPointJournal.RECORD_SIZE + 24);
+            file.writeLong(999_999L);
+        }
+
+        // when
+        long last;
+        List<JournalRecord> reopened = new ArrayList<>();
+        try (MappedPointJournal journal = MappedPointJournal.open(properties)) {
+            last = journal.replay(record -> { });
+            journal.append(record(18));
+        }
+        try (MappedPointJournal journal = MappedPointJournal.open(properties)) {
+            journal.replay(reopened::add);
+        }
+
+        // then
+        assertThat(last).isEqualTo(17);
+        assertThat(reopened).extracting(JournalRecord::sequence).containsExactlyElementsOf(
+                Stream.iterate(1L, sequence -> sequence + 1).limit(18).toList());
+    }
+
+    @Test
+    @DisplayName("스냅샷에 접힌 세그먼트는 최근 retainSegments 개만 남기고, 다시 열면 스냅샷과 남은 세그먼트로 복원")
+    void takeSnapshot_ShouldDeleteFoldedSegmentsBeyondRetention() throws IOException {
+        // given (세그먼트 하나에 15건, 1~90 은 봉인된 세그먼트 6개)
+        PointJournalProperties properties = snapshotProperties(1, 2);
+        try (MappedPointJournal journal = MappedPointJournal.open(properties)) {
+            for (long sequence = 1; sequence <= 100; sequence++) {
+                journal.append(record(sequence));
+            }
+
+            // when
+            assertThat(journal.takeSnapshot()).isTrue();
+        }
+
+        // then
+        assertThat(segmentFiles(".journal")).hasSize(3); // 접힌 세그먼트 2개 (61~90) + 기록 중인 세그먼트
+        assertThat(segmentFiles(".users")).hasSize(2);
+        List<JournalRecord> snapshotted = new ArrayList<>();
+        List<JournalRecord> tail = new ArrayList<>();
+        try (MappedPointJournal journal = MappedPointJournal.open(properties)) {
+            assertThat(journal.snapshot().lastSequence()).isEqualTo(90);
+            journal.replaySnapshotted(1L, snapshotted::add);
+            journal.recover(tail::add);
+        }
+        assertThat(snapshotted).extracting(JournalRecord::sequence)
+                .containsExactlyElementsOf(Stream.iterate(61L, sequence -> sequence <= 90, sequence -> sequence + 3).toList());
+        assertThat(tail).extracting(JournalRecord::sequence)
+                .containsExactlyElementsOf(Stream.iterate(91L, sequence -> sequence + 1).limit(10).toList());
+    }
+
+    @Test
+    @DisplayName("앞 세그먼트가 지워졌는데 대신할 스냅샷이 없으면 열지 않음")
+    void open_WhenFoldedSegmentsHaveNoSnapshot_ShouldThrowException() throws IOException {
+        // given
+        PointJournalProperties properties = snapshotProperties(1, 0);
+        try (MappedPointJournal journal = MappedPointJournal.open(properties)) {
+            for (long sequence = 1; sequence <= 40; sequence++) {
+                journal.append(record(sequence));
+            }
+            journal.takeSnapshot();
+        }
+        for (Path path : segmentFiles(".snapshot")) {
+            Files.delete(path);
+        }
+
+        // when & then
+        assertThatThrownBy(() -> MappedPointJournal.open(properties)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("sequence 가 이어지지 않으면 기록하지 않음")
+    void append_WhenSequenceIsNotContiguous_ShouldThrowException() {
+        try (MappedPointJournal journal = MappedPointJournal.open(
+                properties(PointJournalProperties.Fsync.BATCH, DataSize.ofKilobytes(64)))) {
+            journal.append(record(1));
+
+            assertThatThrownBy(() -> journal.append(record(3))).isInstanceOf(IllegalStateException.class);
+            assertThat(journal.replay(record -> { })).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("PER_OP 은 동시에 기록해도 모든 호출이 디스크 반영 후 반환")
+    void awaitDurable_WhenPerOp_ShouldReturnAfterFlush() {
+        // given
+        try (MappedPointJournal journal = MappedPointJournal.open(
+                properties(PointJournalProperties.Fsync.PER_OP, DataSize.ofKilobytes(64)))) {
+            Object appendLock = new Object(); // PointHistoryWriter 의 ticketLock 역할
+            long[] next = {0};
+
+            // when
+            List<CompletableFuture<Void>> futures = IntStream.range(0, 200)
+                    .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                        long sequence;
+                        synchronized (appendLock) {
+                            sequence = ++next[0];
+                            journal.append(record(sequence));
+                        }
+                        journal.awaitDurable(sequence);
+                    }))
+                    .toList();
+
+            // then
+            assertThat(CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])))
+                    .succeedsWithin(Duration.ofSeconds(10));
+            assertThat(journal.replay(record -> { })).isEqualTo(200);
+        }
+    }
+
+    private PointJournalProperties properties(PointJournalProperties.Fsync fsync, DataSize segmentSize) {
+        return new PointJournalProperties(true, directory, fsync, 16, Duration.ofMillis(10), segmentSize,
+                new PointJournalProperties.Snapshot(false, Duration.ofMinutes(1), 2, 16));
+    }
+
+    // 스냅샷은 테스트에서 직접 생성 (세그먼트 하나에 15건)
+    private PointJournalProperties snapshotProperties(int retain, int retainSegments) {
+        return new PointJournalProperties(true, directory, PointJournalProperties.Fsync.BATCH, 16, Duration.ofMillis(10),
+                DataSize.ofBytes(1_024), new PointJournalProperties.Snapshot(true, Duration.ofHours(1), retain, retainSegments));
+    }
+
+    private JournalRecord record(long sequence) {
+        return new JournalRecord(sequence, sequence % 3, sequence, TransactionType.CHARGE, 1_000L, sequence * 1_000L, sequence);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private List<Path> segmentFiles(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(suffix)).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package io.hhplus.tdd.journal;
+
+import io.hhplus.tdd.config.PointJournalProperties;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointSnapshotTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("스냅샷은 이전 스냅샷에 새로 봉인된 세그먼트만 접고, 최근 retain 개만 남김")
+    void takeSnapshot_ShouldFoldSealedSegmentsIncrementally() throws IOException {
+        try (MappedPointJournal journal = MappedPointJournal.open(properties(true))) {
+            // given (세그먼트 하나에 15건, 사용자 1~5)
+            appendRange(journal, 1, 20);
+
+            // when
+            boolean first = journal.takeSnapshot();
+            boolean unchanged = journal.takeSnapshot(); // 새로 봉인된 세그먼트 없음
+            appendRange(journal, 21, 50);
+            boolean second = journal.takeSnapshot();
+            appendRange(journal, 51, 70);
+            boolean third = journal.takeSnapshot();
+
+            // then
+            assertThat(first).isTrue();
+            assertThat(unchanged).isFalse();
+            assertThat(second).isTrue();
+            assertThat(third).isTrue();
+            assertThat(snapshotFiles()).hasSize(2);
+            PointSnapshot latest = PointSnapshot.load(snapshotFiles().get(1));
+            assertThat(latest.lastSequence()).isEqualTo(60);
+            assertThat(latest.size()).isEqualTo(5);
+            assertThat(latest.find(3L)).isEqualTo(new PointSnapshot.Entry(3L, 58_000L, 12L, 58L));
+            assertThat(latest.find(6L)).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("다시 열면 최근 스냅샷과 이후 레코드로 상태를 복원하고, 이력은 스냅샷 이후 레코드만 전달")
+    void recover_ShouldCombineSnapshotAndTail() {
+        // given
+        try (MappedPointJournal journal = MappedPointJournal.open(properties(true))) {
+            appendRange(journal, 1, 40);
+            journal.takeSnapshot();
+        }
+
+        // when
+        RecoveredState state;
+        long histories;
+        try (MappedPointJournal journal = MappedPointJournal.open(properties(true))) {
+            long[] count = new long[1];
+            state = journal.recover(record -> count[0]++);
+            histories = count[0];
+        }
+
+        // then
+        assertThat(histories).isEqualTo(10);
+        assertThat(state.snapshot().lastSequence()).isEqualTo(30);
+        assertThat(state.tail()).hasSize(5);
+        assertThat(state.lastSequence()).isEqualTo(40);
+        assertThat(state.find(2L)).isEqualTo(new PointSnapshot.Entry(2L, 37_000L, 8L, 37L));
+    }
+
+    @Test
+    @DisplayName("스냅샷에 접힌 이력은 사용자별 레코드 위치로 그 사용자의 것만 읽고, 위치 파일이 없으면 다시 만듦")
+    void replaySnapshotted_ShouldReadOnlyUserRecords() throws IOException {
+        // given
+        try (MappedPointJournal journal = MappedPointJournal.open(properties(true))) {
+            appendRange(journal, 1, 40);
+            journal.takeSnapshot();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> userIndexes = files.filter(path -> path.getFileName().toString().endsWith(".users")).toList();
+            assertThat(userIndexes).hasSize(2);
+            Files.delete(userIndexes.get(0));
+        }
+
+        // when
+        List<Long> sequences = new ArrayList<>();
+        try (MappedPointJournal journal = MappedPointJournal.open(properties(true))) {
+            journal.replaySnapshotted(2L, record -> sequences.add(record.sequence()));
+        }
+
+        // then : 스냅샷(30 까지)에 접힌 사용자 2 의 레코드만
+        assertThat(sequences).containsExactly(2L, 7L, 12L, 17L, 22L, 27L);
+    }
+
+    @Test
+    @DisplayName("최근 스냅샷이 손상되었으면 이전 스냅샷을 사용")
+    void open_WhenLatestSnapshotIsCorrupted_ShouldUsePreviousSnapshot() throws IOException {
+        // given
+        try (MappedPointJournal journal = MappedPointJournal.open(properties(true))) {
+            appendRange(journal, 1, 20);
+            journal.takeSnapshot();
+            appendRange(journal, 21, 40);
+            journal.takeSnapshot();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(snapshotFiles().get(1).toFile(), "rw")) {
+            file.seek(PointSnapshot.HEADER_SIZE + 8);
+            file.writeLong(1L);
+        }
+
+        // when
+        RecoveredState state;
+        try (MappedPointJournal journal = MappedPointJournal.open(properties(true))) {
+            state = journal.recover(record -> { });
+        }
+
+        // then
+        assertThat(state.snapshot().lastSequence()).isEqualTo(15);
+        assertThat(state.find(2L)).isEqualTo(new PointSnapshot.Entry(2L, 37_000L, 8L, 37L));
+    }
+
+    @Test
+    @DisplayName("스냅샷을 끄면 스냅샷 파일을 무시하고 저널 전체로 복원")
+    void open_WhenSnapshotDisabled_ShouldReplayWholeJournal() {
+        // given
+        try (MappedPointJournal journal = MappedPointJournal.open(properties(true))) {
+            appendRange(journal, 1, 20);
+            journal.takeSnapshot();
+        }
+
+        // when
+        RecoveredState state;
+        try (MappedPointJournal journal = MappedPointJournal.open(properties(false))) {
+            state = journal.recover(record -> { });
+        }
+
+        // then
+        assertThat(state.snapshot()).isSameAs(PointSnapshot.EMPTY);
+        assertThat(state.tail()).hasSize(5);
+        assertThat(state.find(5L)).isEqualTo(new PointSnapshot.Entry(5L, 20_000L, 4L, 20L));
+    }
+
+    // 사용자 (sequence - 1) % 5 + 1 이 1,000 씩 충전, 잔고 = sequence * 1,000
+    private void appendRange(MappedPointJournal journal, long from, long to) {
+        for (long sequence = from; sequence <= to; sequence++) {
+            long userId = (sequence - 1) % 5 + 1;
+            journal.append(new JournalRecord(sequence, userId, (sequence - 1) / 5 + 1, TransactionType.CHARGE,
+                    1_000L, sequence * 1_000L, sequence));
+        }
+    }
+
+    // 스냅샷은 테스트에서 직접 생성 (주기 생성은 사실상 끔)
+    private PointJournalProperties properties(boolean snapshot) {
+        return new PointJournalProperties(true, directory, PointJournalProperties.Fsync.BATCH, 16,
+                Duration.ofMillis(10), DataSize.ofBytes(1_024), new PointJournalProperties.Snapshot(snapshot, Duration.ofHours(1), 2));
+    }
+
+    // sequence 오름차순
+    private List<Path> snapshotFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".snapshot")).sorted().toList();
+        }
+    }
+}
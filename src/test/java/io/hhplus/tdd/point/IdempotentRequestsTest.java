@@ -0,0 +1,143 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrency.UserTaskRejectedException;
+import io.hhplus.tdd.config.PointIdempotencyProperties;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotentRequestsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final IdempotentRequests idempotentRequests = new IdempotentRequests(
+            new PointIdempotencyProperties(100, Duration.ofMinutes(1)), new PointMetrics(meterRegistry));
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    @DisplayName("같은 키로 다시 요청하면 작업을 실행하지 않고 처음 결과를 반환")
+    void execute_WhenDuplicated_ShouldReturnFirstResult() {
+        // given
+        UserPoint charged = new UserPoint(1L, 10_000L, 1L);
+        idempotentRequests.execute("key-1", 1L, TransactionType.CHARGE, 10_000L, () -> completed(charged));
+
+        // when
+        CompletableFuture<UserPoint> duplicate = idempotentRequests.execute("key-1", 1L, TransactionType.CHARGE, 10_000L,
+                () -> completed(new UserPoint(1L, 20_000L, 2L)));
+
+        // then
+        assertThat(duplicate).succeedsWithin(Duration.ofSeconds(1)).isEqualTo(charged);
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("point.idempotency.replays").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("처음 요청이 진행 중이면 중복 요청은 다시 실행하지 않고 같은 완료를 기다림")
+    void execute_WhenFirstInFlight_ShouldShareItsCompletion() {
+        // given
+        CompletableFuture<UserPoint> inFlight = new CompletableFuture<>();
+        CompletableFuture<UserPoint> first = idempotentRequests.execute("key-1", 1L, TransactionType.CHARGE, 10_000L, () -> {
+            executions.incrementAndGet();
+            return inFlight;
+        });
+
+        // when
+        CompletableFuture<UserPoint> duplicate = idempotentRequests.execute("key-1", 1L, TransactionType.CHARGE, 10_000L,
+                () -> completed(new UserPoint(1L, 20_000L, 2L)));
+        boolean doneBeforeFirst = duplicate.isDone();
+        inFlight.complete(new UserPoint(1L, 10_000L, 1L));
+
+        // then
+        assertThat(doneBeforeFirst).isFalse();
+        assertThat(duplicate).succeedsWithin(Duration.ofSeconds(1)).isEqualTo(first.join());
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("검증 실패도 보관해 같은 키의 재시도에 같은 오류로 응답")
+    void execute_WhenValidationFailed_ShouldReplayError() {
+        // given
+        idempotentRequests.execute("key-1", 1L, TransactionType.USE, 10_000L,
+                () -> failed(new IllegalStateException("잔고가 부족하여 사용이 불가능 합니다")));
+
+        // when
+        CompletableFuture<UserPoint> duplicate = idempotentRequests.execute("key-1", 1L, TransactionType.USE, 10_000L,
+                () -> completed(new UserPoint(1L, 0L, 1L)));
+
+        // then
+        assertThat(duplicate).failsWithin(Duration.ofSeconds(1))
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(IllegalStateException.class)
+                .withMessageContaining("잔고가 부족하여");
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("작업이 실행되지 않은 대기 시간 초과는 보관하지 않아 같은 키로 다시 실행")
+    void execute_WhenTimedOut_ShouldAllowRetry() {
+        // given
+        idempotentRequests.execute("key-1", 1L, TransactionType.CHARGE, 10_000L,
+                () -> failed(new TimeoutException("요청 대기 시간이 초과되었습니다.")));
+
+        // when
+        CompletableFuture<UserPoint> retry = idempotentRequests.execute("key-1", 1L, TransactionType.CHARGE, 10_000L,
+                () -> completed(new UserPoint(1L, 10_000L, 1L)));
+
+        // then
+        assertThat(retry).succeedsWithin(Duration.ofSeconds(1)).extracting(UserPoint::point).isEqualTo(10_000L);
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("입장 제어로 거절된 요청도 보관하지 않아 같은 키로 다시 실행")
+    void execute_WhenRejected_ShouldAllowRetry() {
+        // given
+        idempotentRequests.execute("key-1", 1L, TransactionType.CHARGE, 10_000L, () -> failed(
+                new UserTaskRejectedException(UserTaskRejectedException.Reason.USER_LIMIT, Duration.ofSeconds(1), null)));
+
+        // when
+        CompletableFuture<UserPoint> retry = idempotentRequests.execute("key-1", 1L, TransactionType.CHARGE, 10_000L,
+                () -> completed(new UserPoint(1L, 10_000L, 1L)));
+
+        // then
+        assertThat(retry).succeedsWithin(Duration.ofSeconds(1)).extracting(UserPoint::point).isEqualTo(10_000L);
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("같은 키라도 금액이 다르면 거절하고, 사용자나 거래 종류가 다르면 별개의 요청")
+    void execute_WhenKeyReusedForDifferentRequest_ShouldRejectOrSeparate() {
+        // given
+        idempotentRequests.execute("key-1", 1L, TransactionType.CHARGE, 10_000L, () -> completed(new UserPoint(1L, 10_000L, 1L)));
+
+        // when
+        CompletableFuture<UserPoint> otherAmount = idempotentRequests.execute("key-1", 1L, TransactionType.CHARGE, 20_000L,
+                () -> completed(new UserPoint(1L, 30_000L, 2L)));
+        idempotentRequests.execute("key-1", 2L, TransactionType.CHARGE, 10_000L, () -> completed(new UserPoint(2L, 10_000L, 1L)));
+        idempotentRequests.execute("key-1", 1L, TransactionType.USE, 10_000L, () -> completed(new UserPoint(1L, 0L, 1L)));
+
+        // then
+        assertThat(otherAmount).failsWithin(Duration.ofSeconds(1))
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(IllegalArgumentException.class);
+        assertThat(executions.get()).isEqualTo(3);
+    }
+
+    private CompletableFuture<UserPoint> completed(UserPoint userPoint) {
+        executions.incrementAndGet();
+        return CompletableFuture.completedFuture(userPoint);
+    }
+
+    private CompletableFuture<UserPoint> failed(Throwable cause) {
+        executions.incrementAndGet();
+        return CompletableFuture.failedFuture(cause);
+    }
+}
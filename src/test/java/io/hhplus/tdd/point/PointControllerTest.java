@@ -1,21 +1,34 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.concurrency.UserTaskRejectedException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(PointController.class)
@@ -27,6 +40,9 @@ class PointControllerTest {
     @MockBean
     private PointService pointService;
 
+    @MockBean
+    private IdempotentRequests idempotentRequests;
+
     /*
      * point 조회 테스트
      */
@@ -61,19 +77,116 @@ class PointControllerTest {
                 new PointHistory(1L, userId, 10000L, TransactionType.CHARGE, System.currentTimeMillis()),
                 new PointHistory(2L, userId, 5000L, TransactionType.USE, System.currentTimeMillis())
         );
-        given(pointService.getPointHistories(userId)).willReturn(histories);
+        given(pointService.getPointHistories(eq(userId), any(PointHistoryQuery.class))).willReturn(histories.stream());
 
-        // when & then
-        mockMvc.perform(get("/point/{id}/histories", userId)
+        // when
+        MvcResult result = mockMvc.perform(get("/point/{id}/histories", userId)
                         .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].type").value("CHARGE"))
+                .andExpect(jsonPath("$.items[1].type").value("USE"))
+                .andExpect(jsonPath("$.items[0].amount").value(10000))
+                .andExpect(jsonPath("$.items[1].amount").value(5000))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        verify(pointService).getPointHistories(userId, PointHistoryQuery.firstPage(PointHistoryQuery.DEFAULT_SIZE));
+    }
+
+    @Test
+    @DisplayName("포인트 이력 조회 - 페이지가 가득 차면 다음 cursor 반환")
+    void history_WhenPageIsFull_ShouldReturnNextCursor() throws Exception {
+        // given
+        Long userId = 1L;
+        PointHistoryQuery query = new PointHistoryQuery(10L, 2, 1_000L, 2_000L, TransactionType.CHARGE);
+        given(pointService.getPointHistories(userId, query)).willReturn(Stream.of(
+                new PointHistory(11L, userId, 10000L, TransactionType.CHARGE, 1_100L),
+                new PointHistory(15L, userId, 20000L, TransactionType.CHARGE, 1_500L)
+        ));
+
+        // when
+        MvcResult result = mockMvc.perform(get("/point/{id}/histories", userId)
+                        .param("cursor", "10")
+                        .param("size", "2")
+                        .param("from", "1000")
+                        .param("to", "2000")
+                        .param("type", "CHARGE"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].type").value("CHARGE"))
-                .andExpect(jsonPath("$[1].type").value("USE"))
-                .andExpect(jsonPath("$[0].amount").value(10000))
-                .andExpect(jsonPath("$[1].amount").value(5000));
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").value(15));
+    }
 
-        verify(pointService).getPointHistories(userId);
+    @Test
+    @DisplayName("포인트 이력 조회 실패 - 페이지 크기 초과")
+    void history_Fail_InvalidSize() throws Exception {
+        // when & then
+        mockMvc.perform(get("/point/{id}/histories", 1L)
+                        .param("size", String.valueOf(PointHistoryQuery.MAX_SIZE + 1)))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("400"));
+    }
+
+    /*
+     * summary 테스트
+     */
+    @Test
+    @DisplayName("포인트 이력 요약 조회 성공 - 구간을 지정하지 않으면 전체")
+    void summary_Success() throws Exception {
+        // given
+        Long userId = 1L;
+        PointSummary summary = new PointSummary(userId, PointSummary.Window.ALL, 30000L, 10000L, 2L, 1_700_000_000_000L);
+        given(pointService.getSummary(userId, PointSummary.Window.ALL)).willReturn(summary);
+
+        // when & then
+        mockMvc.perform(get("/point/{id}/summary", userId))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.window").value("ALL"))
+                .andExpect(jsonPath("$.totalCharged").value(30000))
+                .andExpect(jsonPath("$.totalUsed").value(10000))
+                .andExpect(jsonPath("$.failCount").value(2))
+                .andExpect(jsonPath("$.lastActivityMillis").value(1_700_000_000_000L));
+    }
+
+    @Test
+    @DisplayName("포인트 이력 요약 조회 성공 - 최근 24시간")
+    void summary_Success_Last24h() throws Exception {
+        // given
+        Long userId = 1L;
+        given(pointService.getSummary(userId, PointSummary.Window.LAST_24H))
+                .willReturn(PointSummary.empty(userId, PointSummary.Window.LAST_24H));
+
+        // when & then
+        mockMvc.perform(get("/point/{id}/summary", userId)
+                        .param("window", "LAST_24H"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.window").value("LAST_24H"))
+                .andExpect(jsonPath("$.totalCharged").value(0));
+
+        verify(pointService).getSummary(userId, PointSummary.Window.LAST_24H);
+    }
+
+    @Test
+    @DisplayName("포인트 이력 요약 조회 실패 - 지원하지 않는 구간")
+    void summary_Fail_InvalidWindow() throws Exception {
+        // when & then
+        mockMvc.perform(get("/point/{id}/summary", 1L)
+                        .param("window", "LAST_30D"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
     }
 
     /*
@@ -86,18 +199,47 @@ class PointControllerTest {
         Long userId = 1L;
         Long amount = 10000L;
         UserPoint expectedPoint = new UserPoint(userId, amount, System.currentTimeMillis());
-        given(pointService.charge(userId, amount)).willReturn(expectedPoint);
-        given(pointService.select(userId)).willReturn(expectedPoint);
+        given(pointService.chargeAsync(userId, amount)).willReturn(CompletableFuture.completedFuture(expectedPoint));
 
-        // when & then
-        mockMvc.perform(patch("/point/{id}/charge", userId)
+        // when
+        MvcResult result = mockMvc.perform(patch("/point/{id}/charge", userId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(String.valueOf(amount)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.point").value(amount));
 
-        verify(pointService).charge(userId, amount);
+        verify(pointService).chargeAsync(userId, amount);
+    }
+
+    @Test
+    @DisplayName("Idempotency-Key 가 있으면 중복 제거를 거쳐 충전")
+    void charge_WithIdempotencyKey_ShouldGoThroughIdempotentRequests() throws Exception {
+        // given
+        Long userId = 1L;
+        Long amount = 10000L;
+        UserPoint expectedPoint = new UserPoint(userId, amount, System.currentTimeMillis());
+        given(idempotentRequests.execute(eq("retry-1"), eq(userId), eq(TransactionType.CHARGE), eq(amount), any()))
+                .willReturn(CompletableFuture.completedFuture(expectedPoint));
+
+        // when
+        MvcResult result = mockMvc.perform(patch("/point/{id}/charge", userId)
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.valueOf(amount)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(amount));
+        verify(idempotentRequests).execute(eq("retry-1"), eq(userId), eq(TransactionType.CHARGE), eq(amount), any());
     }
 
     @Test
@@ -106,13 +248,18 @@ class PointControllerTest {
         // given
         Long userId = 1L;
         Long invalidAmount = 5000L;
-        given(pointService.charge(userId, invalidAmount))
-                .willThrow(new IllegalStateException("최소 10_000원 이상 충전 가능합니다"));
+        given(pointService.chargeAsync(userId, invalidAmount))
+                .willReturn(CompletableFuture.failedFuture(new IllegalStateException("최소 10_000원 이상 충전 가능합니다")));
 
-        // when & then
-        mockMvc.perform(patch("/point/{id}/charge", userId)
+        // when
+        MvcResult result = mockMvc.perform(patch("/point/{id}/charge", userId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(String.valueOf(invalidAmount)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
                 .andDo(print())
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value("최소 10_000원 이상 충전 가능합니다"));
@@ -129,18 +276,22 @@ class PointControllerTest {
         Long amount = 5000L;
         Long remainingPoint = 5000L;
         UserPoint expectedPoint = new UserPoint(userId, remainingPoint, System.currentTimeMillis());
-        given(pointService.use(userId, amount)).willReturn(expectedPoint);
-        given(pointService.select(userId)).willReturn(expectedPoint);
+        given(pointService.useAsync(userId, amount)).willReturn(CompletableFuture.completedFuture(expectedPoint));
 
-        // when & then
-        mockMvc.perform(patch("/point/{id}/use", userId)
+        // when
+        MvcResult result = mockMvc.perform(patch("/point/{id}/use", userId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(String.valueOf(amount)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.point").value(remainingPoint));
 
-        verify(pointService).use(userId, amount);
+        verify(pointService).useAsync(userId, amount);
     }
 
     @Test
@@ -149,16 +300,183 @@ class PointControllerTest {
         // given
         Long userId = 1L;
         Long amount = 20000L;
-        given(pointService.use(userId, amount))
-                .willThrow(new IllegalStateException("잔고가 부족하여 사용이 불가능 합니다"));
+        given(pointService.useAsync(userId, amount))
+                .willReturn(CompletableFuture.failedFuture(new IllegalStateException("잔고가 부족하여 사용이 불가능 합니다")));
 
-        // when & then
-        mockMvc.perform(patch("/point/{id}/use", userId)
+        // when
+        MvcResult result = mockMvc.perform(patch("/point/{id}/use", userId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(String.valueOf(amount)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
                 .andDo(print())
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value("잔고가 부족하여 사용이 불가능 합니다"));
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("포인트 사용 실패 - 락 대기 시간 초과")
+    void use_Fail_Timeout() throws Exception {
+        // given
+        Long userId = 1L;
+        Long amount = 5000L;
+        given(pointService.useAsync(userId, amount))
+                .willReturn(CompletableFuture.failedFuture(new TimeoutException("요청 대기 시간이 초과되었습니다.")));
+
+        // when
+        MvcResult result = mockMvc.perform(patch("/point/{id}/use", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.valueOf(amount)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.code").value("503"));
+    }
+
+    @Test
+    @DisplayName("포인트 충전 실패 - 사용자별 처리 중 요청 상한 초과 시 429 와 Retry-After")
+    void charge_Fail_UserLimit() throws Exception {
+        // given
+        Long userId = 1L;
+        Long amount = 5000L;
+        given(pointService.chargeAsync(userId, amount)).willReturn(CompletableFuture.failedFuture(
+                new UserTaskRejectedException(UserTaskRejectedException.Reason.USER_LIMIT, Duration.ofMillis(1500), null)));
+
+        // when
+        MvcResult result = mockMvc.perform(patch("/point/{id}/charge", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.valueOf(amount)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(jsonPath("$.code").value("429"));
+    }
+
+    @Test
+    @DisplayName("포인트 사용 실패 - 전체 처리 중 요청 상한 초과 시 503 과 Retry-After")
+    void use_Fail_Overloaded() throws Exception {
+        // given
+        Long userId = 1L;
+        Long amount = 5000L;
+        given(pointService.useAsync(userId, amount)).willReturn(CompletableFuture.failedFuture(
+                new UserTaskRejectedException(UserTaskRejectedException.Reason.OVERLOADED, Duration.ofSeconds(1), null)));
+
+        // when
+        MvcResult result = mockMvc.perform(patch("/point/{id}/use", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.valueOf(amount)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.code").value("503"));
+    }
+
+
+    /*
+     * transfer 테스트
+     */
+    @Test
+    @DisplayName("포인트 이체 - 두 사용자의 변경된 잔고 반환")
+    void transfer_Success() throws Exception {
+        // given
+        given(pointService.transferAsync(1L, 2L, 3000L)).willReturn(CompletableFuture.completedFuture(
+                new PointTransferResult(new UserPoint(1L, 7000L, 0L), new UserPoint(2L, 3000L, 0L))));
+
+        // when
+        MvcResult result = mockMvc.perform(post("/point/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromUserId\":1,\"toUserId\":2,\"amount\":3000}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from.point").value(7000))
+                .andExpect(jsonPath("$.to.point").value(3000));
+    }
+
+    @Test
+    @DisplayName("포인트 이체 실패 - 자기 자신에게 이체")
+    void transfer_Fail_SameUser() throws Exception {
+        // given
+        given(pointService.transferAsync(1L, 1L, 3000L))
+                .willThrow(new IllegalArgumentException("자기 자신에게는 이체할 수 없습니다"));
+
+        // when & then
+        mockMvc.perform(post("/point/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromUserId\":1,\"toUserId\":1,\"amount\":3000}"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("자기 자신에게는 이체할 수 없습니다"));
+    }
+
+
+    /*
+     * batch 테스트
+     */
+    @Test
+    @DisplayName("포인트 일괄 처리 - 요청별 결과 반환")
+    void batch_Success() throws Exception {
+        // given
+        List<PointOperation> operations = List.of(
+                new PointOperation(1L, TransactionType.CHARGE, 10000L),
+                new PointOperation(2L, TransactionType.USE, 5000L)
+        );
+        given(pointService.applyBatch(operations)).willReturn(CompletableFuture.completedFuture(List.of(
+                PointOperationResult.success(operations.get(0), 10000L),
+                PointOperationResult.failure(operations.get(1), "잔고가 부족하여 사용이 불가능 합니다")
+        )));
+
+        // when
+        MvcResult result = mockMvc.perform(post("/point/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{"userId":1,"type":"CHARGE","amount":10000},
+                                 {"userId":2,"type":"USE","amount":5000}]
+                                """))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[0].point").value(10000))
+                .andExpect(jsonPath("$[1].success").value(false))
+                .andExpect(jsonPath("$[1].message").value("잔고가 부족하여 사용이 불가능 합니다"));
+
+        verify(pointService).applyBatch(operations);
+    }
+
+    @Test
+    @DisplayName("포인트 일괄 처리 실패 - 충전/사용 외의 종류")
+    void batch_Fail_InvalidType() throws Exception {
+        // when & then
+        mockMvc.perform(post("/point/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"userId\":1,\"type\":\"FAIL\",\"amount\":10000}]"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,231 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrency.MailboxUserTaskExecutor;
+import io.hhplus.tdd.config.PointCacheProperties;
+import io.hhplus.tdd.config.PointCombiningProperties;
+import io.hhplus.tdd.config.PointHistoryProperties;
+import io.hhplus.tdd.config.PointReadProperties;
+import io.hhplus.tdd.database.OpenAddressingUserPointStore;
+import io.hhplus.tdd.database.PointHistoryIndex;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.RestoredUserPoints;
+import io.hhplus.tdd.database.UserPointCache;
+import io.hhplus.tdd.database.UserPointStore;
+import io.hhplus.tdd.journal.PointJournal;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class PointServiceCombiningTest {
+
+    private static final long HOT_USER = 1L;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(8);
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+    private final UserPointCache userPointCache = new UserPointCache(OpenAddressingUserPointStore.onHeap(16),
+            new RestoredUserPoints(),
+            new PointCacheProperties(new PointCacheProperties.UserPoint(true, 100, Duration.ofMinutes(1))),
+            new PointReadProperties(true, PointReadProperties.Source.LOOKUP), pointMetrics);
+    private final PointHistoryIndex pointHistoryIndex = new PointHistoryIndex();
+    // 시작하지 않은 writer 는 호출 스레드에서 바로 기록 (테이블은 지연 없는 mock)
+    private final PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(mock(PointHistoryTable.class),
+            pointHistoryIndex, new PointHistoryProperties(new PointHistoryProperties.WriteBehind(false, 100, 10, 3, Duration.ofMillis(100))),
+            PointJournal.DISABLED, pointMetrics);
+    // 모든 요청을 표본으로, 16건마다 hot 사용자 판정
+    private final PointService pointService = new PointService(userPointCache, pointHistoryIndex, pointHistoryWriter,
+            new MailboxUserTaskExecutor(executorService, TIMEOUT, 8), pointMetrics,
+            new PointCombiningProperties(PointCombiningProperties.Mode.HOT, 16, 10_000,
+                    new PointCombiningProperties.Hot(8, 1, 16, 0.5)));
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("hot 사용자의 동시 충전/사용은 결합 처리되고, 요청마다 결과를 받으며 이력과 잔고가 일치")
+    void execute_WhenHotUser_ShouldCombineAndConserveBalance() {
+        // given : hot 으로 판정될 만큼 먼저 충전
+        warmUp();
+        long initial = pointService.select(HOT_USER).point();
+
+        // when
+        List<CompletableFuture<UserPoint>> futures = IntStream.range(0, 2_000)
+                .mapToObj(i -> i % 2 == 0
+                        ? pointService.chargeAsync(HOT_USER, 10_000L)
+                        : pointService.useAsync(HOT_USER, 10_000L))
+                .toList();
+
+        // then
+        assertThat(CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))).succeedsWithin(TIMEOUT);
+        assertThat(futures).allSatisfy(future -> assertThat(future.join().id()).isEqualTo(HOT_USER));
+        assertThat(pointService.select(HOT_USER).point()).isEqualTo(initial);
+        long replayed = 0;
+        for (PointHistory history : pointService.getPointHistories(HOT_USER)) {
+            replayed += history.type() == TransactionType.CHARGE ? history.amount() : -history.amount();
+        }
+        assertThat(replayed).isEqualTo(initial);
+        PointCombiner.Stats stats = pointService.combiningStats();
+        assertThat(stats.requests()).isPositive();
+        assertThat(stats.batches()).isPositive().isLessThanOrEqualTo(stats.requests());
+        assertThat(pointService.combiningReport().topK()).first()
+                .satisfies(user -> assertThat(user.userId()).isEqualTo(HOT_USER));
+    }
+
+    @Test
+    @DisplayName("결합 처리 중 검증에 실패한 요청만 실패하고, 실패 이력을 남김")
+    void execute_WhenCombinedRequestInvalid_ShouldFailOnlyThatRequest() {
+        // given
+        warmUp();
+        long balance = pointService.select(HOT_USER).point();
+        long combined = pointService.combiningStats().requests();
+
+        // when & then
+        assertThatThrownBy(() -> pointService.use(HOT_USER, balance + 10_000L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("잔고가 부족하여");
+        assertThat(pointService.charge(HOT_USER, 10_000L).point()).isEqualTo(balance + 10_000L);
+        assertThat(pointService.getPointHistories(HOT_USER))
+                .extracting(PointHistory::type)
+                .contains(TransactionType.FAIL);
+        assertThat(pointService.combiningStats().requests()).isEqualTo(combined + 2);
+    }
+
+    @Test
+    @DisplayName("ALL : 몰리지 않은 사용자도 대기 중인 요청을 모아 처리, 요청마다 자기 차례의 잔고를 받고 잔고 저장은 결합 작업마다 한 번")
+    void execute_WhenCombineAll_ShouldWriteOncePerBatch() {
+        // given
+        AtomicInteger writes = new AtomicInteger();
+        UserPointStore store = OpenAddressingUserPointStore.onHeap(16);
+        UserPointStore countingStore = new UserPointStore() {
+            @Override
+            public UserPoint selectById(long id) {
+                return store.selectById(id);
+            }
+
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                writes.incrementAndGet();
+                return store.insertOrUpdate(id, amount);
+            }
+        };
+        UserPointCache cache = new UserPointCache(countingStore, new RestoredUserPoints(),
+                new PointCacheProperties(new PointCacheProperties.UserPoint(true, 100, Duration.ofMinutes(1))),
+                new PointReadProperties(true, PointReadProperties.Source.LOOKUP), pointMetrics);
+        PointService all = new PointService(cache, pointHistoryIndex, pointHistoryWriter,
+                new MailboxUserTaskExecutor(executorService, TIMEOUT, 8), pointMetrics,
+                new PointCombiningProperties(PointCombiningProperties.Mode.ALL, 64, 10_000,
+                        new PointCombiningProperties.Hot(8, 16, 1024, 0.5)));
+
+        // when : 같은 사용자에게 충전 200건을 한꺼번에 제출
+        List<CompletableFuture<UserPoint>> futures = IntStream.range(0, 200)
+                .mapToObj(i -> all.chargeAsync(2L, 10_000L))
+                .toList();
+
+        // then : 제출 순서대로 적용되어 i 번째 요청은 (i + 1) 건까지 반영한 잔고를 받음
+        assertThat(CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))).succeedsWithin(TIMEOUT);
+        for (int i = 0; i < futures.size(); i++) {
+            assertThat(futures.get(i).join().point()).isEqualTo((i + 1) * 10_000L);
+        }
+        PointCombiner.Stats stats = all.combiningStats();
+        assertThat(stats.requests()).isEqualTo(200);
+        assertThat(stats.batches()).isLessThan(200);
+        assertThat(writes.get()).isEqualTo((int) stats.batches());
+        assertThat(all.select(2L).point()).isEqualTo(2_000_000L);
+        assertThat(futures.get(futures.size() - 1).join()).isEqualTo(all.select(2L)); // 저장된 잔고 (변경 시각 포함)
+    }
+
+    @Test
+    @DisplayName("결합 작업은 실행될 때 요청을 꺼내므로, 차례를 기다리는 동안 들어온 요청도 한 번에 처리")
+    void execute_WhenRequestsArriveWhileWaiting_ShouldCombineAtRunTime() {
+        // given : 사용자 작업 하나가 먼저 사용자를 잡고 있는 상태
+        AtomicInteger writes = new AtomicInteger();
+        UserPointStore store = OpenAddressingUserPointStore.onHeap(16);
+        UserPointStore countingStore = new UserPointStore() {
+            @Override
+            public UserPoint selectById(long id) {
+                return store.selectById(id);
+            }
+
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                writes.incrementAndGet();
+                return store.insertOrUpdate(id, amount);
+            }
+        };
+        UserPointCache cache = new UserPointCache(countingStore, new RestoredUserPoints(),
+                new PointCacheProperties(new PointCacheProperties.UserPoint(true, 100, Duration.ofMinutes(1))),
+                new PointReadProperties(true, PointReadProperties.Source.LOOKUP), pointMetrics);
+        MailboxUserTaskExecutor userTaskExecutor = new MailboxUserTaskExecutor(executorService, TIMEOUT, 8);
+        PointService all = new PointService(cache, pointHistoryIndex, pointHistoryWriter, userTaskExecutor, pointMetrics,
+                new PointCombiningProperties(PointCombiningProperties.Mode.ALL, 64, 10_000,
+                        new PointCombiningProperties.Hot(8, 16, 1024, 0.5)));
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holding = userTaskExecutor.submit(3L, () -> {
+            awaitQuietly(release);
+            return null;
+        });
+
+        // when : 첫 요청이 결합 작업을 제출한 뒤에 나머지 요청이 도착
+        List<CompletableFuture<UserPoint>> futures = IntStream.range(0, 50)
+                .mapToObj(i -> all.chargeAsync(3L, 10_000L))
+                .toList();
+        release.countDown();
+
+        // then : 결합 작업 하나가 50건을 모두 처리하고 잔고는 한 번 저장
+        assertThat(holding).succeedsWithin(TIMEOUT);
+        assertThat(CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))).succeedsWithin(TIMEOUT);
+        assertThat(all.combiningStats().batches()).isEqualTo(1);
+        assertThat(writes.get()).isEqualTo(1);
+        assertThat(futures.get(49).join()).isEqualTo(all.select(3L));
+        assertThat(futures.get(49).join().point()).isEqualTo(500_000L);
+    }
+
+    @Test
+    @DisplayName("결합 처리를 끄면 추적하지 않고 빈 현황을 반환")
+    void combiningReport_WhenOff_ShouldBeEmpty() {
+        // given
+        PointService off = new PointService(userPointCache, pointHistoryIndex, pointHistoryWriter,
+                new MailboxUserTaskExecutor(executorService, TIMEOUT, 8), pointMetrics,
+                new PointCombiningProperties(PointCombiningProperties.Mode.OFF, 16, 10_000,
+                        new PointCombiningProperties.Hot(8, 1, 16, 0.5)));
+
+        // when
+        off.charge(HOT_USER, 10_000L);
+
+        // then
+        assertThat(off.combiningReport().topK()).isEmpty();
+        assertThat(off.combiningStats().requests()).isZero();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void warmUp() {
+        for (int i = 0; i < 16; i++) {
+            pointService.charge(HOT_USER, 10_000L);
+        }
+    }
+}
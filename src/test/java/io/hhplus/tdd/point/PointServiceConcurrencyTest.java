@@ -15,7 +15,8 @@ import java.util.stream.IntStream;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 
-@SpringBootTest
+// 실행할 때마다 같은 잔고에서 시작하도록 저널 복원을 끔
+@SpringBootTest(properties = "point.journal.enabled=false")
 class PointServiceConcurrencyTest {
 
     @Autowired
@@ -233,4 +234,45 @@ class PointServiceConcurrencyTest {
         assertThat(pointService.select(user1).point()).isEqualTo(VALID_CHARGE_AMOUNT * 10);
         assertThat(pointService.select(user2).point()).isEqualTo(VALID_CHARGE_AMOUNT * 10);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("이력을 기록 순서대로 재생하면 최종 잔고와 일치해야 함")
+    void histories_WhenReplayedInOrder_ShouldRebuildBalance() {
+        // given
+        final Long userId = 6L;
+        final Duration timeout = Duration.ofSeconds(30);
+
+        // when
+        List<CompletableFuture<Void>> futures = IntStream.range(0, THREAD_COUNT * 2)
+                .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                    try {
+                        if (i % 2 == 0) {
+                            pointService.charge(userId, VALID_CHARGE_AMOUNT);
+                        } else {
+                            pointService.use(userId, VALID_USE_AMOUNT);
+                        }
+                    } catch (IllegalStateException e) {
+                        // 잔액 부족 예외는 예상된 동작
+                    }
+                }))
+                .collect(Collectors.toList());
+
+        assertTimeoutPreemptively(timeout, () ->
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join()
+        );
+
+        // then
+        long replayed = 0;
+        for (PointHistory history : pointService.getPointHistories(userId)) {
+            replayed += switch (history.type()) {
+                case CHARGE -> history.amount();
+                case USE -> -history.amount();
+                case FAIL -> 0;
+                case TRANSFER_OUT -> -history.amount();
+                case TRANSFER_IN -> history.amount();
+            };
+            assertThat(replayed).isGreaterThanOrEqualTo(0); // 잔고 변경 순서와 다르면 음수가 될 수 있음
+        }
+        assertThat(replayed).isEqualTo(pointService.select(userId).point());
+    }
+}
@@ -1,17 +1,44 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.concurrency.ConcurrentUserTaskExecutor;
+import io.hhplus.tdd.concurrency.LockingUserTaskExecutor;
+import io.hhplus.tdd.concurrency.RefCountingLockRegistry;
+import io.hhplus.tdd.config.PointCacheProperties;
+import io.hhplus.tdd.config.PointCombiningProperties;
+import io.hhplus.tdd.config.PointHistoryProperties;
+import io.hhplus.tdd.config.PointReadProperties;
+import io.hhplus.tdd.database.OpenAddressingUserPointStore;
+import io.hhplus.tdd.database.PointHistoryIndex;
 import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.RestoredUserPoints;
+import io.hhplus.tdd.database.TableUserPointStore;
+import io.hhplus.tdd.database.UserPointCache;
 import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.journal.PointJournal;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Collections;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -19,6 +46,9 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class PointServiceTest {
 
+    private static final PointCombiningProperties COMBINING_OFF = new PointCombiningProperties(
+            PointCombiningProperties.Mode.OFF, 64, 256, new PointCombiningProperties.Hot(32, 16, 1024, 0.05));
+
     // 가짜 만들기 (mock)
     @Mock
     private UserPointTable userPointTable;
@@ -26,9 +56,46 @@ class PointServiceTest {
     @Mock
     private PointHistoryTable pointHistoryTable;
 
-    @InjectMocks
+    private ExecutorService executorService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PointMetrics pointMetrics;
+
+    private UserPointCache userPointCache;
+
+    private PointHistoryIndex pointHistoryIndex;
+
+    private PointHistoryWriter pointHistoryWriter;
+
     private PointService pointService;
 
+    @BeforeEach
+    void setUp() {
+        executorService = Executors.newSingleThreadExecutor();
+        // 시작하지 않은 writer 는 호출 스레드에서 바로 기록하므로 insert 검증이 가능
+        meterRegistry = new SimpleMeterRegistry();
+        pointMetrics = new PointMetrics(meterRegistry);
+        userPointCache = new UserPointCache(new TableUserPointStore(userPointTable), new RestoredUserPoints(),
+                new PointCacheProperties(new PointCacheProperties.UserPoint(true, 100, Duration.ofMinutes(1))),
+                new PointReadProperties(true, PointReadProperties.Source.LOOKUP), pointMetrics);
+        pointHistoryIndex = new PointHistoryIndex();
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryTable, pointHistoryIndex, new PointHistoryProperties(
+                new PointHistoryProperties.WriteBehind(false, 100, 10, 3, Duration.ofMillis(100))), PointJournal.DISABLED, pointMetrics);
+        pointService = new PointService(
+                userPointCache,
+                pointHistoryIndex,
+                pointHistoryWriter,
+                new LockingUserTaskExecutor(executorService, new RefCountingLockRegistry(true), Duration.ofSeconds(5)),
+                pointMetrics,
+                COMBINING_OFF
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
 
     /*
      * charge Test
@@ -198,6 +265,145 @@ class PointServiceTest {
         assertThat(pointService.select(userId).point()).isEqualTo(0);
     }
 
+    @Test
+    @DisplayName("잔고 조회는 캐시에서 응답하고, 충전 직후 조회는 변경된 잔고 반환")
+    void select_AfterCharge_ShouldReturnCachedUpdatedBalance()
+    {
+        // given
+        final Long userId = 1L;
+        final Long amount = 10_000L;
+        when(userPointTable.selectById(userId)).thenReturn(UserPoint.empty(userId));
+        when(userPointTable.insertOrUpdate(userId, amount))
+                .thenReturn(new UserPoint(userId, amount, System.currentTimeMillis()));
+        pointService.select(userId);
+
+        // when
+        pointService.charge(userId, amount);
+
+        // then
+        assertThat(pointService.select(userId).point()).isEqualTo(amount);
+        verify(userPointTable, times(1)).selectById(userId); // 첫 조회 이후에는 테이블을 읽지 않음
+        assertThat(userPointCache.stats().hitCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("같은 사용자의 동시 잔고 조회는 테이블을 한 번만 조회하고 결과를 함께 사용")
+    void select_WhenConcurrent_ShouldShareOneLookup() throws Exception {
+        // given
+        final Long userId = 1L;
+        final int readers = 8;
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userPointTable.selectById(userId)).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await();
+            return new UserPoint(userId, 10_000L, System.currentTimeMillis());
+        });
+        ExecutorService pool = Executors.newFixedThreadPool(readers);
+
+        // when
+        List<CompletableFuture<UserPoint>> futures = IntStream.range(0, readers)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> pointService.select(userId), pool))
+                .toList();
+        entered.await(5, TimeUnit.SECONDS);
+        while (userPointCache.readStats().coalescedCount() < readers - 1) {
+            Thread.onSpinWait(); // 나머지 조회가 진행 중인 조회에 합류할 때까지
+        }
+        release.countDown();
+
+        // then
+        assertThat(futures).allSatisfy(future -> assertThat(future).succeedsWithin(Duration.ofSeconds(5))
+                .extracting(UserPoint::point)
+                .isEqualTo(10_000L));
+        verify(userPointTable, times(1)).selectById(userId);
+        assertThat(userPointCache.readStats().coalescingRatio()).isEqualTo((double) (readers - 1) / readers);
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("조회 중에 잔고가 바뀌면 변경 이후의 조회는 진행 중인 조회를 함께 받지 않음")
+    void select_AfterChargeDuringLookup_ShouldNotReturnStaleBalance() throws Exception {
+        // given
+        final Long userId = 1L;
+        final Long amount = 10_000L;
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicLong calls = new AtomicLong();
+        when(userPointTable.selectById(userId)).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() == 1) { // 첫 조회만 변경 전 잔고를 든 채 대기
+                entered.countDown();
+                release.await();
+            }
+            return UserPoint.empty(userId);
+        });
+        when(userPointTable.insertOrUpdate(userId, amount))
+                .thenReturn(new UserPoint(userId, amount, System.currentTimeMillis()));
+        CompletableFuture<UserPoint> slowRead = CompletableFuture.supplyAsync(() -> pointService.select(userId));
+        entered.await(5, TimeUnit.SECONDS);
+
+        // when
+        pointService.charge(userId, amount);
+        UserPoint afterCharge = pointService.select(userId);
+        release.countDown();
+
+        // then
+        assertThat(afterCharge.point()).isEqualTo(amount);
+        assertThat(slowRead).succeedsWithin(Duration.ofSeconds(5)).extracting(UserPoint::point).isEqualTo(0L);
+        assertThat(pointService.select(userId).point()).isEqualTo(amount); // 늦게 끝난 조회가 캐시를 덮어쓰지 않음
+    }
+
+    @Test
+    @DisplayName("COMMITTED : 충전 후 조회는 캐시 없이도 반영된 잔고로 응답")
+    void select_WhenCommittedSource_ShouldReturnLastCommittedBalance() {
+        // given
+        final Long userId = 1L;
+        final Long amount = 10_000L;
+        UserPointCache committedReads = new UserPointCache(new TableUserPointStore(userPointTable), new RestoredUserPoints(),
+                new PointCacheProperties(new PointCacheProperties.UserPoint(false, 100, Duration.ofMinutes(1))),
+                new PointReadProperties(true, PointReadProperties.Source.COMMITTED), pointMetrics);
+        pointService = new PointService(
+                committedReads,
+                pointHistoryIndex,
+                pointHistoryWriter,
+                new LockingUserTaskExecutor(executorService, new RefCountingLockRegistry(true), Duration.ofSeconds(5)),
+                pointMetrics,
+                COMBINING_OFF
+        );
+        when(userPointTable.selectById(userId)).thenReturn(UserPoint.empty(userId));
+        when(userPointTable.insertOrUpdate(userId, amount))
+                .thenReturn(new UserPoint(userId, amount, System.currentTimeMillis()));
+
+        // when
+        pointService.charge(userId, amount);
+        UserPoint first = pointService.select(userId);
+        UserPoint second = pointService.select(userId);
+
+        // then
+        assertThat(first.point()).isEqualTo(amount);
+        assertThat(second.point()).isEqualTo(amount);
+        verify(userPointTable, times(1)).selectById(userId); // 충전 시 잔고 확인 한 번뿐
+        assertThat(committedReads.readStats().committedCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("COMMITTED : 잔고를 바꾸지 않고 조회만 한 사용자는 보관하지 않음")
+    void select_WhenCommittedSourceAndNeverUpdated_ShouldNotKeepBalance() {
+        // given
+        final Long userId = 1L;
+        UserPointCache committedReads = new UserPointCache(new TableUserPointStore(userPointTable), new RestoredUserPoints(),
+                new PointCacheProperties(new PointCacheProperties.UserPoint(false, 100, Duration.ofMinutes(1))),
+                new PointReadProperties(true, PointReadProperties.Source.COMMITTED), pointMetrics);
+        when(userPointTable.selectById(userId)).thenReturn(UserPoint.empty(userId));
+
+        // when
+        committedReads.read(userId);
+        committedReads.read(userId);
+
+        // then
+        verify(userPointTable, times(2)).selectById(userId);
+        assertThat(committedReads.readStats().committedCount()).isZero();
+    }
+
     /*
      * history Test
      *
@@ -209,15 +415,12 @@ class PointServiceTest {
         // given
         final Long userId = 1L;
 
-        // Mock 설정: 히스토리 결과가 없는 상황
-        when(pointHistoryTable.selectAllByUserId(userId)).thenReturn(Collections.emptyList());
-
         // when
         List<PointHistory> histories = pointService.getPointHistories(userId);
 
         // then
         assertThat(histories).isEmpty(); // 반환된 리스트가 비어 있는지 검증
-        verify(pointHistoryTable).selectAllByUserId(userId); // 메서드 호출 검증
+        verify(pointHistoryTable, never()).selectAllByUserId(anyLong()); // 전체 테이블을 훑지 않음
     }
 
     @Test
@@ -226,12 +429,12 @@ class PointServiceTest {
     {
         // given
         final Long userId = 1L;
-        List<PointHistory> mockHistories = List.of(
-                new PointHistory(1L, userId, 10_000L, TransactionType.CHARGE, 1_000_000L),
-                new PointHistory(2L, userId, 5_000L, TransactionType.USE, 1_000_500L)
-        );
-
-        when(pointHistoryTable.selectAllByUserId(userId)).thenReturn(mockHistories);
+        when(pointHistoryTable.insert(userId, 10_000L, TransactionType.CHARGE, 1_000_000L))
+                .thenReturn(new PointHistory(1L, userId, 10_000L, TransactionType.CHARGE, 1_000_000L));
+        when(pointHistoryTable.insert(userId, 5_000L, TransactionType.USE, 1_000_500L))
+                .thenReturn(new PointHistory(2L, userId, 5_000L, TransactionType.USE, 1_000_500L));
+        pointHistoryWriter.write(userId, 10_000L, TransactionType.CHARGE, 1_000_000L);
+        pointHistoryWriter.write(userId, 5_000L, TransactionType.USE, 1_000_500L);
 
         // when
         List<PointHistory> histories = pointService.getPointHistories(userId);
@@ -240,7 +443,26 @@ class PointServiceTest {
         assertThat(histories).hasSize(2);
         assertThat(histories.get(0).amount()).isEqualTo(10_000L);
         assertThat(histories.get(1).amount()).isEqualTo(5_000L);
-        verify(pointHistoryTable).selectAllByUserId(userId);
+        verify(pointHistoryTable, never()).selectAllByUserId(anyLong());
+    }
+
+    @Test
+    @DisplayName("이력 요약은 전체 이력을 훑지 않고 충전/사용 합계, 실패 수, 마지막 시각을 반환")
+    void getSummary_ShouldReturnTotalsWithoutScanningTable() {
+        // given
+        final Long userId = 1L;
+        pointHistoryWriter.write(userId, 10_000L, TransactionType.CHARGE, 1_000_000L);
+        pointHistoryWriter.write(userId, 5_000L, TransactionType.USE, 1_000_500L);
+        pointHistoryWriter.write(userId, 50_000L, TransactionType.FAIL, 1_000_700L);
+
+        // when
+        PointSummary summary = pointService.getSummary(userId, PointSummary.Window.ALL);
+
+        // then
+        assertThat(summary).isEqualTo(new PointSummary(userId, PointSummary.Window.ALL, 10_000L, 5_000L, 1L, 1_000_700L));
+        assertThat(pointService.getSummary(2L, PointSummary.Window.LAST_7D))
+                .isEqualTo(PointSummary.empty(2L, PointSummary.Window.LAST_7D));
+        verify(pointHistoryTable, never()).selectAllByUserId(anyLong());
     }
 
     @Test
@@ -324,20 +546,234 @@ class PointServiceTest {
     }
 
     @Test
-    @DisplayName("조회 시 히스토리가 null일 경우 빈 리스트 반환")
-    void getPointHistories_WhenNullReturned_ShouldReturnEmptyList() {
+    @DisplayName("조회 시 다른 사용자의 내역은 포함하지 않음")
+    void getPointHistories_WhenOtherUsersHaveHistory_ShouldReturnOwnHistoriesOnly() {
         // given
         final Long userId = 1L;
-
-        // Mock 설정: 히스토리 결과가 null인 상황
-        when(pointHistoryTable.selectAllByUserId(userId)).thenReturn(null);
+        final Long otherUserId = 2L;
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).thenAnswer(invocation ->
+                new PointHistory(1L, invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2),
+                        invocation.getArgument(3)));
+        pointHistoryWriter.write(otherUserId, 10_000L, TransactionType.CHARGE, 1_000_000L);
+        pointHistoryWriter.write(userId, 20_000L, TransactionType.CHARGE, 1_000_100L);
+        pointHistoryWriter.write(otherUserId, 5_000L, TransactionType.USE, 1_000_200L);
 
         // when
         List<PointHistory> histories = pointService.getPointHistories(userId);
 
         // then
-        assertThat(histories).isEmpty(); // 반환된 리스트가 비어 있는지 검증
-        verify(pointHistoryTable).selectAllByUserId(userId); // 메서드 호출 검증
+        assertThat(histories).extracting(PointHistory::amount).containsExactly(20_000L);
+    }
+
+    @Test
+    @DisplayName("이력 페이지 조회 시 cursor 이후부터 조건에 맞는 이력을 size 건까지 반환")
+    void getPointHistories_WithQuery_ShouldReturnFilteredPageAfterCursor() {
+        // given
+        final Long userId = 1L;
+        AtomicLong ids = new AtomicLong();
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).thenAnswer(invocation ->
+                new PointHistory(ids.incrementAndGet(), invocation.getArgument(0), invocation.getArgument(1),
+                        invocation.getArgument(2), invocation.getArgument(3)));
+        for (long millis = 1; millis <= 10; millis++) { // id 1~10, 홀수 CHARGE / 짝수 USE
+            pointHistoryWriter.write(userId, 10_000L, millis % 2 == 1 ? TransactionType.CHARGE : TransactionType.USE, millis);
+        }
+
+        // when
+        List<PointHistory> page = pointService.getPointHistories(userId,
+                new PointHistoryQuery(2L, 2, 1L, 9L, TransactionType.CHARGE)).toList();
+
+        // then
+        assertThat(page).extracting(PointHistory::id).containsExactly(3L, 5L);
+        assertThat(pointService.getPointHistories(userId, new PointHistoryQuery(5L, 2, 1L, 9L, TransactionType.CHARGE)).toList())
+                .extracting(PointHistory::id).containsExactly(7L, 9L);
+        assertThat(pointService.getPointHistories(userId, new PointHistoryQuery(9L, 2, 1L, 9L, TransactionType.CHARGE)).toList())
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("이력 페이지 조회 조건이 잘못되면 실패")
+    void pointHistoryQuery_WhenInvalid_ShouldThrowException() {
+        assertThatThrownBy(() -> PointHistoryQuery.firstPage(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PointHistoryQuery.firstPage(PointHistoryQuery.MAX_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new PointHistoryQuery(null, 10, 2L, 1L, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /*
+     * batch Test
+     *
+     */
+
+    @Test
+    @DisplayName("일괄 처리 시 사용자별로 조회/저장을 한 번만 하고, 요청별 결과를 요청 순서대로 반환")
+    void applyBatch_ShouldApplyPerUserWithSingleReadAndWrite() {
+        // given
+        final Long userId = 1L;
+        final Long otherUserId = 2L;
+        when(userPointTable.selectById(userId)).thenReturn(UserPoint.empty(userId));
+        when(userPointTable.selectById(otherUserId)).thenReturn(UserPoint.empty(otherUserId));
+        when(userPointTable.insertOrUpdate(userId, 5_000L))
+                .thenReturn(new UserPoint(userId, 5_000L, System.currentTimeMillis()));
+        List<PointOperation> operations = List.of(
+                new PointOperation(userId, TransactionType.CHARGE, 10_000L),
+                new PointOperation(otherUserId, TransactionType.CHARGE, 5_000L), // 최소 충전 금액 미달
+                new PointOperation(userId, TransactionType.USE, 50_000L),        // 잔고 부족
+                new PointOperation(userId, TransactionType.USE, 5_000L)
+        );
+
+        // when
+        List<PointOperationResult> results = pointService.applyBatch(operations).join();
+
+        // then
+        assertThat(results).extracting(PointOperationResult::success).containsExactly(true, false, false, true);
+        assertThat(results).extracting(PointOperationResult::point).containsExactly(10_000L, null, null, 5_000L);
+        assertThat(results.get(2).message()).contains("잔고가 부족");
+        verify(userPointTable, times(1)).selectById(userId);
+        verify(userPointTable, times(1)).insertOrUpdate(userId, 5_000L);
+        verify(userPointTable, never()).insertOrUpdate(eq(otherUserId), anyLong());
+        InOrder inOrder = inOrder(pointHistoryTable);
+        inOrder.verify(pointHistoryTable).insert(eq(userId), eq(10_000L), eq(TransactionType.CHARGE), anyLong());
+        inOrder.verify(pointHistoryTable).insert(eq(userId), eq(50_000L), eq(TransactionType.FAIL), anyLong());
+        inOrder.verify(pointHistoryTable).insert(eq(userId), eq(5_000L), eq(TransactionType.USE), anyLong());
+        verify(pointHistoryTable).insert(eq(otherUserId), eq(5_000L), eq(TransactionType.FAIL), anyLong());
+    }
+
+    /*
+     * async Test
+     *
+     */
+
+    @Test
+    @DisplayName("비동기 충전은 요청 스레드를 막지 않고 결과를 반환")
+    void chargeAsync_ShouldCompleteWithUpdatedPoint() {
+        // given
+        final Long userId = 1L;
+        final Long amount = 10_000L;
+        when(userPointTable.selectById(userId)).thenReturn(UserPoint.empty(userId));
+        when(userPointTable.insertOrUpdate(userId, amount))
+                .thenReturn(new UserPoint(userId, amount, System.currentTimeMillis()));
+
+        // when
+        CompletableFuture<UserPoint> future = pointService.chargeAsync(userId, amount);
+
+        // then
+        assertThat(future).succeedsWithin(Duration.ofSeconds(5))
+                .extracting(UserPoint::point)
+                .isEqualTo(amount);
+        verify(pointHistoryTable).insert(eq(userId), eq(amount), eq(TransactionType.CHARGE), anyLong());
+    }
+
+    @Test
+    @DisplayName("대기 시간 초과 시 작업을 실행하지 않고 실패 기록")
+    void chargeAsync_WhenWaitExceedsTimeout_ShouldFailWithoutUpdate() throws InterruptedException {
+        // given
+        final Long userId = 1L;
+        final Long amount = 10_000L;
+        CountDownLatch release = new CountDownLatch(1);
+        pointService = new PointService(
+                userPointCache,
+                pointHistoryIndex,
+                pointHistoryWriter,
+                new LockingUserTaskExecutor(executorService, new RefCountingLockRegistry(true), Duration.ofMillis(100)),
+                pointMetrics,
+                COMBINING_OFF
+        );
+        // 단일 스레드 풀을 점유해 두 번째 작업이 큐에서 대기하도록 함
+        executorService.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // when
+        CompletableFuture<UserPoint> future = pointService.chargeAsync(userId, amount);
+
+        // then
+        assertThat(future).failsWithin(Duration.ofSeconds(5))
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(TimeoutException.class);
+        release.countDown();
+        executorService.shutdown();
+        executorService.awaitTermination(5, TimeUnit.SECONDS);
+        verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+        verify(pointHistoryTable).insert(eq(userId), eq(amount), eq(TransactionType.FAIL), anyLong());
+    }
+
+    @Test
+    @DisplayName("OPTIMISTIC : 같은 사용자의 동시 충전/사용이 유실되지 않고, 잔고 부족은 실패로 기록")
+    void chargeAndUse_WhenOptimistic_ShouldKeepEveryUpdate() {
+        // given
+        final Long userId = 1L;
+        final Long amount = 10_000L;
+        final int charges = 100;
+        final int uses = 150;
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        UserPointCache optimisticCache = new UserPointCache(OpenAddressingUserPointStore.onHeap(16), new RestoredUserPoints(),
+                new PointCacheProperties(new PointCacheProperties.UserPoint(true, 100, Duration.ofMinutes(1))),
+                new PointReadProperties(true, PointReadProperties.Source.LOOKUP), pointMetrics);
+        pointService = new PointService(
+                optimisticCache,
+                pointHistoryIndex,
+                pointHistoryWriter,
+                new ConcurrentUserTaskExecutor(pool, Duration.ofSeconds(5)),
+                pointMetrics,
+                COMBINING_OFF
+        );
+
+        // when
+        List<CompletableFuture<UserPoint>> futures = IntStream.range(0, charges + uses)
+                .mapToObj(i -> i % 5 < 2 // 다섯 건 중 두 건 충전 (총 charges 건)
+                        ? pointService.chargeAsync(userId, amount)
+                        : pointService.useAsync(userId, amount))
+                .toList();
+
+        // then
+        assertThat(CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).handle((ignored, e) -> null))
+                .succeedsWithin(Duration.ofSeconds(10));
+        pool.shutdown();
+        List<PointHistory> histories = pointService.getPointHistories(userId);
+        long charged = histories.stream().filter(h -> h.type() == TransactionType.CHARGE).count();
+        long used = histories.stream().filter(h -> h.type() == TransactionType.USE).count();
+        long failed = histories.stream().filter(h -> h.type() == TransactionType.FAIL).count();
+        assertThat(charged).isEqualTo(charges);
+        assertThat(used + failed).isEqualTo(uses);
+        assertThat(pointService.select(userId).point()).isEqualTo((charged - used) * amount);
+        assertThat(futures.stream().filter(future -> !future.isCompletedExceptionally()).count()).isEqualTo(charged + used);
     }
 
+    /*
+     * metrics Test
+     *
+     */
+
+    @Test
+    @DisplayName("충전 성공/실패 시 처리 시간, 작업 대기/실행 시간, 거래 종류별 건수 기록")
+    void charge_ShouldRecordMetrics() {
+        // given
+        final Long userId = 1L;
+        final Long amount = 10_000L;
+        when(userPointTable.selectById(userId)).thenReturn(UserPoint.empty(userId));
+        when(userPointTable.insertOrUpdate(userId, amount))
+                .thenReturn(new UserPoint(userId, amount, System.currentTimeMillis()));
+
+        // when
+        pointService.charge(userId, amount);
+        assertThatThrownBy(() -> pointService.charge(userId, 5_000L)) // 최소 충전 금액 미달
+                .isInstanceOf(IllegalStateException.class);
+
+        // then
+        assertThat(meterRegistry.get("point.operation").tags("operation", "charge", "outcome", "success").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("point.operation").tags("operation", "charge", "outcome", "failure").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("point.task.wait").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("point.task.hold").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("point.transactions").tag("type", "CHARGE").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("point.transactions").tag("type", "FAIL").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("point.table.call").tags("table", "user_point", "operation", "select_by_id").timer().count())
+                .isEqualTo(1); // 두 번째 조회는 캐시
+    }
 }
@@ -0,0 +1,200 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrency.ConcurrentUserTaskExecutor;
+import io.hhplus.tdd.concurrency.LockingUserTaskExecutor;
+import io.hhplus.tdd.concurrency.MailboxUserTaskExecutor;
+import io.hhplus.tdd.concurrency.RefCountingLockRegistry;
+import io.hhplus.tdd.concurrency.ShardedUserTaskExecutor;
+import io.hhplus.tdd.concurrency.StripedLockRegistry;
+import io.hhplus.tdd.concurrency.UserTaskExecutor;
+import io.hhplus.tdd.config.PointCacheProperties;
+import io.hhplus.tdd.config.PointCombiningProperties;
+import io.hhplus.tdd.config.PointHistoryProperties;
+import io.hhplus.tdd.config.PointReadProperties;
+import io.hhplus.tdd.database.OpenAddressingUserPointStore;
+import io.hhplus.tdd.database.PointHistoryIndex;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.RestoredUserPoints;
+import io.hhplus.tdd.database.UserPointCache;
+import io.hhplus.tdd.journal.PointJournal;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class PointServiceTransferTest {
+
+    private static final int USERS = 4;
+    private static final long INITIAL_POINT = 1_000_000L;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final PointCombiningProperties COMBINING_OFF = new PointCombiningProperties(
+            PointCombiningProperties.Mode.OFF, 64, 256, new PointCombiningProperties.Hot(32, 16, 1024, 0.05));
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(8);
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+    private final UserPointCache userPointCache = new UserPointCache(OpenAddressingUserPointStore.onHeap(16),
+            new RestoredUserPoints(),
+            new PointCacheProperties(new PointCacheProperties.UserPoint(true, 100, Duration.ofMinutes(1))),
+            new PointReadProperties(true, PointReadProperties.Source.LOOKUP), pointMetrics);
+    private final PointHistoryIndex pointHistoryIndex = new PointHistoryIndex();
+    // 시작하지 않은 writer 는 호출 스레드에서 바로 기록 (테이블은 지연 없는 mock)
+    private final PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(mock(PointHistoryTable.class),
+            pointHistoryIndex, new PointHistoryProperties(new PointHistoryProperties.WriteBehind(false, 100, 10, 3, Duration.ofMillis(100))),
+            PointJournal.DISABLED, pointMetrics);
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("이체하면 두 잔고가 함께 바뀌고, 이어진 id 의 TRANSFER_OUT / TRANSFER_IN 이력이 남음")
+    void transfer_ShouldMoveBalanceAndWriteLinkedHistories() {
+        // given
+        PointService pointService = pointService(lockingExecutor());
+        userPointCache.insertOrUpdate(1L, 50_000L);
+
+        // when
+        PointTransferResult result = pointService.transfer(1L, 2L, 30_000L);
+
+        // then
+        assertThat(result.from().point()).isEqualTo(20_000L);
+        assertThat(result.to().point()).isEqualTo(30_000L);
+        assertThat(pointService.select(2L).point()).isEqualTo(30_000L);
+        PointHistory sent = pointService.getPointHistories(1L).get(0);
+        PointHistory received = pointService.getPointHistories(2L).get(0);
+        assertThat(sent.type()).isEqualTo(TransactionType.TRANSFER_OUT);
+        assertThat(received.type()).isEqualTo(TransactionType.TRANSFER_IN);
+        assertThat(received.id()).isEqualTo(sent.id() + 1);
+        assertThat(received.amount()).isEqualTo(sent.amount()).isEqualTo(30_000L);
+    }
+
+    @Test
+    @DisplayName("잔고가 부족하면 두 잔고 모두 그대로 두고 보낸 사용자에게 실패 이력")
+    void transfer_WhenInsufficient_ShouldKeepBothBalances() {
+        // given
+        PointService pointService = pointService(lockingExecutor());
+        userPointCache.insertOrUpdate(1L, 10_000L);
+
+        // when & then
+        assertThatThrownBy(() -> pointService.transfer(1L, 2L, 30_000L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("잔고가 부족하여");
+        assertThat(pointService.select(1L).point()).isEqualTo(10_000L);
+        assertThat(pointService.select(2L).point()).isZero();
+        assertThat(pointService.getPointHistories(1L)).extracting(PointHistory::type).containsExactly(TransactionType.FAIL);
+        assertThat(pointService.getPointHistories(2L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("자기 자신에게 이체하거나 0 이하를 이체하면 거절")
+    void transfer_WhenInvalidRequest_ShouldThrow() {
+        // given
+        PointService pointService = pointService(lockingExecutor());
+
+        // when & then
+        assertThatThrownBy(() -> pointService.transferAsync(1L, 1L, 10_000L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> pointService.transferAsync(1L, 2L, 0L)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /*
+     * 반대 방향 동시 이체 stress : 전략마다 교착 없이 모두 끝나고, 합계가 보존되며, 사용자별 이력을 다시 합치면 잔고와 같음
+     */
+
+    @Test
+    @DisplayName("LOCK (스트라이프 락) : 반대 방향 동시 이체가 교착 없이 끝나고 합계 보존")
+    void transfer_WhenOppositeDirectionsWithStripedLocks_ShouldConserveTotal() {
+        // 스트라이프가 적으면 사용자 순서와 락 순서가 달라지므로 lockOrder 로 잡아야 교착되지 않음
+        assertTransfersConserveTotal(new LockingUserTaskExecutor(executorService, new StripedLockRegistry(2, false), TIMEOUT));
+    }
+
+    @Test
+    @DisplayName("MAILBOX : 반대 방향 동시 이체가 교착 없이 끝나고 합계 보존")
+    void transfer_WhenOppositeDirectionsWithMailbox_ShouldConserveTotal() {
+        assertTransfersConserveTotal(new MailboxUserTaskExecutor(executorService, TIMEOUT, 8));
+    }
+
+    @Test
+    @DisplayName("OPTIMISTIC : 반대 방향 동시 이체가 교착 없이 끝나고 합계 보존")
+    void transfer_WhenOppositeDirectionsWithOptimistic_ShouldConserveTotal() {
+        assertTransfersConserveTotal(new ConcurrentUserTaskExecutor(executorService, TIMEOUT));
+    }
+
+    @Test
+    @DisplayName("SHARDED : 반대 방향 동시 이체가 교착 없이 끝나고 합계 보존")
+    void transfer_WhenOppositeDirectionsWithShards_ShouldConserveTotal() {
+        try (ShardedUserTaskExecutor sharded = new ShardedUserTaskExecutor(3, TIMEOUT)) {
+            assertTransfersConserveTotal(sharded);
+        }
+    }
+
+    private void assertTransfersConserveTotal(UserTaskExecutor userTaskExecutor) {
+        // given
+        PointService pointService = pointService(userTaskExecutor);
+        for (long userId = 1; userId <= USERS; userId++) {
+            userPointCache.insertOrUpdate(userId, INITIAL_POINT);
+        }
+
+        // when : 모든 사용자 쌍에 양방향 이체, 사이사이 충전/사용
+        List<CompletableFuture<?>> futures = IntStream.range(0, 4_000)
+                .<CompletableFuture<?>>mapToObj(i -> {
+                    long from = 1 + i % USERS;
+                    long to = 1 + (i + 1 + i / USERS % (USERS - 1)) % USERS;
+                    return switch (i % 10) {
+                        case 0 -> pointService.chargeAsync(from, 10_000L);
+                        case 1 -> pointService.useAsync(from, 10_000L);
+                        default -> pointService.transferAsync(from, to, 1_000L + i % 7 * 10_000L);
+                    };
+                })
+                .toList();
+
+        // then
+        assertThat(CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).handle((ignored, e) -> null))
+                .succeedsWithin(TIMEOUT);
+        long total = 0;
+        long chargedMinusUsed = 0;
+        for (long userId = 1; userId <= USERS; userId++) {
+            long balance = pointService.select(userId).point();
+            long replayed = INITIAL_POINT;
+            for (PointHistory history : pointService.getPointHistories(userId)) {
+                replayed += switch (history.type()) {
+                    case CHARGE, TRANSFER_IN -> history.amount();
+                    case USE, TRANSFER_OUT -> -history.amount();
+                    case FAIL -> 0;
+                };
+                assertThat(replayed).isNotNegative();
+                if (history.type() == TransactionType.CHARGE) {
+                    chargedMinusUsed += history.amount();
+                } else if (history.type() == TransactionType.USE) {
+                    chargedMinusUsed -= history.amount();
+                }
+            }
+            assertThat(replayed).isEqualTo(balance);
+            total += balance;
+        }
+        assertThat(total).isEqualTo(USERS * INITIAL_POINT + chargedMinusUsed);
+        assertThat(futures).allMatch(CompletableFuture::isDone);
+    }
+
+    private PointService pointService(UserTaskExecutor userTaskExecutor) {
+        return new PointService(userPointCache, pointHistoryIndex, pointHistoryWriter, userTaskExecutor, pointMetrics,
+                COMBINING_OFF);
+    }
+
+    private LockingUserTaskExecutor lockingExecutor() {
+        return new LockingUserTaskExecutor(executorService, new RefCountingLockRegistry(true), TIMEOUT);
+    }
+}